@@ -1,27 +1,80 @@
 package org.example;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Main class for the API Test Automation project.
  * <p>
  * This is a test automation project that uses JUnit 5 and REST Assured.
- * Tests should be executed using Maven: mvn test
+ * Tests are executed using Maven ({@code mvn test}), or through a warm test runner:
+ * <ul>
+ *   <li>{@code serve}: starts a {@link TestRunnerDaemon} on the test class path, which keeps
+ *       its JVM warm between runs ({@code mvn -Pdaemon test-compile exec:exec})</li>
+ *   <li>{@code run [options]}: sends a run request to the daemon and prints the results
+ *       as they arrive; see {@link RunRequest#fromArguments(List)} for the options</li>
+ * </ul>
+ * Both commands use the port of the {@code runner.port} system property, default
+ * {@value TestRunnerDaemon#DEFAULT_PORT}.
  * </p>
  *
  * @author API Test Automation Team
- * @version 2.0
+ * @version 2.1
  */
 public class Main {
     
     /**
-     * Main method - not used in this test automation project.
+     * Runs the command given on the command line.
      * <p>
-     * To run tests, use: mvn test
+     * Without a command, prints how to run the tests.
      * </p>
      *
-     * @param args command line arguments (not used)
+     * @param args the command followed by its options
+     * @throws IOException if the daemon cannot listen on its port
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        int port = Integer.getInteger("runner.port", TestRunnerDaemon.DEFAULT_PORT);
+        String command = args.length == 0 ? "" : args[0];
+        List<String> options = Arrays.asList(args).subList(Math.min(1, args.length), args.length);
+        switch (command) {
+            case "serve":
+                serve(port);
+                break;
+            case "run":
+                RunRequest request;
+                try {
+                    request = RunRequest.fromArguments(options);
+                } catch (IllegalArgumentException e) {
+                    System.out.println(e.getMessage());
+                    printUsage();
+                    System.exit(2);
+                    return;
+                }
+                System.exit(TestRunnerClient.send(port, request, System.out));
+                break;
+            default:
+                printUsage();
+                break;
+        }
+    }
+    
+    private static void printUsage() {
         System.out.println("API Test Automation Framework");
         System.out.println("To run tests, use: mvn test");
+        System.out.println("To keep a warm test runner, use: mvn -Pdaemon test-compile exec:exec");
+        System.out.println("  and run tests with: java -cp target/classes org.example.Main run "
+                + "[--class NAME] [--method CLASS#METHOD] [--tag TAG] [--exclude-tag TAG] "
+                + "[--parallelism N] [--shutdown]");
+    }
+    
+    private static void serve(int port) throws IOException {
+        try (TestRunnerDaemon daemon = new TestRunnerDaemon(port,
+                System.getProperty("runner.package", TestRunnerDaemon.DEFAULT_PACKAGE))) {
+            long tests = daemon.discover();
+            System.out.println("Test runner: " + tests + " tests found, listening on port " + daemon.getPort());
+            daemon.serve();
+        }
+        System.out.println("Test runner: stopped");
     }
 }
@@ -0,0 +1,176 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A request to the {@link TestRunnerDaemon} to run tests.
+ * <p>
+ * On the wire a request is one {@code key=value} line per setting, terminated by an empty
+ * line, e.g.:
+ * <pre>
+ * class=PostsApiTest
+ * method=CommentsApiTest#testCommentsCollectionJsonSchema
+ * tag=smoke
+ * parallelism=4
+ * </pre>
+ * Keys may repeat; a request without classes and methods runs every test of the daemon's
+ * package. Class names without a package are looked up in that package.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class RunRequest {
+    
+    private final List<String> classes = new ArrayList<>();
+    private final List<String> methods = new ArrayList<>();
+    private final List<String> tags = new ArrayList<>();
+    private final List<String> excludedTags = new ArrayList<>();
+    private int parallelism = 1;
+    private boolean shutdown;
+    
+    /**
+     * Parses the options of the {@code run} command.
+     * <p>
+     * Options: {@code --class NAME}, {@code --method CLASS#METHOD}, {@code --tag TAG},
+     * {@code --exclude-tag TAG}, {@code --parallelism N} and {@code --shutdown}.
+     * </p>
+     *
+     * @param args the command line arguments after the command
+     * @return the request
+     * @throws IllegalArgumentException if an option is unknown or misses its value
+     */
+    public static RunRequest fromArguments(List<String> args) {
+        RunRequest request = new RunRequest();
+        for (int i = 0; i < args.size(); i++) {
+            String option = args.get(i);
+            if ("--shutdown".equals(option)) {
+                request.shutdown = true;
+                continue;
+            }
+            if (!option.startsWith("--") || i + 1 == args.size()) {
+                throw new IllegalArgumentException("Expected an option with a value, got: " + option);
+            }
+            request.set(option.substring(2), args.get(++i));
+        }
+        return request;
+    }
+    
+    /**
+     * Reads a request sent by a client.
+     *
+     * @param reader the connection input
+     * @return the request, or {@code null} if the client closed the connection first
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if a line is not a known setting
+     */
+    public static RunRequest read(BufferedReader reader) throws IOException {
+        RunRequest request = new RunRequest();
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        for (; line != null && !line.isEmpty(); line = reader.readLine()) {
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + line);
+            }
+            request.set(line.substring(0, separator), line.substring(separator + 1));
+        }
+        return request;
+    }
+    
+    /**
+     * Writes the request in the wire format, including the terminating empty line.
+     *
+     * @param writer the connection output
+     */
+    public void write(PrintWriter writer) {
+        classes.forEach(name -> writer.print("class=" + name + "\n"));
+        methods.forEach(name -> writer.print("method=" + name + "\n"));
+        tags.forEach(tag -> writer.print("tag=" + tag + "\n"));
+        excludedTags.forEach(tag -> writer.print("exclude-tag=" + tag + "\n"));
+        writer.print("parallelism=" + parallelism + "\n");
+        if (shutdown) {
+            writer.print("shutdown=true\n");
+        }
+        writer.print("\n");
+        writer.flush();
+    }
+    
+    private void set(String key, String value) {
+        switch (key) {
+            case "class":
+                classes.add(value);
+                break;
+            case "method":
+                if (value.indexOf('#') <= 0) {
+                    throw new IllegalArgumentException("Expected CLASS#METHOD, got: " + value);
+                }
+                methods.add(value);
+                break;
+            case "tag":
+                tags.add(value);
+                break;
+            case "exclude-tag":
+                excludedTags.add(value);
+                break;
+            case "parallelism":
+                parallelism = Integer.parseInt(value);
+                if (parallelism < 1) {
+                    throw new IllegalArgumentException("Parallelism must be at least 1, got: " + value);
+                }
+                break;
+            case "shutdown":
+                shutdown = Boolean.parseBoolean(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown setting: " + key);
+        }
+    }
+    
+    public List<String> getClasses() {
+        return Collections.unmodifiableList(classes);
+    }
+    
+    /**
+     * Retrieves the selected test methods.
+     *
+     * @return the methods as {@code CLASS#METHOD}
+     */
+    public List<String> getMethods() {
+        return Collections.unmodifiableList(methods);
+    }
+    
+    public List<String> getTags() {
+        return Collections.unmodifiableList(tags);
+    }
+    
+    public List<String> getExcludedTags() {
+        return Collections.unmodifiableList(excludedTags);
+    }
+    
+    /**
+     * Retrieves the number of test classes run concurrently.
+     *
+     * @return the parallelism, 1 to run the classes one after the other
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    /**
+     * Determines whether the client asks the daemon to stop instead of running tests.
+     *
+     * @return true for a shutdown request
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Client sending a {@link RunRequest} to a running {@link TestRunnerDaemon}.
+ * <p>
+ * The client only needs the JDK, so it starts in a fraction of the time a test JVM takes.
+ * It prints the result lines as the daemon streams them and ends with the daemon's exit
+ * code, so it can stand in for {@code mvn test} in scripts and CI steps.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class TestRunnerClient {
+    
+    /**
+     * Exit code when the daemon could not be reached or hung up before the run ended.
+     */
+    public static final int CONNECTION_FAILED = 3;
+    
+    private TestRunnerClient() {
+    }
+    
+    /**
+     * Sends a request and prints the results.
+     *
+     * @param port the daemon port on the loopback interface
+     * @param request the run request
+     * @param out receives the result lines
+     * @return the exit code sent by the daemon, or {@link #CONNECTION_FAILED}
+     */
+    public static int send(int port, RunRequest request, PrintStream out) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            request.write(new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("EXIT ")) {
+                    return Integer.parseInt(line.substring("EXIT ".length()));
+                }
+                out.println(line);
+            }
+            out.println("Test runner closed the connection before the run ended");
+        } catch (IOException e) {
+            out.println("Test runner not reachable on port " + port + ": " + e.getMessage());
+        }
+        return CONNECTION_FAILED;
+    }
+}
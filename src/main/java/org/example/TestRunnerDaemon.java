@@ -0,0 +1,284 @@
+package org.example;
+
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TagFilter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+
+/**
+ * Long-lived test runner that keeps a warm JVM between test runs.
+ * <p>
+ * Every {@code mvn test} starts a new JVM: classes are loaded and verified again, HTTP
+ * connection pools and compiled JSON schemas are rebuilt, validators run interpreted until
+ * the JIT catches up, and {@code BaseTest} sends its warm-up requests. The daemon pays for
+ * that once. It listens on a loopback port and runs each {@link RunRequest} through one
+ * JUnit Platform {@link Launcher}, so later runs reuse everything earlier runs initialized.
+ * </p>
+ * <p>
+ * Runs are served one at a time, in the order clients connect. Results are streamed back
+ * as lines while the tests run:
+ * <ul>
+ *   <li>{@code PASSED|FAILED|ABORTED <duration>ms <name>}, followed by the indented
+ *       exception for failed and aborted tests</li>
+ *   <li>{@code SKIPPED <name>: <reason>}</li>
+ *   <li>{@code SUMMARY <counts>} once the run is done</li>
+ *   <li>{@code EXIT <code>} as the last line: 0 if every test passed, 1 if one failed, 2 if
+ *       the request was invalid</li>
+ * </ul>
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class TestRunnerDaemon implements AutoCloseable {
+    
+    /**
+     * Default port, overridden by the {@code runner.port} system property.
+     */
+    public static final int DEFAULT_PORT = 7420;
+    
+    /**
+     * Default package of the tests, overridden by the {@code runner.package} system property.
+     */
+    public static final String DEFAULT_PACKAGE = "com.api.tests";
+    
+    private final Launcher launcher = LauncherFactory.create();
+    private final ServerSocket server;
+    private final String testPackage;
+    private volatile boolean running = true;
+    
+    /**
+     * Creates a daemon listening on the loopback interface.
+     *
+     * @param port the port, or 0 for any free port
+     * @param testPackage the package searched for test classes
+     * @throws IOException if the port cannot be bound
+     */
+    public TestRunnerDaemon(int port, String testPackage) throws IOException {
+        this.server = new ServerSocket();
+        this.server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.testPackage = testPackage;
+    }
+    
+    public int getPort() {
+        return server.getLocalPort();
+    }
+    
+    /**
+     * Discovers the tests of the package once, so their classes and the test engines are
+     * loaded before the first client connects.
+     *
+     * @return the number of tests found
+     */
+    public long discover() {
+        TestPlan plan = launcher.discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectPackage(testPackage)).build());
+        return plan.countTestIdentifiers(TestIdentifier::isTest);
+    }
+    
+    /**
+     * Serves run requests until a client asks for a shutdown or the daemon is closed.
+     *
+     * @throws IOException if accepting connections fails
+     */
+    public void serve() throws IOException {
+        while (running) {
+            try (Socket client = server.accept()) {
+                handle(client);
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+                System.err.println("Test runner: connection failed: " + e);
+            }
+        }
+    }
+    
+    private void handle(Socket client) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8));
+        RunRequest request;
+        try {
+            request = RunRequest.read(reader);
+        } catch (IllegalArgumentException e) {
+            writer.print("ERROR " + e.getMessage() + "\nEXIT 2\n");
+            writer.flush();
+            return;
+        }
+        if (request == null) {
+            return;
+        }
+        if (request.isShutdown()) {
+            running = false;
+            writer.print("EXIT 0\n");
+            writer.flush();
+            server.close();
+            return;
+        }
+        System.out.println("Test runner: running classes " + request.getClasses() + ", methods " + request.getMethods()
+                + ", tags " + request.getTags() + ", parallelism " + request.getParallelism());
+        int exitCode = run(request, writer);
+        writer.print("EXIT " + exitCode + "\n");
+        writer.flush();
+    }
+    
+    /**
+     * Runs the tests of a request and streams their results.
+     *
+     * @param request the run request
+     * @param writer receives one line per finished test and a summary
+     * @return 0 if every test passed, 1 otherwise
+     */
+    public int run(RunRequest request, PrintWriter writer) {
+        StreamingListener listener = new StreamingListener(writer);
+        launcher.execute(toDiscoveryRequest(request), listener);
+        return listener.finish();
+    }
+    
+    LauncherDiscoveryRequest toDiscoveryRequest(RunRequest request) {
+        List<DiscoverySelector> selectors = new ArrayList<>();
+        request.getClasses().forEach(name -> selectors.add(selectClass(qualify(name))));
+        request.getMethods().forEach(name -> selectors.add(selectMethod(qualify(name))));
+        if (selectors.isEmpty()) {
+            selectors.add(selectPackage(testPackage));
+        }
+        LauncherDiscoveryRequestBuilder builder = LauncherDiscoveryRequestBuilder.request().selectors(selectors);
+        if (!request.getTags().isEmpty()) {
+            builder.filters(TagFilter.includeTags(request.getTags()));
+        }
+        if (!request.getExcludedTags().isEmpty()) {
+            builder.filters(TagFilter.excludeTags(request.getExcludedTags()));
+        }
+        if (request.getParallelism() > 1) {
+            // Classes run concurrently; the methods of a class share its state and stay sequential
+            builder.configurationParameters(Map.of(
+                    "junit.jupiter.execution.parallel.enabled", "true",
+                    "junit.jupiter.execution.parallel.mode.default", "same_thread",
+                    "junit.jupiter.execution.parallel.mode.classes.default", "concurrent",
+                    "junit.jupiter.execution.parallel.config.strategy", "fixed",
+                    "junit.jupiter.execution.parallel.config.fixed.parallelism",
+                    String.valueOf(request.getParallelism())));
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Prefixes class names without a package, with or without a method, with the test package.
+     */
+    private String qualify(String name) {
+        int method = name.indexOf('#');
+        String className = method < 0 ? name : name.substring(0, method);
+        return className.indexOf('.') < 0 ? testPackage + "." + name : name;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+    }
+    
+    /**
+     * Writes a line per finished test, from whichever thread ran it.
+     */
+    private static final class StreamingListener implements TestExecutionListener {
+        
+        private final PrintWriter writer;
+        private final Map<String, Long> startNanos = new ConcurrentHashMap<>();
+        private final AtomicLong passed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong aborted = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final long runStart = System.nanoTime();
+        private volatile TestPlan plan;
+        
+        StreamingListener(PrintWriter writer) {
+            this.writer = writer;
+        }
+        
+        @Override
+        public void testPlanExecutionStarted(TestPlan testPlan) {
+            plan = testPlan;
+        }
+        
+        @Override
+        public void executionStarted(TestIdentifier identifier) {
+            startNanos.put(identifier.getUniqueId(), System.nanoTime());
+        }
+        
+        @Override
+        public void executionSkipped(TestIdentifier identifier, String reason) {
+            if (identifier.isTest()) {
+                skipped.incrementAndGet();
+            }
+            print("SKIPPED " + name(identifier) + ": " + reason);
+        }
+        
+        @Override
+        public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+            Long start = startNanos.remove(identifier.getUniqueId());
+            long millis = start == null ? 0 : (System.nanoTime() - start) / 1_000_000;
+            TestExecutionResult.Status status = result.getStatus();
+            // Containers are only reported when their setup or teardown failed
+            if (!identifier.isTest() && status == TestExecutionResult.Status.SUCCESSFUL) {
+                return;
+            }
+            if (identifier.isTest()) {
+                (status == TestExecutionResult.Status.SUCCESSFUL ? passed
+                        : status == TestExecutionResult.Status.ABORTED ? aborted : failed).incrementAndGet();
+            } else if (status == TestExecutionResult.Status.FAILED) {
+                failed.incrementAndGet();
+            }
+            String line = (status == TestExecutionResult.Status.SUCCESSFUL ? "PASSED"
+                    : status == TestExecutionResult.Status.ABORTED ? "ABORTED" : "FAILED")
+                    + " " + millis + "ms " + name(identifier);
+            print(result.getThrowable().map(cause -> line + "\n  " + cause).orElse(line));
+        }
+        
+        private String name(TestIdentifier identifier) {
+            TestPlan current = plan;
+            String parent = current == null ? "" : current.getParent(identifier)
+                    .filter(container -> container.getSource().isPresent())
+                    .map(container -> container.getDisplayName() + " > ").orElse("");
+            return parent + identifier.getDisplayName();
+        }
+        
+        private synchronized void print(String text) {
+            writer.print(text + "\n");
+            writer.flush();
+        }
+        
+        int finish() {
+            print("SUMMARY " + (passed.get() + failed.get() + aborted.get()) + " tests, " + passed + " passed, "
+                    + failed + " failed, " + aborted + " aborted, " + skipped + " skipped in "
+                    + (System.nanoTime() - runStart) / 1_000_000 + "ms");
+            return failed.get() == 0 ? 0 : 1;
+        }
+    }
+}
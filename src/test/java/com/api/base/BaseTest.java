@@ -1,10 +1,21 @@
 package com.api.base;
 
+import com.api.faults.FaultInjectionProxy;
+import com.api.filters.AllureCaptureFilter;
+import com.api.filters.CoalescingFilter;
+import com.api.filters.CompressionFilter;
+import com.api.filters.PhaseTimingFilter;
+import com.api.filters.RequestTelemetryFilter;
+import com.api.filters.TransferStats;
+import com.api.listeners.DeadlineExtension;
+import com.api.listeners.RequestCoalescingExtension;
+import com.api.listeners.TestImpactExtension;
 import com.api.listeners.TestResultLogger;
+import com.api.synthetic.SyntheticApiServer;
 import com.api.utilities.ConfigManager;
-import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.DecoderConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.AfterAll;
@@ -14,6 +25,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 /**
  * Base Test class for all API test classes.
  * <p>
@@ -32,7 +45,12 @@ import org.slf4j.LoggerFactory;
  * </p>
  * <p>
  * The {@code @ExtendWith(TestResultLogger.class)} annotation enables automatic
- * logging of test results with timestamps and status information.
+ * logging of test results with timestamps and status information, and
+ * {@code DeadlineExtension} enforces the test and suite time budgets.
+ * {@code TestImpactExtension} records the inputs of each test and skips tests whose
+ * inputs are unchanged since they last passed against offline stand-ins.
+ * {@code RequestCoalescingExtension} applies {@code @CoalesceRequests} to the requests of
+ * each test.
  * </p>
  *
  * @author API Test Automation Team
@@ -40,7 +58,8 @@ import org.slf4j.LoggerFactory;
  * @since 1.0
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@ExtendWith(TestResultLogger.class)
+@ExtendWith({TestResultLogger.class, DeadlineExtension.class, TestImpactExtension.class,
+        RequestCoalescingExtension.class})
 public abstract class BaseTest {
     
     /**
@@ -56,6 +75,14 @@ public abstract class BaseTest {
      */
     protected RequestSpecification requestSpec;
     
+    /**
+     * Number of test classes between setup and teardown, which is more than one when the
+     * test runner daemon runs classes in parallel. REST Assured merges the global request
+     * specification into every request, so concurrent classes must share one instead of
+     * each installing its own. Guarded by {@code BaseTest.class}.
+     */
+    private static int activeClasses;
+    
     /**
      * Setup method executed once before all tests in the test class.
      * <p>
@@ -64,28 +91,52 @@ public abstract class BaseTest {
      *   <li>Base URI from ConfigManager</li>
      *   <li>Default Content-Type and Accept headers</li>
      *   <li>Allure reporting filter for test reports</li>
+     *   <li>Coalescing of identical GET requests in flight, when {@code request.coalescing}
+     *       is enabled</li>
+     *   <li>Compression negotiation with wire and decoded size measurement</li>
+     *   <li>Per-phase timing of every request (DNS, connect, TLS, first byte, transfer)</li>
+     *   <li>Warm-up requests once per JVM and base URL, unless {@code warmup.requests} is 0</li>
+     *   <li>Flight recorder events for every request</li>
+     *   <li>Routing through the fault injection proxy when {@code fault.proxy} is enabled</li>
      *   <li>Request/response logging based on configuration</li>
      * </ul>
      * </p>
      */
     @BeforeAll
-    public void setup() {
-        logger.info("Initializing test framework with base URL: {}", ConfigManager.getBaseUrl());
-        
-        RestAssured.baseURI = ConfigManager.getBaseUrl();
-        
-        RequestSpecBuilder builder = new RequestSpecBuilder();
-        builder.setContentType("application/json");
-        builder.addHeader("Accept", "application/json");
-        builder.addFilter(new AllureRestAssured());
-        
-        // Disable console logging for REST Assured requests/responses
-        // Logs are still captured in Allure reports
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
-        
-        requestSpec = builder.build();
+    public void setup() throws IOException {
+        String baseUrl = ConfigManager.isSyntheticApiEnabled()
+                ? SyntheticApiServer.shared().getBaseUrl() : ConfigManager.getBaseUrl();
+        logger.info("Initializing test framework with base URL: {}", baseUrl);
         
-        RestAssured.requestSpecification = requestSpec;
+        // Test classes running in parallel share the global configuration of the first one
+        synchronized (BaseTest.class) {
+            if (activeClasses++ == 0) {
+                RestAssured.baseURI = ConfigManager.isFaultProxyEnabled()
+                        ? FaultInjectionProxy.shared().getBaseUrl() : baseUrl;
+                // Bodies are decoded by CompressionFilter so that wire sizes can be measured
+                // Clients report DNS, connect, TLS, first byte and transfer times to PhaseTimingFilter
+                RestAssured.config = PhaseTimingFilter.configure(RestAssured.config()
+                        .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()));
+                // Sent before the global filters are installed, so warm-up stays out of the metrics
+                WarmUp.ensureWarm(baseUrl);
+                
+                RequestSpecBuilder builder = new RequestSpecBuilder();
+                builder.setContentType("application/json");
+                builder.addHeader("Accept", "application/json");
+                builder.addFilter(new RequestTelemetryFilter());
+                builder.addFilter(new AllureCaptureFilter());
+                builder.addFilter(new CoalescingFilter());
+                builder.addFilter(new CompressionFilter(ConfigManager.getAcceptEncoding()));
+                builder.addFilter(new PhaseTimingFilter());
+                
+                // Disable console logging for REST Assured requests/responses
+                // Logs are still captured in Allure reports
+                RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+                
+                RestAssured.requestSpecification = builder.build();
+            }
+            requestSpec = RestAssured.requestSpecification;
+        }
         
         logger.info("Test framework initialized successfully");
     }
@@ -108,8 +159,9 @@ public abstract class BaseTest {
      * <p>
      * This method performs cleanup operations including:
      * <ul>
-     *   <li>Resetting REST Assured configuration to defaults</li>
+     *   <li>Resetting REST Assured configuration to defaults, after the last running test class</li>
      *   <li>Clearing base URI and request specifications</li>
+     *   <li>Logging transfer sizes per endpoint</li>
      *   <li>Logging test suite completion</li>
      * </ul>
      * </p>
@@ -117,9 +169,16 @@ public abstract class BaseTest {
     @AfterAll
     public void teardown() {
         logger.info("Cleaning up test framework resources");
+        TransferStats.summary().forEach(line -> logger.debug("Transfer {}", line));
         
-        // Reset REST Assured to default configuration
-        RestAssured.reset();
+        // Reset REST Assured to default configuration, once no other test class still uses it
+        synchronized (BaseTest.class) {
+            // Not counted if the setup failed before it got there
+            activeClasses = Math.max(0, activeClasses - 1);
+            if (activeClasses == 0) {
+                RestAssured.reset();
+            }
+        }
         
         logger.info("Test framework cleanup completed");
     }
@@ -0,0 +1,77 @@
+package com.api.base;
+
+import com.api.filters.PhaseTimingFilter;
+import com.api.filters.RequestPhases;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.RequestBuilder;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Warm-up requests sent before the first measured test.
+ * <p>
+ * The first request to a host pays for the DNS lookup, the TCP connect and the TLS
+ * handshake, on top of class loading and JIT compilation in the test JVM and cold caches on
+ * the server. {@link BaseTest} therefore sends {@code warmup.requests} GETs to every path of
+ * {@code warmup.paths} once per JVM and base URL, before the telemetry filters are
+ * installed, so warm-up requests are kept out of the metrics and latency samples. The
+ * phases of the first and last warm-up request are logged to show what the warm-up saved.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class WarmUp {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WarmUp.class);
+    
+    /**
+     * Base URLs warmed up in this JVM.
+     */
+    private static final Set<String> WARMED = ConcurrentHashMap.newKeySet();
+    
+    private WarmUp() {
+    }
+    
+    /**
+     * Sends the configured warm-up requests, unless the base URL was warmed up before.
+     * <p>
+     * Failed warm-up requests are logged and otherwise ignored; the tests report the problem.
+     * </p>
+     *
+     * @param baseUrl the base URL of the API under test
+     * @return the number of requests sent
+     */
+    public static int ensureWarm(String baseUrl) {
+        int requests = ConfigManager.getWarmupRequests();
+        if (requests <= 0 || !WARMED.add(baseUrl)) {
+            return 0;
+        }
+        int sent = 0;
+        for (String path : ConfigManager.getWarmupPaths()) {
+            for (int i = 1; i <= requests; i++) {
+                try {
+                    Response response = RequestBuilder.buildGetRequest(path)
+                            .baseUri(baseUrl)
+                            .filter(new PhaseTimingFilter())
+                            .get(path);
+                    sent++;
+                    if (i == 1 || i == requests) {
+                        logger.info("Warm-up GET {} #{}: {}, {}", path, i, response.getStatusCode(),
+                                RequestPhases.of(response));
+                    }
+                } catch (Exception e) {
+                    // REST Assured rethrows I/O errors such as an unknown host unchecked
+                    logger.warn("Warm-up GET {} failed: {}", path, e.toString());
+                    break;
+                }
+            }
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,416 @@
+package com.api.comparison;
+
+import com.api.filters.Http2TransportFilter;
+import com.api.performance.LatencyRegressionGate;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.Deadline;
+import com.api.utilities.RequestBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the same GET requests to several environments at once and compares the results.
+ * <p>
+ * Each environment runs on its own pool of {@code concurrency} threads and, with the HTTP/2
+ * transport, its own {@code HttpClient}, so a slow environment neither delays the requests
+ * of another nor shares connections with it. Requests are submitted round-robin, so every
+ * environment sees the same sequence at the same time and the latencies are measured under
+ * the same client-side conditions.
+ * </p>
+ * <p>
+ * The {@link ComparisonReport} lists the latency distribution of every environment side by
+ * side per endpoint, and a {@link JsonStructureDiff} of the first response of every
+ * environment against the first environment, the reference. Only GET requests are sent,
+ * so comparing against production changes no data.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class EnvironmentComparison {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final List<Environment> environments;
+    private final int samples;
+    private final int concurrency;
+    
+    /**
+     * Creates a comparison.
+     *
+     * @param environments the environments, the first one being the reference
+     * @param samples the number of requests per endpoint and environment
+     * @param concurrency the maximum number of requests in flight per environment
+     * @throws IllegalArgumentException if fewer than two environments are given, or a count is not positive
+     */
+    public EnvironmentComparison(List<Environment> environments, int samples, int concurrency) {
+        if (environments.size() < 2) {
+            throw new IllegalArgumentException("At least two environments are needed for a comparison");
+        }
+        if (samples <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("Samples and concurrency must be positive");
+        }
+        this.environments = List.copyOf(environments);
+        this.samples = samples;
+        this.concurrency = concurrency;
+    }
+    
+    /**
+     * Creates a comparison of the environments in {@code compare.environments}.
+     *
+     * @return the configured comparison
+     * @throws IllegalArgumentException if fewer than two environments are configured
+     */
+    public static EnvironmentComparison fromConfig() {
+        return new EnvironmentComparison(Environment.parseAll(ConfigManager.getCompareEnvironments()),
+                ConfigManager.getCompareSamples(), ConfigManager.getCompareConcurrency());
+    }
+    
+    /**
+     * Requests every path from every environment and waits for all responses.
+     *
+     * @param paths the request paths, optionally with a query string (e.g., "/comments?postId=1")
+     * @return the comparison report
+     */
+    public ComparisonReport run(List<String> paths) {
+        List<EnvironmentRun> runs = environments.stream().map(EnvironmentRun::new).collect(Collectors.toList());
+        try {
+            List<CompletableFuture<Void>> requests = new ArrayList<>();
+            for (int sample = 0; sample < samples; sample++) {
+                for (String path : paths) {
+                    for (EnvironmentRun run : runs) {
+                        int current = sample;
+                        requests.add(CompletableFuture.runAsync(
+                                Deadline.bind(() -> run.request(path, current)), run.workers));
+                    }
+                }
+            }
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            runs.forEach(run -> run.workers.shutdownNow());
+        }
+        List<EndpointComparison> endpoints = new ArrayList<>();
+        for (String path : paths) {
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            runs.forEach(run -> stats.put(run.environment.getName(), run.stats.get(path)));
+            endpoints.add(new EndpointComparison(path, stats));
+        }
+        return new ComparisonReport(environments, samples, endpoints);
+    }
+    
+    /**
+     * An environment: a name and the base URL of its API.
+     */
+    public static final class Environment {
+        
+        private final String name;
+        private final String baseUrl;
+        
+        /**
+         * Creates an environment.
+         *
+         * @param name the name used in the report (e.g., "canary")
+         * @param baseUrl the base URL of the API
+         */
+        public Environment(String name, String baseUrl) {
+            this.name = name;
+            this.baseUrl = baseUrl;
+        }
+        
+        /**
+         * Parses a list of environments.
+         *
+         * @param environments comma separated {@code name=baseUrl} pairs
+         *                     (e.g., "production=https://api.example.com,canary=https://canary.example.com")
+         * @return the environments in the order given
+         * @throws IllegalArgumentException if a pair has no name or no URL
+         */
+        public static List<Environment> parseAll(String environments) {
+            List<Environment> parsed = new ArrayList<>();
+            for (String pair : environments.split(",")) {
+                String entry = pair.trim();
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                int separator = entry.indexOf('=');
+                if (separator <= 0 || separator == entry.length() - 1) {
+                    throw new IllegalArgumentException("Expected name=baseUrl but got '" + entry + "'");
+                }
+                parsed.add(new Environment(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim()));
+            }
+            return parsed;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+        
+        @Override
+        public String toString() {
+            return name + "=" + baseUrl;
+        }
+    }
+    
+    /**
+     * The isolated request pool of one environment during a run.
+     */
+    private final class EnvironmentRun {
+        
+        private final Environment environment;
+        private final ExecutorService workers;
+        private final Http2TransportFilter transport = new Http2TransportFilter(Http2TransportFilter.newClient());
+        private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        
+        EnvironmentRun(Environment environment) {
+            this.environment = environment;
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "compare-" + environment.getName() + "-"
+                        + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        
+        void request(String path, int sample) {
+            EndpointStats endpoint;
+            synchronized (stats) {
+                endpoint = stats.computeIfAbsent(path, key -> new EndpointStats());
+            }
+            long start = System.nanoTime();
+            try {
+                Response response = RequestBuilder.buildGetRequest(path, transport)
+                        .baseUri(environment.getBaseUrl()).get(path);
+                endpoint.record(System.nanoTime() - start, response.getStatusCode());
+                if (sample == 0) {
+                    endpoint.body = parse(response.asByteArray());
+                }
+            } catch (RuntimeException e) {
+                endpoint.fail(e);
+            }
+        }
+    }
+    
+    private static JsonNode parse(byte[] body) {
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+    
+    /**
+     * Latencies and outcomes of one endpoint in one environment.
+     */
+    public static final class EndpointStats {
+        
+        private final List<Long> nanos = new ArrayList<>();
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+        private int errors;
+        private String firstError;
+        private volatile JsonNode body;
+        
+        private synchronized void record(long elapsedNanos, int status) {
+            nanos.add(elapsedNanos);
+            statuses.merge(status, 1, Integer::sum);
+        }
+        
+        private synchronized void fail(RuntimeException e) {
+            if (errors++ == 0) {
+                firstError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+        }
+        
+        /**
+         * Retrieves the number of responses of each status code.
+         *
+         * @return the response counts by status code
+         */
+        public synchronized Map<Integer, Integer> getStatuses() {
+            return Collections.unmodifiableMap(new TreeMap<>(statuses));
+        }
+        
+        /**
+         * Retrieves the number of requests that failed without a response.
+         *
+         * @return the error count
+         */
+        public synchronized int getErrors() {
+            return errors;
+        }
+        
+        /**
+         * Retrieves the body of the first request, parsed as JSON.
+         *
+         * @return the body, a text node if it is not JSON, or null if the request failed
+         */
+        public JsonNode getBody() {
+            return body;
+        }
+        
+        /**
+         * Retrieves the latencies of the requests that got a response.
+         *
+         * @return the latencies in milliseconds, sorted
+         */
+        public synchronized double[] getMillis() {
+            double[] millis = nanos.stream().mapToDouble(value -> value / 1e6).toArray();
+            Arrays.sort(millis);
+            return millis;
+        }
+        
+        /**
+         * Computes a latency percentile.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the latency in milliseconds, or {@code NaN} without responses
+         */
+        public double getPercentileMillis(double percentile) {
+            return LatencyRegressionGate.percentile(getMillis(), percentile);
+        }
+        
+        @Override
+        public synchronized String toString() {
+            String text = String.format(Locale.ROOT, "p50 %8.1fms  p90 %8.1fms  p99 %8.1fms  max %8.1fms  status %s",
+                    getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+                    getPercentileMillis(100), statuses);
+            return errors == 0 ? text : text + String.format(Locale.ROOT, "  %d errors (%s)", errors, firstError);
+        }
+    }
+    
+    /**
+     * One endpoint across all environments.
+     */
+    public static final class EndpointComparison {
+        
+        private final String path;
+        private final Map<String, EndpointStats> stats;
+        private final Map<String, JsonStructureDiff> diffs = new LinkedHashMap<>();
+        
+        EndpointComparison(String path, Map<String, EndpointStats> stats) {
+            this.path = path;
+            this.stats = stats;
+            Iterator<Map.Entry<String, EndpointStats>> environments = stats.entrySet().iterator();
+            JsonNode reference = environments.next().getValue().getBody();
+            while (reference != null && environments.hasNext()) {
+                Map.Entry<String, EndpointStats> environment = environments.next();
+                if (environment.getValue().getBody() != null) {
+                    diffs.put(environment.getKey(), JsonStructureDiff.compare(reference, environment.getValue().getBody()));
+                }
+            }
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        /**
+         * Retrieves the statistics of each environment.
+         *
+         * @return the statistics by environment name, reference first
+         */
+        public Map<String, EndpointStats> getStats() {
+            return Collections.unmodifiableMap(stats);
+        }
+        
+        /**
+         * Retrieves the body differences of each environment against the reference.
+         *
+         * @return the diffs by environment name, without the reference and environments without a body
+         */
+        public Map<String, JsonStructureDiff> getDiffs() {
+            return Collections.unmodifiableMap(diffs);
+        }
+    }
+    
+    /**
+     * Outcome of a comparison run.
+     */
+    public static final class ComparisonReport {
+        
+        private final List<Environment> environments;
+        private final int samples;
+        private final List<EndpointComparison> endpoints;
+        
+        ComparisonReport(List<Environment> environments, int samples, List<EndpointComparison> endpoints) {
+            this.environments = environments;
+            this.samples = samples;
+            this.endpoints = endpoints;
+        }
+        
+        public List<EndpointComparison> getEndpoints() {
+            return Collections.unmodifiableList(endpoints);
+        }
+        
+        /**
+         * Determines whether any environment returned a body with another structure than the
+         * reference.
+         *
+         * @return true if a field is missing or extra, or changed its type, in any environment
+         */
+        public boolean hasStructuralDifferences() {
+            return endpoints.stream().flatMap(endpoint -> endpoint.diffs.values().stream())
+                    .anyMatch(JsonStructureDiff::hasStructuralDifferences);
+        }
+        
+        /**
+         * Writes the report as text.
+         *
+         * @param file the file to create or overwrite
+         * @throws IOException if the file cannot be written
+         */
+        public void write(Path file) throws IOException {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, toString() + System.lineSeparator());
+        }
+        
+        @Override
+        public String toString() {
+            int width = environments.stream().mapToInt(environment -> environment.getName().length()).max().orElse(0);
+            String newLine = System.lineSeparator();
+            StringBuilder text = new StringBuilder("Comparison of ").append(environments).append(" with ")
+                    .append(samples).append(" requests per endpoint; the first environment is the reference");
+            for (EndpointComparison endpoint : endpoints) {
+                text.append(newLine).append("GET ").append(endpoint.path);
+                endpoint.stats.forEach((environment, stats) -> text.append(newLine)
+                        .append(String.format(Locale.ROOT, "  %-" + width + "s  ", environment)).append(stats));
+                endpoint.diffs.forEach((environment, diff) -> {
+                    if (!diff.isEmpty()) {
+                        text.append(newLine).append("  ").append(environment).append(" differs from the reference:");
+                        diff.getDifferences().forEach(difference -> text.append(newLine).append("    ")
+                                .append(difference));
+                    }
+                });
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.api.comparison;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Structural comparison of two JSON documents.
+ * <p>
+ * The documents are walked together and every difference is reported under its normalized
+ * path, where array indices are replaced by {@code []} (e.g., {@code $[].address.geo.lat}).
+ * A field whose type changed in all 100 posts of a collection is therefore one
+ * difference seen 100 times, with a few sample locations, instead of 100 differences.
+ * Elements of arrays of objects are matched by their {@code id} field when every element
+ * has one, and by index otherwise.
+ * </p>
+ * <p>
+ * Missing and extra fields and changed types are structural differences; changed array
+ * sizes and changed values are reported too, but are expected between environments
+ * serving different data.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class JsonStructureDiff {
+    
+    /**
+     * Maximum number of sample locations kept per difference.
+     */
+    private static final int MAX_SAMPLES = 3;
+    
+    /**
+     * Maximum length of a value shown in a sample.
+     */
+    private static final int MAX_VALUE_LENGTH = 40;
+    
+    private static final String ID_FIELD = "id";
+    
+    private final Map<String, Difference> differences = new LinkedHashMap<>();
+    
+    private JsonStructureDiff() {
+    }
+    
+    /**
+     * Compares a document against a reference document.
+     *
+     * @param expected the reference document
+     * @param actual the compared document
+     * @return the differences of {@code actual}
+     */
+    public static JsonStructureDiff compare(JsonNode expected, JsonNode actual) {
+        JsonStructureDiff diff = new JsonStructureDiff();
+        diff.walk("$", "$", expected, actual);
+        return diff;
+    }
+    
+    /**
+     * Retrieves the differences in the order they were first found.
+     *
+     * @return the differences, empty if the documents are equal
+     */
+    public List<Difference> getDifferences() {
+        return Collections.unmodifiableList(new ArrayList<>(differences.values()));
+    }
+    
+    /**
+     * Determines whether the documents are equal.
+     *
+     * @return true if no difference was found
+     */
+    public boolean isEmpty() {
+        return differences.isEmpty();
+    }
+    
+    /**
+     * Determines whether fields are missing or extra or changed their type.
+     *
+     * @return true if the documents differ in structure, not only in values or sizes
+     */
+    public boolean hasStructuralDifferences() {
+        return differences.values().stream().anyMatch(difference -> difference.getKind().isStructural());
+    }
+    
+    private void walk(String path, String location, JsonNode expected, JsonNode actual) {
+        if (expected.getNodeType() != actual.getNodeType()) {
+            add(Kind.TYPE, path, location, typeName(expected) + " -> " + typeName(actual));
+        } else if (expected.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = expected.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = actual.get(field.getKey());
+                if (value == null) {
+                    add(Kind.MISSING, path + "." + field.getKey(), location + "." + field.getKey(), null);
+                } else {
+                    walk(path + "." + field.getKey(), location + "." + field.getKey(), field.getValue(), value);
+                }
+            }
+            Iterator<String> names = actual.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!expected.has(name)) {
+                    add(Kind.EXTRA, path + "." + name, location + "." + name, null);
+                }
+            }
+        } else if (expected.isArray()) {
+            walkArray(path, location, expected, actual);
+        } else if (!sameValue(expected, actual)) {
+            add(Kind.VALUE, path, location, shorten(expected) + " -> " + shorten(actual));
+        }
+    }
+    
+    private void walkArray(String path, String location, JsonNode expected, JsonNode actual) {
+        if (expected.size() != actual.size()) {
+            add(Kind.SIZE, path, location, expected.size() + " -> " + actual.size());
+        }
+        Map<String, JsonNode> actualById = byId(actual);
+        if (actualById != null && byId(expected) != null) {
+            for (int i = 0; i < expected.size(); i++) {
+                JsonNode match = actualById.get(expected.get(i).get(ID_FIELD).asText());
+                if (match != null) {
+                    walk(path + "[]", location + "[" + i + "]", expected.get(i), match);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < Math.min(expected.size(), actual.size()); i++) {
+            walk(path + "[]", location + "[" + i + "]", expected.get(i), actual.get(i));
+        }
+    }
+    
+    /**
+     * Indexes the elements of an array by their id.
+     *
+     * @return the elements by id, or null if an element is not an object with an id
+     */
+    private static Map<String, JsonNode> byId(JsonNode array) {
+        Map<String, JsonNode> elements = new HashMap<>();
+        for (JsonNode element : array) {
+            JsonNode id = element.get(ID_FIELD);
+            if (id == null || !id.isValueNode()) {
+                return null;
+            }
+            elements.put(id.asText(), element);
+        }
+        return elements;
+    }
+    
+    private static boolean sameValue(JsonNode expected, JsonNode actual) {
+        if (expected.isNumber() && actual.isNumber()) {
+            return expected.decimalValue().compareTo(actual.decimalValue()) == 0;
+        }
+        return expected.equals(actual);
+    }
+    
+    private void add(Kind kind, String path, String location, String detail) {
+        differences.computeIfAbsent(kind + " " + path, key -> new Difference(kind, path))
+                .add(detail == null ? location : location + ": " + detail);
+    }
+    
+    private static String typeName(JsonNode node) {
+        return node.getNodeType().name().toLowerCase(Locale.ROOT);
+    }
+    
+    private static String shorten(JsonNode value) {
+        String text = value.toString();
+        return text.length() <= MAX_VALUE_LENGTH ? text : text.substring(0, MAX_VALUE_LENGTH) + "...";
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        differences.values().forEach(difference -> text.append(text.length() == 0 ? "" : System.lineSeparator())
+                .append(difference));
+        return text.toString();
+    }
+    
+    /**
+     * Kinds of difference; missing and extra fields and changed types are structural.
+     */
+    public enum Kind {
+        MISSING(true), EXTRA(true), TYPE(true), SIZE(false), VALUE(false);
+        
+        private final boolean structural;
+        
+        Kind(boolean structural) {
+            this.structural = structural;
+        }
+        
+        public boolean isStructural() {
+            return structural;
+        }
+    }
+    
+    /**
+     * One kind of difference at a normalized path, with the number of locations it was found at.
+     */
+    public static final class Difference {
+        
+        private final Kind kind;
+        private final String path;
+        private final List<String> samples = new ArrayList<>();
+        private int count;
+        
+        Difference(Kind kind, String path) {
+            this.kind = kind;
+            this.path = path;
+        }
+        
+        private void add(String sample) {
+            count++;
+            if (samples.size() < MAX_SAMPLES) {
+                samples.add(sample);
+            }
+        }
+        
+        public Kind getKind() {
+            return kind;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        /**
+         * Retrieves the first locations of the difference.
+         *
+         * @return up to {@value JsonStructureDiff#MAX_SAMPLES} locations, with the compared values
+         */
+        public List<String> getSamples() {
+            return Collections.unmodifiableList(samples);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s (%dx), e.g. %s", kind, path, count, String.join("; ", samples));
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.api.consistency;
+
+import com.api.consistency.Operation.Type;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Checks the history of a write stress run against a sequential model of a resource.
+ * <p>
+ * The history of one resource id is linearizable if every operation can be placed at a
+ * single instant between its request and its response, such that the responses match
+ * a register holding the element's title, or no value while it does not exist:
+ * <ul>
+ *   <li>A GET returns the current title, or 404 if there is no element</li>
+ *   <li>A POST creates the element, or gets 409 if it exists</li>
+ *   <li>A PUT stores its title whether or not the element exists</li>
+ *   <li>A PATCH stores its title, or gets 404 if there is no element</li>
+ *   <li>A DELETE removes the element; deleting a missing element may succeed or get 404</li>
+ * </ul>
+ * Operations without a response, or with any other status, may or may not have taken
+ * effect, at any time after they were sent. Since linearizability is local, every id is checked on its own, with the
+ * search of Wing and Gong as improved by Lowe: states already reached with the same set of
+ * linearized operations are cached, so a history is explored once per distinct state.
+ * </p>
+ * <p>
+ * When a history is not linearizable, the checker looks for the anomalies that explain
+ * it: a read returning a title overwritten before the read was sent (a lost update), a
+ * read returning a title deleted before it was sent (a resurrected delete), a read finding
+ * no element after a completed write with no delete in between (a lost write), or a read
+ * of a title never written.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class LinearizabilityChecker {
+    
+    /**
+     * State of the register while the element does not exist.
+     */
+    private static final Object ABSENT = new Object() {
+        @Override
+        public String toString() {
+            return "absent";
+        }
+    };
+    
+    /**
+     * Maximum number of search steps per id before the verdict is unknown.
+     */
+    private static final long MAX_STEPS = 5_000_000;
+    
+    /**
+     * Maximum number of anomalies reported per id.
+     */
+    private static final int MAX_ANOMALIES = 10;
+    
+    /**
+     * Verdicts of a history.
+     */
+    public enum Verdict {
+        LINEARIZABLE, NOT_LINEARIZABLE, UNKNOWN
+    }
+    
+    /**
+     * Kinds of anomaly explaining a history that is not linearizable.
+     */
+    public enum AnomalyType {
+        LOST_UPDATE, RESURRECTED_DELETE, LOST_WRITE, UNKNOWN_VALUE, NOT_LINEARIZABLE
+    }
+    
+    /**
+     * Checks the history of one resource id.
+     *
+     * @param id the resource id
+     * @param initialTitle the title before the run, or null if the element did not exist
+     * @param history the operations on the id, in any order
+     * @return the verdict and the anomalies found
+     */
+    public Result check(int id, String initialTitle, List<Operation> history) {
+        List<Operation> operations = new ArrayList<>();
+        for (Operation operation : history) {
+            // A read without a meaningful response constrains nothing
+            if (operation.getType() != Type.READ || isDeterminate(operation)) {
+                operations.add(operation);
+            }
+        }
+        Object initial = initialTitle == null ? ABSENT : initialTitle;
+        Verdict verdict = search(initial, operations);
+        List<Anomaly> anomalies = verdict == Verdict.NOT_LINEARIZABLE
+                ? findAnomalies(id, initialTitle, operations) : Collections.emptyList();
+        return new Result(id, operations.size(), verdict, anomalies);
+    }
+    
+    /**
+     * Determines whether a response tells how an operation changed the register.
+     */
+    private static boolean isDeterminate(Operation operation) {
+        int status = operation.getStatus();
+        if (operation.isSuccessful()) {
+            return true;
+        }
+        return operation.getType() == Type.CREATE ? status == 409 : status == 404;
+    }
+    
+    /**
+     * Applies an operation to the register.
+     *
+     * @return the new state, or null if the operation cannot take effect in this state
+     */
+    private static Object step(Object state, Operation operation) {
+        boolean exists = state != ABSENT;
+        Object written = operation.getValue();
+        if (!isDeterminate(operation)) {
+            switch (operation.getType()) {
+                case CREATE:
+                    return exists ? null : written;
+                case PATCH:
+                    return exists ? written : null;
+                case DELETE:
+                    return ABSENT;
+                default:
+                    return written;
+            }
+        }
+        boolean successful = operation.isSuccessful();
+        switch (operation.getType()) {
+            case READ:
+                if (successful) {
+                    return exists && state.equals(written) ? state : null;
+                }
+                return exists ? null : state;
+            case CREATE:
+                if (successful) {
+                    return exists ? null : written;
+                }
+                return exists ? state : null;
+            case UPDATE:
+                if (successful) {
+                    return written;
+                }
+                return exists ? null : state;
+            case PATCH:
+                if (successful) {
+                    return exists ? written : null;
+                }
+                return exists ? null : state;
+            default:
+                if (successful) {
+                    return ABSENT;
+                }
+                return exists ? null : state;
+        }
+    }
+    
+    private static Verdict search(Object initial, List<Operation> operations) {
+        Entry head = Entry.list(operations);
+        int pendingReturns = (int) operations.stream().filter(LinearizabilityChecker::isDeterminate).count();
+        Set<Map.Entry<BitSet, Object>> cache = new HashSet<>();
+        Deque<Map.Entry<Entry, Object>> linearized = new ArrayDeque<>();
+        BitSet done = new BitSet(operations.size());
+        Object state = initial;
+        Entry entry = head.next;
+        long steps = 0;
+        while (pendingReturns > 0) {
+            if (++steps > MAX_STEPS) {
+                return Verdict.UNKNOWN;
+            }
+            if (entry != null && entry.isCall) {
+                Object next = step(state, entry.operation);
+                if (next != null) {
+                    BitSet candidate = (BitSet) done.clone();
+                    candidate.set(entry.index);
+                    if (cache.add(new AbstractMap.SimpleImmutableEntry<>(candidate, next))) {
+                        linearized.push(new AbstractMap.SimpleImmutableEntry<>(entry, state));
+                        state = next;
+                        done.set(entry.index);
+                        pendingReturns -= entry.lift();
+                        entry = head.next;
+                        continue;
+                    }
+                }
+                entry = entry.next;
+                continue;
+            }
+            // A response was reached before its operation could be linearized, or only
+            // indeterminate operations are left: undo the last choice
+            if (linearized.isEmpty()) {
+                return Verdict.NOT_LINEARIZABLE;
+            }
+            Map.Entry<Entry, Object> last = linearized.pop();
+            Entry undone = last.getKey();
+            state = last.getValue();
+            done.clear(undone.index);
+            pendingReturns += undone.unlift();
+            entry = undone.next;
+        }
+        return Verdict.LINEARIZABLE;
+    }
+    
+    private static List<Anomaly> findAnomalies(int id, String initialTitle, List<Operation> operations) {
+        List<Anomaly> anomalies = new ArrayList<>();
+        for (Operation read : operations) {
+            if (anomalies.size() >= MAX_ANOMALIES) {
+                break;
+            }
+            if (read.getType() != Type.READ) {
+                continue;
+            }
+            if (read.isSuccessful()) {
+                Anomaly anomaly = explainRead(id, initialTitle, read, operations);
+                if (anomaly != null) {
+                    anomalies.add(anomaly);
+                }
+            } else {
+                Anomaly anomaly = explainMissing(id, read, operations);
+                if (anomaly != null) {
+                    anomalies.add(anomaly);
+                }
+            }
+        }
+        if (anomalies.isEmpty()) {
+            anomalies.add(new Anomaly(AnomalyType.NOT_LINEARIZABLE, id, "no order of the " + operations.size()
+                    + " operations on id " + id + " matches their responses"));
+        }
+        return anomalies;
+    }
+    
+    /**
+     * Explains a read of a title that was already overwritten or deleted when the read was sent.
+     */
+    private static Anomaly explainRead(int id, String initialTitle, Operation read, List<Operation> operations) {
+        Operation writer = operations.stream()
+                .filter(operation -> operation.isWrite() && Objects.equals(operation.getValue(), read.getValue()))
+                .findFirst().orElse(null);
+        if (writer == null && !Objects.equals(initialTitle, read.getValue())) {
+            return new Anomaly(AnomalyType.UNKNOWN_VALUE, id, read + " returned a title no operation wrote");
+        }
+        for (Operation later : operations) {
+            if ((writer == null || writer.precedes(later)) && later.precedes(read) && later.isSuccessful()) {
+                if (later.getType() == Type.DELETE) {
+                    return new Anomaly(AnomalyType.RESURRECTED_DELETE, id, read + " after " + later
+                            + " completed, returning the title of " + (writer == null ? "the initial element" : writer));
+                }
+                if (later.isWrite()) {
+                    return new Anomaly(AnomalyType.LOST_UPDATE, id, read + " after " + later
+                            + " completed, returning the title of " + (writer == null ? "the initial element" : writer));
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Explains a read finding no element although a write completed before it, with no
+     * delete that may have happened in between.
+     */
+    private static Anomaly explainMissing(int id, Operation read, List<Operation> operations) {
+        for (Operation write : operations) {
+            if (!write.isWrite() || !write.isSuccessful() || !write.precedes(read)) {
+                continue;
+            }
+            boolean deletable = operations.stream().anyMatch(operation -> operation.getType() == Type.DELETE
+                    && (operation.isSuccessful() || !isDeterminate(operation))
+                    && !operation.precedes(write) && !read.precedes(operation));
+            if (!deletable) {
+                return new Anomaly(AnomalyType.LOST_WRITE, id, read + " after " + write + " completed");
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Node of the doubly linked list of call and return events of a history.
+     */
+    private static final class Entry {
+        
+        private final Operation operation;
+        private final int index;
+        private final boolean isCall;
+        private final long time;
+        private Entry match;
+        private Entry prev;
+        private Entry next;
+        
+        private Entry(Operation operation, int index, boolean isCall, long time) {
+            this.operation = operation;
+            this.index = index;
+            this.isCall = isCall;
+            this.time = time;
+        }
+        
+        /**
+         * Builds the event list of a history, ordered by time; at equal times calls come
+         * first, so touching operations count as concurrent.
+         *
+         * @return the head of the list, a sentinel without operation
+         */
+        static Entry list(List<Operation> operations) {
+            List<Entry> events = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                Operation operation = operations.get(i);
+                Entry call = new Entry(operation, i, true, operation.getInvokeNanos());
+                events.add(call);
+                if (isDeterminate(operation)) {
+                    call.match = new Entry(operation, i, false, operation.getCompleteNanos());
+                    events.add(call.match);
+                }
+            }
+            events.sort(Comparator.comparingLong((Entry event) -> event.time)
+                    .thenComparing(event -> !event.isCall));
+            Entry head = new Entry(null, -1, true, Long.MIN_VALUE);
+            Entry last = head;
+            for (Entry event : events) {
+                last.next = event;
+                event.prev = last;
+                last = event;
+            }
+            return head;
+        }
+        
+        /**
+         * Removes a call and its return from the list.
+         *
+         * @return the number of returns removed
+         */
+        int lift() {
+            unlink(this);
+            if (match == null) {
+                return 0;
+            }
+            unlink(match);
+            return 1;
+        }
+        
+        /**
+         * Puts a call and its return back into the list, undoing {@link #lift()}.
+         *
+         * @return the number of returns put back
+         */
+        int unlift() {
+            if (match != null) {
+                relink(match);
+            }
+            relink(this);
+            return match == null ? 0 : 1;
+        }
+        
+        private static void unlink(Entry entry) {
+            entry.prev.next = entry.next;
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+        }
+        
+        private static void relink(Entry entry) {
+            entry.prev.next = entry;
+            if (entry.next != null) {
+                entry.next.prev = entry;
+            }
+        }
+    }
+    
+    /**
+     * An anomaly found in the history of one id.
+     */
+    public static final class Anomaly {
+        
+        private final AnomalyType type;
+        private final int id;
+        private final String description;
+        
+        Anomaly(AnomalyType type, int id, String description) {
+            this.type = type;
+            this.id = id;
+            this.description = description;
+        }
+        
+        public AnomalyType getType() {
+            return type;
+        }
+        
+        public int getId() {
+            return id;
+        }
+        
+        public String getDescription() {
+            return description;
+        }
+        
+        @Override
+        public String toString() {
+            return type + ": " + description;
+        }
+    }
+    
+    /**
+     * Outcome of the check of one id.
+     */
+    public static final class Result {
+        
+        private final int id;
+        private final int operations;
+        private final Verdict verdict;
+        private final List<Anomaly> anomalies;
+        
+        Result(int id, int operations, Verdict verdict, List<Anomaly> anomalies) {
+            this.id = id;
+            this.operations = operations;
+            this.verdict = verdict;
+            this.anomalies = anomalies;
+        }
+        
+        public int getId() {
+            return id;
+        }
+        
+        /**
+         * Retrieves the number of operations checked.
+         *
+         * @return the operation count, without reads that got no meaningful response
+         */
+        public int getOperations() {
+            return operations;
+        }
+        
+        public Verdict getVerdict() {
+            return verdict;
+        }
+        
+        /**
+         * Retrieves the anomalies explaining a history that is not linearizable.
+         *
+         * @return up to {@value LinearizabilityChecker#MAX_ANOMALIES} anomalies, empty unless the
+         *         verdict is {@link Verdict#NOT_LINEARIZABLE}
+         */
+        public List<Anomaly> getAnomalies() {
+            return Collections.unmodifiableList(anomalies);
+        }
+        
+        @Override
+        public String toString() {
+            return "id " + id + ": " + operations + " operations, " + verdict;
+        }
+    }
+}
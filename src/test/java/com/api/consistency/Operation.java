@@ -0,0 +1,143 @@
+package com.api.consistency;
+
+import java.util.Locale;
+
+/**
+ * One invocation of a write stress run and its response.
+ * <p>
+ * Every operation targets the element of one resource id, modelled as a register holding
+ * the element's title, or no value while the element does not exist. Writes store a title
+ * unique to the run, so every title a read observes identifies the write that stored it.
+ * An operation that failed without a response is indeterminate: it may or may not have
+ * taken effect.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class Operation {
+    
+    /**
+     * Status of an operation that got no response.
+     */
+    public static final int INDETERMINATE = -1;
+    
+    /**
+     * Kinds of operation, with the HTTP method they are sent with.
+     */
+    public enum Type {
+        READ("GET"), CREATE("POST"), UPDATE("PUT"), PATCH("PATCH"), DELETE("DELETE");
+        
+        private final String method;
+        
+        Type(String method) {
+            this.method = method;
+        }
+        
+        public String getMethod() {
+            return method;
+        }
+    }
+    
+    private final int client;
+    private final Type type;
+    private final int id;
+    private final String value;
+    private final int status;
+    private final long invokeNanos;
+    private final long completeNanos;
+    
+    /**
+     * Creates an operation.
+     *
+     * @param client the client that sent it
+     * @param type the kind of operation
+     * @param id the resource id it targets
+     * @param value the title written, or the title read (null if the read got no element)
+     * @param status the response status, or {@link #INDETERMINATE}
+     * @param invokeNanos the {@link System#nanoTime()} when the request was sent
+     * @param completeNanos the {@link System#nanoTime()} when the response arrived
+     */
+    public Operation(int client, Type type, int id, String value, int status, long invokeNanos, long completeNanos) {
+        this.client = client;
+        this.type = type;
+        this.id = id;
+        this.value = value;
+        this.status = status;
+        this.invokeNanos = invokeNanos;
+        this.completeNanos = completeNanos;
+    }
+    
+    public int getClient() {
+        return client;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public String getValue() {
+        return value;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public long getInvokeNanos() {
+        return invokeNanos;
+    }
+    
+    public long getCompleteNanos() {
+        return completeNanos;
+    }
+    
+    /**
+     * Determines whether the operation got no response.
+     *
+     * @return true if the operation may or may not have taken effect
+     */
+    public boolean isIndeterminate() {
+        return status == INDETERMINATE;
+    }
+    
+    /**
+     * Determines whether the operation got a 2xx response.
+     *
+     * @return true if the operation succeeded
+     */
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+    
+    /**
+     * Determines whether the operation can store a title.
+     *
+     * @return true for creates, updates and patches
+     */
+    public boolean isWrite() {
+        return type == Type.CREATE || type == Type.UPDATE || type == Type.PATCH;
+    }
+    
+    /**
+     * Determines whether this operation completed before another one was sent.
+     *
+     * @param other the other operation
+     * @return true if the operations do not overlap and this one came first
+     */
+    public boolean precedes(Operation other) {
+        return !isIndeterminate() && completeNanos < other.invokeNanos;
+    }
+    
+    @Override
+    public String toString() {
+        String result = isIndeterminate() ? "no response" : String.valueOf(status);
+        return String.format(Locale.ROOT, "client %d %s %d%s -> %s", client, type.getMethod(), id,
+                value == null ? "" : " '" + value + "'", result);
+    }
+}
@@ -0,0 +1,319 @@
+package com.api.consistency;
+
+import com.api.consistency.LinearizabilityChecker.Anomaly;
+import com.api.consistency.LinearizabilityChecker.Result;
+import com.api.consistency.LinearizabilityChecker.Verdict;
+import com.api.consistency.Operation.Type;
+import com.api.performance.LatencyRegressionGate;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.Deadline;
+import com.api.utilities.RequestBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Fires concurrent, interleaved writes at the same resource ids and checks the history.
+ * <p>
+ * Each of {@code clients} threads sends its share of the operations one after the other,
+ * each time to a random id of {@code ids}: GETs, POSTs creating the element with that id,
+ * PUTs, PATCHes of the title and DELETEs. All clients start at once, so operations on the
+ * same id overlap. Every operation is recorded with the {@link System#nanoTime()} of its
+ * request and its response; once all clients are done, the {@link LinearizabilityChecker}
+ * checks the history of every id against a sequential model of the resource.
+ * </p>
+ * <p>
+ * JSONPlaceholder fakes its writes, so against the default {@code base.url} every run
+ * reports anomalies; the stress mode is meant for APIs that persist writes.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class WriteStressRunner {
+    
+    /**
+     * Share of each operation type in percent; the types are drawn in this order.
+     */
+    private static final Map<Type, Integer> MIX = new EnumMap<>(Map.of(Type.READ, 40, Type.CREATE, 15,
+            Type.UPDATE, 20, Type.PATCH, 15, Type.DELETE, 10));
+    
+    private final String baseUrl;
+    private final String resourcePath;
+    private final List<Integer> ids;
+    private final int clients;
+    private final int operations;
+    private final long seed;
+    
+    /**
+     * Creates a runner.
+     *
+     * @param baseUrl the base URL of the API, or null for REST Assured's base URI
+     * @param resourcePath the collection path (e.g., "/posts")
+     * @param ids the ids the operations target
+     * @param clients the number of concurrent clients
+     * @param operations the total number of operations
+     * @param seed the seed choosing the operations of every client
+     * @throws IllegalArgumentException if no id is given or a count is not positive
+     */
+    public WriteStressRunner(String baseUrl, String resourcePath, List<Integer> ids, int clients, int operations,
+                             long seed) {
+        if (ids.isEmpty() || clients <= 0 || operations <= 0) {
+            throw new IllegalArgumentException("Ids, clients and operations must not be empty or zero");
+        }
+        this.baseUrl = baseUrl;
+        this.resourcePath = resourcePath;
+        this.ids = List.copyOf(ids);
+        this.clients = clients;
+        this.operations = operations;
+        this.seed = seed;
+    }
+    
+    /**
+     * Creates a runner with the {@code stress.*} settings, sending requests to REST Assured's
+     * base URI.
+     *
+     * @return the configured runner
+     */
+    public static WriteStressRunner fromConfig() {
+        return new WriteStressRunner(null, ConfigManager.getStressResource(), ConfigManager.getStressIds(),
+                ConfigManager.getStressClients(), ConfigManager.getStressOperations(), ConfigManager.getStressSeed());
+    }
+    
+    /**
+     * Runs the operations and checks their history.
+     *
+     * @return the stress report
+     */
+    public StressReport run() {
+        Map<Integer, String> initialTitles = new TreeMap<>();
+        for (int id : ids) {
+            Operation read = send(-1, Type.READ, id, null);
+            initialTitles.put(id, read.isSuccessful() ? read.getValue() : null);
+        }
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(clients, runnable -> {
+            Thread thread = new Thread(runnable, "write-stress-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<List<Operation>>> histories = new ArrayList<>();
+        for (int client = 0; client < clients; client++) {
+            int current = client;
+            int share = operations / clients + (client < operations % clients ? 1 : 0);
+            histories.add(CompletableFuture.supplyAsync(
+                    Deadline.bind(() -> runClient(current, share, start)), workers));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        List<Operation> history = new ArrayList<>();
+        try {
+            histories.forEach(client -> history.addAll(client.join()));
+        } finally {
+            workers.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        
+        // Creates may be assigned another id than the one requested, which is then checked too
+        Map<Integer, List<Operation>> byId = history.stream()
+                .collect(Collectors.groupingBy(Operation::getId, TreeMap::new, Collectors.toList()));
+        LinearizabilityChecker checker = new LinearizabilityChecker();
+        List<Result> results = new ArrayList<>();
+        byId.forEach((id, idHistory) -> results.add(checker.check(id, initialTitles.get(id), idHistory)));
+        return new StressReport(resourcePath, clients, history, elapsed, results);
+    }
+    
+    private List<Operation> runClient(int client, int count, CountDownLatch start) {
+        Random random = new Random(seed * 31 + client);
+        List<Operation> history = new ArrayList<>(count);
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return history;
+        }
+        for (int i = 0; i < count; i++) {
+            int id = ids.get(random.nextInt(ids.size()));
+            Type type = pickType(random.nextInt(100));
+            String title = type == Type.READ || type == Type.DELETE ? null : "stress c" + client + " #" + i;
+            history.add(send(client, type, id, title));
+        }
+        return history;
+    }
+    
+    private static Type pickType(int percent) {
+        int bound = 0;
+        for (Map.Entry<Type, Integer> share : MIX.entrySet()) {
+            bound += share.getValue();
+            if (percent < bound) {
+                return share.getKey();
+            }
+        }
+        return Type.READ;
+    }
+    
+    /**
+     * Sends one operation and records its outcome.
+     */
+    private Operation send(int client, Type type, int id, String title) {
+        String path = resourcePath + "/" + id;
+        long invoke = System.nanoTime();
+        try {
+            Response response;
+            switch (type) {
+                case READ:
+                    response = withBaseUrl(RequestBuilder.buildGetRequest(path)).get(path);
+                    break;
+                case CREATE:
+                    response = withBaseUrl(RequestBuilder.buildPostRequest(resourcePath, element(id, title))).post(resourcePath);
+                    break;
+                case UPDATE:
+                    response = withBaseUrl(RequestBuilder.buildPutRequest(path, element(id, title))).put(path);
+                    break;
+                case PATCH:
+                    response = withBaseUrl(RequestBuilder.buildPatchRequest(path, Map.of("title", title))).patch(path);
+                    break;
+                default:
+                    response = withBaseUrl(RequestBuilder.buildDeleteRequest(path)).delete(path);
+                    break;
+            }
+            long complete = System.nanoTime();
+            int status = response.getStatusCode();
+            boolean successful = status >= 200 && status < 300;
+            if (type == Type.READ) {
+                return new Operation(client, type, id, successful ? response.jsonPath().getString("title") : null,
+                        status, invoke, complete);
+            }
+            if (type == Type.CREATE && successful) {
+                Object created = response.jsonPath().get("id");
+                return new Operation(client, type, created instanceof Integer ? (Integer) created : id, title, status,
+                        invoke, complete);
+            }
+            return new Operation(client, type, id, title, status, invoke, complete);
+        } catch (RuntimeException e) {
+            return new Operation(client, type, id, title, Operation.INDETERMINATE, invoke, System.nanoTime());
+        }
+    }
+    
+    private static Map<String, Object> element(int id, String title) {
+        return Map.of("id", id, "userId", 1, "title", title, "body", "Written by the write stress run");
+    }
+    
+    private RequestSpecification withBaseUrl(RequestSpecification request) {
+        return baseUrl == null ? request : request.baseUri(baseUrl);
+    }
+    
+    /**
+     * Outcome of a write stress run.
+     */
+    public static final class StressReport {
+        
+        private final String resourcePath;
+        private final int clients;
+        private final List<Operation> history;
+        private final Duration elapsed;
+        private final List<Result> results;
+        
+        StressReport(String resourcePath, int clients, List<Operation> history, Duration elapsed,
+                     List<Result> results) {
+            this.resourcePath = resourcePath;
+            this.clients = clients;
+            this.history = history;
+            this.elapsed = elapsed;
+            this.results = results;
+        }
+        
+        /**
+         * Retrieves the recorded operations.
+         *
+         * @return the operations of all clients, each client's in the order it sent them
+         */
+        public List<Operation> getHistory() {
+            return Collections.unmodifiableList(history);
+        }
+        
+        public Duration getElapsed() {
+            return elapsed;
+        }
+        
+        /**
+         * Computes the throughput of the run.
+         *
+         * @return the operations per second
+         */
+        public double getOperationsPerSecond() {
+            return history.size() / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+        
+        /**
+         * Retrieves the check result of every id.
+         *
+         * @return the results, by ascending id
+         */
+        public List<Result> getResults() {
+            return Collections.unmodifiableList(results);
+        }
+        
+        /**
+         * Retrieves the anomalies found in the histories of all ids.
+         *
+         * @return the anomalies, by ascending id
+         */
+        public List<Anomaly> getAnomalies() {
+            return results.stream().flatMap(result -> result.getAnomalies().stream()).collect(Collectors.toList());
+        }
+        
+        /**
+         * Determines whether the history of every id is linearizable.
+         *
+         * @return true if every id was proven linearizable
+         */
+        public boolean isLinearizable() {
+            return results.stream().allMatch(result -> result.getVerdict() == Verdict.LINEARIZABLE);
+        }
+        
+        @Override
+        public String toString() {
+            String newLine = System.lineSeparator();
+            StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                    "Write stress on %s: %d operations by %d clients in %s, %.0f operations/s",
+                    resourcePath, history.size(), clients, elapsed, getOperationsPerSecond()));
+            for (Type type : Type.values()) {
+                List<Operation> ofType = history.stream().filter(operation -> operation.getType() == type)
+                        .collect(Collectors.toList());
+                Map<String, Long> statuses = ofType.stream().collect(Collectors.groupingBy(
+                        operation -> operation.isIndeterminate() ? "none" : String.valueOf(operation.getStatus()),
+                        TreeMap::new, Collectors.counting()));
+                double[] millis = ofType.stream()
+                        .mapToDouble(operation -> (operation.getCompleteNanos() - operation.getInvokeNanos()) / 1e6)
+                        .toArray();
+                text.append(newLine).append(String.format(Locale.ROOT, "  %-6s %5d, p50 %.1fms, p99 %.1fms, status %s",
+                        type.getMethod(), ofType.size(), LatencyRegressionGate.percentile(millis, 50),
+                        LatencyRegressionGate.percentile(millis, 99), statuses));
+            }
+            for (Result result : results) {
+                text.append(newLine).append("  ").append(result);
+                result.getAnomalies().forEach(anomaly -> text.append(newLine).append("    ").append(anomaly));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.api.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Memory-mapped text file with random access by line number.
+ * <p>
+ * Opening the file maps it into memory and scans it once to record where each line starts.
+ * That index costs 8 bytes per line; line contents stay in the page cache, outside the heap,
+ * and are only decoded when a line is read. This keeps data files with millions of lines
+ * cheap to stream, sample and split into line ranges.
+ * </p>
+ * <p>
+ * Lines end with {@code \n} or {@code \r\n} and are decoded as UTF-8. Files larger than
+ * 2 GB are mapped in several segments.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class LineIndexedFile implements Closeable {
+    
+    /**
+     * Size of a mapped segment; a single mapping cannot exceed 2 GB.
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+    
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+    private long[] lineStarts;
+    private int lineCount;
+    
+    private LineIndexedFile(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.size = channel.size();
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        for (int i = 0; i < segments.length; i++) {
+            long offset = i * SEGMENT_SIZE;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(SEGMENT_SIZE, size - offset));
+        }
+        index();
+    }
+    
+    /**
+     * Maps a file and indexes its lines.
+     *
+     * @param path the file
+     * @return the indexed file; close it to release the file handle
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static LineIndexedFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new LineIndexedFile(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    private void index() {
+        lineStarts = new long[1024];
+        long lineStart = 0;
+        for (int s = 0; s < segments.length; s++) {
+            MappedByteBuffer segment = segments[s];
+            long base = s * SEGMENT_SIZE;
+            for (int i = 0, limit = segment.limit(); i < limit; i++) {
+                if (segment.get(i) == '\n') {
+                    addLine(lineStart);
+                    lineStart = base + i + 1;
+                }
+            }
+        }
+        if (lineStart < size) {
+            addLine(lineStart);
+        }
+    }
+    
+    private void addLine(long start) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+        }
+        lineStarts[lineCount++] = start;
+    }
+    
+    public Path getPath() {
+        return path;
+    }
+    
+    public int getLineCount() {
+        return lineCount;
+    }
+    
+    /**
+     * Reads one line.
+     *
+     * @param line the zero-based line number
+     * @return the line without its line terminator
+     * @throws IndexOutOfBoundsException if the line does not exist
+     */
+    public String line(int line) {
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + path + " with " + lineCount + " lines");
+        }
+        long start = lineStarts[line];
+        long end = line + 1 < lineCount ? lineStarts[line + 1] - 1 : size;
+        if (end > start && byteAt(end - 1) == '\r') {
+            end--;
+        }
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = byteAt(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private byte byteAt(long position) {
+        return segments[(int) (position / SEGMENT_SIZE)].get((int) (position % SEGMENT_SIZE));
+    }
+    
+    /**
+     * Streams a range of lines; each line is read when the stream reaches it.
+     *
+     * @param from the first line number, inclusive
+     * @param to the last line number, exclusive; clamped to the line count
+     * @return the lines in file order
+     */
+    public Stream<String> lines(int from, int to) {
+        return IntStream.range(Math.max(0, from), Math.min(to, lineCount)).mapToObj(this::line);
+    }
+    
+    /**
+     * Streams a random sample of distinct lines of a line range.
+     *
+     * @param from the first line number, inclusive
+     * @param to the last line number, exclusive; clamped to the line count
+     * @param count the sample size; the whole range is returned if it has fewer lines
+     * @param seed the random seed, so a sample can be repeated
+     * @return the sampled lines in file order
+     */
+    public Stream<String> sample(int from, int to, int count, long seed) {
+        int start = Math.max(0, from);
+        int range = Math.max(0, Math.min(to, lineCount) - start);
+        if (count >= range) {
+            return lines(start, start + range);
+        }
+        // Floyd's algorithm picks distinct line numbers without materializing the range
+        Random random = new Random(seed);
+        TreeSet<Integer> picked = new TreeSet<>();
+        for (int candidate = range - count; candidate < range; candidate++) {
+            int pick = random.nextInt(candidate + 1);
+            picked.add(picked.contains(pick) ? candidate : pick);
+        }
+        return picked.stream().map(line -> line(start + line));
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,183 @@
+package com.api.data;
+
+import com.api.utilities.RequestBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One request case of a data file: a request and its expected status.
+ * <p>
+ * Cases are read from JSONL lines such as
+ * {@code {"name": "post 1", "method": "GET", "path": "/posts/1", "status": 200}}, with an
+ * optional {@code "body"} object, or from CSV lines with the columns
+ * {@code name,method,path,status,body} (the body column holds JSON and may be empty).
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class RequestCase {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final String name;
+    private final String method;
+    private final String path;
+    private final int expectedStatus;
+    private final JsonNode body;
+    
+    /**
+     * Creates a request case.
+     *
+     * @param name the case name shown in test reports
+     * @param method the HTTP method (GET, POST, PUT or DELETE)
+     * @param path the request path
+     * @param expectedStatus the expected response status code
+     * @param body the request body, or null for none
+     */
+    public RequestCase(String name, String method, String path, int expectedStatus, JsonNode body) {
+        this.name = name;
+        this.method = method.toUpperCase(Locale.ROOT);
+        this.path = path;
+        this.expectedStatus = expectedStatus;
+        this.body = body;
+    }
+    
+    /**
+     * Parses a JSONL line.
+     *
+     * @param line the line
+     * @return the request case
+     * @throws IllegalArgumentException if the line is not a JSON object with method and path
+     */
+    public static RequestCase fromJson(String line) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid request case: " + line, e);
+        }
+        if (node == null || !node.hasNonNull("method") || !node.hasNonNull("path")) {
+            throw new IllegalArgumentException("Request case needs a method and a path: " + line);
+        }
+        String method = node.get("method").asText();
+        String path = node.get("path").asText();
+        return new RequestCase(node.path("name").asText(method + " " + path), method, path,
+                node.path("status").asInt(200), node.hasNonNull("body") ? node.get("body") : null);
+    }
+    
+    /**
+     * Parses a CSV line with the columns {@code name,method,path,status,body}.
+     *
+     * @param line the line; fields may be quoted with {@code "}, doubling quotes inside
+     * @return the request case
+     * @throws IllegalArgumentException if the line has fewer than three columns
+     */
+    public static RequestCase fromCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("Request case needs name, method and path columns: " + line);
+        }
+        int status = fields.size() > 3 && !fields.get(3).isBlank() ? Integer.parseInt(fields.get(3).trim()) : 200;
+        JsonNode body = null;
+        if (fields.size() > 4 && !fields.get(4).isBlank()) {
+            try {
+                body = MAPPER.readTree(fields.get(4));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid body in request case: " + line, e);
+            }
+        }
+        return new RequestCase(fields.get(0), fields.get(1).trim(), fields.get(2).trim(), status, body);
+    }
+    
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    /**
+     * Sends the request through {@link RequestBuilder}.
+     *
+     * @return the response
+     */
+    public Response send() {
+        Object payload = body == null ? Map.of() : toMap(body);
+        switch (method) {
+            case "GET":
+                return RequestBuilder.buildGetRequest(path).get(path);
+            case "POST":
+                return RequestBuilder.buildPostRequest(path, payload).post(path);
+            case "PUT":
+                return RequestBuilder.buildPutRequest(path, payload).put(path);
+            case "DELETE":
+                return RequestBuilder.buildDeleteRequest(path).delete(path);
+            default:
+                throw new IllegalStateException("Unsupported method in request case " + name + ": " + method);
+        }
+    }
+    
+    private static Object toMap(JsonNode body) {
+        try {
+            return MAPPER.treeToValue(body, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public int getExpectedStatus() {
+        return expectedStatus;
+    }
+    
+    public JsonNode getBody() {
+        return body;
+    }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,105 @@
+package com.api.data;
+
+import com.api.utilities.ConfigManager;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Arguments provider behind {@link RequestCaseSource}.
+ * <p>
+ * Lines are parsed as the JUnit engine pulls arguments, and the mapped file is closed when
+ * the engine closes the argument stream.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class RequestCaseProvider implements ArgumentsProvider, AnnotationConsumer<RequestCaseSource> {
+    
+    private RequestCaseSource source;
+    
+    @Override
+    public void accept(RequestCaseSource source) {
+        this.source = source;
+    }
+    
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) throws IOException {
+        LineIndexedFile file = LineIndexedFile.open(resolve(source.value()));
+        try {
+            int from = Math.min(source.numLinesToSkip(), file.getLineCount());
+            int to = file.getLineCount();
+            String shard = ConfigManager.getDataShard();
+            if (!shard.isEmpty()) {
+                String[] parts = shard.split("/");
+                int index = Integer.parseInt(parts[0].trim());
+                int count = Integer.parseInt(parts[1].trim());
+                if (count <= 0 || index < 0 || index >= count) {
+                    throw new IllegalArgumentException("Invalid data.shard " + shard + "; expected index/count");
+                }
+                int cases = to - from;
+                to = from + (int) ((long) cases * (index + 1) / count);
+                from = from + (int) ((long) cases * index / count);
+            }
+            int sample = ConfigManager.getDataSample() > 0 ? ConfigManager.getDataSample() : source.sample();
+            Stream<String> lines = sample > 0 ? file.sample(from, to, sample, source.seed()) : file.lines(from, to);
+            Function<String, RequestCase> parser = source.value().endsWith(".csv")
+                    ? RequestCase::fromCsv : RequestCase::fromJson;
+            return lines.filter(line -> !line.isBlank())
+                    .map(line -> Arguments.of(parser.apply(line)))
+                    .onClose(() -> {
+                        try {
+                            file.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Resolves a data file, copying classpath resources inside archives to a temporary file
+     * so they can be mapped.
+     */
+    private static Path resolve(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            return path;
+        }
+        URL resource = RequestCaseProvider.class.getClassLoader().getResource(location);
+        if (resource == null) {
+            throw new IOException("Data file not found on the file system or classpath: " + location);
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return Paths.get(resource.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid data file location " + resource, e);
+            }
+        }
+        Path copy = Files.createTempFile("request-cases", location.endsWith(".csv") ? ".csv" : ".jsonl");
+        copy.toFile().deleteOnExit();
+        try (InputStream in = resource.openStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,57 @@
+package com.api.data;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Supplies {@link RequestCase} arguments to a {@code @ParameterizedTest} from a JSONL or CSV file.
+ * <p>
+ * The file is memory-mapped and read lazily, so files with millions of cases do not need to
+ * fit in the heap. The format follows the file extension: {@code .csv} files are read as
+ * CSV, all other files as JSONL. Blank lines are ignored.
+ * </p>
+ * <pre>{@code
+ * @ParameterizedTest(name = "{0}")
+ * @RequestCaseSource(value = "data/request-cases.csv", numLinesToSkip = 1, sample = 100)
+ * void testCase(RequestCase requestCase) { ... }
+ * }</pre>
+ * <p>
+ * The {@code data.shard} and {@code data.sample} settings apply to every source, so one case
+ * file can be split across machines or cut down for quick runs without editing tests.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(RequestCaseProvider.class)
+public @interface RequestCaseSource {
+    
+    /**
+     * The data file: a file system path, or otherwise a classpath resource.
+     */
+    String value();
+    
+    /**
+     * The number of leading lines to skip, e.g. 1 for a CSV header.
+     */
+    int numLinesToSkip() default 0;
+    
+    /**
+     * The number of randomly sampled cases to run; 0 runs all cases.
+     */
+    int sample() default 0;
+    
+    /**
+     * The random seed of the sample.
+     */
+    long seed() default 42;
+}
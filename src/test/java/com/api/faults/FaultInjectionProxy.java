@@ -0,0 +1,402 @@
+package com.api.faults;
+
+import com.api.impact.TestInputs;
+import com.api.synthetic.SyntheticApiServer;
+import com.api.utilities.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process HTTP proxy injecting network faults between the tests and the API.
+ * <p>
+ * Tests send requests to {@link #getBaseUrl()} instead of the API. The proxy forwards each
+ * request to the upstream URL (the real API or a local stand-in) and applies the first
+ * {@link FaultRule} matching the request: latency, bandwidth throttling, slow-drip bodies,
+ * connection resets and 5xx/429 error bursts. Requests without a matching rule are
+ * forwarded unchanged. Each request draws its faults from its own generator, derived from
+ * the seed and the request's sequence number (the order in which connections are accepted),
+ * so concurrent requests do not share a generator and a fault pattern can be reproduced.
+ * Error bursts span consecutive requests of a route and therefore follow their arrival order.
+ * </p>
+ * <p>
+ * The proxy speaks plain HTTP/1.1 and closes the connection after each response. Malformed
+ * requests are answered with 400 Bad Request. Resets are real TCP resets (the socket is
+ * closed with a zero linger time), so the client sees the same exception it would see on a
+ * broken network.
+ * </p>
+ * <p>
+ * With {@code fault.proxy=true}, {@code BaseTest} routes the whole suite through a shared
+ * proxy configured from the {@code fault.*} settings; see {@link #shared()}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class FaultInjectionProxy implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjectionProxy.class);
+    
+    /**
+     * Headers that describe a single connection and are not forwarded.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "upgrade", "host", "content-length", "expect");
+    
+    /**
+     * Interval between chunks of a throttled body.
+     */
+    private static final long THROTTLE_INTERVAL_MILLIS = 50;
+    
+    /**
+     * Odd constant spreading the seeds of consecutive requests (the golden ratio gamma of
+     * {@link SplittableRandom}).
+     */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    private static FaultInjectionProxy shared;
+    
+    private final String upstream;
+    private final List<FaultRule> rules;
+    private final long seed;
+    private final ServerSocket server;
+    private final ExecutorService connections;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    private FaultInjectionProxy(String upstream, List<FaultRule> rules, long seed) throws IOException {
+        this.upstream = upstream.endsWith("/") ? upstream.substring(0, upstream.length() - 1) : upstream;
+        this.rules = List.copyOf(rules);
+        this.seed = seed;
+        this.server = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fault-proxy-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        connections.execute(this::acceptConnections);
+        // Requests reaching the upstream are sent by the test sending them to the proxy
+        TestInputs.forwarding(address(), URI.create(this.upstream).getHost());
+    }
+    
+    /**
+     * Starts a proxy on a free local port.
+     *
+     * @param upstream the URL requests are forwarded to (e.g., "https://jsonplaceholder.typicode.com")
+     * @param seed the seed the fault generators of the requests are derived from
+     * @param rules the fault rules; the first rule matching a request applies
+     * @return the running proxy
+     * @throws IOException if no local port can be opened
+     */
+    public static FaultInjectionProxy start(String upstream, long seed, FaultRule... rules) throws IOException {
+        FaultInjectionProxy proxy = new FaultInjectionProxy(upstream, List.of(rules), seed);
+        logger.info("Fault injection proxy for {} listening at {} with rules {}", upstream, proxy.getBaseUrl(),
+                proxy.rules);
+        return proxy;
+    }
+    
+    /**
+     * Starts, once per JVM, a proxy in front of {@code base.url}, or of the synthetic API when
+     * {@code synthetic.api} is enabled, applying the {@code fault.*} settings to every request.
+     *
+     * @return the shared proxy
+     * @throws IOException if no local port can be opened
+     */
+    public static synchronized FaultInjectionProxy shared() throws IOException {
+        if (shared == null) {
+            FaultRule rule = FaultRule.anyRoute()
+                    .throttle(ConfigManager.getFaultBandwidthBytesPerSecond())
+                    .resets(ConfigManager.getFaultResetProbability())
+                    .errorBursts(ConfigManager.getFaultErrorStatus(), ConfigManager.getFaultErrorProbability(),
+                            ConfigManager.getFaultErrorBurstLength());
+            if (ConfigManager.getFaultLatencyMedianMillis() > 0) {
+                rule.latency(LatencyDistribution.logNormal(ConfigManager.getFaultLatencyMedianMillis(),
+                        ConfigManager.getFaultLatencySigma()));
+            }
+            String upstream = ConfigManager.isSyntheticApiEnabled()
+                    ? SyntheticApiServer.shared().getBaseUrl() : ConfigManager.getBaseUrl();
+            shared = start(upstream, ConfigManager.getFaultSeed(), rule);
+        }
+        return shared;
+    }
+    
+    /**
+     * Retrieves the URL tests send requests to.
+     *
+     * @return the proxy base URL (e.g., "http://127.0.0.1:54321")
+     */
+    public String getBaseUrl() {
+        return "http://" + address();
+    }
+    
+    private String address() {
+        return server.getInetAddress().getHostAddress() + ":" + server.getLocalPort();
+    }
+    
+    public long getForwarded() {
+        return forwarded.sum();
+    }
+    
+    public long getDelayed() {
+        return delayed.sum();
+    }
+    
+    public long getResets() {
+        return resets.sum();
+    }
+    
+    /**
+     * Retrieves the number of requests answered with an injected error status.
+     *
+     * @return the number of injected errors
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    private void acceptConnections() {
+        long sequence = 0;
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Random random = new Random(new SplittableRandom(seed + sequence++ * SEED_GAMMA).nextLong());
+                connections.execute(() -> handle(socket, random));
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    logger.warn("Fault injection proxy stopped accepting connections: {}", e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Serves one request.
+     *
+     * @param socket the connection of the request
+     * @param random the fault generator of the request
+     */
+    private void handle(Socket socket, Random random) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            String requestLine = readLine(in);
+            if (requestLine == null || requestLine.isEmpty()) {
+                return;
+            }
+            String[] request = requestLine.split(" ");
+            if (request.length != 3 || !request[1].startsWith("/") || !isValidUri(upstream + request[1])) {
+                badRequest(socket.getOutputStream(), "Malformed request line: " + requestLine);
+                return;
+            }
+            String method = request[0];
+            String target = request[1];
+            List<String[]> headers = new ArrayList<>();
+            int contentLength = 0;
+            for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    badRequest(socket.getOutputStream(), "Malformed header line: " + line);
+                    return;
+                }
+                String[] header = {line.substring(0, colon).trim(), line.substring(colon + 1).trim()};
+                if ("content-length".equalsIgnoreCase(header[0])) {
+                    contentLength = parseContentLength(header[1]);
+                    if (contentLength < 0) {
+                        badRequest(socket.getOutputStream(), "Malformed Content-Length: " + header[1]);
+                        return;
+                    }
+                }
+                headers.add(header);
+            }
+            byte[] body = in.readNBytes(contentLength);
+            
+            int query = target.indexOf('?');
+            String path = query < 0 ? target : target.substring(0, query);
+            FaultRule rule = rules.stream().filter(candidate -> candidate.matches(method, path)).findFirst().orElse(null);
+            if (rule != null) {
+                long delay = rule.sampleLatencyMillis(random);
+                if (delay > 0) {
+                    delayed.increment();
+                    Thread.sleep(delay);
+                }
+                if (rule.shouldReset(random)) {
+                    resets.increment();
+                    socket.setSoLinger(true, 0);
+                    return;
+                }
+                int errorStatus = rule.nextErrorStatus(random);
+                if (errorStatus > 0) {
+                    errors.increment();
+                    byte[] error = ("{\"error\": \"Injected " + errorStatus + "\"}").getBytes(StandardCharsets.UTF_8);
+                    boolean retryable = errorStatus == 429 || errorStatus == 503;
+                    writeResponse(socket.getOutputStream(), errorStatus,
+                            retryable ? Map.of("Content-Type", List.of("application/json"), "Retry-After", List.of("1"))
+                                    : Map.of("Content-Type", List.of("application/json")),
+                            error, null);
+                    return;
+                }
+            }
+            forward(socket.getOutputStream(), method, target, headers, body, rule);
+        } catch (IOException e) {
+            logger.debug("Fault injection proxy connection failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void forward(OutputStream out, String method, String target, List<String[]> headers, byte[] body,
+                         FaultRule rule) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + target))
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String[] header : headers) {
+            if (!HOP_BY_HOP_HEADERS.contains(header[0].toLowerCase(Locale.ROOT))) {
+                request.header(header[0], header[1]);
+            }
+        }
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            writeResponse(out, 502, Map.of("Content-Type", List.of("text/plain")),
+                    ("Upstream unavailable: " + e.getMessage()).getBytes(StandardCharsets.UTF_8), null);
+            return;
+        }
+        forwarded.increment();
+        writeResponse(out, response.statusCode(), response.headers().map(), response.body(), rule);
+    }
+    
+    private void writeResponse(OutputStream out, int status, Map<String, List<String>> headers, byte[] body,
+                               FaultRule rule) throws IOException, InterruptedException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ').append(reason(status))
+                .append("\r\n");
+        headers.forEach((name, values) -> {
+            if (!name.startsWith(":") && !HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> head.append(name).append(": ").append(value).append("\r\n"));
+            }
+        });
+        head.append("Content-Length: ").append(body.length).append("\r\nConnection: close\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+        
+        int chunk = body.length;
+        long pause = 0;
+        if (rule != null && rule.getDripChunkBytes() > 0) {
+            chunk = rule.getDripChunkBytes();
+            pause = rule.getDripIntervalMillis();
+        } else if (rule != null && rule.getBytesPerSecond() > 0) {
+            chunk = (int) Math.max(1, rule.getBytesPerSecond() * THROTTLE_INTERVAL_MILLIS / 1000);
+            pause = THROTTLE_INTERVAL_MILLIS;
+        }
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            out.write(body, offset, Math.min(chunk, body.length - offset));
+            out.flush();
+            if (pause > 0 && offset + chunk < body.length) {
+                Thread.sleep(pause);
+            }
+        }
+    }
+    
+    private void badRequest(OutputStream out, String message) throws IOException, InterruptedException {
+        writeResponse(out, 400, Map.of("Content-Type", List.of("text/plain")),
+                message.getBytes(StandardCharsets.UTF_8), null);
+    }
+    
+    private static boolean isValidUri(String uri) {
+        try {
+            URI.create(uri);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Parses a Content-Length value.
+     *
+     * @return the length, or -1 if the value is not a non-negative integer
+     */
+    private static int parseContentLength(String value) {
+        try {
+            return Math.max(-1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b == -1) {
+                return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+    
+    private static String reason(int status) {
+        switch (status) {
+            case 200:
+                return "OK";
+            case 201:
+                return "Created";
+            case 400:
+                return "Bad Request";
+            case 404:
+                return "Not Found";
+            case 429:
+                return "Too Many Requests";
+            case 500:
+                return "Internal Server Error";
+            case 502:
+                return "Bad Gateway";
+            case 503:
+                return "Service Unavailable";
+            default:
+                return "Status " + status;
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        TestInputs.forwarding(address(), null);
+        server.close();
+        connections.shutdownNow();
+    }
+}
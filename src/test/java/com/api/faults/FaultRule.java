@@ -0,0 +1,173 @@
+package com.api.faults;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Faults injected into the requests of one route.
+ * <p>
+ * A rule matches requests by method and path and applies any combination of faults:
+ * </p>
+ * <pre>{@code
+ * FaultRule.route("GET", "/photos.*")
+ *         .latency(LatencyDistribution.logNormal(150, 0.5))
+ *         .throttle(64 * 1024)
+ *         .resets(0.02)
+ *         .errorBursts(429, 0.05, 5);
+ * }</pre>
+ * <p>
+ * Error bursts model overloaded or rate-limiting servers: each request starts a burst with
+ * the given probability, and the burst answers that many consecutive requests of the route
+ * with the error status. 429 and 503 responses carry a {@code Retry-After: 1} header.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class FaultRule {
+    
+    private final String method;
+    private final Pattern path;
+    private LatencyDistribution latency = LatencyDistribution.none();
+    private long bytesPerSecond;
+    private int dripChunkBytes;
+    private long dripIntervalMillis;
+    private double resetProbability;
+    private int errorStatus;
+    private double burstProbability;
+    private int burstLength;
+    private int burstRemaining;
+    
+    private FaultRule(String method, Pattern path) {
+        this.method = method;
+        this.path = path;
+    }
+    
+    /**
+     * Creates a rule without faults for a route.
+     *
+     * @param method the HTTP method, or "*" for any method
+     * @param pathRegex a regular expression the whole request path (without query) must match
+     * @return the rule
+     */
+    public static FaultRule route(String method, String pathRegex) {
+        return new FaultRule(method, Pattern.compile(pathRegex));
+    }
+    
+    /**
+     * Creates a rule without faults for every request.
+     *
+     * @return the rule
+     */
+    public static FaultRule anyRoute() {
+        return route("*", ".*");
+    }
+    
+    /**
+     * Delays the response headers.
+     *
+     * @param latency the delay distribution
+     * @return this rule
+     */
+    public FaultRule latency(LatencyDistribution latency) {
+        this.latency = latency;
+        return this;
+    }
+    
+    /**
+     * Limits the bandwidth of response bodies.
+     *
+     * @param bytesPerSecond the body transfer rate; 0 for unlimited
+     * @return this rule
+     */
+    public FaultRule throttle(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+    
+    /**
+     * Sends response bodies in small chunks with pauses in between, after sending the headers
+     * right away. Read timeouts should fire on such responses; connect timeouts should not.
+     *
+     * @param chunkBytes the chunk size
+     * @param intervalMillis the pause after each chunk
+     * @return this rule
+     */
+    public FaultRule slowDrip(int chunkBytes, long intervalMillis) {
+        this.dripChunkBytes = chunkBytes;
+        this.dripIntervalMillis = intervalMillis;
+        return this;
+    }
+    
+    /**
+     * Resets connections instead of answering.
+     *
+     * @param probability the probability of a reset per request
+     * @return this rule
+     */
+    public FaultRule resets(double probability) {
+        this.resetProbability = probability;
+        return this;
+    }
+    
+    /**
+     * Answers bursts of requests with an error status instead of forwarding them.
+     *
+     * @param status the error status (e.g., 503 or 429)
+     * @param probability the probability of a request starting a burst
+     * @param length the number of consecutive requests answered with the error
+     * @return this rule
+     */
+    public FaultRule errorBursts(int status, double probability, int length) {
+        this.errorStatus = status;
+        this.burstProbability = probability;
+        this.burstLength = length;
+        return this;
+    }
+    
+    boolean matches(String requestMethod, String requestPath) {
+        return ("*".equals(method) || method.equalsIgnoreCase(requestMethod)) && path.matcher(requestPath).matches();
+    }
+    
+    long sampleLatencyMillis(Random random) {
+        return Math.max(0, latency.sampleMillis(random));
+    }
+    
+    boolean shouldReset(Random random) {
+        return resetProbability > 0 && random.nextDouble() < resetProbability;
+    }
+    
+    /**
+     * Decides whether a request is answered with the rule's error status, advancing the burst.
+     *
+     * @return the error status, or 0 to forward the request
+     */
+    synchronized int nextErrorStatus(Random random) {
+        if (burstRemaining == 0 && burstLength > 0 && random.nextDouble() < burstProbability) {
+            burstRemaining = burstLength;
+        }
+        if (burstRemaining > 0) {
+            burstRemaining--;
+            return errorStatus;
+        }
+        return 0;
+    }
+    
+    long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+    
+    int getDripChunkBytes() {
+        return dripChunkBytes;
+    }
+    
+    long getDripIntervalMillis() {
+        return dripIntervalMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return method + " " + path.pattern();
+    }
+}
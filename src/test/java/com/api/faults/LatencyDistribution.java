@@ -0,0 +1,68 @@
+package com.api.faults;
+
+import java.util.Random;
+
+/**
+ * Distribution of the delay injected before a proxied response.
+ * <p>
+ * Real network latency is rarely constant: {@link #logNormal(double, double)} gives the
+ * right-skewed shape with a long tail that timeouts and retries have to cope with, while
+ * {@link #fixed(long)} and {@link #uniform(long, long)} make assertions simple.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    
+    /**
+     * Draws a delay.
+     *
+     * @param random the random source of the proxy
+     * @return the delay in milliseconds, never negative
+     */
+    long sampleMillis(Random random);
+    
+    /**
+     * No delay.
+     *
+     * @return the distribution
+     */
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+    
+    /**
+     * The same delay for every request.
+     *
+     * @param millis the delay in milliseconds
+     * @return the distribution
+     */
+    static LatencyDistribution fixed(long millis) {
+        return random -> millis;
+    }
+    
+    /**
+     * A delay drawn uniformly from a range.
+     *
+     * @param minMillis the smallest delay in milliseconds
+     * @param maxMillis the largest delay in milliseconds
+     * @return the distribution
+     */
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+    }
+    
+    /**
+     * A log-normally distributed delay.
+     *
+     * @param medianMillis the median delay in milliseconds
+     * @param sigma the standard deviation of the delay's logarithm; 0.5 puts p99 at about 3.2x the median
+     * @return the distribution
+     */
+    static LatencyDistribution logNormal(double medianMillis, double sigma) {
+        return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.api.filters;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSender;
+
+/**
+ * Allure REST Assured filter that attaches a preview of spilled response bodies.
+ * <p>
+ * {@link AllureRestAssured} copies and pretty-prints the whole response body into its
+ * attachment. For bodies spilled to a file by {@link CompressionFilter}, this filter shows it
+ * a response carrying the first {@value #PREVIEW_BYTES} bytes of the body followed by its
+ * size, digest and spill file instead, and returns the real response to the caller. Bodies
+ * kept on the heap are attached unchanged.
+ * </p>
+ * <p>
+ * The filter runs before {@link CompressionFilter}, so attachments show decoded bodies.
+ * The {@link RequestPhases} of the request are attached next to the request and response.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class AllureCaptureFilter extends AllureRestAssured {
+    
+    /**
+     * Number of body bytes shown in the attachment of a spilled body.
+     */
+    private static final int PREVIEW_BYTES = 16 * 1024;
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        PreviewContext preview = new PreviewContext(ctx);
+        Response attached = super.filter(requestSpec, responseSpec, preview);
+        RequestPhases phases = RequestPhases.of(ctx);
+        if (phases != null) {
+            Allure.addAttachment("Request phases", "text/plain", phases.toString());
+        }
+        return preview.received != null ? preview.received : attached;
+    }
+    
+    /**
+     * Runs right before {@link CoalescingFilter}, {@link CompressionFilter} and
+     * {@link PhaseTimingFilter}.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 4;
+    }
+    
+    /**
+     * Filter context handing the Allure filter a preview of spilled bodies.
+     */
+    private static final class PreviewContext implements FilterContext {
+        
+        private final FilterContext ctx;
+        private Response received;
+        
+        PreviewContext(FilterContext ctx) {
+            this.ctx = ctx;
+        }
+        
+        @Override
+        public Response next(FilterableRequestSpecification requestSpec,
+                             FilterableResponseSpecification responseSpec) {
+            received = ctx.next(requestSpec, responseSpec);
+            CapturedBody body = CapturedBody.of(ctx);
+            if (body == null || !body.isSpilled()) {
+                return received;
+            }
+            String preview = body.preview(PREVIEW_BYTES) + System.lineSeparator() + System.lineSeparator()
+                    + "[Body truncated: " + body + "]";
+            return new ResponseBuilder().clone(received).setBody(preview).setContentType("text/plain").build();
+        }
+        
+        @Override
+        public void setValue(String name, Object value) {
+            ctx.setValue(name, value);
+        }
+        
+        @Override
+        public <T> T getValue(String name) {
+            return ctx.getValue(name);
+        }
+        
+        @Override
+        public boolean hasValue(String name) {
+            return ctx.hasValue(name);
+        }
+        
+        @Override
+        public boolean hasValue(String name, Object value) {
+            return ctx.hasValue(name, value);
+        }
+        
+        @Override
+        public Response send(RequestSender requestSender) {
+            return ctx.send(requestSender);
+        }
+    }
+}
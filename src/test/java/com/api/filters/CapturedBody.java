@@ -0,0 +1,286 @@
+package com.api.filters;
+
+import com.api.utilities.ConfigManager;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response body captured by {@link CompressionFilter} or {@link Http2TransportFilter}.
+ * <p>
+ * When {@code capture.spill.threshold.bytes} is set, bodies are streamed into a
+ * {@link SpillingOutputStream}: bodies up to the threshold stay on the heap, larger ones are
+ * written to a temporary file. The SHA-256 digest of every body is computed while it
+ * streams through. A spilled body is handed to REST Assured as a stream that opens the file
+ * on first read, so it only reaches the heap if a test asks for it (e.g. with
+ * {@code asString()} or {@code jsonPath()}); {@code ResponseValidator} reads it through
+ * {@link #openStream()} instead.
+ * </p>
+ * <p>
+ * A spill file is deleted once its body is no longer reachable, and at the latest when the
+ * JVM exits.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class CapturedBody {
+    
+    /**
+     * Filter context property holding the captured body of the current request.
+     */
+    private static final String CONTEXT_KEY = CapturedBody.class.getName();
+    
+    private static final Cleaner CLEANER = Cleaner.create();
+    
+    /**
+     * Spill files not deleted yet, removed by the shutdown hook.
+     */
+    private static final Set<Path> SPILL_FILES = ConcurrentHashMap.newKeySet();
+    
+    private static Path tempDirectory;
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CapturedBody::deleteSpillFiles, "spill-file-cleanup"));
+    }
+    
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private final String sha256;
+    
+    private CapturedBody(byte[] bytes, Path file, long size, String sha256) {
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+    
+    static CapturedBody inMemory(byte[] bytes, String sha256) {
+        return new CapturedBody(bytes, null, bytes.length, sha256);
+    }
+    
+    static CapturedBody spilled(Path file, long size, String sha256) {
+        CapturedBody body = new CapturedBody(null, file, size, sha256);
+        CLEANER.register(body, () -> delete(file));
+        return body;
+    }
+    
+    /**
+     * Retrieves the captured body of a response.
+     *
+     * @param response a response returned by a request sent through {@link CompressionFilter}
+     * @return the captured body, or {@code null} if capturing is disabled
+     */
+    public static CapturedBody of(Response response) {
+        if (response instanceof RestAssuredResponseOptionsImpl) {
+            Map<?, ?> properties = ((RestAssuredResponseOptionsImpl<?>) response).getFilterContextProperties();
+            Object body = properties == null ? null : properties.get(CONTEXT_KEY);
+            if (body instanceof CapturedBody) {
+                return (CapturedBody) body;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Retrieves the body captured so far in a filter context.
+     *
+     * @param ctx the filter context of a request, after the response was received
+     * @return the captured body, or {@code null} if no filter captured it
+     */
+    public static CapturedBody of(FilterContext ctx) {
+        return ctx.getValue(CONTEXT_KEY);
+    }
+    
+    static void record(FilterContext ctx, CapturedBody body) {
+        ctx.setValue(CONTEXT_KEY, body);
+    }
+    
+    /**
+     * Creates a copy of a response whose body is this captured body.
+     *
+     * @param response the response to copy the status, headers and cookies from
+     * @return the copy, reading a spilled body lazily from its file
+     */
+    Response toResponse(Response response) {
+        return applyTo(new ResponseBuilder().clone(response)).build();
+    }
+    
+    /**
+     * Sets this captured body as the body of a response being built.
+     *
+     * @param builder the response builder
+     * @return the builder, with a body reading a spilled body lazily from its file
+     */
+    ResponseBuilder applyTo(ResponseBuilder builder) {
+        return file == null ? builder.setBody(bytes) : builder.setBody(new LazyFileStream(this));
+    }
+    
+    /**
+     * Opens the body for reading. Spilled bodies are read through a memory-mapped view of
+     * their file, so reading them does not copy the body onto the heap.
+     *
+     * @return a stream over the body
+     * @throws UncheckedIOException if the spill file cannot be opened
+     */
+    public InputStream openStream() {
+        if (file == null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        try {
+            if (size > Integer.MAX_VALUE) {
+                return new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return new ByteBufferBackedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open spilled body " + file, e);
+        }
+    }
+    
+    /**
+     * Reads the start of the body as text, e.g. for a report attachment.
+     *
+     * @param maxBytes the maximum number of bytes to read
+     * @return the first bytes of the body decoded as UTF-8
+     */
+    public String preview(int maxBytes) {
+        try (InputStream in = openStream()) {
+            return new String(in.readNBytes(maxBytes), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read spilled body " + file, e);
+        }
+    }
+    
+    public long getSize() {
+        return size;
+    }
+    
+    /**
+     * Retrieves the SHA-256 digest of the body, computed while it was captured.
+     *
+     * @return the hex-encoded digest
+     */
+    public String getSha256() {
+        return sha256;
+    }
+    
+    public boolean isSpilled() {
+        return file != null;
+    }
+    
+    /**
+     * Retrieves the file a spilled body was written to.
+     *
+     * @return the spill file, or {@code null} if the body is kept on the heap
+     */
+    public Path getFile() {
+        return file;
+    }
+    
+    @Override
+    public String toString() {
+        return size + " bytes " + (file == null ? "in memory" : "spilled to " + file) + ", sha256 " + sha256;
+    }
+    
+    /**
+     * Creates a new spill file in the configured directory.
+     *
+     * @return the empty file, deleted when the JVM exits unless deleted earlier
+     * @throws IOException if the file cannot be created
+     */
+    static Path newSpillFile() throws IOException {
+        String configured = ConfigManager.getSpillDirectory();
+        Path directory = configured.isBlank() ? tempDirectory() : Files.createDirectories(Paths.get(configured));
+        Path file = Files.createTempFile(directory, "body-", ".bin");
+        SPILL_FILES.add(file);
+        return file;
+    }
+    
+    private static synchronized Path tempDirectory() throws IOException {
+        if (tempDirectory == null) {
+            tempDirectory = Files.createTempDirectory("api-test-bodies-");
+        }
+        return tempDirectory;
+    }
+    
+    private static synchronized void deleteSpillFiles() {
+        SPILL_FILES.forEach(CapturedBody::delete);
+        if (tempDirectory != null) {
+            delete(tempDirectory);
+        }
+    }
+    
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left for the next cleanup of the temp directory
+        }
+        SPILL_FILES.remove(file);
+    }
+    
+    /**
+     * Stream handed to REST Assured as the body of a spilled response. It keeps the captured
+     * body, and with it the spill file, alive until REST Assured has read it.
+     */
+    private static final class LazyFileStream extends InputStream {
+        
+        private final CapturedBody body;
+        private InputStream in;
+        
+        LazyFileStream(CapturedBody body) {
+            this.body = body;
+        }
+        
+        private InputStream in() {
+            if (in == null) {
+                in = body.openStream();
+            }
+            return in;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            return in().read();
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return in().read(buffer, offset, length);
+        }
+        
+        @Override
+        public int available() throws IOException {
+            return in().available();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (in != null) {
+                in.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.api.filters;
+
+import com.api.metrics.RunMetrics;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.EndpointNames;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.internal.filter.FilterContextImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * REST Assured filter letting identical requests in flight at the same time share one call.
+ * <p>
+ * When test classes run in parallel, several tests often send the same GET at once. The
+ * first of them (the leader) sends the request; requests arriving with the same method,
+ * URI, headers and cookies while it is in flight wait for its response instead of sending
+ * their own. Each waiting request gets its own copy of the response body. Only {@code GET}
+ * and {@code HEAD} requests without a body are coalesced, and nothing is cached: once the
+ * leader's response has arrived, the next identical request is sent again.
+ * </p>
+ * <p>
+ * A waiting request's response carries the filter context properties of its own request,
+ * not the leader's: it has no {@link RequestPhases}, {@link CapturedBody} or
+ * {@link TransferStats}, its {@code getTime()} is the time it waited, and
+ * {@link #isCoalesced(Response)} is true for it.
+ * </p>
+ * <p>
+ * Coalescing is off by default ({@code request.coalescing}) and can be switched per test
+ * with {@code @CoalesceRequests}, so tests measuring latency see only their own requests.
+ * Requests answered by another request in flight are counted in
+ * {@link RunMetrics#COALESCED_REQUESTS}. They still pass through the telemetry filter,
+ * which records the time they waited. Waiting requests wait no longer than their own total
+ * request timeout, which includes the remaining test budget (see {@link DeadlineFilter}).
+ * If the leader fails, the waiting requests fail with the same exception, unless it timed
+ * out under its own budget or its body was spilled to a file (see {@link CapturedBody}):
+ * then they send their own requests.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class CoalescingFilter implements OrderedFilter {
+    
+    /**
+     * Calls in flight by request key, shared by all filter instances so that requests of
+     * concurrently running test classes are coalesced too.
+     */
+    private static final Map<String, CompletableFuture<Response>> IN_FLIGHT = new ConcurrentHashMap<>();
+    
+    /**
+     * Per-test setting, inherited by threads the test starts.
+     */
+    private static final InheritableThreadLocal<Boolean> ENABLED = new InheritableThreadLocal<>();
+    
+    private static final String COALESCED_KEY = CoalescingFilter.class.getName();
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        if (!isEnabled() || !isCoalescable(requestSpec)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = key(requestSpec);
+        CompletableFuture<Response> call = new CompletableFuture<>();
+        CompletableFuture<Response> inFlight = IN_FLIGHT.putIfAbsent(key, call);
+        if (inFlight != null) {
+            long start = System.nanoTime();
+            Response shared = await(inFlight, requestSpec, ctx);
+            if (shared == null) {
+                return ctx.next(requestSpec, responseSpec);
+            }
+            RunMetrics.COALESCED_REQUESTS.inc(requestSpec.getMethod(),
+                    EndpointNames.normalizePath(requestSpec.getUserDefinedPath()));
+            Map<String, Object> properties = ctx instanceof FilterContextImpl
+                    ? new HashMap<>(((FilterContextImpl) ctx).getProperties()) : new HashMap<>();
+            properties.put(TimingFilter.RESPONSE_TIME_MILLISECONDS,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            properties.put(COALESCED_KEY, Boolean.TRUE);
+            return copy(shared, properties);
+        }
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            CapturedBody captured = CapturedBody.of(ctx);
+            call.complete(captured != null && captured.isSpilled() ? null : copy(response, new HashMap<>()));
+            return response;
+        } catch (Throwable e) {
+            if (DeadlineFilter.isTimeout(e)) {
+                // The leader ran out of its own time, which may be shorter than the others'
+                call.complete(null);
+            } else {
+                call.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, call);
+        }
+    }
+    
+    /**
+     * Overrides {@code request.coalescing} for the current thread and the threads it starts.
+     *
+     * @param enabled whether to coalesce requests, or null to follow the configuration
+     */
+    public static void setEnabled(Boolean enabled) {
+        if (enabled == null) {
+            ENABLED.remove();
+        } else {
+            ENABLED.set(enabled);
+        }
+    }
+    
+    /**
+     * Determines whether requests of the current thread are coalesced.
+     *
+     * @return the per-test setting if one is set, otherwise {@code request.coalescing}
+     */
+    public static boolean isEnabled() {
+        Boolean enabled = ENABLED.get();
+        return enabled != null ? enabled : ConfigManager.isRequestCoalescingEnabled();
+    }
+    
+    /**
+     * Determines whether a response was answered by an identical request in flight.
+     *
+     * @param response a response of a request sent through this filter
+     * @return true if the request waited for another request's response
+     */
+    public static boolean isCoalesced(Response response) {
+        if (response instanceof RestAssuredResponseOptionsImpl) {
+            Map<?, ?> properties = ((RestAssuredResponseOptionsImpl<?>) response).getFilterContextProperties();
+            return properties != null && Boolean.TRUE.equals(properties.get(COALESCED_KEY));
+        }
+        return false;
+    }
+    
+    private static boolean isCoalescable(FilterableRequestSpecification requestSpec) {
+        String method = requestSpec.getMethod();
+        return ("GET".equals(method) || "HEAD".equals(method)) && requestSpec.getBody() == null
+                && requestSpec.getFormParams().isEmpty() && requestSpec.getMultiPartParams().isEmpty();
+    }
+    
+    /**
+     * Builds the key of a request from its method, URI (including query parameters),
+     * headers and cookies. Headers and cookies are sorted, so their order does not matter.
+     */
+    static String key(FilterableRequestSpecification requestSpec) {
+        List<String> headers = new ArrayList<>();
+        for (Header header : requestSpec.getHeaders()) {
+            headers.add(header.getName().toLowerCase() + ": " + header.getValue());
+        }
+        for (Cookie cookie : requestSpec.getCookies()) {
+            headers.add("cookie " + cookie.getName() + "=" + cookie.getValue());
+        }
+        headers.sort(null);
+        return requestSpec.getMethod() + " " + requestSpec.getURI() + "\n" + String.join("\n", headers);
+    }
+    
+    /**
+     * Waits for the response of the leader, at most for the total timeout of the waiting
+     * request, and rethrows the leader's failure unchanged.
+     *
+     * @return the response, or null if the waiting request should be sent on its own
+     * @throws RequestTimeoutException if the timeout passes first
+     */
+    private static Response await(CompletableFuture<Response> inFlight, FilterableRequestSpecification requestSpec,
+                                  FilterContext ctx) {
+        long totalMillis = ctx.hasValue(DeadlineFilter.TOTAL_TIMEOUT_MILLIS)
+                ? ctx.<Long>getValue(DeadlineFilter.TOTAL_TIMEOUT_MILLIS) : ConfigManager.getRequestTimeout();
+        String request = requestSpec.getMethod() + " " + requestSpec.getURI();
+        try {
+            return inFlight.get(totalMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RequestTimeoutException(request + " cancelled while waiting for an identical request: exceeded "
+                    + totalMillis + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical request to " + request, e);
+        }
+    }
+    
+    /**
+     * Rethrows an exception without wrapping it, including checked exceptions such as the
+     * {@code IOException}s REST Assured throws without declaring them.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException rethrow(Throwable e) throws E {
+        throw (E) e;
+    }
+    
+    /**
+     * Copies a response with its own body array and filter context properties, so no two
+     * callers share mutable state.
+     */
+    private static Response copy(Response response, Map<String, Object> properties) {
+        byte[] body = response.asByteArray();
+        Response copy = new ResponseBuilder().clone(response).setBody(body.clone()).build();
+        ((RestAssuredResponseOptionsImpl<?>) copy).setFilterContextProperties(properties);
+        return copy;
+    }
+    
+    /**
+     * Runs before {@link CompressionFilter}, so that the waiting requests get decoded bodies
+     * and the compression statistics count only transfers that happened, and after
+     * {@link AllureCaptureFilter}, so that every request is attached to its test.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 3;
+    }
+}
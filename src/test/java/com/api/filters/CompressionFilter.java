@@ -0,0 +1,228 @@
+package com.api.filters;
+
+import com.api.utilities.ConfigManager;
+import com.api.utilities.EndpointNames;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * REST Assured filter negotiating response compression and measuring transfer sizes.
+ * <p>
+ * The filter sends the configured {@code Accept-Encoding} header, decodes {@code gzip} and
+ * {@code deflate} bodies itself with streaming inflaters and records a {@link TransferStats}
+ * entry with the wire and decoded body sizes of every response. REST Assured's own content
+ * decoders must be disabled (see {@code DecoderConfig.noContentDecoders()}) so that the
+ * filter receives the body exactly as it was transferred.
+ * </p>
+ * <p>
+ * The filter runs after every other filter except {@link PhaseTimingFilter} and the HTTP/2
+ * transport, so reporting filters such as {@link AllureCaptureFilter} see the decoded body.
+ * Response headers, including {@code Content-Encoding}, are kept as sent by the server.
+ * </p>
+ * <p>
+ * When {@code capture.spill.threshold.bytes} is set, bodies are decoded into a
+ * {@link CapturedBody} instead, which spills bodies above the threshold to a temporary file.
+ * </p>
+ * <p>
+ * The inflaters stream, but their input does not: {@link PhaseTimingFilter} reads the whole
+ * wire body to time its transfer, so the compressed body is on the heap while it is decoded
+ * (except for bodies the HTTP/2 transport spilled). Compression therefore saves transfer
+ * time and bytes, not memory: decoding a body briefly needs its compressed plus its decoded
+ * size. Gzip bodies are decoded into a buffer sized from their trailer, so the decoded body
+ * is not copied; the spill threshold bounds the decoded part for large collections.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class CompressionFilter implements OrderedFilter {
+    
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final int BUFFER_SIZE = 16 * 1024;
+    
+    /**
+     * Highest ratio of decoded to compressed size deflate can reach.
+     */
+    private static final int MAX_DEFLATE_RATIO = 1032;
+    
+    private final String acceptEncoding;
+    
+    /**
+     * Creates a filter advertising the given content codings.
+     *
+     * @param acceptEncoding the {@code Accept-Encoding} value (e.g., "gzip, deflate"); blank
+     *                       to send no header and only measure uncompressed transfers
+     */
+    public CompressionFilter(String acceptEncoding) {
+        this.acceptEncoding = acceptEncoding == null ? "" : acceptEncoding.trim();
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        if (!acceptEncoding.isEmpty() && !requestSpec.getHeaders().hasHeaderWithName(ACCEPT_ENCODING)) {
+            requestSpec.header(ACCEPT_ENCODING, acceptEncoding);
+        }
+        long sent = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        // The HTTP/2 transport may already have captured the wire body, possibly to a file
+        CapturedBody transported = CapturedBody.of(ctx);
+        byte[] wire = transported == null ? response.asByteArray() : null;
+        long wireLength = transported == null ? wire.length : transported.getSize();
+        long received = System.nanoTime();
+        
+        String encoding = contentEncoding(response);
+        String endpoint = EndpointNames.key(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        long spillThreshold = ConfigManager.getSpillThresholdBytes();
+        try {
+            if (wireLength == 0 || TransferStats.IDENTITY.equals(encoding)) {
+                Response captured = response;
+                if (spillThreshold > 0 && transported == null) {
+                    captured = capture(ctx, response, new ByteArrayInputStream(wire), TransferStats.IDENTITY,
+                            spillThreshold);
+                }
+                TransferStats.record(ctx, captured, new TransferStats(endpoint, TransferStats.IDENTITY, wireLength,
+                        wireLength, received - sent, 0));
+                return captured;
+            }
+            
+            InputStream raw = transported == null ? new ByteArrayInputStream(wire) : transported.openStream();
+            Response decodedResponse;
+            long decodedLength;
+            if (spillThreshold > 0) {
+                decodedResponse = capture(ctx, response, raw, encoding, spillThreshold);
+                decodedLength = CapturedBody.of(ctx).getSize();
+            } else {
+                DecodedBody decoded = new DecodedBody(decodedSizeHint(encoding, wire, wireLength));
+                decode(encoding, raw, decoded);
+                decodedResponse = new ResponseBuilder().clone(response).setBody(decoded.toBody()).build();
+                decodedLength = decoded.size();
+            }
+            TransferStats.record(ctx, decodedResponse, new TransferStats(endpoint, encoding, wireLength,
+                    decodedLength, received - sent, System.nanoTime() - received));
+            return decodedResponse;
+        } catch (IOException e) {
+            throw new AssertionError("Unable to decode " + encoding + " body of " + endpoint + ": "
+                    + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Runs after all default-ordered filters, next to the {@link PhaseTimingFilter} in front
+     * of the request sender or the {@link Http2TransportFilter}.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 2;
+    }
+    
+    private static String contentEncoding(Response response) {
+        String header = response.getHeader(CONTENT_ENCODING);
+        if (header == null || header.isBlank()) {
+            return TransferStats.IDENTITY;
+        }
+        return header.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Decodes a body into a {@link SpillingOutputStream} and replaces the response body with it.
+     */
+    private static Response capture(FilterContext ctx, Response response, InputStream raw, String encoding,
+                                    long spillThreshold) throws IOException {
+        SpillingOutputStream body = new SpillingOutputStream(spillThreshold);
+        try (OutputStream out = body) {
+            decode(encoding, raw, out);
+        }
+        CapturedBody captured = body.toCapturedBody();
+        CapturedBody.record(ctx, captured);
+        return captured.toResponse(response);
+    }
+    
+    /**
+     * Decodes a body by streaming it through the inflater matching its content coding.
+     *
+     * @throws IOException if the coding is unsupported or the body is corrupt
+     */
+    private static void decode(String encoding, InputStream raw, OutputStream decoded) throws IOException {
+        switch (encoding) {
+            case TransferStats.IDENTITY:
+                raw.transferTo(decoded);
+                break;
+            case "gzip":
+            case "x-gzip":
+                try (InputStream in = new GZIPInputStream(raw, BUFFER_SIZE)) {
+                    in.transferTo(decoded);
+                }
+                break;
+            case "deflate":
+                // RFC 9110 deflate is zlib-wrapped, but some servers send raw deflate data
+                PushbackInputStream peekable = new PushbackInputStream(raw, 2);
+                byte[] header = peekable.readNBytes(2);
+                peekable.unread(header);
+                Inflater inflater = new Inflater(!hasZlibHeader(header));
+                try (InputStream in = new InflaterInputStream(peekable, inflater, BUFFER_SIZE)) {
+                    in.transferTo(decoded);
+                } finally {
+                    inflater.end();
+                }
+                break;
+            default:
+                throw new IOException("Unsupported Content-Encoding " + encoding);
+        }
+    }
+    
+    /**
+     * Estimates the decoded size of a body, so the decode buffer is allocated once.
+     * <p>
+     * Gzip bodies end with the decoded size modulo 2<sup>32</sup>, which is exact for the
+     * single-member bodies servers send. It is capped at the highest deflate ratio, so a
+     * corrupt trailer cannot cause a huge allocation. Other bodies assume a ratio of 4.
+     * </p>
+     */
+    private static int decodedSizeHint(String encoding, byte[] wire, long wireLength) {
+        long hint = wireLength * 4;
+        if (wire != null && wire.length >= 18 && (encoding.equals("gzip") || encoding.equals("x-gzip"))) {
+            int n = wire.length;
+            long trailer = (wire[n - 4] & 0xFFL) | (wire[n - 3] & 0xFFL) << 8 | (wire[n - 2] & 0xFFL) << 16
+                    | (wire[n - 1] & 0xFFL) << 24;
+            hint = Math.min(trailer, wireLength * MAX_DEFLATE_RATIO);
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(BUFFER_SIZE, hint));
+    }
+    
+    private static boolean hasZlibHeader(byte[] wire) {
+        return wire.length >= 2 && (wire[0] & 0x0F) == 8 && (((wire[0] & 0xFF) << 8) | (wire[1] & 0xFF)) % 31 == 0;
+    }
+    
+    /**
+     * Decode buffer handing over its array as the body when the size estimate was exact,
+     * instead of copying it.
+     */
+    private static final class DecodedBody extends ByteArrayOutputStream {
+        
+        DecodedBody(int size) {
+            super(size);
+        }
+        
+        byte[] toBody() {
+            return count == buf.length ? buf : toByteArray();
+        }
+    }
+}
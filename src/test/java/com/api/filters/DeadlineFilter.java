@@ -0,0 +1,206 @@
+package com.api.filters;
+
+import com.api.utilities.ConfigManager;
+import com.api.utilities.Deadline;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.AbortableHttpRequest;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.RequestWrapper;
+import org.apache.http.params.CoreConnectionPNames;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST Assured filter enforcing request timeouts and deadline budgets.
+ * <p>
+ * Every request gets three limits:
+ * <ul>
+ *   <li>A connect timeout ({@code http.connect.timeout})</li>
+ *   <li>A read timeout between received bytes ({@code default.timeout})</li>
+ *   <li>A total timeout for the whole exchange ({@code http.request.timeout}), capped by the
+ *       time left of the current {@link Deadline}</li>
+ * </ul>
+ * The total timeout is enforced by aborting the underlying HTTP request from a watchdog
+ * thread, which also ends responses that keep trickling in below the read timeout. This
+ * needs the HTTP client factory installed by {@link #configure(RestAssuredConfig)}; the
+ * {@link Http2TransportFilter} enforces the read and total timeouts itself.
+ * Requests that hit a limit fail with a {@link RequestTimeoutException} naming the limit;
+ * requests started after the deadline has passed fail without being sent.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class DeadlineFilter implements OrderedFilter {
+    
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "request-deadline-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * Filter context key holding the total timeout in milliseconds, for transports that
+     * enforce it themselves.
+     */
+    public static final String TOTAL_TIMEOUT_MILLIS = "deadline.total.timeout.millis";
+    
+    /**
+     * Filter context key holding the read timeout in milliseconds, for transports that
+     * enforce it themselves.
+     */
+    public static final String READ_TIMEOUT_MILLIS = "deadline.read.timeout.millis";
+    
+    /**
+     * Abort handle of the request currently sent by each thread.
+     */
+    private static final ThreadLocal<AbortHandle> IN_FLIGHT = new ThreadLocal<>();
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String request = requestSpec.getMethod() + " " + requestSpec.getURI();
+        long totalMillis = ConfigManager.getRequestTimeout();
+        String limit = "total request timeout of " + totalMillis + "ms";
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.remaining().toMillis() < totalMillis) {
+            totalMillis = deadline.remaining().toMillis();
+            limit = deadline.getDescription();
+            if (totalMillis <= 0) {
+                throw new RequestTimeoutException(request + " not sent: " + limit + " is exhausted", null);
+            }
+        }
+        
+        int connectMillis = (int) Math.min(ConfigManager.getConnectTimeout(), totalMillis);
+        int readMillis = (int) Math.min(ConfigManager.getDefaultTimeout(), totalMillis);
+        RestAssuredConfig config = requestSpec.getConfig() != null ? requestSpec.getConfig() : RestAssured.config();
+        HttpClientConfig httpClient = config.getHttpClientConfig()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectMillis)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, readMillis);
+        requestSpec.config(config.httpClient(httpClient));
+        
+        ctx.setValue(TOTAL_TIMEOUT_MILLIS, totalMillis);
+        ctx.setValue(READ_TIMEOUT_MILLIS, (long) readMillis);
+        AbortHandle handle = new AbortHandle();
+        IN_FLIGHT.set(handle);
+        ScheduledFuture<?> watchdog = WATCHDOG.schedule(handle::abort, totalMillis, TimeUnit.MILLISECONDS);
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } catch (Throwable e) {
+            if (handle.aborted) {
+                throw new RequestTimeoutException(request + " cancelled: exceeded " + limit, e);
+            }
+            if (e instanceof ConnectTimeoutException || e instanceof HttpConnectTimeoutException) {
+                throw new RequestTimeoutException(request + " failed: connect timeout of " + connectMillis
+                        + "ms exceeded", e);
+            }
+            if (e instanceof HttpTimeoutException) {
+                throw new RequestTimeoutException(request + " cancelled: exceeded " + limit, e);
+            }
+            if (e instanceof SocketTimeoutException) {
+                throw new RequestTimeoutException(request + " failed: read timeout of " + readMillis
+                        + "ms exceeded", e);
+            }
+            throw e;
+        } finally {
+            watchdog.cancel(false);
+            IN_FLIGHT.remove();
+        }
+    }
+    
+    /**
+     * Configures REST Assured to create HTTP clients this filter can abort.
+     * <p>
+     * REST Assured creates the HTTP client of a request before running the filters, so the
+     * client factory has to be part of the request configuration up front; without it the
+     * total timeout is not enforced.
+     * </p>
+     *
+     * @param config the configuration to extend
+     * @return the configuration with an abortable HTTP client factory
+     */
+    public static RestAssuredConfig configure(RestAssuredConfig config) {
+        return config.httpClient(config.getHttpClientConfig().httpClientFactory(DeadlineFilter::createHttpClient));
+    }
+    
+    /**
+     * Creates the HTTP client of one request, registering the request with the abort handle
+     * of the sending thread. The client also reports the phases of the request to
+     * {@link PhaseTimingFilter}.
+     */
+    private static DefaultHttpClient createHttpClient() {
+        DefaultHttpClient client = PhaseTimingFilter.createHttpClient();
+        client.addRequestInterceptor((request, context) -> {
+            AbortHandle handle = IN_FLIGHT.get();
+            if (handle != null) {
+                handle.register(request);
+            }
+        });
+        return client;
+    }
+    
+    /**
+     * Determines whether a failure of the request in flight on this thread is one this filter
+     * reports as a {@link RequestTimeoutException}: the request was aborted when its time was
+     * up, or its connection or a read timed out.
+     *
+     * @param e the failure, seen by a filter running after this one
+     * @return true if the request ran out of time
+     */
+    static boolean isTimeout(Throwable e) {
+        AbortHandle handle = IN_FLIGHT.get();
+        return handle != null && handle.aborted || e instanceof RequestTimeoutException
+                || e instanceof ConnectTimeoutException || e instanceof HttpTimeoutException
+                || e instanceof SocketTimeoutException;
+    }
+    
+    /**
+     * Runs right after the telemetry filter, so timeouts are recorded as request errors.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 1;
+    }
+    
+    /**
+     * Aborts a request once its time is up, whether or not it has started sending yet.
+     */
+    private static final class AbortHandle {
+        
+        private volatile boolean aborted;
+        private AbortableHttpRequest request;
+        
+        synchronized void register(HttpRequest sent) {
+            HttpRequest original = sent instanceof RequestWrapper ? ((RequestWrapper) sent).getOriginal() : sent;
+            if (original instanceof AbortableHttpRequest) {
+                request = (AbortableHttpRequest) original;
+                if (aborted) {
+                    request.abort();
+                }
+            }
+        }
+        
+        synchronized void abort() {
+            aborted = true;
+            if (request != null) {
+                request.abort();
+            }
+        }
+    }
+}
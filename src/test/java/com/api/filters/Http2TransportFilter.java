@@ -0,0 +1,284 @@
+package com.api.filters;
+
+import com.api.utilities.ConfigManager;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.internal.filter.FilterContextImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * REST Assured filter sending requests over a shared {@link HttpClient} with HTTP/2.
+ * <p>
+ * REST Assured's own transport opens a new HTTP/1.1 connection for every request. This
+ * filter replaces it when {@code http.transport=http2}: it runs last in the chain, sends
+ * the request with one JVM-wide {@link HttpClient} and returns a regular REST Assured
+ * {@link Response}, so filters, {@code ResponseValidator} and {@code then()} assertions
+ * work unchanged. Concurrent requests to the same host are multiplexed over a single
+ * HTTP/2 connection (negotiated with ALPN over TLS, or with an h2c upgrade over plain
+ * HTTP); servers that only speak HTTP/1.1 get pooled keep-alive connections.
+ * </p>
+ * <p>
+ * The timeouts set by {@link DeadlineFilter} apply: the read timeout limits the wait for
+ * the response headers, and the total timeout is enforced by cancelling the exchange.
+ * Requests with multipart or form parameters, or with a body other than a string or byte
+ * array, are left to REST Assured's transport. When {@code capture.spill.threshold.bytes}
+ * is set, response bodies are streamed into a {@link CapturedBody} as they arrive.
+ * </p>
+ * <p>
+ * A filter created with its own {@link HttpClient} sends its requests over that client's
+ * connections only, for example to keep the connection pools of compared environments apart.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class Http2TransportFilter implements OrderedFilter {
+    
+    /**
+     * Request headers the JDK client manages itself and refuses to have set.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade");
+    
+    private static final AtomicLong SENT = new AtomicLong();
+    
+    private static HttpClient sharedClient;
+    
+    private final HttpClient ownClient;
+    
+    /**
+     * Creates a transport sending requests over the JVM-wide client.
+     */
+    public Http2TransportFilter() {
+        this(null);
+    }
+    
+    /**
+     * Creates a transport sending requests over its own client.
+     *
+     * @param client the client, or null for the JVM-wide client
+     */
+    public Http2TransportFilter(HttpClient client) {
+        this.ownClient = client;
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        HttpRequest.BodyPublisher body = bodyPublisher(requestSpec);
+        if (body == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(requestSpec.getURI()))
+                .method(requestSpec.getMethod(), body);
+        for (Header header : requestSpec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                request.header(header.getName(), header.getValue());
+            }
+        }
+        if (requestSpec.getContentType() != null && !requestSpec.getHeaders().hasHeaderWithName("Content-Type")) {
+            request.header("Content-Type", requestSpec.getContentType());
+        }
+        if (requestSpec.getCookies().exist()) {
+            request.header("Cookie", requestSpec.getCookies().asList().stream()
+                    .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        
+        long readMillis = ctx.hasValue(DeadlineFilter.READ_TIMEOUT_MILLIS)
+                ? ctx.<Long>getValue(DeadlineFilter.READ_TIMEOUT_MILLIS) : ConfigManager.getDefaultTimeout();
+        long totalMillis = ctx.hasValue(DeadlineFilter.TOTAL_TIMEOUT_MILLIS)
+                ? ctx.<Long>getValue(DeadlineFilter.TOTAL_TIMEOUT_MILLIS) : ConfigManager.getRequestTimeout();
+        request.timeout(Duration.ofMillis(readMillis));
+        long spillThreshold = ConfigManager.getSpillThresholdBytes();
+        long start = System.nanoTime();
+        if (spillThreshold > 0) {
+            // The body is captured chunk by chunk as it arrives, so a spilled body never sits on the heap
+            SpillingOutputStream capture = new SpillingOutputStream(spillThreshold);
+            HttpResponse<Void> response = send(client(), request.build(),
+                    HttpResponse.BodyHandlers.ofByteArrayConsumer(capture::accept), totalMillis);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            SENT.incrementAndGet();
+            CapturedBody captured = toCapturedBody(capture);
+            CapturedBody.record(ctx, captured);
+            return toRestAssuredResponse(ctx, response, captured::applyTo, elapsedMillis);
+        }
+        HttpResponse<byte[]> response = send(client(), request.build(), HttpResponse.BodyHandlers.ofByteArray(),
+                totalMillis);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        SENT.incrementAndGet();
+        return toRestAssuredResponse(ctx, response, builder -> builder.setBody(response.body()),
+                elapsedMillis);
+    }
+    
+    /**
+     * Runs after every other filter, in place of REST Assured's transport.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+    
+    /**
+     * Retrieves the number of requests sent over the HTTP/2 transport in this JVM.
+     *
+     * @return the request count
+     */
+    public static long getRequestsSent() {
+        return SENT.get();
+    }
+    
+    /**
+     * Creates a client configured like the JVM-wide client, with its own connection pool.
+     *
+     * @return a new HTTP/2 client
+     */
+    public static HttpClient newClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(ConfigManager.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+    
+    private HttpClient client() {
+        return ownClient != null ? ownClient : sharedClient();
+    }
+    
+    /**
+     * Retrieves the shared client, creating it on first use.
+     */
+    private static synchronized HttpClient sharedClient() {
+        if (sharedClient == null) {
+            sharedClient = newClient();
+        }
+        return sharedClient;
+    }
+    
+    /**
+     * Sends a request, cancelling it when the timeout passes.
+     * <p>
+     * Like REST Assured's transport, this rethrows the {@link IOException} of a failed
+     * exchange unchecked, so callers see the same exceptions with either transport. Waiting
+     * too long for the response headers is reported as a {@link SocketTimeoutException},
+     * exceeding the total timeout as an {@link HttpTimeoutException}.
+     * </p>
+     */
+    private static <T> HttpResponse<T> send(HttpClient client, HttpRequest request,
+                                            HttpResponse.BodyHandler<T> bodyHandler, long timeoutMillis) {
+        CompletableFuture<HttpResponse<T>> exchange = client.sendAsync(request, PhaseTimingFilter.timed(bodyHandler));
+        try {
+            HttpResponse<T> response = exchange.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            PhaseTimingFilter.bodyReceived();
+            return response;
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw rethrow(new HttpTimeoutException(request.method() + " " + request.uri()
+                    + " timed out after " + timeoutMillis + "ms"));
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending " + request.method() + " " + request.uri(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof HttpTimeoutException && !(cause instanceof HttpConnectTimeoutException)) {
+                // The request timeout only covers waiting for the response headers
+                SocketTimeoutException readTimeout = new SocketTimeoutException(cause.getMessage());
+                readTimeout.initCause(cause);
+                throw rethrow(readTimeout);
+            }
+            throw rethrow(cause);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException rethrow(Throwable e) throws E {
+        throw (E) e;
+    }
+    
+    /**
+     * Creates the body publisher of a request.
+     *
+     * @return the publisher, or null if this transport cannot send the request
+     */
+    private static HttpRequest.BodyPublisher bodyPublisher(FilterableRequestSpecification requestSpec) {
+        if (!requestSpec.getMultiPartParams().isEmpty() || !requestSpec.getFormParams().isEmpty()) {
+            return null;
+        }
+        Object body = requestSpec.getBody();
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof String) {
+            return HttpRequest.BodyPublishers.ofString((String) body, StandardCharsets.UTF_8);
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        return null;
+    }
+    
+    private static CapturedBody toCapturedBody(SpillingOutputStream body) {
+        try {
+            return body.toCapturedBody();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to capture response body", e);
+        }
+    }
+    
+    private static Response toRestAssuredResponse(FilterContext ctx, HttpResponse<?> response,
+                                                   UnaryOperator<ResponseBuilder> body, long elapsedMillis) {
+        List<Header> headers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (!header.getKey().startsWith(":")) {
+                header.getValue().forEach(value -> headers.add(new Header(header.getKey(), value)));
+            }
+        }
+        String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine(protocol + " " + response.statusCode())
+                .setHeaders(new Headers(headers));
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        Response built = body.apply(builder).build();
+        // Response times are kept in the filter context properties of REST Assured's response;
+        // sharing the context's properties also carries values set by the filters above
+        ctx.setValue(TimingFilter.RESPONSE_TIME_MILLISECONDS, elapsedMillis);
+        Map<String, Object> properties = ctx instanceof FilterContextImpl ? ((FilterContextImpl) ctx).getProperties()
+                : Map.of(TimingFilter.RESPONSE_TIME_MILLISECONDS, elapsedMillis);
+        ((RestAssuredResponseOptionsImpl<?>) built).setFilterContextProperties(properties);
+        return built;
+    }
+}
@@ -0,0 +1,407 @@
+package com.api.filters;
+
+import com.api.filters.RequestPhases.Phase;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * REST Assured filter recording the {@link RequestPhases} of every request.
+ * <p>
+ * The filter runs right before the transport. It times the exchange, while the transport
+ * reports when it resolved the host, connected, finished the TLS handshake, sent the
+ * request and received the response headers and body:
+ * <ul>
+ *   <li>REST Assured's own transport needs HTTP clients created by {@link #createHttpClient()},
+ *       e.g. through {@link #configure(RestAssuredConfig)}; they time DNS lookups, socket
+ *       connects and TLS handshakes of the default {@code http} and {@code https} schemes.
+ *       A keystore or truststore configured in REST Assured replaces the {@code https}
+ *       scheme, in which case connect and TLS are reported as one connect phase.</li>
+ *   <li>{@link Http2TransportFilter} reports when it sent the request and received the
+ *       headers; the JDK client does not expose its connection setup, so DNS, connect and
+ *       TLS are not measured.</li>
+ * </ul>
+ * The phases are kept in the filter context, so filters running before this one, such as
+ * {@link RequestTelemetryFilter} and {@link AllureCaptureFilter}, can report them, and can
+ * be looked up with {@link RequestPhases#of(Response)} afterwards.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class PhaseTimingFilter implements OrderedFilter {
+    
+    /**
+     * Recorder of the request the current thread is sending.
+     */
+    private static final ThreadLocal<Recorder> CURRENT = new ThreadLocal<>();
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        Recorder recorder = new Recorder();
+        Recorder outer = CURRENT.get();
+        CURRENT.set(recorder);
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (recorder.body == 0) {
+                // REST Assured's transport leaves the body to be read on first access
+                response.asByteArray();
+            }
+            RequestPhases.record(ctx, recorder.finish());
+            return response;
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+    
+    /**
+     * Runs last before the transport, so the timings leave out the work of other filters.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+    
+    /**
+     * Configures REST Assured to create HTTP clients reporting the phases of their requests.
+     *
+     * @param config the configuration to extend
+     * @return the configuration with an instrumented HTTP client factory
+     */
+    public static RestAssuredConfig configure(RestAssuredConfig config) {
+        return config.httpClient(config.getHttpClientConfig().httpClientFactory(PhaseTimingFilter::createHttpClient));
+    }
+    
+    /**
+     * Creates an HTTP client for REST Assured's transport that reports the phases of its
+     * requests to the filter running on the sending thread.
+     *
+     * @return a new client with a single connection
+     */
+    public static DefaultHttpClient createHttpClient() {
+        SchemeRegistry schemes = SchemeRegistryFactory.createDefault();
+        for (String name : schemes.getSchemeNames()) {
+            Scheme scheme = schemes.get(name);
+            SchemeSocketFactory factory = scheme.getSchemeSocketFactory();
+            schemes.register(new Scheme(name, scheme.getDefaultPort(), factory instanceof SchemeLayeredSocketFactory
+                    ? new TimedLayeredSocketFactory((SchemeLayeredSocketFactory) factory)
+                    : new TimedSocketFactory(factory)));
+        }
+        DefaultHttpClient client = new DefaultHttpClient(new BasicClientConnectionManager(schemes) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry registry) {
+                return new TimedConnectionOperator(registry);
+            }
+        });
+        client.addRequestInterceptor((request, context) -> withRecorder(Recorder::sentOverVisibleConnection));
+        client.addResponseInterceptor((response, context) -> {
+            Recorder recorder = CURRENT.get();
+            if (recorder != null) {
+                recorder.headersReceived();
+                HttpEntity entity = response.getEntity();
+                if (entity != null) {
+                    response.setEntity(new TimedEntity(entity, recorder));
+                }
+            }
+        });
+        return client;
+    }
+    
+    /**
+     * Wraps a body handler of the JDK client so the phases of its request are recorded.
+     * <p>
+     * The handler is applied once the response headers arrived, on a thread of the client,
+     * so the recorder of the sending thread is captured up front.
+     * </p>
+     *
+     * @param handler the handler creating the body subscriber
+     * @param <T> the body type
+     * @return the timing handler, or the handler itself if no phases are being recorded
+     */
+    static <T> HttpResponse.BodyHandler<T> timed(HttpResponse.BodyHandler<T> handler) {
+        Recorder recorder = CURRENT.get();
+        if (recorder == null) {
+            return handler;
+        }
+        recorder.sent();
+        return info -> {
+            recorder.headersReceived();
+            return handler.apply(info);
+        };
+    }
+    
+    /**
+     * Notes that the JDK client received the whole response body.
+     */
+    static void bodyReceived() {
+        withRecorder(Recorder::bodyReceived);
+    }
+    
+    private static void withRecorder(Consumer<Recorder> event) {
+        Recorder recorder = CURRENT.get();
+        if (recorder != null) {
+            event.accept(recorder);
+        }
+    }
+    
+    /**
+     * Points in time of one request, reported by the transport as it gets there.
+     */
+    private static final class Recorder {
+        
+        private final long start = System.nanoTime();
+        private long dnsNanos;
+        private long connectNanos;
+        private long tlsNanos = RequestPhases.NOT_MEASURED;
+        private boolean opened;
+        private boolean split;
+        private boolean connectionsVisible;
+        private volatile long sent;
+        private volatile long headers;
+        private volatile long body;
+        
+        void sent() {
+            sent = System.nanoTime();
+        }
+        
+        void sentOverVisibleConnection() {
+            connectionsVisible = true;
+            sent();
+        }
+        
+        void headersReceived() {
+            headers = System.nanoTime();
+        }
+        
+        void bodyReceived() {
+            if (body == 0) {
+                body = System.nanoTime();
+            }
+        }
+        
+        RequestPhases finish() {
+            long end = System.nanoTime();
+            Map<Phase, Long> nanos = new EnumMap<>(Phase.class);
+            if (opened) {
+                nanos.put(Phase.DNS, dnsNanos);
+                nanos.put(Phase.CONNECT, connectNanos);
+                nanos.put(Phase.TLS, split ? Math.max(0, tlsNanos) : RequestPhases.NOT_MEASURED);
+            } else {
+                // Either a connection was reused, or the transport opens its connections out of sight
+                long setup = connectionsVisible ? 0 : RequestPhases.NOT_MEASURED;
+                nanos.put(Phase.DNS, setup);
+                nanos.put(Phase.CONNECT, setup);
+                nanos.put(Phase.TLS, setup);
+            }
+            if (sent != 0 && headers != 0) {
+                nanos.put(Phase.FIRST_BYTE, headers - sent);
+                nanos.put(Phase.TRANSFER, (body != 0 ? body : end) - headers);
+            }
+            return new RequestPhases(nanos, end - start, opened);
+        }
+    }
+    
+    /**
+     * Connection operator timing host name lookups and reporting new connections.
+     */
+    private static final class TimedConnectionOperator extends DefaultClientConnectionOperator {
+        
+        TimedConnectionOperator(SchemeRegistry registry) {
+            super(registry);
+        }
+        
+        @Override
+        public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            Recorder recorder = CURRENT.get();
+            long start = System.nanoTime();
+            try {
+                super.openConnection(conn, target, local, context, params);
+            } finally {
+                if (recorder != null) {
+                    recorder.opened = true;
+                    if (!recorder.split) {
+                        // A socket factory set up outside this class connected without reporting
+                        recorder.connectNanos = System.nanoTime() - start - recorder.dnsNanos;
+                    }
+                }
+            }
+        }
+        
+        @Override
+        protected InetAddress[] resolveHostname(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return super.resolveHostname(host);
+            } finally {
+                withRecorder(recorder -> recorder.dnsNanos += System.nanoTime() - start);
+            }
+        }
+    }
+    
+    /**
+     * Socket factory timing the TCP connect of plain connections.
+     */
+    private static class TimedSocketFactory implements SchemeSocketFactory {
+        
+        private final SchemeSocketFactory delegate;
+        
+        TimedSocketFactory(SchemeSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return delegate.createSocket(params);
+        }
+        
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local,
+                                    HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.connectSocket(socket, remote, local, params);
+            } finally {
+                reportConnect(start);
+            }
+        }
+        
+        @Override
+        public boolean isSecure(Socket socket) {
+            return delegate.isSecure(socket);
+        }
+        
+        static void reportConnect(long start) {
+            withRecorder(recorder -> {
+                recorder.connectNanos += System.nanoTime() - start;
+                recorder.split = true;
+            });
+        }
+    }
+    
+    /**
+     * Socket factory connecting TLS sockets in two timed steps: the TCP connect, then the
+     * handshake layered on top by the original factory, which also verifies the host name.
+     */
+    private static final class TimedLayeredSocketFactory extends TimedSocketFactory
+            implements SchemeLayeredSocketFactory {
+        
+        private final SchemeLayeredSocketFactory delegate;
+        
+        TimedLayeredSocketFactory(SchemeLayeredSocketFactory delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local,
+                                    HttpParams params) throws IOException {
+            Socket plain = socket != null ? socket : new Socket();
+            if (local != null) {
+                plain.setReuseAddress(HttpConnectionParams.getSoReuseaddr(params));
+                plain.bind(local);
+            }
+            int connectTimeout = HttpConnectionParams.getConnectionTimeout(params);
+            long start = System.nanoTime();
+            try {
+                plain.connect(remote, connectTimeout);
+            } catch (SocketTimeoutException e) {
+                throw new ConnectTimeoutException("Connect to " + remote + " timed out");
+            } finally {
+                reportConnect(start);
+            }
+            plain.setSoTimeout(HttpConnectionParams.getSoTimeout(params));
+            String host = remote instanceof HttpInetSocketAddress
+                    ? ((HttpInetSocketAddress) remote).getHttpHost().getHostName() : remote.getHostName();
+            return createLayeredSocket(plain, host, remote.getPort(), params);
+        }
+        
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params)
+                throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.createLayeredSocket(socket, target, port, params);
+            } finally {
+                withRecorder(recorder -> recorder.tlsNanos = Math.max(0, recorder.tlsNanos)
+                        + System.nanoTime() - start);
+            }
+        }
+    }
+    
+    /**
+     * Response entity noting when its content was read to the end.
+     */
+    private static final class TimedEntity extends HttpEntityWrapper {
+        
+        private final Recorder recorder;
+        
+        TimedEntity(HttpEntity entity, Recorder recorder) {
+            super(entity);
+            this.recorder = recorder;
+        }
+        
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int read = super.read();
+                    if (read < 0) {
+                        recorder.bodyReceived();
+                    }
+                    return read;
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read < 0) {
+                        recorder.bodyReceived();
+                    }
+                    return read;
+                }
+            };
+        }
+    }
+}
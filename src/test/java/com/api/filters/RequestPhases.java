@@ -0,0 +1,189 @@
+package com.api.filters;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Breakdown of the time a request spent in each phase of the HTTP exchange.
+ * <p>
+ * {@code response.getTimeIn(MILLISECONDS)} is one total, mixing the network, the server
+ * and the client. A {@code RequestPhases} instance is recorded by {@link PhaseTimingFilter}
+ * for every request and splits it up:
+ * <ul>
+ *   <li>{@link Phase#DNS}: resolving the host name</li>
+ *   <li>{@link Phase#CONNECT}: opening the TCP connection</li>
+ *   <li>{@link Phase#TLS}: the TLS handshake, including certificate checks</li>
+ *   <li>{@link Phase#FIRST_BYTE}: from sending the request until the response headers
+ *       arrived, which is mostly server time</li>
+ *   <li>{@link Phase#TRANSFER}: receiving the response body</li>
+ * </ul>
+ * The remainder of the total is spent by the client, e.g. building the request. Phases
+ * that did not happen, such as connecting over a reused connection, take zero time; phases
+ * a transport cannot observe are {@link #NOT_MEASURED}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class RequestPhases {
+    
+    /**
+     * Duration of a phase the transport could not observe.
+     */
+    public static final long NOT_MEASURED = -1;
+    
+    /**
+     * Phases of an HTTP exchange, in the order they happen.
+     */
+    public enum Phase {
+        DNS, CONNECT, TLS, FIRST_BYTE, TRANSFER;
+        
+        /**
+         * Retrieves the name used in metric labels and reports.
+         *
+         * @return the lower case name, e.g. "first_byte"
+         */
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+    
+    /**
+     * Filter context property holding the phases of the current request.
+     */
+    private static final String CONTEXT_KEY = RequestPhases.class.getName();
+    
+    private final Map<Phase, Long> nanos;
+    private final long totalNanos;
+    private final boolean newConnection;
+    
+    RequestPhases(Map<Phase, Long> nanos, long totalNanos, boolean newConnection) {
+        this.nanos = new EnumMap<>(nanos);
+        this.totalNanos = totalNanos;
+        this.newConnection = newConnection;
+    }
+    
+    /**
+     * Retrieves the phases recorded for a response.
+     *
+     * @param response a response returned by a request sent through {@link PhaseTimingFilter}
+     * @return the phases, or {@code null} if the response did not pass through the filter
+     */
+    public static RequestPhases of(Response response) {
+        if (response instanceof RestAssuredResponseOptionsImpl) {
+            Map<?, ?> properties = ((RestAssuredResponseOptionsImpl<?>) response).getFilterContextProperties();
+            Object phases = properties == null ? null : properties.get(CONTEXT_KEY);
+            if (phases instanceof RequestPhases) {
+                return (RequestPhases) phases;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Retrieves the phases recorded in a filter context.
+     *
+     * @param ctx the filter context of a request, after the response was received
+     * @return the phases, or {@code null} if {@link PhaseTimingFilter} did not run
+     */
+    public static RequestPhases of(FilterContext ctx) {
+        return ctx.getValue(CONTEXT_KEY);
+    }
+    
+    static void record(FilterContext ctx, RequestPhases phases) {
+        ctx.setValue(CONTEXT_KEY, phases);
+    }
+    
+    /**
+     * Retrieves the duration of a phase.
+     *
+     * @param phase the phase
+     * @return the duration in nanoseconds, or {@link #NOT_MEASURED}
+     */
+    public long getNanos(Phase phase) {
+        return nanos.getOrDefault(phase, NOT_MEASURED);
+    }
+    
+    /**
+     * Retrieves the duration of a phase in milliseconds.
+     *
+     * @param phase the phase
+     * @return the duration, or {@link Double#NaN} if the phase was not measured
+     */
+    public double getMillis(Phase phase) {
+        long phaseNanos = getNanos(phase);
+        return phaseNanos == NOT_MEASURED ? Double.NaN : phaseNanos / 1e6;
+    }
+    
+    /**
+     * Determines whether a phase was observed by the transport.
+     *
+     * @param phase the phase
+     * @return true if its duration is known
+     */
+    public boolean isMeasured(Phase phase) {
+        return getNanos(phase) != NOT_MEASURED;
+    }
+    
+    /**
+     * Retrieves the time spent on the network before the request could be sent.
+     *
+     * @return the DNS, connect and TLS time in nanoseconds, counting unmeasured phases as zero
+     */
+    public long getSetupNanos() {
+        return Math.max(0, getNanos(Phase.DNS)) + Math.max(0, getNanos(Phase.CONNECT))
+                + Math.max(0, getNanos(Phase.TLS));
+    }
+    
+    /**
+     * Retrieves the time the request spent in the transport, from resolving the host until
+     * the body was received.
+     *
+     * @return the total time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    /**
+     * Retrieves the part of the total that no phase accounts for.
+     *
+     * @return the client time in nanoseconds
+     */
+    public long getClientNanos() {
+        long phases = 0;
+        for (Phase phase : Phase.values()) {
+            phases += Math.max(0, getNanos(phase));
+        }
+        return Math.max(0, totalNanos - phases);
+    }
+    
+    /**
+     * Determines whether the request opened a new connection.
+     *
+     * @return true if a connection was opened, false if one was reused or the transport
+     *         does not tell
+     */
+    public boolean isNewConnection() {
+        return newConnection;
+    }
+    
+    @Override
+    public String toString() {
+        StringJoiner text = new StringJoiner(", ");
+        for (Phase phase : Phase.values()) {
+            text.add(phase.label().replace('_', ' ') + " " + (isMeasured(phase)
+                    ? String.format(Locale.ROOT, "%.1fms", getMillis(phase)) : "n/a"));
+        }
+        text.add(String.format(Locale.ROOT, "client %.1fms", getClientNanos() / 1e6));
+        return text + String.format(Locale.ROOT, " (total %.1fms%s)", totalNanos / 1e6,
+                newConnection ? ", new connection" : "");
+    }
+}
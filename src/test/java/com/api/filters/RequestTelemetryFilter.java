@@ -0,0 +1,111 @@
+package com.api.filters;
+
+import com.api.filters.RequestPhases.Phase;
+import com.api.impact.TestInputs;
+import com.api.metrics.RunMetrics;
+import com.api.telemetry.HttpRequestEvent;
+import com.api.utilities.EndpointNames;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * REST Assured filter recording request telemetry.
+ * <p>
+ * The filter runs first in the chain, so its measurements cover every other filter. For
+ * each request it:
+ * <ul>
+ *   <li>Updates the request count, latency, error and byte metrics in {@link RunMetrics}</li>
+ *   <li>Adds the duration of each measured {@link RequestPhases} phase to the phase histogram</li>
+ *   <li>Emits a JDK Flight Recorder {@link HttpRequestEvent} with the request phases when a
+ *       recording is active</li>
+ *   <li>Records the request's host in the running test's {@link TestInputs}</li>
+ * </ul>
+ * Transfer sizes and the transport and decode phases are taken from the
+ * {@link TransferStats} recorded by {@link CompressionFilter}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class RequestTelemetryFilter implements OrderedFilter {
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String path = EndpointNames.normalizePath(requestSpec.getUserDefinedPath());
+        TestInputs.request(URI.create(requestSpec.getURI()));
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Throwable e) {
+            event.end();
+            RunMetrics.REQUEST_ERRORS.inc(method, path, e.getClass().getSimpleName());
+            if (event.shouldCommit()) {
+                event.method = method;
+                event.path = path;
+                event.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+                event.commit();
+            }
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        event.end();
+        
+        TransferStats stats = TransferStats.of(ctx);
+        RunMetrics.REQUESTS.inc(method, path, String.valueOf(response.getStatusCode()));
+        RunMetrics.REQUEST_DURATION.observe(elapsed / 1e9, method, path);
+        RequestPhases phases = RequestPhases.of(ctx);
+        if (phases != null) {
+            for (Phase phase : Phase.values()) {
+                if (phases.isMeasured(phase)) {
+                    RunMetrics.REQUEST_PHASE_DURATION.observe(phases.getNanos(phase) / 1e9, method, path,
+                            phase.label());
+                }
+            }
+        }
+        if (stats != null) {
+            RunMetrics.WIRE_BYTES.add(stats.getWireBytes(), method, path);
+            RunMetrics.DECODED_BYTES.add(stats.getDecodedBytes(), method, path);
+        }
+        
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.path = path;
+            event.status = response.getStatusCode();
+            if (stats != null) {
+                event.encoding = stats.getEncoding();
+                event.wireBytes = stats.getWireBytes();
+                event.decodedBytes = stats.getDecodedBytes();
+                event.transportNanos = stats.getTransportNanos();
+                event.decodeNanos = stats.getDecodeNanos();
+            }
+            event.newConnection = phases != null && phases.isNewConnection();
+            event.dnsNanos = HttpRequestEvent.phaseNanos(phases, Phase.DNS);
+            event.connectNanos = HttpRequestEvent.phaseNanos(phases, Phase.CONNECT);
+            event.tlsNanos = HttpRequestEvent.phaseNanos(phases, Phase.TLS);
+            event.firstByteNanos = HttpRequestEvent.phaseNanos(phases, Phase.FIRST_BYTE);
+            event.bodyTransferNanos = HttpRequestEvent.phaseNanos(phases, Phase.TRANSFER);
+            event.filterNanos = Math.max(0, elapsed - event.transportNanos - event.decodeNanos);
+            event.commit();
+        }
+        return response;
+    }
+    
+    /**
+     * Runs before all other filters so the measurements span the whole chain.
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
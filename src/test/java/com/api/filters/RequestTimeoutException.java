@@ -0,0 +1,25 @@
+package com.api.filters;
+
+/**
+ * Thrown when a request is cancelled because it ran out of time.
+ * <p>
+ * The message names the request and the limit that was hit: the connect timeout, the read
+ * timeout, the total request timeout or the remaining test or suite budget.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class RequestTimeoutException extends RuntimeException {
+    
+    /**
+     * Creates the exception.
+     *
+     * @param message the description of the request and the exceeded limit
+     * @param cause the I/O failure caused by the timeout, may be null
+     */
+    public RequestTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,108 @@
+package com.api.filters;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+/**
+ * Output stream capturing a body on the heap up to a threshold and in a spill file beyond it.
+ * <p>
+ * The SHA-256 digest of the body is updated with every write, so it is known without
+ * reading the body again once it is captured.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+final class SpillingOutputStream extends OutputStream {
+    
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+    
+    private final long threshold;
+    private final MessageDigest digest;
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private OutputStream spill;
+    private Path file;
+    private long size;
+    
+    /**
+     * Creates a stream keeping bodies of up to {@code threshold} bytes on the heap.
+     *
+     * @param threshold the largest body kept on the heap, in bytes
+     */
+    SpillingOutputStream(long threshold) {
+        this.threshold = threshold;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+    
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        digest.update(buffer, offset, length);
+        size += length;
+        if (spill == null && size > threshold) {
+            file = CapturedBody.newSpillFile();
+            spill = new BufferedOutputStream(Files.newOutputStream(file), FILE_BUFFER_SIZE);
+            memory.writeTo(spill);
+            memory = null;
+        }
+        (spill != null ? spill : memory).write(buffer, offset, length);
+    }
+    
+    /**
+     * Writes a chunk delivered by the JDK HTTP client; an empty chunk marks the end of the body.
+     *
+     * @param chunk the next part of the body, or empty at the end
+     * @throws UncheckedIOException if the spill file cannot be written
+     */
+    void accept(Optional<byte[]> chunk) {
+        try {
+            if (chunk.isPresent()) {
+                write(chunk.get());
+            } else {
+                close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+    
+    /**
+     * Closes the stream and returns the captured body.
+     *
+     * @return the body, on the heap or in its spill file
+     * @throws IOException if the spill file cannot be completed
+     */
+    CapturedBody toCapturedBody() throws IOException {
+        close();
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return file == null ? CapturedBody.inMemory(memory.toByteArray(), hex.toString())
+                : CapturedBody.spilled(file, size, hex.toString());
+    }
+}
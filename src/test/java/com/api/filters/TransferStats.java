@@ -0,0 +1,229 @@
+package com.api.filters;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wire and decoded body sizes of HTTP exchanges.
+ * <p>
+ * A {@code TransferStats} instance is recorded by {@link CompressionFilter} for every
+ * response it sees. Instances can be looked up for a single response with
+ * {@link #of(Response)}, and running totals are kept per endpoint (method and path with
+ * numeric segments replaced by {@code {id}}) to report bandwidth savings of a test run.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class TransferStats {
+    
+    /**
+     * Encoding name used when a response was not content-encoded.
+     */
+    public static final String IDENTITY = "identity";
+    
+    /**
+     * Filter context property holding the stats of the current request.
+     */
+    private static final String CONTEXT_KEY = TransferStats.class.getName();
+    
+    /**
+     * Stats of live responses; entries disappear once a response is garbage collected.
+     */
+    private static final Map<Response, TransferStats> BY_RESPONSE =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /**
+     * Running totals keyed by endpoint, sorted for stable summaries.
+     */
+    private static final Map<String, EndpointTotals> BY_ENDPOINT =
+            Collections.synchronizedMap(new TreeMap<>());
+    
+    private final String endpoint;
+    private final String encoding;
+    private final long wireBytes;
+    private final long decodedBytes;
+    private final long transportNanos;
+    private final long decodeNanos;
+    
+    TransferStats(String endpoint, String encoding, long wireBytes, long decodedBytes, long transportNanos,
+                  long decodeNanos) {
+        this.endpoint = endpoint;
+        this.encoding = encoding;
+        this.wireBytes = wireBytes;
+        this.decodedBytes = decodedBytes;
+        this.transportNanos = transportNanos;
+        this.decodeNanos = decodeNanos;
+    }
+    
+    /**
+     * Retrieves the transfer stats recorded for a response.
+     * <p>
+     * Filters may replace the response object on its way back through the chain (e.g.,
+     * logging filters buffering the body), so the stats are looked up in the filter
+     * context properties REST Assured attaches to the final response first.
+     * </p>
+     *
+     * @param response a response returned by a request sent through {@link CompressionFilter}
+     * @return the stats, or {@code null} if the response did not pass through the filter
+     */
+    public static TransferStats of(Response response) {
+        if (response instanceof RestAssuredResponseOptionsImpl) {
+            Map<?, ?> properties = ((RestAssuredResponseOptionsImpl<?>) response).getFilterContextProperties();
+            Object stats = properties == null ? null : properties.get(CONTEXT_KEY);
+            if (stats instanceof TransferStats) {
+                return (TransferStats) stats;
+            }
+        }
+        return BY_RESPONSE.get(response);
+    }
+    
+    /**
+     * Retrieves the transfer stats recorded in a filter context.
+     *
+     * @param ctx the filter context of a request, after the response was received
+     * @return the stats, or {@code null} if {@link CompressionFilter} did not run
+     */
+    public static TransferStats of(FilterContext ctx) {
+        return ctx.getValue(CONTEXT_KEY);
+    }
+    
+    /**
+     * Retrieves a snapshot of the running totals of every endpoint seen so far.
+     *
+     * @return one line per endpoint, sorted by endpoint
+     */
+    public static List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        synchronized (BY_ENDPOINT) {
+            for (Map.Entry<String, EndpointTotals> entry : BY_ENDPOINT.entrySet()) {
+                lines.add(entry.getKey() + " " + entry.getValue());
+            }
+        }
+        return lines;
+    }
+    
+    /**
+     * Counts the responses whose stats are still retained.
+     * <p>
+     * Entries are dropped when their response is garbage collected, so a count that keeps
+     * growing over a long run means responses are being retained somewhere in the harness.
+     * </p>
+     *
+     * @return the number of tracked responses
+     */
+    public static int trackedResponses() {
+        return BY_RESPONSE.size();
+    }
+    
+    /**
+     * Records the stats of a response and adds them to the endpoint totals.
+     */
+    static void record(FilterContext ctx, Response response, TransferStats stats) {
+        ctx.setValue(CONTEXT_KEY, stats);
+        BY_RESPONSE.put(response, stats);
+        BY_ENDPOINT.computeIfAbsent(stats.endpoint, key -> new EndpointTotals()).add(stats);
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    /**
+     * Retrieves the content coding the body was transferred with.
+     *
+     * @return the coding (e.g., "gzip"), or {@value #IDENTITY} if the body was not encoded
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+    
+    public long getWireBytes() {
+        return wireBytes;
+    }
+    
+    public long getDecodedBytes() {
+        return decodedBytes;
+    }
+    
+    /**
+     * Retrieves the time spent sending the request and reading the raw response.
+     *
+     * @return the transport time in nanoseconds
+     */
+    public long getTransportNanos() {
+        return transportNanos;
+    }
+    
+    /**
+     * Retrieves the time spent decompressing the body.
+     *
+     * @return the decode time in nanoseconds, 0 for uncompressed bodies
+     */
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+    
+    /**
+     * Checks whether the body was content-encoded on the wire.
+     *
+     * @return true if a compression coding was applied
+     */
+    public boolean isCompressed() {
+        return !IDENTITY.equals(encoding);
+    }
+    
+    /**
+     * Computes the share of the decoded size that was actually transferred.
+     *
+     * @return wire bytes divided by decoded bytes, or 1.0 for empty bodies
+     */
+    public double getRatio() {
+        return decodedBytes == 0 ? 1.0 : (double) wireBytes / decodedBytes;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s %s %d -> %d bytes (ratio %.3f)", endpoint, encoding, wireBytes, decodedBytes,
+                getRatio());
+    }
+    
+    /**
+     * Running totals of one endpoint.
+     */
+    private static final class EndpointTotals {
+        
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder compressed = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+        
+        void add(TransferStats stats) {
+            requests.increment();
+            if (stats.isCompressed()) {
+                compressed.increment();
+            }
+            wireBytes.add(stats.wireBytes);
+            decodedBytes.add(stats.decodedBytes);
+        }
+        
+        @Override
+        public String toString() {
+            long decoded = decodedBytes.sum();
+            long saved = decoded - wireBytes.sum();
+            return String.format("requests=%d compressed=%d wire=%d decoded=%d saved=%d (%.1f%%)",
+                    requests.sum(), compressed.sum(), wireBytes.sum(), decoded, saved,
+                    decoded == 0 ? 0.0 : 100.0 * saved / decoded);
+        }
+    }
+}
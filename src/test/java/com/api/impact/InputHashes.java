@@ -0,0 +1,209 @@
+package com.api.impact;
+
+import com.api.utilities.ConfigManager;
+import com.api.utilities.TestDataProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content hashes of test inputs.
+ * <p>
+ * Each input recorded by {@link TestInputs} is hashed from its current content:
+ * <ul>
+ *   <li>{@code class:<name>} - the bytecode of a test class and its nested and anonymous classes</li>
+ *   <li>{@code framework} - the bytecode of every framework class outside {@code com.api.tests}
+ *       (except {@code TestDataProvider}, which is tracked per method) and the pom.xml</li>
+ *   <li>{@code schema:<path>} - the schema file on the classpath</li>
+ *   <li>{@code data:<method>} - the value returned by the {@code TestDataProvider} method</li>
+ *   <li>{@code config:<key>} - the configured value, including system property overrides</li>
+ * </ul>
+ * Class, framework and schema hashes are computed once per run; data and configuration
+ * hashes are computed on every call, since tests may change system properties.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class InputHashes {
+    
+    /**
+     * Hash of an input that does not exist, e.g. a deleted schema file or an unset key.
+     */
+    public static final String ABSENT = "absent";
+    
+    private static final ConcurrentMap<String, String> RUN_HASHES = new ConcurrentHashMap<>();
+    
+    private InputHashes() {
+    }
+    
+    /**
+     * Hashes the current content of an input.
+     *
+     * @param input the input in {@code kind:name} form
+     * @return the hex-encoded SHA-256 hash, or {@link #ABSENT}
+     * @throws IllegalArgumentException if the input kind is unknown
+     */
+    public static String hash(String input) {
+        if (input.startsWith(TestInputs.DATA)) {
+            return dataHash(input.substring(TestInputs.DATA.length()));
+        }
+        if (input.startsWith(TestInputs.CONFIG)) {
+            String value = ConfigManager.getProperty(input.substring(TestInputs.CONFIG.length()), null);
+            return value == null ? ABSENT : sha256(value.getBytes(StandardCharsets.UTF_8));
+        }
+        if (input.startsWith(TestInputs.CLASS) || input.startsWith(TestInputs.SCHEMA)
+                || input.equals(TestInputs.FRAMEWORK)) {
+            return RUN_HASHES.computeIfAbsent(input, InputHashes::runHash);
+        }
+        throw new IllegalArgumentException("Unknown test input: " + input);
+    }
+    
+    private static String runHash(String input) {
+        try {
+            if (input.startsWith(TestInputs.SCHEMA)) {
+                return resourceHash("schemas/" + input.substring(TestInputs.SCHEMA.length()));
+            }
+            if (input.startsWith(TestInputs.CLASS)) {
+                return classHash(Class.forName(input.substring(TestInputs.CLASS.length())));
+            }
+            return frameworkHash();
+        } catch (ClassNotFoundException e) {
+            return ABSENT;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to hash " + input, e);
+        }
+    }
+    
+    private static String resourceHash(String resource) throws IOException {
+        try (InputStream in = InputHashes.class.getClassLoader().getResourceAsStream(resource)) {
+            return in == null ? ABSENT : sha256(in.readAllBytes());
+        }
+    }
+    
+    private static String dataHash(String method) {
+        Object value;
+        try {
+            value = TestDataProvider.class.getMethod(method).invoke(null);
+        } catch (NoSuchMethodException e) {
+            return ABSENT;
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Unable to call TestDataProvider." + method, e);
+        }
+        // Data maps are hash maps, so their entries are sorted before hashing
+        Object sorted = value instanceof Map ? new TreeMap<>((Map<?, ?>) value) : value;
+        return sha256(String.valueOf(sorted).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Hashes a top-level class together with its nested, local and anonymous classes.
+     */
+    private static String classHash(Class<?> type) throws IOException {
+        Class<?> topLevel = type;
+        while (topLevel.getEnclosingClass() != null) {
+            topLevel = topLevel.getEnclosingClass();
+        }
+        String simpleName = topLevel.getName().substring(topLevel.getName().lastIndexOf('.') + 1);
+        Path file = classFile(topLevel);
+        if (file == null) {
+            return resourceHash(topLevel.getName().replace('.', '/') + ".class");
+        }
+        try (Stream<Path> siblings = Files.list(file.getParent())) {
+            return hashFiles(file.getParent(), siblings.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.equals(simpleName + ".class") || name.startsWith(simpleName + "$");
+            }).collect(Collectors.toList()));
+        }
+    }
+    
+    /**
+     * Hashes the framework classes, or the jar they were loaded from, and the build file.
+     */
+    private static String frameworkHash() throws IOException {
+        MessageDigest digest = newDigest();
+        Path configManager = classFile(ConfigManager.class);
+        if (configManager == null) {
+            digest.update(resourceHash(ConfigManager.class.getName().replace('.', '/') + ".class")
+                    .getBytes(StandardCharsets.UTF_8));
+        } else {
+            // com/api/utilities/ConfigManager.class -> the classpath root
+            Path root = configManager.getParent().getParent().getParent().getParent();
+            Path tests = root.resolve("com/api/tests");
+            try (Stream<Path> files = Files.walk(root.resolve("com/api"))) {
+                digest.update(hashFiles(root, files.filter(path -> path.toString().endsWith(".class")
+                        && !path.startsWith(tests)
+                        && !path.getFileName().toString().startsWith("TestDataProvider"))
+                        .collect(Collectors.toList())).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Path pom = Paths.get("pom.xml");
+        if (Files.isRegularFile(pom)) {
+            digest.update(Files.readAllBytes(pom));
+        }
+        return hex(digest.digest());
+    }
+    
+    /**
+     * Locates the class file of a class loaded from a directory.
+     *
+     * @return the class file, or null if the class was loaded from a jar
+     */
+    private static Path classFile(Class<?> type) {
+        URL url = type.getResource(type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class");
+        if (url == null || !url.getProtocol().equals("file")) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+    
+    private static String hashFiles(Path root, List<Path> files) throws IOException {
+        MessageDigest digest = newDigest();
+        for (Path file : files.stream().sorted().collect(Collectors.toList())) {
+            digest.update(root.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(file));
+        }
+        return hex(digest.digest());
+    }
+    
+    private static String sha256(byte[] content) {
+        return hex(newDigest().digest(content));
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,170 @@
+package com.api.impact;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Recorded inputs and results of tests, keyed by JUnit unique id.
+ * <p>
+ * The store is read when a run starts and written back when it ends, keeping the records
+ * of tests that were skipped or not selected in the run. A test's recorded result can be
+ * reused when it passed, ran offline and every input still hashes to the recorded value.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class TestImpactStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TestImpactStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final Path file;
+    private final ConcurrentMap<String, Record> records = new ConcurrentHashMap<>();
+    
+    private TestImpactStore(Path file) {
+        this.file = file;
+    }
+    
+    /**
+     * Loads the store from a file. A missing or unreadable file yields an empty store, so
+     * every test runs.
+     *
+     * @param file the results file
+     * @return the loaded store
+     */
+    public static TestImpactStore load(Path file) {
+        TestImpactStore store = new TestImpactStore(file);
+        if (!Files.isRegularFile(file)) {
+            return store;
+        }
+        try {
+            Iterator<Map.Entry<String, JsonNode>> tests = MAPPER.readTree(file.toFile()).path("tests").fields();
+            while (tests.hasNext()) {
+                Map.Entry<String, JsonNode> test = tests.next();
+                Map<String, String> inputs = new TreeMap<>();
+                test.getValue().path("inputs").fields()
+                        .forEachRemaining(input -> inputs.put(input.getKey(), input.getValue().asText()));
+                store.records.put(test.getKey(), new Record(test.getValue().path("result").asText(),
+                        test.getValue().path("offline").asBoolean(), inputs));
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable test impact results {}: {}", file, e.getMessage());
+            store.records.clear();
+        }
+        return store;
+    }
+    
+    /**
+     * Retrieves the record of a test.
+     *
+     * @param testId the JUnit unique id of the test
+     * @return the record, or empty if the test has not run before
+     */
+    public Optional<Record> get(String testId) {
+        return Optional.ofNullable(records.get(testId));
+    }
+    
+    /**
+     * Replaces the record of a test.
+     *
+     * @param testId the JUnit unique id of the test
+     * @param record the inputs and result of the test's latest run
+     */
+    public void put(String testId, Record record) {
+        records.put(testId, record);
+    }
+    
+    /**
+     * Writes the store to its file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void save() throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("createdAtMillis", System.currentTimeMillis());
+        ObjectNode tests = root.putObject("tests");
+        new TreeMap<>(records).forEach((testId, record) -> {
+            ObjectNode test = tests.putObject(testId);
+            test.put("result", record.getResult());
+            test.put("offline", record.isOffline());
+            ObjectNode inputs = test.putObject("inputs");
+            record.getInputs().forEach(inputs::put);
+        });
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+    }
+    
+    /**
+     * Inputs and result of one test run.
+     */
+    public static final class Record {
+        
+        private final String result;
+        private final boolean offline;
+        private final Map<String, String> inputs;
+        
+        /**
+         * Creates a record.
+         *
+         * @param result the test result (PASSED, FAILED or ABORTED)
+         * @param offline whether the test only sent requests to loopback stand-ins
+         * @param inputs the hash of each input, keyed by input
+         */
+        public Record(String result, boolean offline, Map<String, String> inputs) {
+            this.result = result;
+            this.offline = offline;
+            this.inputs = Collections.unmodifiableMap(new TreeMap<>(inputs));
+        }
+        
+        public String getResult() {
+            return result;
+        }
+        
+        public boolean isOffline() {
+            return offline;
+        }
+        
+        public Map<String, String> getInputs() {
+            return inputs;
+        }
+        
+        /**
+         * Finds the first input whose content changed since this record was made.
+         *
+         * @return the changed input, or empty if every input hashes to its recorded value
+         */
+        public Optional<String> findChangedInput() {
+            return inputs.entrySet().stream()
+                    .filter(input -> !input.getValue().equals(InputHashes.hash(input.getKey())))
+                    .map(Map.Entry::getKey)
+                    .findFirst();
+        }
+        
+        /**
+         * Determines whether the recorded result can stand in for running the test again.
+         *
+         * @return true if the test passed offline and none of its inputs changed
+         */
+        public boolean isReusable() {
+            return "PASSED".equals(result) && offline && findChangedInput().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.api.impact;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Inputs a test used while it ran.
+ * <p>
+ * The framework reports what each test depends on as it happens: schema files loaded by
+ * {@code ResponseValidator}, {@code TestDataProvider} methods, configuration keys read from
+ * {@code ConfigManager} and the hosts requests were sent to. Each input is recorded as a
+ * string of the form {@code kind:name} (e.g. {@code schema:post-schema.json} or
+ * {@code config:base.url}), which {@link InputHashes} turns into a content hash.
+ * </p>
+ * <p>
+ * The current recording is kept per thread and inherited by the threads a test starts, so
+ * test classes running in parallel (e.g. in the test runner daemon) each record their own
+ * inputs. Pools that outlive a test, like the paginator's, hand the recording over with
+ * {@link #bind(Supplier)}. Requests sent through a local forwarder, like the fault injection
+ * proxy, are also recorded as requests to its upstream host (see {@link #forwarding}).
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class TestInputs {
+    
+    /*
+     * Input kinds, each followed by the name of the input except for the framework classes
+     */
+    public static final String CLASS = "class:";
+    public static final String FRAMEWORK = "framework";
+    public static final String SCHEMA = "schema:";
+    public static final String DATA = "data:";
+    public static final String CONFIG = "config:";
+    
+    private static final InheritableThreadLocal<TestInputs> CURRENT = new InheritableThreadLocal<>();
+    
+    /**
+     * Upstream hosts of the local forwarders, by the host and port they listen on.
+     */
+    private static final Map<String, String> FORWARDERS = new ConcurrentHashMap<>();
+    
+    private final Set<String> inputs = ConcurrentHashMap.newKeySet();
+    private final Set<String> hosts = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * Makes a recording the current one of this thread and the threads it starts, or stops
+     * recording.
+     *
+     * @param inputs the recording inputs are added to, or null to stop recording
+     */
+    public static void setCurrent(TestInputs inputs) {
+        if (inputs == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(inputs);
+        }
+    }
+    
+    /**
+     * Retrieves the current recording of this thread.
+     *
+     * @return the recording inputs are added to, or null if none is active
+     */
+    public static TestInputs getCurrent() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Wraps a task so that it records into the current recording of this thread, whichever
+     * thread it runs on.
+     *
+     * @param task the task, e.g. a request sent by a shared pool on behalf of the test
+     * @param <T> the result type
+     * @return the wrapped task
+     */
+    public static <T> Supplier<T> bind(Supplier<T> task) {
+        TestInputs recording = CURRENT.get();
+        return () -> {
+            TestInputs previous = CURRENT.get();
+            setCurrent(recording);
+            try {
+                return task.get();
+            } finally {
+                setCurrent(previous);
+            }
+        };
+    }
+    
+    /**
+     * Registers or removes a local forwarder, so that requests sent to it count as requests
+     * to its upstream host.
+     *
+     * @param address the host and port the forwarder listens on (e.g., "127.0.0.1:54321")
+     * @param upstreamHost the host requests are forwarded to, or null to remove the forwarder
+     */
+    public static void forwarding(String address, String upstreamHost) {
+        if (upstreamHost == null) {
+            FORWARDERS.remove(address);
+        } else {
+            FORWARDERS.put(address, upstreamHost);
+        }
+    }
+    
+    /**
+     * Records that the running test loaded a schema file.
+     *
+     * @param schemaPath the schema path relative to the schemas/ directory
+     */
+    public static void schema(String schemaPath) {
+        add(SCHEMA + schemaPath);
+    }
+    
+    /**
+     * Records that the running test used a {@code TestDataProvider} method.
+     *
+     * @param method the name of the no-argument data method (e.g., "getPostData")
+     */
+    public static void data(String method) {
+        add(DATA + method);
+    }
+    
+    /**
+     * Records that the running test read a configuration key.
+     *
+     * @param key the property key
+     */
+    public static void config(String key) {
+        // The impact analysis settings decide whether tests run, not how they behave
+        if (!key.startsWith("impact.")) {
+            add(CONFIG + key);
+        }
+    }
+    
+    /**
+     * Records that the running test sent a request, to the host of its URI and, if the host
+     * is a local forwarder, to the upstream host of the forwarder.
+     *
+     * @param uri the request URI
+     */
+    public static void request(URI uri) {
+        host(uri.getHost());
+        String upstreamHost = FORWARDERS.get(uri.getHost() + ":" + uri.getPort());
+        if (upstreamHost != null) {
+            host(upstreamHost);
+        }
+    }
+    
+    /**
+     * Records that the running test sent a request to a host.
+     *
+     * @param host the host name or address of the request URI
+     */
+    public static void host(String host) {
+        TestInputs recording = CURRENT.get();
+        if (recording != null) {
+            recording.hosts.add(host == null ? "" : host.toLowerCase(Locale.ROOT));
+        }
+    }
+    
+    private static void add(String input) {
+        TestInputs recording = CURRENT.get();
+        if (recording != null) {
+            recording.inputs.add(input);
+        }
+    }
+    
+    /**
+     * Retrieves the recorded inputs.
+     *
+     * @return the inputs in {@code kind:name} form
+     */
+    public Set<String> getInputs() {
+        return Collections.unmodifiableSet(inputs);
+    }
+    
+    /**
+     * Retrieves the hosts requests were sent to.
+     *
+     * @return the lower-case host names and addresses
+     */
+    public Set<String> getHosts() {
+        return Collections.unmodifiableSet(hosts);
+    }
+    
+    /**
+     * Determines whether every recorded request went to a stand-in on this machine.
+     *
+     * @return true if no request left the loopback interface
+     */
+    public boolean isOffline() {
+        return hosts.stream().allMatch(TestInputs::isLoopback);
+    }
+    
+    private static boolean isLoopback(String host) {
+        String address = host.startsWith("[") && host.endsWith("]") ? host.substring(1, host.length() - 1) : host;
+        return address.equals("localhost") || address.startsWith("127.") || address.equals("::1")
+                || address.equals("0:0:0:0:0:0:0:1");
+    }
+}
@@ -0,0 +1,28 @@
+package com.api.listeners;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides request coalescing ({@code request.coalescing}) for a test method, or for all
+ * test methods of a class. Tests measuring latency turn it off, so that none of their
+ * requests wait for an identical request of another test.
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ * @see RequestCoalescingExtension
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CoalesceRequests {
+    
+    /**
+     * Whether identical requests in flight at the same time share one call.
+     */
+    boolean value() default true;
+}
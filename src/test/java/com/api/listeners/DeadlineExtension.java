@@ -0,0 +1,109 @@
+package com.api.listeners;
+
+import com.api.utilities.ConfigManager;
+import com.api.utilities.Deadline;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.DynamicTestInvocationContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * JUnit 5 extension enforcing test and suite time budgets.
+ * <p>
+ * Each test method and dynamic test runs under a {@link Deadline} set to the earlier of its
+ * own budget ({@code test.time.budget.seconds} or {@link TimeBudget}, taken from the factory
+ * method for dynamic tests) and the remaining suite budget
+ * ({@code suite.time.budget.minutes}, counted from the first test). The deadline is visible
+ * to the deadline filter, so the requests of a test time out when its budget runs out.
+ * </p>
+ * <p>
+ * Tests run on a separate thread and are cancelled preemptively when the deadline passes:
+ * they fail with a message naming the exhausted budget, even if they are stuck in code that
+ * does not react to interruption. Once the suite budget is exhausted, the remaining tests
+ * fail right away without running.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class DeadlineExtension implements InvocationInterceptor {
+    
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(DeadlineExtension.class);
+    
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        runWithDeadline(invocation, extensionContext);
+    }
+    
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                            ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        runWithDeadline(invocation, extensionContext);
+    }
+    
+    @Override
+    public void interceptDynamicTest(Invocation<Void> invocation, DynamicTestInvocationContext invocationContext,
+                                     ExtensionContext extensionContext) throws Throwable {
+        runWithDeadline(invocation, extensionContext);
+    }
+    
+    private void runWithDeadline(Invocation<Void> invocation, ExtensionContext context) {
+        long budgetSeconds = findTimeBudget(context).map(TimeBudget::seconds)
+                .orElse(ConfigManager.getTestTimeBudgetSeconds());
+        Deadline deadline = Deadline.after(Duration.ofSeconds(budgetSeconds),
+                "test budget of " + budgetSeconds + "s").earliest(suiteDeadline(context));
+        if (deadline.isExpired()) {
+            Assertions.fail("Test not run: " + deadline.getDescription() + " is exhausted");
+        }
+        Assertions.assertTimeoutPreemptively(deadline.remaining(), () -> {
+            Deadline.setCurrent(deadline);
+            try {
+                invocation.proceed();
+            } finally {
+                Deadline.setCurrent(null);
+            }
+            return null;
+        }, () -> "Test cancelled: exceeded " + deadline.getDescription());
+    }
+    
+    private static Optional<TimeBudget> findTimeBudget(ExtensionContext context) {
+        Optional<TimeBudget> onMethod = AnnotationSupport.findAnnotation(testMethod(context), TimeBudget.class);
+        return onMethod.isPresent() ? onMethod
+                : AnnotationSupport.findAnnotation(context.getTestClass(), TimeBudget.class);
+    }
+    
+    /**
+     * Retrieves the method of a test, or for a dynamic test the factory method creating it.
+     */
+    static Optional<Method> testMethod(ExtensionContext context) {
+        Optional<ExtensionContext> current = Optional.of(context);
+        while (current.isPresent() && current.get().getTestMethod().isEmpty()) {
+            current = current.get().getParent();
+        }
+        return current.flatMap(ExtensionContext::getTestMethod);
+    }
+    
+    /**
+     * Retrieves the suite deadline, starting the suite budget with the first test.
+     *
+     * @return the suite deadline, or null if the suite budget is unlimited
+     */
+    private static Deadline suiteDeadline(ExtensionContext context) {
+        long minutes = ConfigManager.getSuiteTimeBudgetMinutes();
+        if (minutes <= 0) {
+            return null;
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Deadline.class,
+                key -> Deadline.after(Duration.ofMinutes(minutes), "suite budget of " + minutes + "m"), Deadline.class);
+    }
+}
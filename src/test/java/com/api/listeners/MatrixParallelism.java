@@ -0,0 +1,73 @@
+package com.api.listeners;
+
+import com.api.utilities.ConfigManager;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * JUnit parallel execution strategy sizing the pool with {@code matrix.threads}.
+ * <p>
+ * Parallel execution is enabled in {@code junit-platform.properties}, but every test runs on
+ * the same thread unless it opts in with {@code @Execution(CONCURRENT)}, as the dynamic tests
+ * of the CRUD matrix do. The pool has {@code matrix.threads} threads, like JUnit's
+ * {@code fixed} strategy, so the thread count can be set like any other configuration key.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class MatrixParallelism implements ParallelExecutionConfigurationStrategy {
+    
+    /**
+     * Threads the pool may add while its threads wait for other tests, as with the
+     * {@code fixed} strategy.
+     */
+    private static final int EXTRA_THREADS = 256;
+    
+    private static final int KEEP_ALIVE_SECONDS = 30;
+    
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int parallelism = ConfigManager.getMatrixThreads();
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("matrix.threads must be positive");
+        }
+        return new ParallelExecutionConfiguration() {
+            
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+            
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+            
+            @Override
+            public int getMaxPoolSize() {
+                return parallelism + EXTRA_THREADS;
+            }
+            
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+            
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+            
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                return pool -> true;
+            }
+        };
+    }
+}
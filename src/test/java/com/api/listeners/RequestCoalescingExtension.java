@@ -0,0 +1,68 @@
+package com.api.listeners;
+
+import com.api.filters.CoalescingFilter;
+import org.junit.jupiter.api.extension.DynamicTestInvocationContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * JUnit 5 extension applying {@link CoalesceRequests} to the requests of a test.
+ * <p>
+ * The setting is made visible to the {@link CoalescingFilter} while the test method runs,
+ * or while a dynamic test runs, in which case the annotation of its factory method applies.
+ * It must be registered after {@link DeadlineExtension}, which runs tests on a separate
+ * thread, so that the setting is made on the thread running the test. Tests without the
+ * annotation follow {@code request.coalescing}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class RequestCoalescingExtension implements InvocationInterceptor {
+    
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        runWithSetting(invocation, extensionContext);
+    }
+    
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                            ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        runWithSetting(invocation, extensionContext);
+    }
+    
+    @Override
+    public void interceptDynamicTest(Invocation<Void> invocation, DynamicTestInvocationContext invocationContext,
+                                     ExtensionContext extensionContext) throws Throwable {
+        runWithSetting(invocation, extensionContext);
+    }
+    
+    private void runWithSetting(Invocation<Void> invocation, ExtensionContext context) throws Throwable {
+        Optional<CoalesceRequests> setting = findSetting(context);
+        if (setting.isEmpty()) {
+            invocation.proceed();
+            return;
+        }
+        CoalescingFilter.setEnabled(setting.get().value());
+        try {
+            invocation.proceed();
+        } finally {
+            CoalescingFilter.setEnabled(null);
+        }
+    }
+    
+    private static Optional<CoalesceRequests> findSetting(ExtensionContext context) {
+        Optional<CoalesceRequests> onMethod = AnnotationSupport.findAnnotation(DeadlineExtension.testMethod(context),
+                CoalesceRequests.class);
+        return onMethod.isPresent() ? onMethod
+                : AnnotationSupport.findAnnotation(context.getTestClass(), CoalesceRequests.class);
+    }
+}
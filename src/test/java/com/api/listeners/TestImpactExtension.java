@@ -0,0 +1,233 @@
+package com.api.listeners;
+
+import com.api.impact.InputHashes;
+import com.api.impact.TestImpactStore;
+import com.api.impact.TestInputs;
+import com.api.utilities.ConfigManager;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.opentest4j.TestAbortedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit 5 extension skipping tests whose inputs did not change since they last passed.
+ * <p>
+ * While a test runs, the framework records its inputs in {@link TestInputs}: the schema
+ * files it validates against, the {@code TestDataProvider} methods and configuration keys it
+ * uses, and the hosts it sends requests to. Inputs used in {@code @BeforeAll} methods count
+ * for every test of the class. When the test ends, the hash of each input, the hash of the
+ * test class and the framework classes, and the test result are stored in
+ * {@code impact.results.file}.
+ * </p>
+ * <p>
+ * On later runs, a test is skipped, and reported as such, when its last run passed, sent
+ * requests to loopback stand-ins only, and all its inputs still hash to the stored values.
+ * Tests against the real API always run, since the API can change without any input
+ * changing. Parameterized, repeated and dynamic tests always run as well. When every test
+ * of a class can be skipped, the class is skipped as a whole, {@code @BeforeAll} methods
+ * included. Setting {@code impact.full.run=true} runs every test while still recording the
+ * results.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class TestImpactExtension implements ExecutionCondition, BeforeAllCallback, BeforeEachCallback,
+        AfterTestExecutionCallback, AfterAllCallback {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TestImpactExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(TestImpactExtension.class);
+    
+    /**
+     * Skips a test whose recorded result can be reused, or a whole class when the results of
+     * all its tests can be, so that its {@code @BeforeAll} methods do not run either.
+     *
+     * @param context the extension context for the test class or method
+     * @return the evaluation result
+     */
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!ConfigManager.isImpactAnalysisEnabled() || ConfigManager.isImpactFullRun()) {
+            return ConditionEvaluationResult.enabled("Test impact analysis is off or a full run was requested");
+        }
+        boolean reusable;
+        if (context.getTestMethod().isPresent()) {
+            reusable = isTracked(context) && isReusable(context, context.getUniqueId());
+        } else if (context.getTestClass().isPresent() && context.getParent().flatMap(ExtensionContext::getTestClass)
+                .isEmpty()) {
+            reusable = isClassReusable(context);
+        } else {
+            reusable = false;
+        }
+        if (!reusable) {
+            return ConditionEvaluationResult.enabled("Inputs changed or no reusable result");
+        }
+        logger.info("Reusing last result of {}: inputs unchanged since it passed offline", context.getDisplayName());
+        return ConditionEvaluationResult.disabled("Inputs unchanged since the last offline pass; "
+                + "run with -Dimpact.full.run=true to run it anyway");
+    }
+    
+    /**
+     * Starts recording the inputs used by the class's {@code @BeforeAll} methods.
+     *
+     * @param context the extension context for the test class
+     */
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (ConfigManager.isImpactAnalysisEnabled()) {
+            TestInputs classInputs = new TestInputs();
+            context.getStore(NAMESPACE).put(TestInputs.class, classInputs);
+            TestInputs.setCurrent(classInputs);
+        }
+    }
+    
+    /**
+     * Starts recording the inputs of a test, including those used by its {@code @BeforeEach}
+     * methods.
+     *
+     * @param context the extension context for the test
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (isTracked(context)) {
+            TestInputs testInputs = new TestInputs();
+            context.getStore(NAMESPACE).put(TestInputs.class, testInputs);
+            TestInputs.setCurrent(testInputs);
+        }
+    }
+    
+    /**
+     * Stores the inputs and result of a test once it returns or throws.
+     *
+     * @param context the extension context for the test
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        TestInputs testInputs = context.getStore(NAMESPACE).remove(TestInputs.class, TestInputs.class);
+        if (testInputs == null) {
+            return;
+        }
+        TestInputs classInputs = context.getParent()
+                .map(parent -> parent.getStore(NAMESPACE).get(TestInputs.class, TestInputs.class))
+                .orElse(null);
+        // Hashing reads configuration and data methods, which must not be recorded
+        TestInputs.setCurrent(null);
+        
+        Set<String> inputs = new TreeSet<>(testInputs.getInputs());
+        boolean offline = testInputs.isOffline();
+        if (classInputs != null) {
+            inputs.addAll(classInputs.getInputs());
+            offline &= classInputs.isOffline();
+        }
+        inputs.add(TestInputs.FRAMEWORK);
+        for (Class<?> type = context.getRequiredTestClass(); type != Object.class; type = type.getSuperclass()) {
+            inputs.add(TestInputs.CLASS + type.getName());
+        }
+        Map<String, String> hashes = new TreeMap<>();
+        inputs.forEach(input -> hashes.put(input, InputHashes.hash(input)));
+        
+        Optional<Throwable> cause = context.getExecutionException();
+        String result = cause.isEmpty() ? "PASSED"
+                : cause.get() instanceof TestAbortedException ? "ABORTED" : "FAILED";
+        store(context).put(context.getUniqueId(), new TestImpactStore.Record(result, offline, hashes));
+        TestInputs.setCurrent(classInputs);
+    }
+    
+    /**
+     * Stops recording once the class's {@code @AfterAll} methods are about to run.
+     *
+     * @param context the extension context for the test class
+     */
+    @Override
+    public void afterAll(ExtensionContext context) {
+        TestInputs.setCurrent(null);
+    }
+    
+    private static boolean isReusable(ExtensionContext context, String testId) {
+        return store(context).get(testId).map(TestImpactStore.Record::isReusable).orElse(false);
+    }
+    
+    /**
+     * Determines whether every test of a top-level class is a plain {@code @Test} method whose
+     * recorded result can be reused.
+     */
+    private static boolean isClassReusable(ExtensionContext context) {
+        Class<?> testClass = context.getRequiredTestClass();
+        boolean otherTests = !AnnotationSupport.findAnnotatedMethods(testClass, TestTemplate.class,
+                HierarchyTraversalMode.TOP_DOWN).isEmpty()
+                || !AnnotationSupport.findAnnotatedMethods(testClass, TestFactory.class,
+                HierarchyTraversalMode.TOP_DOWN).isEmpty()
+                || Arrays.stream(testClass.getDeclaredClasses())
+                .anyMatch(nested -> AnnotationSupport.isAnnotated(nested, Nested.class));
+        List<Method> tests = AnnotationSupport.findAnnotatedMethods(testClass, Test.class,
+                HierarchyTraversalMode.TOP_DOWN);
+        return !otherTests && !tests.isEmpty() && tests.stream()
+                .allMatch(test -> isReusable(context, context.getUniqueId() + "/[method:" + test.getName() + "("
+                        + Arrays.stream(test.getParameterTypes()).map(Class::getName).collect(Collectors.joining(", "))
+                        + ")]"));
+    }
+    
+    /**
+     * Determines whether a context is a plain {@code @Test} method whose result can be reused.
+     */
+    private static boolean isTracked(ExtensionContext context) {
+        return ConfigManager.isImpactAnalysisEnabled() && context.getTestMethod()
+                .map(method -> AnnotationSupport.isAnnotated(method, Test.class)).orElse(false);
+    }
+    
+    /**
+     * Retrieves the run's store, loading it on first use and saving it when the run ends.
+     */
+    private static TestImpactStore store(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(StoreFile.class,
+                key -> new StoreFile(TestImpactStore.load(Paths.get(ConfigManager.getImpactResultsFile()))),
+                StoreFile.class).store;
+    }
+    
+    /**
+     * Root-context resource writing the store when the run ends.
+     */
+    private static final class StoreFile implements ExtensionContext.Store.CloseableResource {
+        
+        private final TestImpactStore store;
+        
+        StoreFile(TestImpactStore store) {
+            this.store = store;
+        }
+        
+        @Override
+        public void close() {
+            try {
+                store.save();
+            } catch (IOException e) {
+                logger.warn("Unable to write test impact results: {}", e.getMessage());
+            }
+        }
+    }
+}
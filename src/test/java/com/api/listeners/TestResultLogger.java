@@ -1,7 +1,15 @@
 package com.api.listeners;
 
+import com.api.metrics.MetricsExporter;
+import com.api.metrics.RunMetrics;
+import com.api.monitoring.StartupTimer;
+import com.api.performance.LatencySamples;
+import com.api.telemetry.TestExecutionEvent;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
+import org.opentest4j.TestAbortedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,18 +26,71 @@ import java.util.Optional;
  * messages and causes.
  * </p>
  * <p>
+ * Each test also emits a JDK Flight Recorder {@link TestExecutionEvent} with its result and
+ * duration, so tests line up with HTTP, GC and thread activity when the run is recorded
+ * with {@code -XX:StartFlightRecording}, and test results are counted in the run metrics.
+ * </p>
+ * <p>
  * Usage: Add {@code @ExtendWith(TestResultLogger.class)} to test classes
  * or configure globally in junit-platform.properties.
  * </p>
  *
  * @author API Test Automation Team
- * @version 2.0
+ * @version 2.1
  * @since 2.0
  */
-public class TestResultLogger implements TestWatcher {
+public class TestResultLogger implements TestWatcher, BeforeTestExecutionCallback, AfterTestExecutionCallback {
     
     private static final Logger logger = LoggerFactory.getLogger(TestResultLogger.class);
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(TestResultLogger.class);
+    
+    /**
+     * Called right before the test method runs.
+     * <p>
+     * Starts the test's flight recorder event, makes sure run metrics and latency samples
+     * are exported and records the JVM startup time before the first test.
+     * </p>
+     *
+     * @param context the extension context for the test
+     */
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        MetricsExporter.register(context);
+        LatencySamples.register(context);
+        StartupTimer.register(context);
+        TestExecutionEvent event = new TestExecutionEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            context.getStore(NAMESPACE).put(TestExecutionEvent.class, event);
+        }
+    }
+    
+    /**
+     * Called right after the test method returns or throws.
+     * <p>
+     * Ends and commits the test's flight recorder event with the outcome of the method.
+     * </p>
+     *
+     * @param context the extension context for the test
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        TestExecutionEvent event = context.getStore(NAMESPACE)
+                .remove(TestExecutionEvent.class, TestExecutionEvent.class);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        Optional<Throwable> cause = context.getExecutionException();
+        if (cause.isEmpty()) {
+            commitEvent(event, context, "PASSED", null);
+        } else {
+            String result = cause.get() instanceof TestAbortedException ? "ABORTED" : "FAILED";
+            commitEvent(event, context, result, String.valueOf(cause.get().getMessage()));
+        }
+    }
     
     /**
      * Called when a test successfully completes.
@@ -44,6 +105,7 @@ public class TestResultLogger implements TestWatcher {
         String timestamp = LocalDateTime.now().format(formatter);
         String testName = context.getDisplayName();
         logger.info("{} - [PASSED]: {}", timestamp, testName);
+        RunMetrics.TESTS.inc("passed");
     }
     
     /**
@@ -61,6 +123,7 @@ public class TestResultLogger implements TestWatcher {
         String testName = context.getDisplayName();
         String errorMessage = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
         logger.error("{} - [FAILED]: {} - Reason: {}", timestamp, testName, errorMessage);
+        RunMetrics.TESTS.inc("failed");
     }
     
     /**
@@ -78,6 +141,7 @@ public class TestResultLogger implements TestWatcher {
         String testName = context.getDisplayName();
         String errorMessage = cause.getMessage() != null ? cause.getMessage() : "Test aborted";
         logger.warn("{} - [ABORTED]: {} - Reason: {}", timestamp, testName, errorMessage);
+        RunMetrics.TESTS.inc("aborted");
     }
     
     /**
@@ -95,5 +159,26 @@ public class TestResultLogger implements TestWatcher {
         String testName = context.getDisplayName();
         String disabledReason = reason.orElse("No reason provided");
         logger.info("{} - [DISABLED]: {} - Reason: {}", timestamp, testName, disabledReason);
+        RunMetrics.TESTS.inc("disabled");
+        TestExecutionEvent event = new TestExecutionEvent();
+        commitEvent(event, context, "DISABLED", disabledReason);
+    }
+    
+    /**
+     * Commits a test flight recorder event with its result.
+     *
+     * @param event the ended event
+     * @param context the extension context for the test
+     * @param result the test result
+     * @param failure the failure or skip reason, or {@code null}
+     */
+    private void commitEvent(TestExecutionEvent event, ExtensionContext context, String result, String failure) {
+        if (event.shouldCommit()) {
+            event.testClass = context.getRequiredTestClass().getName();
+            event.testName = context.getDisplayName();
+            event.result = result;
+            event.failure = failure;
+            event.commit();
+        }
     }
 }
@@ -0,0 +1,27 @@
+package com.api.listeners;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the time budget ({@code test.time.budget.seconds}) of a test method, or of all
+ * test methods of a class.
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ * @see DeadlineExtension
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TimeBudget {
+    
+    /**
+     * The time budget in seconds.
+     */
+    long seconds();
+}
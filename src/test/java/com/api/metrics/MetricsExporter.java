@@ -0,0 +1,141 @@
+package com.api.metrics;
+
+import com.api.utilities.ConfigManager;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+
+/**
+ * Publishes {@link MetricsRegistry} contents while tests run and after they finish.
+ * <p>
+ * Two outputs are supported:
+ * <ul>
+ *   <li>An embedded HTTP endpoint at {@code http://<host>:<metrics.port>/metrics}, started
+ *       once per JVM when {@code metrics.port} is set, so long runs can be scraped live</li>
+ *   <li>A textfile written to {@code metrics.textfile} when the test run ends, in the format
+ *       read by the node exporter textfile collector</li>
+ * </ul>
+ * The exporter hooks into a run through {@link #register(ExtensionContext)}, which stores a
+ * closeable resource in the root extension context; JUnit closes it after the last test.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class MetricsExporter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MetricsExporter.class);
+    
+    /**
+     * Content type of the OpenMetrics text format.
+     */
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(MetricsExporter.class);
+    
+    private static HttpServer server;
+    
+    private MetricsExporter() {
+    }
+    
+    /**
+     * Makes sure the metrics endpoint is running and the textfile is written at the end of
+     * the current run. Safe to call for every test.
+     *
+     * @param context any extension context of the run
+     */
+    public static void register(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(RunTextfile.class, key -> {
+            startServer(ConfigManager.getMetricsPort());
+            return new RunTextfile(Paths.get(ConfigManager.getMetricsTextfile()));
+        }, RunTextfile.class);
+    }
+    
+    /**
+     * Starts the embedded metrics endpoint once per JVM.
+     *
+     * @param port the port to listen on; 0 or less leaves the endpoint disabled
+     * @return the bound port, or -1 if the endpoint is disabled or could not be started
+     */
+    public static synchronized int startServer(int port) {
+        if (server != null) {
+            return server.getAddress().getPort();
+        }
+        if (port <= 0) {
+            return -1;
+        }
+        try {
+            HttpServer created = HttpServer.create(new InetSocketAddress(port), 0);
+            created.createContext("/metrics", exchange -> {
+                byte[] body = MetricsRegistry.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            created.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            created.start();
+            server = created;
+            logger.info("Serving run metrics at http://localhost:{}/metrics", port);
+            return port;
+        } catch (IOException e) {
+            logger.warn("Unable to start metrics endpoint on port {}: {}", port, e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Writes the current metrics to a textfile atomically.
+     *
+     * @param file the target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeTextfile(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, MetricsRegistry.scrape(), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Root-context resource writing the textfile when the run ends.
+     */
+    private static final class RunTextfile implements ExtensionContext.Store.CloseableResource {
+        
+        private final Path file;
+        
+        RunTextfile(Path file) {
+            this.file = file;
+        }
+        
+        @Override
+        public void close() {
+            try {
+                writeTextfile(file);
+                logger.info("Run metrics written to {}", file);
+            } catch (IOException e) {
+                logger.warn("Unable to write run metrics to {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
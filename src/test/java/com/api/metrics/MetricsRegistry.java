@@ -0,0 +1,456 @@
+package com.api.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of run metrics, rendered in OpenMetrics text format.
+ * <p>
+ * Three metric types are supported:
+ * <ul>
+ *   <li>{@link Counter}: monotonically increasing values, optionally labelled</li>
+ *   <li>{@link Histogram}: cumulative bucket counts, sum and count of observations</li>
+ *   <li>Gauges: current values read from a supplier at scrape time</li>
+ * </ul>
+ * Metrics are registered lazily by name; registering the same name again returns the
+ * existing metric. Recording is lock-free, so filters and listeners can record from any
+ * thread without measurable overhead.
+ * </p>
+ * <p>
+ * A {@link Scope} opened by a test additionally receives the counter and histogram
+ * recordings made on its thread, so the test can check exactly what it recorded while
+ * other threads record into the same metrics.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class MetricsRegistry {
+    
+    /**
+     * Default latency buckets in seconds.
+     */
+    public static final double[] LATENCY_BUCKETS =
+            {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    
+    private static final ConcurrentMap<String, Metric> METRICS = new ConcurrentHashMap<>();
+    
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+    
+    private MetricsRegistry() {
+    }
+    
+    /**
+     * Registers or retrieves a counter.
+     *
+     * @param name the metric family name, without the {@code _total} suffix
+     * @param help the help text
+     * @param labelNames the label names, in the order values are passed when recording
+     * @return the counter
+     * @throws IllegalStateException if the name is registered as a different metric type
+     */
+    public static Counter counter(String name, String help, String... labelNames) {
+        return register(name, Counter.class, () -> new Counter(name, help, labelNames));
+    }
+    
+    /**
+     * Registers or retrieves a histogram.
+     *
+     * @param name the metric family name
+     * @param help the help text
+     * @param buckets the ascending bucket upper bounds
+     * @param labelNames the label names, in the order values are passed when recording
+     * @return the histogram
+     * @throws IllegalStateException if the name is registered as a different metric type
+     */
+    public static Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+        return register(name, Histogram.class, () -> new Histogram(name, help, buckets, labelNames));
+    }
+    
+    /**
+     * Registers a gauge whose value is read at scrape time.
+     * <p>
+     * Registering an existing gauge name replaces its supplier.
+     * </p>
+     *
+     * @param name the metric family name
+     * @param help the help text
+     * @param value supplier of the current value
+     */
+    public static void gauge(String name, String help, DoubleSupplier value) {
+        METRICS.put(name, new Gauge(name, help, value));
+    }
+    
+    /**
+     * Renders all metrics in OpenMetrics text format, sorted by name.
+     *
+     * @return the exposition text, terminated by {@code # EOF}
+     */
+    public static String scrape() {
+        return render(METRICS);
+    }
+    
+    /**
+     * Opens a scope receiving the recordings made on the current thread until it is closed.
+     * <p>
+     * Scopes nest: recordings go to every open scope of the thread.
+     * </p>
+     *
+     * @return the scope, to be closed on the same thread
+     */
+    public static Scope openScope() {
+        Scope scope = new Scope(SCOPE.get());
+        SCOPE.set(scope);
+        return scope;
+    }
+    
+    private static String render(Map<String, Metric> metrics) {
+        StringBuilder text = new StringBuilder(4096);
+        for (Metric metric : new TreeMap<>(metrics).values()) {
+            text.append("# TYPE ").append(metric.name).append(' ').append(metric.type()).append('\n');
+            text.append("# HELP ").append(metric.name).append(' ').append(escape(metric.help)).append('\n');
+            metric.render(text);
+        }
+        return text.append("# EOF\n").toString();
+    }
+    
+    private static <T extends Metric> T register(String name, Class<T> type, Supplier<T> factory) {
+        Metric metric = METRICS.computeIfAbsent(name, key -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalStateException("Metric " + name + " is already registered as " + metric.type());
+        }
+        return type.cast(metric);
+    }
+    
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    private static String format(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+    
+    /**
+     * Base class of registered metrics.
+     */
+    private abstract static class Metric {
+        
+        final String name;
+        final String help;
+        final String[] labelNames;
+        
+        Metric(String name, String help, String[] labelNames) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = labelNames.clone();
+        }
+        
+        abstract String type();
+        
+        abstract void render(StringBuilder text);
+        
+        List<String> key(String[] labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException("Metric " + name + " expects labels "
+                        + Arrays.toString(labelNames) + " but got " + Arrays.toString(labelValues));
+            }
+            return List.of(labelValues);
+        }
+        
+        /**
+         * Appends {@code {a="x",b="y"}} for a label set, plus an optional extra label.
+         */
+        void appendLabels(StringBuilder text, List<String> values, String extraName, String extraValue) {
+            if (values.isEmpty() && extraName == null) {
+                return;
+            }
+            text.append('{');
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    text.append(',');
+                }
+                text.append(labelNames[i]).append("=\"").append(escape(values.get(i))).append('"');
+            }
+            if (extraName != null) {
+                text.append(values.isEmpty() ? "" : ",")
+                        .append(extraName).append("=\"").append(extraValue).append('"');
+            }
+            text.append('}');
+        }
+        
+        static <V> Map<List<String>, V> sorted(Map<List<String>, V> series) {
+            Map<List<String>, V> sorted = new TreeMap<>((a, b) -> String.join("\u0000", a)
+                    .compareTo(String.join("\u0000", b)));
+            sorted.putAll(series);
+            return sorted;
+        }
+    }
+    
+    /**
+     * Monotonic counter with one series per label set.
+     */
+    public static final class Counter extends Metric {
+        
+        private final ConcurrentMap<List<String>, DoubleAdder> series = new ConcurrentHashMap<>();
+        
+        private final boolean scoped;
+        
+        Counter(String name, String help, String[] labelNames) {
+            this(name, help, labelNames, false);
+        }
+        
+        private Counter(String name, String help, String[] labelNames, boolean scoped) {
+            super(name, help, labelNames);
+            this.scoped = scoped;
+        }
+        
+        /**
+         * Increments the series of a label set by one.
+         *
+         * @param labelValues the label values, in registration order
+         */
+        public void inc(String... labelValues) {
+            add(1, labelValues);
+        }
+        
+        /**
+         * Adds a non-negative amount to the series of a label set.
+         *
+         * @param amount the amount to add
+         * @param labelValues the label values, in registration order
+         * @throws IllegalArgumentException if the amount is negative or the label count is wrong
+         */
+        public void add(double amount, String... labelValues) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Counter " + name + " cannot decrease");
+            }
+            series.computeIfAbsent(key(labelValues), key -> new DoubleAdder()).add(amount);
+            if (!scoped) {
+                for (Scope scope = SCOPE.get(); scope != null; scope = scope.outer) {
+                    scope.counter(this).add(amount, labelValues);
+                }
+            }
+        }
+        
+        /**
+         * Retrieves the current value of a series.
+         *
+         * @param labelValues the label values, in registration order
+         * @return the value, 0 if the series was never recorded
+         */
+        public double get(String... labelValues) {
+            DoubleAdder value = series.get(key(labelValues));
+            return value == null ? 0 : value.sum();
+        }
+        
+        @Override
+        String type() {
+            return "counter";
+        }
+        
+        @Override
+        void render(StringBuilder text) {
+            for (Map.Entry<List<String>, DoubleAdder> entry : sorted(series).entrySet()) {
+                text.append(name).append("_total");
+                appendLabels(text, entry.getKey(), null, null);
+                text.append(' ').append(format(entry.getValue().sum())).append('\n');
+            }
+        }
+    }
+    
+    /**
+     * Histogram with fixed buckets and one series per label set.
+     */
+    public static final class Histogram extends Metric {
+        
+        private final double[] buckets;
+        private final ConcurrentMap<List<String>, Series> series = new ConcurrentHashMap<>();
+        
+        private final boolean scoped;
+        
+        Histogram(String name, String help, double[] buckets, String[] labelNames) {
+            this(name, help, buckets, labelNames, false);
+        }
+        
+        private Histogram(String name, String help, double[] buckets, String[] labelNames, boolean scoped) {
+            super(name, help, labelNames);
+            this.buckets = buckets.clone();
+            this.scoped = scoped;
+        }
+        
+        /**
+         * Records an observation in the series of a label set.
+         *
+         * @param value the observed value (e.g., latency in seconds)
+         * @param labelValues the label values, in registration order
+         */
+        public void observe(double value, String... labelValues) {
+            Series target = series.computeIfAbsent(key(labelValues), key -> new Series(buckets.length));
+            int bucket = 0;
+            while (bucket < buckets.length && value > buckets[bucket]) {
+                bucket++;
+            }
+            target.counts[bucket].increment();
+            target.sum.add(value);
+            if (!scoped) {
+                for (Scope scope = SCOPE.get(); scope != null; scope = scope.outer) {
+                    scope.histogram(this).observe(value, labelValues);
+                }
+            }
+        }
+        
+        /**
+         * Retrieves the number of observations of a series.
+         *
+         * @param labelValues the label values, in registration order
+         * @return the observation count, 0 if the series was never recorded
+         */
+        public long count(String... labelValues) {
+            Series target = series.get(key(labelValues));
+            if (target == null) {
+                return 0;
+            }
+            long count = 0;
+            for (LongAdder bucket : target.counts) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+        
+        @Override
+        String type() {
+            return "histogram";
+        }
+        
+        @Override
+        void render(StringBuilder text) {
+            for (Map.Entry<List<String>, Series> entry : sorted(series).entrySet()) {
+                Series values = entry.getValue();
+                long cumulative = 0;
+                for (int i = 0; i <= buckets.length; i++) {
+                    cumulative += values.counts[i].sum();
+                    text.append(name).append("_bucket");
+                    appendLabels(text, entry.getKey(), "le",
+                            format(i < buckets.length ? buckets[i] : Double.POSITIVE_INFINITY));
+                    text.append(' ').append(cumulative).append('\n');
+                }
+                text.append(name).append("_count");
+                appendLabels(text, entry.getKey(), null, null);
+                text.append(' ').append(cumulative).append('\n');
+                text.append(name).append("_sum");
+                appendLabels(text, entry.getKey(), null, null);
+                text.append(' ').append(format(values.sum.sum())).append('\n');
+            }
+        }
+        
+        /**
+         * Per-bucket (non-cumulative) counts; the last slot counts values above every bound.
+         */
+        private static final class Series {
+            
+            private final LongAdder[] counts;
+            private final DoubleAdder sum = new DoubleAdder();
+            
+            Series(int bucketCount) {
+                counts = new LongAdder[bucketCount + 1];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = new LongAdder();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Recordings made on one thread while the scope is open.
+     */
+    public static final class Scope implements AutoCloseable {
+        
+        private final Scope outer;
+        private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+        
+        private Scope(Scope outer) {
+            this.outer = outer;
+        }
+        
+        /**
+         * Retrieves the recordings of a counter made in this scope.
+         *
+         * @param counter the registered counter
+         * @return a counter holding only the recordings of this scope
+         */
+        public Counter counter(Counter counter) {
+            return (Counter) metrics.computeIfAbsent(counter.name,
+                    name -> new Counter(name, counter.help, counter.labelNames, true));
+        }
+        
+        /**
+         * Retrieves the recordings of a histogram made in this scope.
+         *
+         * @param histogram the registered histogram
+         * @return a histogram holding only the recordings of this scope
+         */
+        public Histogram histogram(Histogram histogram) {
+            return (Histogram) metrics.computeIfAbsent(histogram.name,
+                    name -> new Histogram(name, histogram.help, histogram.buckets, histogram.labelNames, true));
+        }
+        
+        /**
+         * Renders the recordings of this scope like {@link MetricsRegistry#scrape()}.
+         *
+         * @return the exposition text, terminated by {@code # EOF}
+         */
+        public String scrape() {
+            return render(metrics);
+        }
+        
+        /**
+         * Stops recording into this scope. Scopes must be closed in reverse order of opening.
+         */
+        @Override
+        public void close() {
+            if (outer == null) {
+                SCOPE.remove();
+            } else {
+                SCOPE.set(outer);
+            }
+        }
+    }
+    
+    /**
+     * Unlabelled gauge read at scrape time.
+     */
+    private static final class Gauge extends Metric {
+        
+        private final DoubleSupplier value;
+        
+        Gauge(String name, String help, DoubleSupplier value) {
+            super(name, help, new String[0]);
+            this.value = value;
+        }
+        
+        @Override
+        String type() {
+            return "gauge";
+        }
+        
+        @Override
+        void render(StringBuilder text) {
+            text.append(name).append(' ').append(format(value.getAsDouble())).append('\n');
+        }
+    }
+}
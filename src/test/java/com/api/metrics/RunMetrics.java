@@ -0,0 +1,51 @@
+package com.api.metrics;
+
+import com.api.metrics.MetricsRegistry.Counter;
+import com.api.metrics.MetricsRegistry.Histogram;
+
+/**
+ * Metrics recorded by the framework during a test run.
+ * <p>
+ * Request metrics are labelled by method and normalized endpoint (numeric path segments
+ * replaced by {@code {id}}), so the number of series stays bounded for long load runs.
+ * Pool gauges are registered by the components owning the pools.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class RunMetrics {
+    
+    public static final Counter REQUESTS = MetricsRegistry.counter("api_requests",
+            "HTTP requests by endpoint and status", "method", "endpoint", "status");
+    
+    public static final Histogram REQUEST_DURATION = MetricsRegistry.histogram("api_request_duration_seconds",
+            "HTTP request latency through the whole filter chain", MetricsRegistry.LATENCY_BUCKETS,
+            "method", "endpoint");
+    
+    public static final Histogram REQUEST_PHASE_DURATION = MetricsRegistry.histogram(
+            "api_request_phase_duration_seconds", "HTTP request latency by phase of the exchange",
+            MetricsRegistry.LATENCY_BUCKETS, "method", "endpoint", "phase");
+    
+    public static final Counter REQUEST_ERRORS = MetricsRegistry.counter("api_request_errors",
+            "HTTP requests that failed without a response", "method", "endpoint", "exception");
+    
+    public static final Counter COALESCED_REQUESTS = MetricsRegistry.counter("api_coalesced_requests",
+            "HTTP requests answered by an identical request in flight", "method", "endpoint");
+    
+    public static final Counter WIRE_BYTES = MetricsRegistry.counter("api_response_wire_bytes",
+            "Response body bytes transferred", "method", "endpoint");
+    
+    public static final Counter DECODED_BYTES = MetricsRegistry.counter("api_response_decoded_bytes",
+            "Response body bytes after decompression", "method", "endpoint");
+    
+    public static final Counter TESTS = MetricsRegistry.counter("api_tests",
+            "Finished tests by result", "result");
+    
+    public static final Counter SCHEMA_CACHE = MetricsRegistry.counter("api_schema_cache_lookups",
+            "Compiled JSON schema cache lookups by outcome", "outcome");
+    
+    private RunMetrics() {
+    }
+}
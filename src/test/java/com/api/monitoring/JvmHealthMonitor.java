@@ -0,0 +1,330 @@
+package com.api.monitoring;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Periodic sampler of the health of the test JVM.
+ * <p>
+ * The monitor samples, at a fixed interval:
+ * <ul>
+ *   <li>Heap usage and heap retained after the last collection of each heap pool</li>
+ *   <li>Non-heap usage (metaspace, code cache)</li>
+ *   <li>Collection count, collection time and longest GC pause within the interval</li>
+ *   <li>Live thread count and open file descriptors (sockets included, on Unix)</li>
+ *   <li>Any gauges registered by the harness, e.g. the number of retained responses</li>
+ * </ul>
+ * Level metrics (everything except heap usage and the per-interval GC figures) are fed into
+ * rolling-window {@link TrendDetector}s, so steady growth is reported while a long run is
+ * still in progress. Samples can be appended to a CSV file for offline analysis.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class JvmHealthMonitor implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JvmHealthMonitor.class);
+    
+    public static final String HEAP_USED = "heap.used.bytes";
+    public static final String HEAP_AFTER_GC = "heap.after.gc.bytes";
+    public static final String NON_HEAP_USED = "nonheap.used.bytes";
+    public static final String GC_COUNT = "gc.count";
+    public static final String GC_TIME = "gc.time.ms";
+    public static final String GC_MAX_PAUSE = "gc.pause.max.ms";
+    public static final String THREADS = "thread.count";
+    public static final String OPEN_FDS = "open.fds";
+    
+    /**
+     * Metrics that fluctuate by nature or reset every interval, and are therefore not trended.
+     */
+    private static final Set<String> UNTRENDED = Set.of(HEAP_USED, GC_COUNT, GC_TIME, GC_MAX_PAUSE);
+    
+    private final Duration interval;
+    private final int windowSize;
+    private final double growthThreshold;
+    private final Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+    private final Map<String, TrendDetector> detectors = new LinkedHashMap<>();
+    private final Map<String, String> reportedTrends = new LinkedHashMap<>();
+    private final AtomicLong intervalMaxPause = new AtomicLong();
+    private final NotificationListener gcListener = this::onGcNotification;
+    private final long startNanos = System.nanoTime();
+    
+    private ScheduledExecutorService scheduler;
+    private BufferedWriter csv;
+    private Map<String, Long> latest = Collections.emptyMap();
+    private long previousGcCount;
+    private long previousGcTime;
+    private long maxPause;
+    private int sampleCount;
+    
+    /**
+     * Creates a monitor; sampling starts with {@link #start(Path)}.
+     *
+     * @param interval the sampling interval
+     * @param windowSize the number of samples per trend window
+     * @param growthThreshold the relative growth per window reported as a trend (e.g., 0.2)
+     */
+    public JvmHealthMonitor(Duration interval, int windowSize, double growthThreshold) {
+        this.interval = interval;
+        this.windowSize = windowSize;
+        this.growthThreshold = growthThreshold;
+    }
+    
+    /**
+     * Registers an additional level metric, sampled and trended like the built-in ones.
+     * <p>
+     * Gauges must be registered before the monitor is started.
+     * </p>
+     *
+     * @param name the metric name
+     * @param gauge supplier of the current value
+     * @return this monitor
+     * @throws IllegalStateException if the monitor is already running
+     */
+    public synchronized JvmHealthMonitor registerGauge(String name, LongSupplier gauge) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Gauges must be registered before the monitor starts");
+        }
+        gauges.put(name, gauge);
+        return this;
+    }
+    
+    /**
+     * Starts periodic sampling on a daemon thread.
+     *
+     * @param csvFile the file samples are appended to, or {@code null} to keep samples in memory only
+     * @throws IOException if the CSV file cannot be created
+     */
+    public synchronized void start(Path csvFile) throws IOException {
+        if (csvFile != null) {
+            if (csvFile.getParent() != null) {
+                Files.createDirectories(csvFile.getParent());
+            }
+            csv = Files.newBufferedWriter(csvFile);
+        }
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(gcListener, null, null);
+            }
+        }
+        long[] gc = gcTotals();
+        previousGcCount = gc[0];
+        previousGcTime = gc[1];
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jvm-health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sampleQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Takes one sample immediately, updates the trend windows and appends it to the CSV file.
+     *
+     * @return the sampled metric values
+     */
+    public synchronized Map<String, Long> sample() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        long heapUsed = 0;
+        long heapAfterGc = 0;
+        long nonHeapUsed = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapUsed += pool.getUsage().getUsed();
+                MemoryUsage afterGc = pool.getCollectionUsage();
+                heapAfterGc += afterGc != null ? afterGc.getUsed() : 0;
+            } else {
+                nonHeapUsed += pool.getUsage().getUsed();
+            }
+        }
+        long[] gc = gcTotals();
+        long pause = intervalMaxPause.getAndSet(0);
+        maxPause = Math.max(maxPause, pause);
+        
+        values.put(HEAP_USED, heapUsed);
+        values.put(HEAP_AFTER_GC, heapAfterGc);
+        values.put(NON_HEAP_USED, nonHeapUsed);
+        values.put(GC_COUNT, gc[0] - previousGcCount);
+        values.put(GC_TIME, gc[1] - previousGcTime);
+        values.put(GC_MAX_PAUSE, pause);
+        values.put(THREADS, (long) ManagementFactory.getThreadMXBean().getThreadCount());
+        values.put(OPEN_FDS, openFileDescriptors());
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            values.put(gauge.getKey(), gauge.getValue().getAsLong());
+        }
+        previousGcCount = gc[0];
+        previousGcTime = gc[1];
+        
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        for (Map.Entry<String, Long> value : values.entrySet()) {
+            if (UNTRENDED.contains(value.getKey()) || value.getValue() < 0) {
+                continue;
+            }
+            TrendDetector detector = detectors.computeIfAbsent(value.getKey(),
+                    name -> new TrendDetector(name, windowSize, growthThreshold));
+            detector.add(seconds, value.getValue());
+            String trend = detector.detect();
+            if (trend == null) {
+                reportedTrends.remove(value.getKey());
+            } else if (reportedTrends.put(value.getKey(), trend) == null) {
+                logger.warn("Possible leak: {}", trend);
+            }
+        }
+        writeCsv(seconds, values);
+        latest = Collections.unmodifiableMap(values);
+        sampleCount++;
+        return latest;
+    }
+    
+    /**
+     * Retrieves the growth trends present in the most recent trend windows.
+     *
+     * @return one description per growing metric; empty if no metric is growing
+     */
+    public synchronized List<String> getGrowthTrends() {
+        return new ArrayList<>(reportedTrends.values());
+    }
+    
+    public synchronized Map<String, Long> getLatestSample() {
+        return latest;
+    }
+    
+    public synchronized int getSampleCount() {
+        return sampleCount;
+    }
+    
+    /**
+     * Retrieves the longest GC pause observed since the monitor started.
+     *
+     * @return the pause in milliseconds
+     */
+    public synchronized long getMaxGcPauseMillis() {
+        return Math.max(maxPause, intervalMaxPause.get());
+    }
+    
+    /**
+     * Stops sampling, takes a final sample and closes the CSV file.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        sample();
+        scheduler = null;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                try {
+                    ((NotificationEmitter) collector).removeNotificationListener(gcListener);
+                } catch (ListenerNotFoundException ignored) {
+                    // listener was never added to this collector
+                }
+            }
+        }
+        if (csv != null) {
+            try {
+                csv.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close health sample file: {}", e.getMessage());
+            }
+            csv = null;
+        }
+    }
+    
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            logger.warn("JVM health sample failed: {}", e.getMessage());
+        }
+    }
+    
+    private void onGcNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        // Concurrent cycles run alongside the application and are not pauses
+        if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")) {
+            return;
+        }
+        long duration = info.getGcInfo().getDuration();
+        intervalMaxPause.accumulateAndGet(duration, Math::max);
+    }
+    
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+    
+    /**
+     * Counts open file descriptors, or returns -1 where the platform does not expose them.
+     */
+    private static long openFileDescriptors() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        return os instanceof UnixOperatingSystemMXBean
+                ? ((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount() : -1;
+    }
+    
+    private void writeCsv(double seconds, Map<String, Long> values) {
+        if (csv == null) {
+            return;
+        }
+        try {
+            if (sampleCount == 0) {
+                csv.write("seconds," + String.join(",", values.keySet()));
+                csv.newLine();
+            }
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%.1f", seconds));
+            for (Long value : values.values()) {
+                line.append(',').append(value);
+            }
+            csv.write(line.toString());
+            csv.newLine();
+            csv.flush();
+        } catch (IOException e) {
+            logger.warn("Unable to write health sample: {}", e.getMessage());
+        }
+    }
+}
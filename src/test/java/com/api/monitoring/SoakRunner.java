@@ -0,0 +1,192 @@
+package com.api.monitoring;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * Endurance runner repeating test classes at a fixed rate for a fixed duration.
+ * <p>
+ * Each iteration launches the configured test classes through the JUnit Platform launcher,
+ * so they run with their normal lifecycle, extensions and reporting listeners. Iterations
+ * start on a fixed schedule ({@code runsPerMinute}); an iteration that overruns its slot is
+ * counted as late and the next one starts immediately, without trying to catch up.
+ * </p>
+ * <p>
+ * A {@link JvmHealthMonitor} samples the JVM for the whole run, so resource growth in the
+ * harness itself shows up long before a multi-hour load run would run out of memory,
+ * threads or file descriptors.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class SoakRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SoakRunner.class);
+    
+    /**
+     * Maximum number of failure descriptions kept in the report.
+     */
+    private static final int MAX_REPORTED_FAILURES = 20;
+    
+    private final List<String> testClasses;
+    private final Duration duration;
+    private final double runsPerMinute;
+    private final JvmHealthMonitor monitor;
+    
+    /**
+     * Creates a runner.
+     *
+     * @param testClasses fully qualified names of the test classes run in every iteration
+     * @param duration how long to keep starting iterations
+     * @param runsPerMinute how many iterations to start per minute
+     * @param monitor the started health monitor sampling during the run
+     * @throws IllegalArgumentException if no test classes are given or the rate is not positive
+     */
+    public SoakRunner(List<String> testClasses, Duration duration, double runsPerMinute, JvmHealthMonitor monitor) {
+        if (testClasses.isEmpty() || runsPerMinute <= 0) {
+            throw new IllegalArgumentException("Soak run needs test classes and a positive rate");
+        }
+        this.testClasses = List.copyOf(testClasses);
+        this.duration = duration;
+        this.runsPerMinute = runsPerMinute;
+        this.monitor = monitor;
+    }
+    
+    /**
+     * Runs iterations until the duration has elapsed.
+     *
+     * @return the soak report
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the next slot
+     */
+    public SoakReport run() throws InterruptedException {
+        Launcher launcher = LauncherFactory.create();
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(testClasses.stream().map(name -> selectClass(name)).collect(Collectors.toList()))
+                .build();
+        long periodNanos = (long) (60_000_000_000L / runsPerMinute);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        SoakReport report = new SoakReport();
+        
+        for (long slot = start; slot < end; slot += periodNanos) {
+            long wait = slot - System.nanoTime();
+            if (wait > 0) {
+                Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+            } else if (report.iterations > 0) {
+                report.lateIterations++;
+                slot = System.nanoTime();
+            }
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            launcher.execute(request, listener);
+            record(report, listener.getSummary());
+        }
+        
+        report.elapsed = Duration.ofNanos(System.nanoTime() - start);
+        monitor.close();
+        report.growthTrends.addAll(monitor.getGrowthTrends());
+        report.maxGcPauseMillis = monitor.getMaxGcPauseMillis();
+        report.finalSample = monitor.getLatestSample().toString();
+        return report;
+    }
+    
+    private void record(SoakReport report, TestExecutionSummary summary) {
+        report.iterations++;
+        report.testsRun += summary.getTestsStartedCount();
+        report.testsFailed += summary.getTotalFailureCount();
+        for (TestExecutionSummary.Failure failure : summary.getFailures()) {
+            if (report.failures.size() < MAX_REPORTED_FAILURES) {
+                report.failures.add("iteration " + report.iterations + ": "
+                        + failure.getTestIdentifier().getDisplayName() + " - " + failure.getException().getMessage());
+            }
+        }
+        logger.info("Soak iteration {}: {} tests, {} failed, health {}", report.iterations,
+                summary.getTestsStartedCount(), summary.getTotalFailureCount(), monitor.getLatestSample());
+    }
+    
+    /**
+     * Outcome of a soak run.
+     */
+    public static final class SoakReport {
+        
+        private final List<String> failures = new ArrayList<>();
+        private final List<String> growthTrends = new ArrayList<>();
+        private int iterations;
+        private int lateIterations;
+        private long testsRun;
+        private long testsFailed;
+        private long maxGcPauseMillis;
+        private Duration elapsed = Duration.ZERO;
+        private String finalSample = "";
+        
+        public int getIterations() {
+            return iterations;
+        }
+        
+        /**
+         * Retrieves the number of iterations that could not start in their slot because the
+         * previous iteration overran it.
+         *
+         * @return the number of late iterations
+         */
+        public int getLateIterations() {
+            return lateIterations;
+        }
+        
+        public long getTestsRun() {
+            return testsRun;
+        }
+        
+        public long getTestsFailed() {
+            return testsFailed;
+        }
+        
+        /**
+         * Retrieves the first failures of the run.
+         *
+         * @return up to {@value SoakRunner#MAX_REPORTED_FAILURES} failure descriptions
+         */
+        public List<String> getFailures() {
+            return Collections.unmodifiableList(failures);
+        }
+        
+        /**
+         * Retrieves the metrics that were still growing at the end of the run.
+         *
+         * @return one description per growing metric
+         */
+        public List<String> getGrowthTrends() {
+            return Collections.unmodifiableList(growthTrends);
+        }
+        
+        public long getMaxGcPauseMillis() {
+            return maxGcPauseMillis;
+        }
+        
+        public Duration getElapsed() {
+            return elapsed;
+        }
+        
+        @Override
+        public String toString() {
+            return "Soak run: " + iterations + " iterations (" + lateIterations + " late) in " + elapsed
+                    + ", " + testsRun + " tests, " + testsFailed + " failed, max GC pause " + maxGcPauseMillis
+                    + "ms, growth trends " + growthTrends + ", final sample " + finalSample;
+        }
+    }
+}
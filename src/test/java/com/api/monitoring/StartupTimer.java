@@ -0,0 +1,161 @@
+package com.api.monitoring;
+
+import com.api.metrics.MetricsRegistry;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup time of the test JVM, recorded to compare runs with and without the class data
+ * sharing (AppCDS) archive.
+ * <p>
+ * With {@code mvn test -Dcds} the build packages the code and tests into jars, trains an
+ * archive of the loaded classes on the first run from the jars and maps it on the following
+ * runs (see the {@code cds} profiles in the POM). The time from the start of the JVM process
+ * to the first test is appended to {@code startup-times.csv} in the CDS directory with the
+ * mode of the run:
+ * <ul>
+ *   <li>{@code default}: run from the class directories, no archive</li>
+ *   <li>{@code dump}: training run, the archive is written when the JVM exits</li>
+ *   <li>{@code archive}: the archive was mapped</li>
+ *   <li>{@code rejected}: the JVM refused the archive, see {@code cds.log}</li>
+ * </ul>
+ * The first test logs its startup time next to the median of the earlier runs without the
+ * archive, and the time is exported as the {@code api_test_jvm_startup_seconds} gauge.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class StartupTimer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+    private static final AtomicBoolean RECORDED = new AtomicBoolean();
+    private static final String HEADER = "timestamp,mode,startup_ms";
+    
+    /**
+     * Message the JVM logs when it cannot use a dynamic archive.
+     */
+    private static final String REJECTED_MESSAGE = "Unable to use shared archive";
+    
+    private StartupTimer() {
+    }
+    
+    /**
+     * Records the startup time once per JVM, when the first test is about to execute.
+     *
+     * @param context the extension context of the test
+     */
+    public static void register(ExtensionContext context) {
+        // Later runs in the same JVM, e.g. in the test runner daemon, did not pay for the startup
+        if (!RECORDED.compareAndSet(false, true)) {
+            return;
+        }
+        Duration startup = sinceProcessStart();
+        MetricsRegistry.gauge("api_test_jvm_startup_seconds", "Time from JVM process start to the first test",
+                () -> startup.toNanos() / 1e9);
+        String directory = System.getProperty("cds.directory");
+        if (directory != null) {
+            record(Paths.get(directory), System.getProperty("cds.mode", "default"), startup);
+        }
+    }
+    
+    /**
+     * Retrieves the time since the operating system started the JVM process.
+     *
+     * @return the elapsed time, measured from the JVM start time if the process start is unknown
+     */
+    public static Duration sinceProcessStart() {
+        Instant start = ProcessHandle.current().info().startInstant()
+                .orElse(Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()));
+        return Duration.between(start, Instant.now());
+    }
+    
+    /**
+     * Appends a startup time to the history in a CDS directory and logs it against the
+     * earlier runs.
+     *
+     * @param directory the CDS directory
+     * @param mode the mode the build chose for the run
+     * @param startup the startup time of the run
+     * @return the mode recorded, which is {@code rejected} if the archive was not mapped
+     */
+    public static String record(Path directory, String mode, Duration startup) {
+        String recorded = "archive".equals(mode) && isRejected(directory.resolve("cds.log")) ? "rejected" : mode;
+        Path history = directory.resolve("startup-times.csv");
+        double[] baseline = baselineMillis(history);
+        long millis = startup.toMillis();
+        try {
+            List<String> lines = new ArrayList<>();
+            if (!Files.exists(history)) {
+                lines.add(HEADER);
+            }
+            lines.add(Instant.now() + "," + recorded + "," + millis);
+            Files.write(history, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Could not append the startup time to {}: {}", history, e.getMessage());
+        }
+        if (baseline.length == 0) {
+            logger.info("JVM start to first test: {}ms ({})", millis, recorded);
+        } else {
+            logger.info("JVM start to first test: {}ms ({}); median without the archive: {}ms over {} runs",
+                    millis, recorded, String.format(Locale.ROOT, "%.0f", median(baseline)), baseline.length);
+        }
+        return recorded;
+    }
+    
+    /**
+     * Reads the startup times of the recorded runs that did not map the archive.
+     *
+     * @param history the startup time history
+     * @return the times in milliseconds, empty if there is no history yet
+     */
+    public static double[] baselineMillis(Path history) {
+        if (!Files.exists(history)) {
+            return new double[0];
+        }
+        try {
+            return Files.readAllLines(history, StandardCharsets.UTF_8).stream()
+                    .skip(1)
+                    .map(line -> line.split(","))
+                    .filter(fields -> fields.length == 3 && !"archive".equals(fields[1]))
+                    .mapToDouble(fields -> Double.parseDouble(fields[2]))
+                    .toArray();
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring the startup time history {}: {}", history, e.getMessage());
+            return new double[0];
+        }
+    }
+    
+    private static boolean isRejected(Path cdsLog) {
+        try {
+            return !Files.exists(cdsLog) || Files.readAllLines(cdsLog, StandardCharsets.UTF_8).stream()
+                    .anyMatch(line -> line.contains(REJECTED_MESSAGE));
+        } catch (IOException e) {
+            return true;
+        }
+    }
+    
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
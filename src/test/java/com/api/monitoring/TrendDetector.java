@@ -0,0 +1,114 @@
+package com.api.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Rolling-window growth detector for a single sampled metric.
+ * <p>
+ * The detector keeps the last {@code windowSize} samples of a metric and fits a
+ * least-squares line through them. A window is flagged as growing when it is full, the
+ * fitted line rises by more than {@code threshold} of the window mean, and the fit explains
+ * most of the variance ({@code r^2 >= }{@value #MIN_R_SQUARED}). The last condition keeps
+ * the saw-tooth of a healthy heap or a short burst of threads from being reported as a leak.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class TrendDetector {
+    
+    /**
+     * Minimum coefficient of determination for a growth trend to be reported.
+     */
+    static final double MIN_R_SQUARED = 0.6;
+    
+    private final String metric;
+    private final double threshold;
+    private final double[] times;
+    private final double[] values;
+    private int count;
+    private int next;
+    
+    /**
+     * Creates a detector.
+     *
+     * @param metric the metric name, used in trend descriptions
+     * @param windowSize the number of samples in the rolling window (at least 3)
+     * @param threshold the relative growth over one window that is flagged (e.g., 0.2 for 20%)
+     * @throws IllegalArgumentException if the window is smaller than 3 samples
+     */
+    public TrendDetector(String metric, int windowSize, double threshold) {
+        if (windowSize < 3) {
+            throw new IllegalArgumentException("Trend window must hold at least 3 samples");
+        }
+        this.metric = metric;
+        this.threshold = threshold;
+        this.times = new double[windowSize];
+        this.values = new double[windowSize];
+    }
+    
+    /**
+     * Adds a sample, evicting the oldest one when the window is full.
+     *
+     * @param timeSeconds the sample time in seconds since an arbitrary origin
+     * @param value the sampled value
+     */
+    public void add(double timeSeconds, double value) {
+        times[next] = timeSeconds;
+        values[next] = value;
+        next = (next + 1) % times.length;
+        count = Math.min(count + 1, times.length);
+    }
+    
+    /**
+     * Evaluates the current window.
+     *
+     * @return a description of the growth trend, or {@code null} if the window is not full
+     *         or shows no significant growth
+     */
+    public String detect() {
+        if (count < times.length) {
+            return null;
+        }
+        double meanTime = 0;
+        double meanValue = 0;
+        for (int i = 0; i < count; i++) {
+            meanTime += times[i];
+            meanValue += values[i];
+        }
+        meanTime /= count;
+        meanValue /= count;
+        
+        double covariance = 0;
+        double timeVariance = 0;
+        double valueVariance = 0;
+        double firstTime = Double.MAX_VALUE;
+        double lastTime = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            double dt = times[i] - meanTime;
+            double dv = values[i] - meanValue;
+            covariance += dt * dv;
+            timeVariance += dt * dt;
+            valueVariance += dv * dv;
+            firstTime = Math.min(firstTime, times[i]);
+            lastTime = Math.max(lastTime, times[i]);
+        }
+        if (timeVariance == 0 || valueVariance == 0) {
+            return null;
+        }
+        double slope = covariance / timeVariance;
+        double rSquared = covariance * covariance / (timeVariance * valueVariance);
+        double growth = slope * (lastTime - firstTime);
+        double relativeGrowth = growth / Math.max(Math.abs(meanValue), 1.0);
+        if (slope <= 0 || rSquared < MIN_R_SQUARED || relativeGrowth <= threshold) {
+            return null;
+        }
+        return String.format(Locale.ROOT, "%s grew %.1f%% over %.0fs (%.2f/min, r2=%.2f)", metric,
+                100 * relativeGrowth, lastTime - firstTime, slope * 60, rSquared);
+    }
+    
+    public String getMetric() {
+        return metric;
+    }
+}
@@ -0,0 +1,166 @@
+package com.api.performance;
+
+import com.api.utilities.ConfigManager;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Decides whether an endpoint's latency regressed against a baseline run.
+ * <p>
+ * A fixed response time limit either flakes on a slow network or misses real slowdowns.
+ * This gate instead compares the latency samples of two runs and reports a regression only
+ * if all of the following hold:
+ * <ul>
+ *   <li>The current samples are significantly slower by a one-sided {@link MannWhitneyU}
+ *       test at level {@code alpha}</li>
+ *   <li>The shift is at least {@code minEffectSize} by Cliff's delta, so a negligible shift
+ *       does not fail a run just because many samples were taken</li>
+ *   <li>The p50 or the p95 latency grew by at least {@code threshold} (e.g., 20%)</li>
+ * </ul>
+ * Endpoints with fewer than {@value #MIN_SAMPLES} samples in either run are reported as
+ * inconclusive rather than passed or failed.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class LatencyRegressionGate {
+    
+    /**
+     * Minimum number of samples per run for a verdict.
+     */
+    static final int MIN_SAMPLES = 10;
+    
+    private final double alpha;
+    private final double threshold;
+    private final double minEffectSize;
+    
+    /**
+     * Creates a gate.
+     *
+     * @param alpha the one-sided significance level (e.g., 0.01)
+     * @param threshold the relative p50 or p95 growth that counts as a regression (e.g., 0.2)
+     * @param minEffectSize the minimum Cliff's delta of a regression (e.g., 0.33)
+     */
+    public LatencyRegressionGate(double alpha, double threshold, double minEffectSize) {
+        this.alpha = alpha;
+        this.threshold = threshold;
+        this.minEffectSize = minEffectSize;
+    }
+    
+    /**
+     * Creates a gate with the {@code perf.*} settings from the configuration.
+     *
+     * @return the configured gate
+     */
+    public static LatencyRegressionGate fromConfig() {
+        return new LatencyRegressionGate(ConfigManager.getPerfAlpha(), ConfigManager.getPerfRegressionThreshold(),
+                ConfigManager.getPerfMinEffectSize());
+    }
+    
+    /**
+     * Compares an endpoint's latency samples against its baseline samples.
+     *
+     * @param endpoint the endpoint key, used in the verdict description
+     * @param baseline the baseline latencies in milliseconds (may be empty)
+     * @param current the current latencies in milliseconds (may be empty)
+     * @return the verdict
+     */
+    public Verdict compare(String endpoint, double[] baseline, double[] current) {
+        if (baseline.length < MIN_SAMPLES || current.length < MIN_SAMPLES) {
+            return new Verdict(endpoint, Outcome.INCONCLUSIVE, baseline.length, current.length,
+                    percentile(baseline, 50), percentile(current, 50), percentile(baseline, 95),
+                    percentile(current, 95), Double.NaN, Double.NaN);
+        }
+        MannWhitneyU.Result test = MannWhitneyU.test(baseline, current);
+        double baselineP50 = percentile(baseline, 50);
+        double currentP50 = percentile(current, 50);
+        double baselineP95 = percentile(baseline, 95);
+        double currentP95 = percentile(current, 95);
+        boolean slower = currentP50 >= baselineP50 * (1 + threshold) || currentP95 >= baselineP95 * (1 + threshold);
+        boolean regressed = test.getPValue() < alpha && test.getEffectSize() >= minEffectSize && slower;
+        return new Verdict(endpoint, regressed ? Outcome.REGRESSION : Outcome.PASS, baseline.length, current.length,
+                baselineP50, currentP50, baselineP95, currentP95, test.getPValue(), test.getEffectSize());
+    }
+    
+    /**
+     * Computes a nearest-rank percentile.
+     *
+     * @param samples the samples (not modified)
+     * @param percentile the percentile, between 0 and 100
+     * @return the percentile value, or {@code NaN} for no samples
+     */
+    public static double percentile(double[] samples, double percentile) {
+        if (samples.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+    
+    /**
+     * Outcome of comparing one endpoint.
+     */
+    public enum Outcome {
+        PASS, REGRESSION, INCONCLUSIVE
+    }
+    
+    /**
+     * Comparison of one endpoint's latency against its baseline.
+     */
+    public static final class Verdict {
+        
+        private final String endpoint;
+        private final Outcome outcome;
+        private final int baselineSamples;
+        private final int currentSamples;
+        private final double baselineP50;
+        private final double currentP50;
+        private final double baselineP95;
+        private final double currentP95;
+        private final double pValue;
+        private final double effectSize;
+        
+        Verdict(String endpoint, Outcome outcome, int baselineSamples, int currentSamples, double baselineP50,
+                double currentP50, double baselineP95, double currentP95, double pValue, double effectSize) {
+            this.endpoint = endpoint;
+            this.outcome = outcome;
+            this.baselineSamples = baselineSamples;
+            this.currentSamples = currentSamples;
+            this.baselineP50 = baselineP50;
+            this.currentP50 = currentP50;
+            this.baselineP95 = baselineP95;
+            this.currentP95 = currentP95;
+            this.pValue = pValue;
+            this.effectSize = effectSize;
+        }
+        
+        public String getEndpoint() {
+            return endpoint;
+        }
+        
+        public Outcome getOutcome() {
+            return outcome;
+        }
+        
+        public double getPValue() {
+            return pValue;
+        }
+        
+        public double getEffectSize() {
+            return effectSize;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s %s: p50 %.1fms -> %.1fms, p95 %.1fms -> %.1fms, n=%d/%d, p=%.4f, delta=%.2f",
+                    endpoint, outcome, baselineP50, currentP50, baselineP95, currentP95, baselineSamples,
+                    currentSamples, pValue, effectSize);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.api.performance;
+
+import com.api.utilities.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-endpoint latency samples of a test run.
+ * <p>
+ * The latency gate records the requests it measures itself, keyed by endpoint (method plus
+ * path). Requests of other tests are not recorded, so the samples of a run do not depend
+ * on which tests ran, nor on paginated, coalesced or proxied traffic. Each endpoint keeps at most
+ * {@value #MAX_SAMPLES_PER_ENDPOINT} samples; beyond that, reservoir sampling keeps a
+ * uniform random subset so long runs use bounded memory without biasing the distribution.
+ * </p>
+ * <p>
+ * Samples are saved as JSON ({@code {"createdAtMillis": ..., "endpoints": {"GET /posts": [12.3, ...]}}})
+ * so a run can serve as the baseline of later runs. {@link #register(ExtensionContext)} writes
+ * the samples of the current run to {@code perf.samples.file} when the run ends, unless the
+ * gate recorded none.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class LatencySamples {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LatencySamples.class);
+    
+    /**
+     * Maximum number of samples kept per endpoint.
+     */
+    static final int MAX_SAMPLES_PER_ENDPOINT = 5000;
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final ConcurrentMap<String, Reservoir> CURRENT_RUN = new ConcurrentHashMap<>();
+    
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(LatencySamples.class);
+    
+    private LatencySamples() {
+    }
+    
+    /**
+     * Records the latency of one request measured by the gate in the current run.
+     *
+     * @param endpoint the endpoint key (e.g., "GET /posts/{id}")
+     * @param millis the request latency in milliseconds
+     */
+    public static void record(String endpoint, double millis) {
+        CURRENT_RUN.computeIfAbsent(endpoint, key -> new Reservoir()).add(millis);
+    }
+    
+    /**
+     * Makes sure the samples of the current run are written when the run ends. Safe to call
+     * for every test.
+     *
+     * @param context any extension context of the run
+     */
+    public static void register(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(RunSamplesFile.class,
+                key -> new RunSamplesFile(Paths.get(ConfigManager.getPerfSamplesFile())), RunSamplesFile.class);
+    }
+    
+    /**
+     * Copies the samples recorded so far in the current run.
+     *
+     * @return the samples of each endpoint, sorted by endpoint
+     */
+    public static Map<String, double[]> currentRun() {
+        Map<String, double[]> copy = new TreeMap<>();
+        CURRENT_RUN.forEach((endpoint, reservoir) -> copy.put(endpoint, reservoir.toArray()));
+        return copy;
+    }
+    
+    /**
+     * Writes samples to a JSON file.
+     *
+     * @param samples the samples of each endpoint
+     * @param file the file to create or overwrite
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Map<String, double[]> samples, Path file) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("createdAtMillis", System.currentTimeMillis());
+        ObjectNode endpoints = root.putObject("endpoints");
+        for (Map.Entry<String, double[]> entry : samples.entrySet()) {
+            ArrayNode values = endpoints.putArray(entry.getKey());
+            for (double value : entry.getValue()) {
+                values.add(Math.round(value * 1000) / 1000.0);
+            }
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), root);
+    }
+    
+    /**
+     * Reads samples written by {@link #write(Map, Path)}.
+     *
+     * @param file the samples file
+     * @return the samples of each endpoint, sorted by endpoint
+     * @throws IOException if the file cannot be read or is not a samples file
+     */
+    public static Map<String, double[]> read(Path file) throws IOException {
+        JsonNode endpoints = MAPPER.readTree(file.toFile()).path("endpoints");
+        if (!endpoints.isObject()) {
+            throw new IOException(file + " is not a latency samples file");
+        }
+        Map<String, double[]> samples = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = endpoints.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            double[] values = new double[field.getValue().size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.getValue().get(i).doubleValue();
+            }
+            samples.put(field.getKey(), values);
+        }
+        return samples;
+    }
+    
+    /**
+     * Bounded uniform sample of an endpoint's latencies.
+     */
+    private static final class Reservoir {
+        
+        private final double[] values = new double[MAX_SAMPLES_PER_ENDPOINT];
+        private long seen;
+        
+        synchronized void add(double value) {
+            if (seen < values.length) {
+                values[(int) seen] = value;
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(seen + 1);
+                if (slot < values.length) {
+                    values[(int) slot] = value;
+                }
+            }
+            seen++;
+        }
+        
+        synchronized double[] toArray() {
+            return Arrays.copyOf(values, (int) Math.min(seen, values.length));
+        }
+    }
+    
+    /**
+     * Root-context resource writing the run's samples when the run ends.
+     */
+    private static final class RunSamplesFile implements ExtensionContext.Store.CloseableResource {
+        
+        private final Path file;
+        
+        RunSamplesFile(Path file) {
+            this.file = file;
+        }
+        
+        @Override
+        public void close() {
+            Map<String, double[]> samples = currentRun();
+            if (samples.isEmpty()) {
+                return;
+            }
+            try {
+                write(samples, file);
+                logger.info("Latency samples written to {}", file);
+            } catch (IOException e) {
+                logger.warn("Unable to write latency samples to {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
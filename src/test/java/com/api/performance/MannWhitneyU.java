@@ -0,0 +1,138 @@
+package com.api.performance;
+
+import java.util.Arrays;
+
+/**
+ * One-sided Mann-Whitney U test for latency samples.
+ * <p>
+ * The test asks whether latencies of the current run tend to be larger than those of the
+ * baseline without assuming any distribution, which matters for latencies: they are skewed,
+ * multi-modal and full of outliers. The p-value uses the normal approximation with tie and
+ * continuity corrections, which is accurate for the sample sizes the regression gate requires.
+ * </p>
+ * <p>
+ * Alongside the p-value the result carries Cliff's delta, the probability that a current
+ * sample is slower than a baseline sample minus the probability of the reverse. It ranges
+ * from -1 to 1 and tells how large a shift is, independent of how many samples were taken.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class MannWhitneyU {
+    
+    private MannWhitneyU() {
+    }
+    
+    /**
+     * Tests whether the current samples are stochastically larger than the baseline samples.
+     *
+     * @param baseline the baseline samples
+     * @param current the current samples
+     * @return the test result
+     * @throws IllegalArgumentException if either sample is empty
+     */
+    public static Result test(double[] baseline, double[] current) {
+        int n1 = baseline.length;
+        int n2 = current.length;
+        if (n1 == 0 || n2 == 0) {
+            throw new IllegalArgumentException("Mann-Whitney U test needs two non-empty samples");
+        }
+        int n = n1 + n2;
+        double[] values = new double[n];
+        boolean[] fromCurrent = new boolean[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i < n1 ? baseline[i] : current[i - n1];
+            fromCurrent[i] = i >= n1;
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        
+        double currentRankSum = 0;
+        double tieTerm = 0;
+        for (int start = 0; start < n; ) {
+            int end = start;
+            while (end + 1 < n && values[order[end + 1]] == values[order[start]]) {
+                end++;
+            }
+            double averageRank = (start + end) / 2.0 + 1;
+            for (int i = start; i <= end; i++) {
+                if (fromCurrent[order[i]]) {
+                    currentRankSum += averageRank;
+                }
+            }
+            double ties = end - start + 1;
+            tieTerm += ties * ties * ties - ties;
+            start = end + 1;
+        }
+        
+        double u = currentRankSum - n2 * (n2 + 1) / 2.0;
+        double pairs = (double) n1 * n2;
+        double mean = pairs / 2;
+        double variance = pairs / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        double pValue = variance <= 0 ? 1.0 : upperTail((u - mean - 0.5) / Math.sqrt(variance));
+        return new Result(u, pValue, 2 * u / pairs - 1);
+    }
+    
+    /**
+     * Computes P(Z &gt; z) of the standard normal distribution.
+     * <p>
+     * Uses the Chebyshev fit of the complementary error function from Numerical Recipes,
+     * with a fractional error below 1.2e-7.
+     * </p>
+     */
+    static double upperTail(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.5 * x);
+        double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return z >= 0 ? erfc / 2 : 1 - erfc / 2;
+    }
+    
+    /**
+     * Outcome of a Mann-Whitney U test.
+     */
+    public static final class Result {
+        
+        private final double u;
+        private final double pValue;
+        private final double effectSize;
+        
+        Result(double u, double pValue, double effectSize) {
+            this.u = u;
+            this.pValue = pValue;
+            this.effectSize = effectSize;
+        }
+        
+        /**
+         * Retrieves the U statistic of the current samples: the number of (baseline, current)
+         * pairs in which the current sample is larger, counting ties as half.
+         *
+         * @return the U statistic
+         */
+        public double getU() {
+            return u;
+        }
+        
+        /**
+         * Retrieves the one-sided p-value of the current samples being larger.
+         *
+         * @return the p-value
+         */
+        public double getPValue() {
+            return pValue;
+        }
+        
+        /**
+         * Retrieves Cliff's delta; positive values mean the current samples are larger.
+         *
+         * @return the effect size, between -1 and 1
+         */
+        public double getEffectSize() {
+            return effectSize;
+        }
+    }
+}
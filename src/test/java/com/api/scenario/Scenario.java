@@ -0,0 +1,81 @@
+package com.api.scenario;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A user journey declared as a graph of {@link Step steps}.
+ * <p>
+ * Steps are declared in an order where every step comes after the steps it depends on,
+ * which rules out cycles:
+ * </p>
+ * <pre>{@code
+ * Scenario scenario = Scenario.named("Comment on a new post")
+ *         .step(Step.request("createPost", ...))
+ *         .step(Step.request("addComment", ...).after("createPost"))
+ *         .step(Step.request("fetchComments", ...).after("createPost"))
+ *         .step(Step.request("deletePost", ...).after("addComment", "fetchComments"));
+ * }</pre>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class Scenario {
+    
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+    private final Set<String> stepNames = new HashSet<>();
+    
+    private Scenario(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Creates an empty scenario.
+     *
+     * @param name the scenario name, used in reports
+     * @return the scenario
+     */
+    public static Scenario named(String name) {
+        return new Scenario(name);
+    }
+    
+    /**
+     * Adds a step.
+     *
+     * @param step the step; the steps it depends on must already be part of the scenario
+     * @return this scenario
+     * @throws IllegalArgumentException if the step name is taken or a dependency is not declared yet
+     */
+    public Scenario step(Step step) {
+        if (stepNames.contains(step.getName())) {
+            throw new IllegalArgumentException("Scenario '" + name + "' already has a step " + step.getName());
+        }
+        for (String dependency : step.getDependencies()) {
+            if (!stepNames.contains(dependency)) {
+                throw new IllegalArgumentException("Step " + step.getName() + " depends on " + dependency
+                        + ", which is not declared before it in scenario '" + name + "'");
+            }
+        }
+        steps.add(step);
+        stepNames.add(step.getName());
+        return this;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Retrieves the steps in declaration order, which is a valid execution order.
+     *
+     * @return the steps
+     */
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+}
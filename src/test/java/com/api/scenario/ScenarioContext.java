@@ -0,0 +1,73 @@
+package com.api.scenario;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Variables of one scenario journey.
+ * <p>
+ * Steps pass data to later steps through the context, e.g. the create-post step stores the
+ * id of the new post and the add-comment step reads it. Every journey has its own context;
+ * independent steps of a journey may run concurrently, so the context is thread-safe.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class ScenarioContext {
+    
+    private final int journey;
+    private final Map<String, Object> variables = new ConcurrentHashMap<>();
+    
+    /**
+     * Creates the context of a journey.
+     *
+     * @param journey the journey number, starting at 0
+     */
+    public ScenarioContext(int journey) {
+        this.journey = journey;
+    }
+    
+    public int getJourney() {
+        return journey;
+    }
+    
+    /**
+     * Stores a variable for later steps.
+     *
+     * @param name the variable name
+     * @param value the value (not null)
+     */
+    public void put(String name, Object value) {
+        variables.put(name, value);
+    }
+    
+    /**
+     * Retrieves a variable stored by an earlier step.
+     *
+     * @param name the variable name
+     * @param <T> the expected value type
+     * @return the value
+     * @throws IllegalStateException if no step stored the variable
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name) {
+        Object value = variables.get(name);
+        if (value == null) {
+            throw new IllegalStateException("Journey " + journey + " has no variable '" + name + "'");
+        }
+        return (T) value;
+    }
+    
+    /**
+     * Retrieves a numeric variable stored by an earlier step as an int.
+     *
+     * @param name the variable name
+     * @return the value
+     * @throws IllegalStateException if no step stored the variable
+     */
+    public int getInt(String name) {
+        return this.<Number>get(name).intValue();
+    }
+}
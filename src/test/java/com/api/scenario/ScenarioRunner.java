@@ -0,0 +1,269 @@
+package com.api.scenario;
+
+import com.api.performance.LatencyRegressionGate;
+import com.api.utilities.Deadline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs many concurrent journeys of a {@link Scenario}.
+ * <p>
+ * Each journey is a graph of {@link CompletableFuture CompletableFutures}, one per step,
+ * so independent steps of a journey run concurrently and a journey never blocks a thread
+ * while it waits for an earlier step or a think time. Requests run on a fixed pool of
+ * {@code concurrency} threads, which bounds the number of requests in flight; the number of
+ * journeys in flight is only bounded by memory, so thousands of journeys with think times
+ * can be simulated with a few dozen threads.
+ * </p>
+ * <p>
+ * When a step fails, the steps depending on it are skipped and the journey counts as failed.
+ * The {@link ScenarioReport} breaks latencies down per step.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class ScenarioRunner {
+    
+    /**
+     * Maximum number of failure descriptions kept in the report.
+     */
+    private static final int MAX_REPORTED_FAILURES = 20;
+    
+    private final int concurrency;
+    
+    /**
+     * Creates a runner.
+     *
+     * @param concurrency the maximum number of requests in flight
+     * @throws IllegalArgumentException if the concurrency is not positive
+     */
+    public ScenarioRunner(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Scenario concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+    }
+    
+    /**
+     * Runs journeys of a scenario and waits for all of them to finish.
+     *
+     * @param scenario the scenario
+     * @param journeys the number of journeys, all started at once
+     * @return the scenario report
+     */
+    public ScenarioReport run(Scenario scenario, int journeys) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "scenario-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScenarioReport report = new ScenarioReport(scenario);
+        long start = System.nanoTime();
+        try {
+            CompletableFuture<?>[] running = new CompletableFuture<?>[journeys];
+            for (int journey = 0; journey < journeys; journey++) {
+                running[journey] = startJourney(scenario, new ScenarioContext(journey), executor, report);
+            }
+            CompletableFuture.allOf(running).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        report.elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return report;
+    }
+    
+    private CompletableFuture<Void> startJourney(Scenario scenario, ScenarioContext context, Executor executor,
+                                                 ScenarioReport report) {
+        Map<String, CompletableFuture<Void>> steps = new LinkedHashMap<>();
+        for (Step step : scenario.getSteps()) {
+            CompletableFuture<?>[] dependencies = step.getDependencies().stream()
+                    .map(steps::get).toArray(CompletableFuture<?>[]::new);
+            CompletableFuture<Void> ready = CompletableFuture.allOf(dependencies);
+            Executor stepExecutor = step.getThinkTime().isZero() ? executor
+                    : CompletableFuture.delayedExecutor(step.getThinkTime().toMillis(), TimeUnit.MILLISECONDS, executor);
+            StepStats stats = report.steps.get(step.getName());
+            // Bound here, on the test thread, as dependencies complete on pool threads
+            Runnable task = Deadline.bind(() -> execute(step, context, stats));
+            steps.put(step.getName(), ready.handle((ignored, upstream) -> upstream)
+                    .thenCompose(upstream -> {
+                        if (upstream != null) {
+                            stats.skipped.increment();
+                            return CompletableFuture.failedFuture(upstream);
+                        }
+                        return CompletableFuture.runAsync(task, stepExecutor);
+                    }));
+        }
+        return CompletableFuture.allOf(steps.values().toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> {
+                    report.journeyFinished(context.getJourney(), error);
+                    return null;
+                });
+    }
+    
+    private void execute(Step step, ScenarioContext context, StepStats stats) {
+        long start = System.nanoTime();
+        try {
+            step.execute(context);
+        } catch (Throwable e) {
+            stats.failed.increment();
+            throw new CompletionException(new StepFailedException(step.getName(), e));
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Failure of a step, naming the step in its message.
+     */
+    private static final class StepFailedException extends RuntimeException {
+        
+        StepFailedException(String step, Throwable cause) {
+            super("step " + step + ": " + cause.getMessage(), cause);
+        }
+    }
+    
+    /**
+     * Latencies and outcomes of one step across all journeys.
+     */
+    public static final class StepStats {
+        
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final List<Long> nanos = new ArrayList<>();
+        
+        private synchronized void record(long elapsedNanos) {
+            nanos.add(elapsedNanos);
+        }
+        
+        /**
+         * Retrieves the number of executions, successful or failed.
+         *
+         * @return the number of executions
+         */
+        public synchronized int getExecuted() {
+            return nanos.size();
+        }
+        
+        public long getFailed() {
+            return failed.sum();
+        }
+        
+        /**
+         * Retrieves the number of journeys in which the step did not run because a step it
+         * depends on failed.
+         *
+         * @return the number of skipped executions
+         */
+        public long getSkipped() {
+            return skipped.sum();
+        }
+        
+        /**
+         * Computes a latency percentile of the step's executions.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the latency in milliseconds, or {@code NaN} if the step never ran
+         */
+        public synchronized double getPercentileMillis(double percentile) {
+            double[] millis = nanos.stream().mapToDouble(value -> value / 1e6).toArray();
+            return LatencyRegressionGate.percentile(millis, percentile);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d run, %d failed, %d skipped, p50 %.1fms, p95 %.1fms, max %.1fms",
+                    getExecuted(), getFailed(), getSkipped(), getPercentileMillis(50), getPercentileMillis(95),
+                    getPercentileMillis(100));
+        }
+    }
+    
+    /**
+     * Outcome of a scenario run.
+     */
+    public static final class ScenarioReport {
+        
+        private final String scenario;
+        private final Map<String, StepStats> steps = new LinkedHashMap<>();
+        private final List<String> failures = new ArrayList<>();
+        private final LongAdder journeys = new LongAdder();
+        private final LongAdder failedJourneys = new LongAdder();
+        private Duration elapsed = Duration.ZERO;
+        
+        ScenarioReport(Scenario scenario) {
+            this.scenario = scenario.getName();
+            scenario.getSteps().forEach(step -> steps.put(step.getName(), new StepStats()));
+        }
+        
+        private void journeyFinished(int journey, Throwable error) {
+            journeys.increment();
+            if (error != null) {
+                failedJourneys.increment();
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                synchronized (failures) {
+                    if (failures.size() < MAX_REPORTED_FAILURES) {
+                        failures.add("journey " + journey + ", " + cause.getMessage());
+                    }
+                }
+            }
+        }
+        
+        public long getJourneys() {
+            return journeys.sum();
+        }
+        
+        public long getFailedJourneys() {
+            return failedJourneys.sum();
+        }
+        
+        /**
+         * Retrieves the first journey failures of the run.
+         *
+         * @return up to {@value ScenarioRunner#MAX_REPORTED_FAILURES} failure descriptions
+         */
+        public List<String> getFailures() {
+            synchronized (failures) {
+                return List.copyOf(failures);
+            }
+        }
+        
+        /**
+         * Retrieves the statistics of each step.
+         *
+         * @return the step statistics in declaration order
+         */
+        public Map<String, StepStats> getSteps() {
+            return Collections.unmodifiableMap(steps);
+        }
+        
+        public Duration getElapsed() {
+            return elapsed;
+        }
+        
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("Scenario '").append(scenario).append("': ").append(getJourneys())
+                    .append(" journeys, ").append(getFailedJourneys()).append(" failed in ").append(elapsed);
+            steps.forEach((name, stats) -> text.append(System.lineSeparator()).append("  ").append(name)
+                    .append(": ").append(stats));
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.api.scenario;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * One request of a scenario journey.
+ * <p>
+ * A step sends a request built from the journey's {@link ScenarioContext}, then checks the
+ * response and stores values for later steps:
+ * </p>
+ * <pre>{@code
+ * Step.request("addComment", ctx -> RequestBuilder.buildPostRequest("/comments", comment(ctx)).post("/comments"))
+ *         .after("createPost")
+ *         .thinkTime(Duration.ofMillis(500))
+ *         .then((ctx, response) -> ResponseValidator.validateStatusCode(response, 201));
+ * }</pre>
+ * <p>
+ * A step starts once all steps it runs {@link #after(String...) after} have succeeded, and
+ * waits for its think time first. Steps without a dependency between them run concurrently.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class Step {
+    
+    private final String name;
+    private final Function<ScenarioContext, Response> request;
+    private final Set<String> dependencies = new LinkedHashSet<>();
+    private BiConsumer<ScenarioContext, Response> check = (context, response) -> { };
+    private Duration thinkTime = Duration.ZERO;
+    
+    private Step(String name, Function<ScenarioContext, Response> request) {
+        this.name = name;
+        this.request = request;
+    }
+    
+    /**
+     * Creates a step.
+     *
+     * @param name the step name, unique within the scenario
+     * @param request sends the step's request, typically built with {@code RequestBuilder}
+     * @return the step
+     */
+    public static Step request(String name, Function<ScenarioContext, Response> request) {
+        return new Step(name, request);
+    }
+    
+    /**
+     * Makes the step wait for other steps of the same journey.
+     *
+     * @param steps the names of steps declared earlier in the scenario
+     * @return this step
+     */
+    public Step after(String... steps) {
+        Collections.addAll(dependencies, steps);
+        return this;
+    }
+    
+    /**
+     * Sets the pause before the request, simulating a user reading the previous response.
+     *
+     * @param thinkTime the pause; waiting does not occupy a request thread
+     * @return this step
+     */
+    public Step thinkTime(Duration thinkTime) {
+        this.thinkTime = thinkTime;
+        return this;
+    }
+    
+    /**
+     * Sets the check run on the response, typically {@code ResponseValidator} calls and
+     * {@link ScenarioContext#put(String, Object)} of values needed by later steps.
+     * A check that throws fails the step and skips the steps depending on it.
+     *
+     * @param check the response check
+     * @return this step
+     */
+    public Step then(BiConsumer<ScenarioContext, Response> check) {
+        this.check = check;
+        return this;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Set<String> getDependencies() {
+        return Collections.unmodifiableSet(dependencies);
+    }
+    
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+    
+    /**
+     * Sends the request and checks the response.
+     *
+     * @param context the journey context
+     */
+    void execute(ScenarioContext context) {
+        check.accept(context, request.apply(context));
+    }
+}
@@ -0,0 +1,352 @@
+package com.api.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only, memory-mapped view of a dataset snapshot file.
+ * <p>
+ * Opening a snapshot only maps the file and reads the resource offsets table; column
+ * directories are read when a table is first requested and values are read straight from
+ * the mapped buffer on access. String dictionaries are decoded lazily, once per column.
+ * The file layout is described in {@link SnapshotFormat}.
+ * </p>
+ * <p>
+ * Instances are safe to share between threads for reading.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class DatasetSnapshot {
+    
+    /**
+     * Supported column value types.
+     */
+    public enum ColumnType {
+        INT, DOUBLE, BOOLEAN, STRING
+    }
+    
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final long createdAtMillis;
+    private final String baseUrl;
+    private final Map<String, Integer> blockOffsets;
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    
+    private DatasetSnapshot(Path file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+            throw new IllegalArgumentException(file + " is not a dataset snapshot");
+        }
+        int position = magic.length;
+        int version = buffer.getInt(position);
+        if (version != SnapshotFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version + " in " + file);
+        }
+        position += Integer.BYTES;
+        this.createdAtMillis = buffer.getLong(position);
+        position += Long.BYTES;
+        this.baseUrl = readString(position);
+        position += 2 + (buffer.getShort(position) & 0xFFFF);
+        int resourceCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        
+        Map<String, Integer> offsets = new LinkedHashMap<>();
+        for (int i = 0; i < resourceCount; i++) {
+            String name = readString(position);
+            position += 2 + (buffer.getShort(position) & 0xFFFF);
+            offsets.put(name, Math.toIntExact(buffer.getLong(position)));
+            position += Long.BYTES;
+        }
+        this.blockOffsets = Collections.unmodifiableMap(offsets);
+    }
+    
+    /**
+     * Opens a snapshot file by mapping it into memory.
+     *
+     * @param file the snapshot file
+     * @return the snapshot view
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a snapshot, has an unsupported
+     *                                  version or is larger than 2 GB
+     */
+    public static DatasetSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot larger than 2 GB is not supported: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new DatasetSnapshot(file, mapped);
+        }
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * Retrieves the names of the resources stored in the snapshot, in file order.
+     *
+     * @return the resource names (e.g., "posts", "users")
+     */
+    public Set<String> getResourceNames() {
+        return blockOffsets.keySet();
+    }
+    
+    /**
+     * Retrieves the table of a resource.
+     *
+     * @param resource the resource name
+     * @return the table
+     * @throws IllegalArgumentException if the resource is not in the snapshot
+     */
+    public Table table(String resource) {
+        Integer offset = blockOffsets.get(resource);
+        if (offset == null) {
+            throw new IllegalArgumentException("Resource " + resource + " not found in " + file);
+        }
+        return tables.computeIfAbsent(resource, name -> new Table(name, offset));
+    }
+    
+    private String readString(int position) {
+        int length = buffer.getShort(position) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Columnar table holding all rows of one resource.
+     */
+    public final class Table {
+        
+        private final String name;
+        private final int rowCount;
+        private final Map<String, Column> columns;
+        
+        private Table(String name, int offset) {
+            this.name = name;
+            this.rowCount = buffer.getInt(offset);
+            int columnCount = buffer.getInt(offset + Integer.BYTES);
+            int position = offset + 2 * Integer.BYTES;
+            
+            Map<String, Column> directory = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                String columnName = readString(position);
+                position += 2 + (buffer.getShort(position) & 0xFFFF);
+                ColumnType type = ColumnType.values()[buffer.get(position) - SnapshotFormat.TYPE_INT];
+                position += 1;
+                int dataOffset = Math.toIntExact(buffer.getLong(position));
+                position += 2 * Long.BYTES;
+                directory.put(columnName, new Column(columnName, type, rowCount, dataOffset));
+            }
+            this.columns = Collections.unmodifiableMap(directory);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public int getRowCount() {
+            return rowCount;
+        }
+        
+        /**
+         * Retrieves the column names in file order.
+         *
+         * @return the dotted column names
+         */
+        public Set<String> getColumnNames() {
+            return columns.keySet();
+        }
+        
+        /**
+         * Retrieves a column by name.
+         *
+         * @param column the dotted column name
+         * @return the column, or {@code null} if the table has no such column
+         */
+        public Column column(String column) {
+            return columns.get(column);
+        }
+    }
+    
+    /**
+     * Single typed column of a table.
+     * <p>
+     * Accessors read directly from the mapped file. Calling an accessor that does not
+     * match the column type throws {@link IllegalStateException}.
+     * </p>
+     */
+    public final class Column {
+        
+        private final String name;
+        private final ColumnType type;
+        private final int presenceOffset;
+        private final int valuesOffset;
+        private volatile String[] dictionary;
+        private int codesOffset;
+        
+        private Column(String name, ColumnType type, int rowCount, int dataOffset) {
+            this.name = name;
+            this.type = type;
+            this.presenceOffset = dataOffset;
+            this.valuesOffset = dataOffset + SnapshotFormat.bitmapLength(rowCount);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public ColumnType getType() {
+            return type;
+        }
+        
+        /**
+         * Checks whether a row has a value in this column.
+         *
+         * @param row the row index
+         * @return false if the field was absent or null in the source element
+         */
+        public boolean isPresent(int row) {
+            return (buffer.get(presenceOffset + (row >>> 3)) & (1 << (row & 7))) != 0;
+        }
+        
+        public int getInt(int row) {
+            requireType(ColumnType.INT);
+            return buffer.getInt(valuesOffset + row * Integer.BYTES);
+        }
+        
+        public double getDouble(int row) {
+            requireType(ColumnType.DOUBLE);
+            return buffer.getDouble(valuesOffset + row * Double.BYTES);
+        }
+        
+        public boolean getBoolean(int row) {
+            requireType(ColumnType.BOOLEAN);
+            return buffer.get(valuesOffset + row) != 0;
+        }
+        
+        /**
+         * Retrieves a string value, decoding the column dictionary on first access.
+         *
+         * @param row the row index
+         * @return the value, or {@code null} if the row has no value
+         */
+        public String getString(int row) {
+            requireType(ColumnType.STRING);
+            String[] values = dictionary();
+            int code = buffer.getInt(codesOffset + row * Integer.BYTES);
+            return code < 0 ? null : values[code];
+        }
+        
+        /**
+         * Retrieves a value as an object, for generic reporting.
+         *
+         * @param row the row index
+         * @return the boxed value, or {@code null} if the row has no value
+         */
+        public Object getValue(int row) {
+            if (!isPresent(row)) {
+                return null;
+            }
+            switch (type) {
+                case INT:
+                    return getInt(row);
+                case DOUBLE:
+                    return getDouble(row);
+                case BOOLEAN:
+                    return getBoolean(row);
+                default:
+                    return getString(row);
+            }
+        }
+        
+        /**
+         * Compares a value of this column with a value of another column without boxing.
+         *
+         * @param row the row index in this column
+         * @param other the other column
+         * @param otherRow the row index in the other column
+         * @return true if both rows are absent, or both hold equal values of the same type
+         */
+        public boolean valueEquals(int row, Column other, int otherRow) {
+            boolean present = isPresent(row);
+            if (present != other.isPresent(otherRow)) {
+                return false;
+            }
+            if (!present) {
+                return true;
+            }
+            if (type != other.type) {
+                return false;
+            }
+            switch (type) {
+                case INT:
+                    return getInt(row) == other.getInt(otherRow);
+                case DOUBLE:
+                    return Double.compare(getDouble(row), other.getDouble(otherRow)) == 0;
+                case BOOLEAN:
+                    return getBoolean(row) == other.getBoolean(otherRow);
+                default:
+                    return getString(row).equals(other.getString(otherRow));
+            }
+        }
+        
+        private String[] dictionary() {
+            String[] values = dictionary;
+            if (values == null) {
+                synchronized (this) {
+                    values = dictionary;
+                    if (values == null) {
+                        int size = buffer.getInt(valuesOffset);
+                        int offsets = valuesOffset + Integer.BYTES;
+                        int bytes = offsets + (size + 1) * Integer.BYTES;
+                        values = new String[size];
+                        for (int i = 0; i < size; i++) {
+                            int start = buffer.getInt(offsets + i * Integer.BYTES);
+                            int end = buffer.getInt(offsets + (i + 1) * Integer.BYTES);
+                            byte[] utf8 = new byte[end - start];
+                            buffer.get(bytes + start, utf8);
+                            values[i] = new String(utf8, StandardCharsets.UTF_8);
+                        }
+                        codesOffset = bytes + buffer.getInt(offsets + size * Integer.BYTES);
+                        dictionary = values;
+                    }
+                }
+            }
+            return values;
+        }
+        
+        private void requireType(ColumnType expected) {
+            if (type != expected) {
+                throw new IllegalStateException("Column " + name + " is " + type + ", not " + expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.api.snapshot;
+
+import com.api.utilities.ApiResource;
+import com.api.utilities.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer of compact columnar dataset snapshots.
+ * <p>
+ * This utility downloads every collection listed in {@link ApiResource} from the configured
+ * base URL and stores it in the binary format described by {@link SnapshotFormat}: nested
+ * objects are flattened into dotted columns, integers, doubles and booleans are stored as
+ * fixed-width primitive columns and strings are dictionary-encoded per column.
+ * </p>
+ * <p>
+ * Snapshots can be reopened with {@link DatasetSnapshot#open(Path)} without downloading or
+ * parsing JSON again, and compared with {@link SnapshotDiff}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class DatasetSnapshotWriter {
+    
+    /**
+     * Shared Jackson mapper used to parse collection bodies.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    /**
+     * Downloads all resources from the API under test and writes them to a snapshot file.
+     *
+     * @param file the snapshot file to create or overwrite
+     * @return the snapshot file
+     * @throws IOException if the file cannot be written
+     * @throws AssertionError if any collection cannot be fetched
+     */
+    public static Path capture(Path file) throws IOException {
+        Map<String, JsonNode> collections = new LinkedHashMap<>();
+        for (ApiResource resource : ApiResource.values()) {
+            collections.put(resource.getPath().substring(1), MAPPER.readTree(resource.fetchCollection()));
+        }
+        return write(collections, ConfigManager.getBaseUrl(), file);
+    }
+    
+    /**
+     * Writes already parsed collections to a snapshot file.
+     *
+     * @param collections the JSON array of each resource, keyed by resource name
+     * @param baseUrl the base URL the data was downloaded from
+     * @param file the snapshot file to create or overwrite
+     * @return the snapshot file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a collection is not a JSON array of objects
+     */
+    public static Path write(Map<String, JsonNode> collections, String baseUrl, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        long[] blockOffsets = new long[collections.size()];
+        long offsetTablePosition;
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CountingOutputStream counter = new CountingOutputStream(Channels.newOutputStream(channel));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(counter, 1 << 16));
+            
+            out.write(SnapshotFormat.MAGIC);
+            out.writeInt(SnapshotFormat.VERSION);
+            out.writeLong(System.currentTimeMillis());
+            writeString(out, baseUrl);
+            out.writeInt(collections.size());
+            out.flush();
+            offsetTablePosition = counter.count;
+            for (String name : collections.keySet()) {
+                writeString(out, name);
+                out.writeLong(0L);
+            }
+            
+            int index = 0;
+            for (Map.Entry<String, JsonNode> collection : collections.entrySet()) {
+                out.flush();
+                blockOffsets[index++] = counter.count;
+                writeBlock(out, counter, collection.getKey(), collection.getValue());
+            }
+            out.flush();
+            
+            long position = offsetTablePosition;
+            index = 0;
+            for (String name : collections.keySet()) {
+                position += 2 + name.getBytes(StandardCharsets.UTF_8).length;
+                ByteBuffer offset = ByteBuffer.allocate(Long.BYTES).putLong(0, blockOffsets[index++]);
+                channel.write(offset, position);
+                position += Long.BYTES;
+            }
+        }
+        return file;
+    }
+    
+    /**
+     * Writes one resource block: row count, column directory and column data.
+     */
+    private static void writeBlock(DataOutputStream out, CountingOutputStream counter,
+                                   String name, JsonNode array) throws IOException {
+        if (!array.isArray()) {
+            throw new IllegalArgumentException("Collection " + name + " is not a JSON array");
+        }
+        int rowCount = array.size();
+        Map<String, JsonNode[]> columns = flatten(name, array);
+        
+        List<byte[]> encoded = new ArrayList<>(columns.size());
+        List<Byte> types = new ArrayList<>(columns.size());
+        for (JsonNode[] values : columns.values()) {
+            byte type = inferType(values);
+            types.add(type);
+            encoded.add(encodeColumn(type, values));
+        }
+        
+        long directoryLength = 0;
+        for (String column : columns.keySet()) {
+            directoryLength += 2 + column.getBytes(StandardCharsets.UTF_8).length + 1 + 2 * Long.BYTES;
+        }
+        out.flush();
+        long dataOffset = counter.count + 2 * Integer.BYTES + directoryLength;
+        
+        out.writeInt(rowCount);
+        out.writeInt(columns.size());
+        int index = 0;
+        for (String column : columns.keySet()) {
+            writeString(out, column);
+            out.writeByte(types.get(index));
+            out.writeLong(dataOffset);
+            out.writeLong(encoded.get(index).length);
+            dataOffset += encoded.get(index).length;
+            index++;
+        }
+        for (byte[] data : encoded) {
+            out.write(data);
+        }
+    }
+    
+    /**
+     * Flattens the elements of an array into dotted columns in first-seen order.
+     */
+    private static Map<String, JsonNode[]> flatten(String name, JsonNode array) {
+        Map<String, JsonNode[]> columns = new LinkedHashMap<>();
+        for (int row = 0; row < array.size(); row++) {
+            JsonNode element = array.get(row);
+            if (!element.isObject()) {
+                throw new IllegalArgumentException("Element " + row + " of " + name + " is not an object");
+            }
+            flattenInto(columns, "", element, row, array.size());
+        }
+        return columns;
+    }
+    
+    private static void flattenInto(Map<String, JsonNode[]> columns, String prefix, JsonNode node,
+                                    int row, int rowCount) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String column = prefix + field.getKey();
+            if (field.getValue().isObject()) {
+                flattenInto(columns, column + ".", field.getValue(), row, rowCount);
+            } else if (!field.getValue().isNull()) {
+                columns.computeIfAbsent(column, key -> new JsonNode[rowCount])[row] = field.getValue();
+            }
+        }
+    }
+    
+    /**
+     * Chooses the narrowest column type able to hold every present value.
+     */
+    private static byte inferType(JsonNode[] values) {
+        boolean allInts = true;
+        boolean allNumbers = true;
+        boolean allBooleans = true;
+        for (JsonNode value : values) {
+            if (value == null) {
+                continue;
+            }
+            allInts &= value.isIntegralNumber() && value.canConvertToInt();
+            allNumbers &= value.isNumber();
+            allBooleans &= value.isBoolean();
+        }
+        if (allInts) {
+            return SnapshotFormat.TYPE_INT;
+        }
+        if (allNumbers) {
+            return SnapshotFormat.TYPE_DOUBLE;
+        }
+        return allBooleans ? SnapshotFormat.TYPE_BOOLEAN : SnapshotFormat.TYPE_STRING;
+    }
+    
+    /**
+     * Encodes the presence bitmap and values of one column.
+     */
+    private static byte[] encodeColumn(byte type, JsonNode[] values) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        
+        byte[] presence = new byte[SnapshotFormat.bitmapLength(values.length)];
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] != null) {
+                presence[row >>> 3] |= (byte) (1 << (row & 7));
+            }
+        }
+        out.write(presence);
+        
+        switch (type) {
+            case SnapshotFormat.TYPE_INT:
+                for (JsonNode value : values) {
+                    out.writeInt(value == null ? 0 : value.intValue());
+                }
+                break;
+            case SnapshotFormat.TYPE_DOUBLE:
+                for (JsonNode value : values) {
+                    out.writeDouble(value == null ? 0.0 : value.doubleValue());
+                }
+                break;
+            case SnapshotFormat.TYPE_BOOLEAN:
+                for (JsonNode value : values) {
+                    out.writeByte(value != null && value.booleanValue() ? 1 : 0);
+                }
+                break;
+            default:
+                writeStringColumn(out, values);
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+    
+    private static void writeStringColumn(DataOutputStream out, JsonNode[] values) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> dictionary = new ArrayList<>();
+        int[] rowCodes = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == null) {
+                rowCodes[row] = -1;
+                continue;
+            }
+            String text = values[row].isTextual() ? values[row].textValue() : values[row].toString();
+            Integer code = codes.get(text);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(text, code);
+                dictionary.add(text.getBytes(StandardCharsets.UTF_8));
+            }
+            rowCodes[row] = code;
+        }
+        
+        out.writeInt(dictionary.size());
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] entry : dictionary) {
+            offset += entry.length;
+            out.writeInt(offset);
+        }
+        for (byte[] entry : dictionary) {
+            out.write(entry);
+        }
+        for (int code : rowCodes) {
+            out.writeInt(code);
+        }
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Name too long for snapshot header: " + value);
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+    
+    /**
+     * Output stream that tracks the number of bytes written through it.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        
+        private final OutputStream delegate;
+        private long count;
+        
+        CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
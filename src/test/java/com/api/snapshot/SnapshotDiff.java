@@ -0,0 +1,329 @@
+package com.api.snapshot;
+
+import com.api.snapshot.DatasetSnapshot.Column;
+import com.api.snapshot.DatasetSnapshot.ColumnType;
+import com.api.snapshot.DatasetSnapshot.Table;
+import com.api.utilities.IntColumns;
+import com.api.utilities.IntIdIndex;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Column-by-column comparison of two dataset snapshots.
+ * <p>
+ * Rows of each resource are matched by their integer {@code id} column (or by row index
+ * when a resource has no such column). For every resource the diff reports added and
+ * removed rows, added, removed and retyped columns, and for every shared column the number
+ * of matched rows whose value changed together with a few sample changes.
+ * </p>
+ * <p>
+ * Values are compared straight from the memory-mapped files without boxing; only sampled
+ * changes are materialized for the report.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class SnapshotDiff {
+    
+    /**
+     * Maximum number of sample changes kept per column.
+     */
+    private static final int MAX_SAMPLES = 5;
+    
+    /**
+     * Name of the column used to match rows between snapshots.
+     */
+    private static final String ID_COLUMN = "id";
+    
+    /**
+     * Compares two snapshot files and prints the diff report.
+     * <p>
+     * Usage: {@code SnapshotDiff <before.snap> <after.snap>}
+     * </p>
+     *
+     * @param args the paths of the older and the newer snapshot
+     * @throws IOException if a snapshot cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SnapshotDiff <before.snap> <after.snap>");
+            System.exit(2);
+        }
+        DiffReport report = compare(DatasetSnapshot.open(Paths.get(args[0])),
+                DatasetSnapshot.open(Paths.get(args[1])));
+        System.out.println(report);
+        System.exit(report.hasChanges() ? 1 : 0);
+    }
+    
+    /**
+     * Compares two snapshots.
+     *
+     * @param before the older snapshot
+     * @param after the newer snapshot
+     * @return the diff report
+     */
+    public static DiffReport compare(DatasetSnapshot before, DatasetSnapshot after) {
+        Set<String> resources = new LinkedHashSet<>(before.getResourceNames());
+        resources.addAll(after.getResourceNames());
+        
+        List<ResourceDiff> diffs = new ArrayList<>();
+        for (String resource : resources) {
+            boolean inBefore = before.getResourceNames().contains(resource);
+            boolean inAfter = after.getResourceNames().contains(resource);
+            if (inBefore && inAfter) {
+                diffs.add(compareTables(before.table(resource), after.table(resource)));
+            } else {
+                Table only = inBefore ? before.table(resource) : after.table(resource);
+                ResourceDiff diff = new ResourceDiff(resource);
+                diff.addedRows = inAfter ? only.getRowCount() : 0;
+                diff.removedRows = inBefore ? only.getRowCount() : 0;
+                diffs.add(diff);
+            }
+        }
+        return new DiffReport(before.getFile(), after.getFile(), diffs);
+    }
+    
+    private static ResourceDiff compareTables(Table before, Table after) {
+        ResourceDiff diff = new ResourceDiff(before.getName());
+        int[] afterRowOfBeforeRow = matchRows(before, after, diff);
+        
+        for (String name : before.getColumnNames()) {
+            Column beforeColumn = before.column(name);
+            Column afterColumn = after.column(name);
+            if (afterColumn == null) {
+                diff.removedColumns.add(name);
+                continue;
+            }
+            if (beforeColumn.getType() != afterColumn.getType()) {
+                diff.retypedColumns.add(name + " " + beforeColumn.getType() + " -> " + afterColumn.getType());
+                continue;
+            }
+            ColumnDiff columnDiff = new ColumnDiff(name);
+            for (int row = 0; row < afterRowOfBeforeRow.length; row++) {
+                int afterRow = afterRowOfBeforeRow[row];
+                if (afterRow < 0 || beforeColumn.valueEquals(row, afterColumn, afterRow)) {
+                    continue;
+                }
+                if (columnDiff.changedRows < MAX_SAMPLES) {
+                    columnDiff.samples.add(rowKey(before, row) + ": " + beforeColumn.getValue(row)
+                            + " -> " + afterColumn.getValue(afterRow));
+                }
+                columnDiff.changedRows++;
+            }
+            if (columnDiff.changedRows > 0) {
+                diff.changedColumns.add(columnDiff);
+            }
+        }
+        for (String name : after.getColumnNames()) {
+            if (before.column(name) == null) {
+                diff.addedColumns.add(name);
+            }
+        }
+        return diff;
+    }
+    
+    /**
+     * Maps each row of {@code before} to the matching row of {@code after} (-1 if removed)
+     * and records added and removed row counts.
+     */
+    private static int[] matchRows(Table before, Table after, ResourceDiff diff) {
+        Column beforeIds = before.column(ID_COLUMN);
+        Column afterIds = after.column(ID_COLUMN);
+        int[] mapping = new int[before.getRowCount()];
+        
+        if (!isIdColumn(beforeIds) || !isIdColumn(afterIds)) {
+            for (int row = 0; row < mapping.length; row++) {
+                mapping[row] = row < after.getRowCount() ? row : -1;
+            }
+            diff.removedRows = Math.max(0, before.getRowCount() - after.getRowCount());
+            diff.addedRows = Math.max(0, after.getRowCount() - before.getRowCount());
+            return mapping;
+        }
+        
+        int[] ids = new int[after.getRowCount()];
+        for (int row = 0; row < ids.length; row++) {
+            ids[row] = afterIds.isPresent(row) ? afterIds.getInt(row) : IntColumns.MISSING;
+        }
+        IntIdIndex index = IntIdIndex.of(ids);
+        int[] afterRowOfSlot = new int[index.slotCount()];
+        for (int row = 0; row < ids.length; row++) {
+            int slot = index.slotOf(ids[row]);
+            if (slot >= 0) {
+                afterRowOfSlot[slot] = row;
+            }
+        }
+        
+        int matched = 0;
+        for (int row = 0; row < mapping.length; row++) {
+            int slot = beforeIds.isPresent(row) ? index.slotOf(beforeIds.getInt(row)) : -1;
+            mapping[row] = slot >= 0 ? afterRowOfSlot[slot] : -1;
+            if (slot >= 0) {
+                matched++;
+            } else {
+                diff.removedRows++;
+            }
+        }
+        diff.addedRows = after.getRowCount() - matched;
+        return mapping;
+    }
+    
+    private static boolean isIdColumn(Column column) {
+        return column != null && column.getType() == ColumnType.INT;
+    }
+    
+    private static String rowKey(Table table, int row) {
+        Column ids = table.column(ID_COLUMN);
+        return isIdColumn(ids) && ids.isPresent(row) ? "id=" + ids.getInt(row) : "row=" + row;
+    }
+    
+    /**
+     * Changes of a single column of a resource.
+     */
+    public static final class ColumnDiff {
+        
+        private final String column;
+        private final List<String> samples = new ArrayList<>();
+        private int changedRows;
+        
+        ColumnDiff(String column) {
+            this.column = column;
+        }
+        
+        public String getColumn() {
+            return column;
+        }
+        
+        public int getChangedRows() {
+            return changedRows;
+        }
+        
+        public List<String> getSamples() {
+            return Collections.unmodifiableList(samples);
+        }
+    }
+    
+    /**
+     * Changes of a single resource.
+     */
+    public static final class ResourceDiff {
+        
+        private final String resource;
+        private final List<String> addedColumns = new ArrayList<>();
+        private final List<String> removedColumns = new ArrayList<>();
+        private final List<String> retypedColumns = new ArrayList<>();
+        private final List<ColumnDiff> changedColumns = new ArrayList<>();
+        private int addedRows;
+        private int removedRows;
+        
+        ResourceDiff(String resource) {
+            this.resource = resource;
+        }
+        
+        public String getResource() {
+            return resource;
+        }
+        
+        public int getAddedRows() {
+            return addedRows;
+        }
+        
+        public int getRemovedRows() {
+            return removedRows;
+        }
+        
+        public List<String> getAddedColumns() {
+            return Collections.unmodifiableList(addedColumns);
+        }
+        
+        public List<String> getRemovedColumns() {
+            return Collections.unmodifiableList(removedColumns);
+        }
+        
+        public List<String> getRetypedColumns() {
+            return Collections.unmodifiableList(retypedColumns);
+        }
+        
+        public List<ColumnDiff> getChangedColumns() {
+            return Collections.unmodifiableList(changedColumns);
+        }
+        
+        /**
+         * Checks whether anything differs for this resource.
+         *
+         * @return true if rows or columns were added, removed, retyped or changed
+         */
+        public boolean hasChanges() {
+            return addedRows > 0 || removedRows > 0 || !addedColumns.isEmpty() || !removedColumns.isEmpty()
+                    || !retypedColumns.isEmpty() || !changedColumns.isEmpty();
+        }
+    }
+    
+    /**
+     * Result of comparing two snapshots.
+     */
+    public static final class DiffReport {
+        
+        private final Path before;
+        private final Path after;
+        private final List<ResourceDiff> resources;
+        
+        DiffReport(Path before, Path after, List<ResourceDiff> resources) {
+            this.before = before;
+            this.after = after;
+            this.resources = Collections.unmodifiableList(resources);
+        }
+        
+        public List<ResourceDiff> getResources() {
+            return resources;
+        }
+        
+        /**
+         * Checks whether any resource differs between the snapshots.
+         *
+         * @return true if at least one resource has changes
+         */
+        public boolean hasChanges() {
+            return resources.stream().anyMatch(ResourceDiff::hasChanges);
+        }
+        
+        @Override
+        public String toString() {
+            String newline = System.lineSeparator();
+            StringBuilder text = new StringBuilder("Snapshot diff ").append(before).append(" -> ").append(after);
+            for (ResourceDiff resource : resources) {
+                text.append(newline).append("  ").append(resource.resource).append(": ");
+                if (!resource.hasChanges()) {
+                    text.append("unchanged");
+                    continue;
+                }
+                text.append("+").append(resource.addedRows).append(" / -").append(resource.removedRows).append(" rows");
+                if (!resource.addedColumns.isEmpty()) {
+                    text.append(newline).append("    added columns: ").append(resource.addedColumns);
+                }
+                if (!resource.removedColumns.isEmpty()) {
+                    text.append(newline).append("    removed columns: ").append(resource.removedColumns);
+                }
+                if (!resource.retypedColumns.isEmpty()) {
+                    text.append(newline).append("    retyped columns: ").append(resource.retypedColumns);
+                }
+                for (ColumnDiff column : resource.changedColumns) {
+                    text.append(newline).append("    ").append(column.column).append(": ")
+                            .append(column.changedRows).append(" changed");
+                    for (String sample : column.samples) {
+                        text.append(newline).append("      ").append(sample);
+                    }
+                }
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.api.snapshot;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary layout constants of dataset snapshot files.
+ * <p>
+ * A snapshot file is laid out as follows (all numbers big-endian):
+ * <pre>
+ * header      : magic[8] "APISNAP1", int version, long createdAtMillis, string baseUrl, int resourceCount
+ * offsets     : resourceCount x (string name, long blockOffset)
+ * block       : int rowCount, int columnCount,
+ *               columnCount x (string name, byte type, long dataOffset, long dataLength)
+ * column data : presence bitmap[(rowCount + 7) / 8], then by type
+ *               INT     rowCount x int
+ *               DOUBLE  rowCount x double
+ *               BOOLEAN rowCount x byte
+ *               STRING  int dictionarySize, (dictionarySize + 1) x int byteOffsets,
+ *                       dictionary bytes (UTF-8), rowCount x int codes
+ * </pre>
+ * where {@code string} is an unsigned short byte length followed by UTF-8 bytes, and all
+ * offsets are absolute file positions. Nested objects are flattened into dotted column
+ * names (e.g., {@code address.geo.lat}).
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+final class SnapshotFormat {
+    
+    /**
+     * File signature written at the start of every snapshot.
+     */
+    static final byte[] MAGIC = "APISNAP1".getBytes(StandardCharsets.US_ASCII);
+    
+    /**
+     * Current format version.
+     */
+    static final int VERSION = 1;
+    
+    static final byte TYPE_INT = 1;
+    static final byte TYPE_DOUBLE = 2;
+    static final byte TYPE_BOOLEAN = 3;
+    static final byte TYPE_STRING = 4;
+    
+    private SnapshotFormat() {
+    }
+    
+    /**
+     * Computes the size of the presence bitmap for a number of rows.
+     *
+     * @param rowCount the number of rows
+     * @return the bitmap size in bytes
+     */
+    static int bitmapLength(int rowCount) {
+        return (rowCount + 7) >>> 3;
+    }
+}
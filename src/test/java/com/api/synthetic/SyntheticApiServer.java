@@ -0,0 +1,411 @@
+package com.api.synthetic;
+
+import com.api.utilities.ApiResource;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.ReferentialIntegrityChecker.Relation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process HTTP server exposing a {@link SyntheticDataset} with the routes of JSONPlaceholder.
+ * <p>
+ * Supported requests:
+ * <ul>
+ *   <li>{@code GET /photos}, {@code GET /photos/7} and nested collections such as
+ *       {@code GET /posts/1/comments}, which are empty for ids outside the dataset, like
+ *       the comments of a created post</li>
+ *   <li>Filters on any top-level field (e.g., {@code ?postId=3}), and pagination with
+ *       {@code _page}/{@code _limit} or {@code _start}/{@code _end}, which adds an
+ *       {@code X-Total-Count} header</li>
+ *   <li>{@code POST}, {@code PUT}, {@code PATCH} and {@code DELETE}, answered like
+ *       JSONPlaceholder answers them without changing the dataset, so created elements can
+ *       be deleted</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Elements are generated while the response is written, one at a time, into a chunked and,
+ * if the client accepts it, gzip-encoded body. Filters on foreign keys and ids are resolved
+ * to id ranges, so {@code GET /comments?postId=3} only generates the comments of post 3.
+ * Serving a collection of a million photos therefore needs no more memory than serving one.
+ * </p>
+ * <p>
+ * With {@code synthetic.api=true}, {@code BaseTest} points the suite at a shared server for
+ * the {@code synthetic.*} settings; see {@link #shared()}. {@link #main(String[])} serves the
+ * same dataset from a standalone JVM.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class SyntheticApiServer implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticApiServer.class);
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static SyntheticApiServer shared;
+    
+    private final SyntheticDataset dataset;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder elementsServed = new LongAdder();
+    
+    private SyntheticApiServer(SyntheticDataset dataset, int port) throws IOException {
+        this.dataset = dataset;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 128);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.handlers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "synthetic-api-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+    
+    /**
+     * Starts a server for a dataset on a free local port.
+     *
+     * @param dataset the dataset to serve
+     * @return the running server
+     * @throws IOException if no local port can be opened
+     */
+    public static SyntheticApiServer start(SyntheticDataset dataset) throws IOException {
+        return start(dataset, 0);
+    }
+    
+    /**
+     * Starts a server for a dataset.
+     *
+     * @param dataset the dataset to serve
+     * @param port the local port, or 0 for any free port
+     * @return the running server
+     * @throws IOException if the port cannot be opened
+     */
+    public static SyntheticApiServer start(SyntheticDataset dataset, int port) throws IOException {
+        SyntheticApiServer server = new SyntheticApiServer(dataset, port);
+        StringBuilder sizes = new StringBuilder();
+        for (ApiResource resource : ApiResource.values()) {
+            sizes.append(sizes.length() == 0 ? "" : ", ").append(resource.getPath().substring(1)).append('=')
+                    .append(dataset.getCount(resource));
+        }
+        logger.info("Synthetic API with seed {} ({}) listening at {}", dataset.getSeed(), sizes,
+                server.getBaseUrl());
+        return server;
+    }
+    
+    /**
+     * Starts, once per JVM, a server for the dataset of the {@code synthetic.*} settings.
+     *
+     * @return the shared server
+     * @throws IOException if the configured port cannot be opened
+     */
+    public static synchronized SyntheticApiServer shared() throws IOException {
+        if (shared == null) {
+            shared = start(SyntheticDataset.fromConfig(), ConfigManager.getSyntheticPort());
+        }
+        return shared;
+    }
+    
+    /**
+     * Serves the dataset of the {@code synthetic.*} settings until the JVM is stopped.
+     *
+     * @param args not used
+     * @throws IOException if the configured port cannot be opened
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        SyntheticApiServer server = start(SyntheticDataset.fromConfig(), ConfigManager.getSyntheticPort());
+        System.out.println("Synthetic API listening at " + server.getBaseUrl());
+        Thread.currentThread().join();
+    }
+    
+    /**
+     * Retrieves the URL tests send requests to.
+     *
+     * @return the server base URL (e.g., "http://127.0.0.1:54321")
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+    
+    public SyntheticDataset getDataset() {
+        return dataset;
+    }
+    
+    public long getRequests() {
+        return requests.sum();
+    }
+    
+    /**
+     * Retrieves the number of elements written into responses so far.
+     *
+     * @return the number of served elements
+     */
+    public long getElementsServed() {
+        return elementsServed.sum();
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            String[] parts = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/+");
+            ApiResource resource = resource(parts[0]);
+            int id = parts.length > 1 && resource != null ? id(resource, parts[1]) : 0;
+            // Like JSONPlaceholder, unknown ids such as the id of a created element can still be
+            // deleted, and their nested collections are empty instead of missing
+            String method = exchange.getRequestMethod();
+            boolean anyId = method.equals("DELETE") || (parts.length == 3 && method.equals("GET"));
+            if (resource == null || parts.length > 3 || (parts.length > 1 && id == 0 && !anyId)) {
+                sendElement(exchange, 404, MAPPER.createObjectNode());
+                return;
+            }
+            switch (method) {
+                case "GET":
+                    if (parts.length == 1) {
+                        sendCollection(exchange, resource, 1, dataset.getCount(resource) + 1);
+                    } else if (parts.length == 2) {
+                        sendElement(exchange, 200, dataset.element(resource, id));
+                    } else {
+                        sendChildren(exchange, resource, id, parts[2]);
+                    }
+                    break;
+                case "POST":
+                    ObjectNode created = requestBody(exchange);
+                    created.put("id", dataset.getCount(resource) + 1);
+                    sendElement(exchange, parts.length == 1 ? 201 : 404, created);
+                    break;
+                case "PUT":
+                case "PATCH":
+                    ObjectNode updated = method.equals("PUT") || parts.length != 2
+                            ? MAPPER.createObjectNode() : dataset.element(resource, id);
+                    updated.setAll(requestBody(exchange));
+                    updated.put("id", id);
+                    sendElement(exchange, parts.length == 2 ? 200 : 404, updated);
+                    break;
+                case "DELETE":
+                    sendElement(exchange, 200, MAPPER.createObjectNode());
+                    break;
+                default:
+                    sendElement(exchange, 405, MAPPER.createObjectNode());
+            }
+        } catch (IOException e) {
+            logger.debug("Synthetic API response failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Sends the children of one element, e.g. {@code GET /posts/1/comments}, or an empty
+     * collection if {@code parentId} is 0.
+     */
+    private void sendChildren(HttpExchange exchange, ApiResource parent, int parentId, String childPath)
+            throws IOException {
+        ApiResource child = resource(childPath);
+        Relation relation = child == null ? null : SyntheticDataset.parentRelation(child);
+        if (relation == null || relation.getParent() != parent) {
+            sendElement(exchange, 404, MAPPER.createObjectNode());
+            return;
+        }
+        if (parentId == 0) {
+            sendCollection(exchange, child, 1, 1);
+            return;
+        }
+        sendCollection(exchange, child, dataset.firstChildId(relation, parentId),
+                dataset.firstChildId(relation, parentId + 1));
+    }
+    
+    /**
+     * Sends the elements with ids from {@code from} (inclusive) to {@code to} (exclusive)
+     * that match the query filters, paginated as requested.
+     */
+    private void sendCollection(HttpExchange exchange, ApiResource resource, int from, int to)
+            throws IOException {
+        Map<String, String> filters = new LinkedHashMap<>();
+        Map<String, String> options = new LinkedHashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        for (String parameter : query == null ? new String[0] : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (parameter.isEmpty() || equals == 0) {
+                continue;
+            }
+            String name = URLDecoder.decode(equals < 0 ? parameter : parameter.substring(0, equals),
+                    StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+            (name.startsWith("_") ? options : filters).putIfAbsent(name, value);
+        }
+        
+        // Filters on the id and the foreign key narrow the id range instead of generating elements
+        Relation relation = SyntheticDataset.parentRelation(resource);
+        String idFilter = filters.remove("id");
+        if (idFilter != null) {
+            int id = id(resource, idFilter);
+            from = Math.max(from, id);
+            to = id == 0 ? from : Math.min(to, id + 1);
+        }
+        String parentFilter = relation == null ? null : filters.remove(relation.getForeignKey());
+        if (parentFilter != null) {
+            int parentId = id(relation.getParent(), parentFilter);
+            from = parentId == 0 ? from : Math.max(from, dataset.firstChildId(relation, parentId));
+            to = parentId == 0 ? from : Math.min(to, dataset.firstChildId(relation, parentId + 1));
+        }
+        int first = from;
+        int end = Math.max(from, to);
+        
+        long total = end - first;
+        if (!filters.isEmpty() && (options.containsKey("_page") || options.containsKey("_start"))) {
+            try (Stream<ObjectNode> matching = elements(resource, first, end, filters)) {
+                total = matching.count();
+            }
+        }
+        long skip = 0;
+        long limit = Long.MAX_VALUE;
+        if (options.containsKey("_page")) {
+            limit = parseLong(options.get("_limit"), 10);
+            skip = (Math.max(1, parseLong(options.get("_page"), 1)) - 1) * limit;
+        } else if (options.containsKey("_start")) {
+            skip = Math.max(0, parseLong(options.get("_start"), 0));
+            limit = options.containsKey("_end") ? Math.max(0, parseLong(options.get("_end"), total) - skip)
+                    : parseLong(options.get("_limit"), Long.MAX_VALUE);
+        } else if (options.containsKey("_limit")) {
+            limit = parseLong(options.get("_limit"), Long.MAX_VALUE);
+        }
+        limit = Math.max(0, limit);
+        if (options.containsKey("_page") || options.containsKey("_start")) {
+            exchange.getResponseHeaders().set("X-Total-Count", String.valueOf(total));
+            exchange.getResponseHeaders().set("Access-Control-Expose-Headers", "X-Total-Count");
+        }
+        
+        try (JsonGenerator json = MAPPER.getFactory().createGenerator(openBody(exchange, 200))) {
+            json.writeStartArray();
+            if (filters.isEmpty()) {
+                // Unfiltered ranges are written straight from the generator, without building trees
+                long firstId = first + Math.min(skip, total);
+                long endId = Math.min(end, firstId + Math.min(limit, total));
+                for (long id = firstId; id < endId; id++) {
+                    dataset.write(resource, (int) id, json);
+                    elementsServed.increment();
+                }
+            } else {
+                try (Stream<ObjectNode> elements = elements(resource, first, end, filters).skip(skip).limit(limit)) {
+                    for (Iterator<ObjectNode> iterator = elements.iterator(); iterator.hasNext(); ) {
+                        MAPPER.writeTree(json, iterator.next());
+                        elementsServed.increment();
+                    }
+                }
+            }
+            json.writeEndArray();
+        }
+    }
+    
+    /**
+     * Generates, lazily, the elements of an id range matching filters on other fields.
+     */
+    private Stream<ObjectNode> elements(ApiResource resource, int from, int to, Map<String, String> filters) {
+        return IntStream.range(from, to).mapToObj(id -> dataset.element(resource, id)).filter(element -> filters
+                .entrySet().stream().allMatch(filter -> {
+                    JsonNode value = element.get(filter.getKey());
+                    return value != null && value.isValueNode() && value.asText().equals(filter.getValue());
+                }));
+    }
+    
+    private void sendElement(HttpExchange exchange, int status, JsonNode element) throws IOException {
+        try (JsonGenerator json = MAPPER.getFactory().createGenerator(openBody(exchange, status))) {
+            MAPPER.writeTree(json, element);
+        }
+        elementsServed.increment();
+    }
+    
+    /**
+     * Sends the response headers of a chunked JSON body, gzip-encoded if the client accepts it.
+     */
+    private static OutputStream openBody(HttpExchange exchange, int status) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, 0);
+        if (!gzip) {
+            return new BufferedOutputStream(exchange.getResponseBody(), BUFFER_SIZE);
+        }
+        // The fastest level keeps compression from dominating the serving time of large collections
+        return new GZIPOutputStream(exchange.getResponseBody(), BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+    
+    private static ObjectNode requestBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes();
+            JsonNode node = body.length == 0 ? null : MAPPER.readTree(body);
+            return node instanceof ObjectNode ? (ObjectNode) node : MAPPER.createObjectNode();
+        }
+    }
+    
+    private static ApiResource resource(String path) {
+        for (ApiResource resource : ApiResource.values()) {
+            if (resource.getPath().substring(1).equals(path)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Parses the id of an element.
+     *
+     * @return the id, or 0 if it is not the id of an element of the resource
+     */
+    private int id(ApiResource resource, String value) {
+        long id = parseLong(value, 0);
+        return id >= 1 && id <= dataset.getCount(resource) ? (int) id : 0;
+    }
+    
+    private static long parseLong(String value, long defaultValue) {
+        try {
+            return value == null ? defaultValue : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
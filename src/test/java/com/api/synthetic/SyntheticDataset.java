@@ -0,0 +1,318 @@
+package com.api.synthetic;
+
+import com.api.utilities.ApiResource;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.ReferentialIntegrityChecker.Relation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, seeded generator of a synthetic copy of the API dataset.
+ * <p>
+ * Every element is a pure function of the seed, its resource and its id, so any element can
+ * be generated on demand without generating the others and the whole dataset never has to
+ * be held in memory. The same seed and cardinalities always give the same dataset.
+ * </p>
+ * <p>
+ * Elements match the schemas in {@code src/test/resources/schemas} and the foreign keys of
+ * {@link Relation}: the children of a resource are split into contiguous id ranges of
+ * (nearly) equal size, one per parent. With the cardinalities of the real API (100 posts,
+ * 500 comments, 100 albums, 5000 photos, 200 todos, 10 users) the layout matches
+ * JSONPlaceholder's: posts 1-10 belong to user 1, comments 1-5 to post 1, and so on.
+ * </p>
+ * <pre>{@code
+ * SyntheticDataset dataset = SyntheticDataset.scaled(42, 100)
+ *         .withCount(ApiResource.PHOTOS, 1_000_000);
+ * ObjectNode photo = dataset.element(ApiResource.PHOTOS, 123_456);
+ * }</pre>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class SyntheticDataset {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipisci",
+            "velit", "sed", "quia", "non", "numquam", "eius", "modi", "tempora", "incidunt", "ut", "labore",
+            "et", "dolore", "magnam", "aliquam", "quaerat", "voluptatem", "enim", "ad", "minima", "veniam",
+            "quis", "nostrum", "exercitationem", "ullam", "corporis", "suscipit", "laboriosam", "nisi",
+            "aliquid", "ex", "ea", "commodi", "consequatur", "autem", "vel", "eum", "iure", "reprehenderit",
+            "qui", "in", "voluptate", "esse", "quam", "nihil", "molestiae", "illum", "fugiat", "quo", "voluptas",
+            "nulla", "pariatur", "at", "vero", "eos", "accusamus", "iusto", "odio", "dignissimos", "ducimus"};
+    
+    private static final String[] FIRST_NAMES = {"Leanne", "Ervin", "Clementine", "Patricia", "Chelsey",
+            "Dennis", "Kurtis", "Nicholas", "Glenna", "Clementina", "Maxime", "Jolie", "Ayla", "Rey", "Karley"};
+    
+    private static final String[] LAST_NAMES = {"Graham", "Howell", "Bauch", "Lebsack", "Dietrich",
+            "Schulist", "Weissnat", "Runolfsdottir", "Reichert", "DuBuque", "Kuhn", "Keebler", "Kovacek"};
+    
+    private static final String[] CITIES = {"Gwenborough", "Wisokyburgh", "McKenziehaven", "South Elvis",
+            "Roscoeview", "South Christy", "Howemouth", "Aliyaview", "Bartholomebury", "Lebsackbury"};
+    
+    private static final String[] DOMAINS = {"org", "net", "info", "biz", "com", "io", "name"};
+    
+    private final long seed;
+    private final Map<ApiResource, Integer> counts;
+    
+    private SyntheticDataset(long seed, Map<ApiResource, Integer> counts) {
+        this.seed = seed;
+        this.counts = counts;
+    }
+    
+    /**
+     * Creates a dataset with the cardinalities of the real API multiplied by a factor.
+     *
+     * @param seed the seed of the dataset
+     * @param scale the factor applied to the size of every resource (e.g., 100)
+     * @return the dataset
+     * @throws IllegalArgumentException if scale is not positive
+     */
+    public static SyntheticDataset scaled(long seed, double scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("scale must be positive");
+        }
+        Map<ApiResource, Integer> counts = new EnumMap<>(ApiResource.class);
+        for (ApiResource resource : ApiResource.values()) {
+            counts.put(resource, (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                    Math.round(resource.getBaseSize() * scale))));
+        }
+        return new SyntheticDataset(seed, counts);
+    }
+    
+    /**
+     * Creates the dataset described by the {@code synthetic.*} settings.
+     *
+     * @return the dataset of {@code synthetic.seed} and {@code synthetic.scale}, with the
+     *         {@code synthetic.count.<resource>} overrides applied
+     */
+    public static SyntheticDataset fromConfig() {
+        SyntheticDataset dataset = scaled(ConfigManager.getSyntheticSeed(), ConfigManager.getSyntheticScale());
+        for (ApiResource resource : ApiResource.values()) {
+            int count = ConfigManager.getSyntheticCount(resource);
+            if (count > 0) {
+                dataset = dataset.withCount(resource, count);
+            }
+        }
+        return dataset;
+    }
+    
+    /**
+     * Creates a copy of this dataset with another size for one resource.
+     *
+     * @param resource the resource
+     * @param count the number of elements of the resource
+     * @return the new dataset
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public SyntheticDataset withCount(ApiResource resource, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        Map<ApiResource, Integer> copy = new EnumMap<>(counts);
+        copy.put(resource, count);
+        return new SyntheticDataset(seed, copy);
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Retrieves the number of elements of a resource; their ids run from 1 to this count.
+     *
+     * @param resource the resource
+     * @return the number of elements
+     */
+    public int getCount(ApiResource resource) {
+        return counts.get(resource);
+    }
+    
+    /**
+     * Retrieves the relation holding the foreign key of a resource.
+     *
+     * @param child the resource
+     * @return the relation to its parent, or {@code null} for users
+     */
+    public static Relation parentRelation(ApiResource child) {
+        for (Relation relation : Relation.values()) {
+            if (relation.getChild() == child) {
+                return relation;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Computes the id of the parent an element belongs to.
+     *
+     * @param relation the foreign key relation
+     * @param childId the id of the child element
+     * @return the id of its parent element
+     */
+    public int parentId(Relation relation, int childId) {
+        long parents = getCount(relation.getParent());
+        long children = getCount(relation.getChild());
+        return (int) ((childId - 1) * parents / children + 1);
+    }
+    
+    /**
+     * Computes the first id of the children of a parent. The children of parent {@code p}
+     * are the ids from {@code firstChildId(relation, p)} up to, but excluding,
+     * {@code firstChildId(relation, p + 1)}; the range is empty when there are fewer
+     * children than parents.
+     *
+     * @param relation the foreign key relation
+     * @param parentId the id of the parent, from 1 to its count + 1
+     * @return the id of the first child
+     */
+    public int firstChildId(Relation relation, int parentId) {
+        long parents = getCount(relation.getParent());
+        long children = getCount(relation.getChild());
+        return (int) (((parentId - 1) * children + parents - 1) / parents + 1);
+    }
+    
+    /**
+     * Generates one element.
+     *
+     * @param resource the resource of the element
+     * @param id the id of the element, from 1 to {@link #getCount(ApiResource)}
+     * @return the element, equal for the same seed, resource and id
+     * @throws IllegalArgumentException if the id is out of range
+     */
+    public ObjectNode element(ApiResource resource, int id) {
+        try (TokenBuffer buffer = new TokenBuffer(MAPPER, false)) {
+            write(resource, id, buffer);
+            return MAPPER.readTree(buffer.asParser());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Generates one element straight into a JSON generator, without building a tree.
+     *
+     * @param resource the resource of the element
+     * @param id the id of the element, from 1 to {@link #getCount(ApiResource)}
+     * @param json the generator to write the element to
+     * @throws IOException if the generator fails to write
+     * @throws IllegalArgumentException if the id is out of range
+     */
+    public void write(ApiResource resource, int id, JsonGenerator json) throws IOException {
+        if (id < 1 || id > getCount(resource)) {
+            throw new IllegalArgumentException(resource.getPath() + " has no element " + id);
+        }
+        SplittableRandom random = new SplittableRandom(mix(seed, resource.ordinal(), id));
+        json.writeStartObject();
+        Relation parent = parentRelation(resource);
+        if (parent != null) {
+            json.writeNumberField(parent.getForeignKey(), parentId(parent, id));
+        }
+        json.writeNumberField("id", id);
+        switch (resource) {
+            case POSTS:
+                json.writeStringField("title", words(random, 4, 10));
+                json.writeStringField("body", paragraph(random, 4));
+                break;
+            case COMMENTS:
+                json.writeStringField("name", words(random, 3, 7));
+                json.writeStringField("email", pick(random, FIRST_NAMES) + id + "@" + pick(random, WORDS) + "."
+                        + pick(random, DOMAINS));
+                json.writeStringField("body", paragraph(random, 4));
+                break;
+            case ALBUMS:
+                json.writeStringField("title", words(random, 2, 8));
+                break;
+            case PHOTOS:
+                String color = Integer.toHexString(0x1000000 | random.nextInt(0x1000000)).substring(1);
+                json.writeStringField("title", words(random, 3, 9));
+                json.writeStringField("url", "https://via.placeholder.com/600/" + color);
+                json.writeStringField("thumbnailUrl", "https://via.placeholder.com/150/" + color);
+                break;
+            case TODOS:
+                json.writeStringField("title", words(random, 2, 8));
+                json.writeBooleanField("completed", random.nextBoolean());
+                break;
+            case USERS:
+                writeUser(json, random, id);
+                break;
+            default:
+                throw new IllegalStateException("No generator for " + resource);
+        }
+        json.writeEndObject();
+    }
+    
+    private static void writeUser(JsonGenerator json, SplittableRandom random, int id) throws IOException {
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+        json.writeStringField("name", first + " " + last);
+        json.writeStringField("username", first + "." + last + id);
+        json.writeStringField("email", first + "." + last + id + "@" + pick(random, WORDS) + "."
+                + pick(random, DOMAINS));
+        json.writeObjectFieldStart("address");
+        json.writeStringField("street", capitalize(pick(random, WORDS)) + " Street");
+        json.writeStringField("suite", "Apt. " + (100 + random.nextInt(900)));
+        json.writeStringField("city", pick(random, CITIES));
+        json.writeStringField("zipcode", String.format(Locale.ROOT, "%05d-%04d", random.nextInt(100_000),
+                random.nextInt(10_000)));
+        json.writeObjectFieldStart("geo");
+        json.writeStringField("lat", String.format(Locale.ROOT, "%.4f", random.nextDouble(-90, 90)));
+        json.writeStringField("lng", String.format(Locale.ROOT, "%.4f", random.nextDouble(-180, 180)));
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeStringField("phone", String.format(Locale.ROOT, "1-%03d-%03d-%04d", random.nextInt(1000),
+                random.nextInt(1000), random.nextInt(10_000)));
+        json.writeStringField("website", pick(random, WORDS) + "." + pick(random, DOMAINS));
+        json.writeObjectFieldStart("company");
+        json.writeStringField("name", pick(random, LAST_NAMES) + " Group");
+        json.writeStringField("catchPhrase", capitalize(words(random, 3, 3)));
+        json.writeStringField("bs", words(random, 3, 3));
+        json.writeEndObject();
+    }
+    
+    private static String paragraph(SplittableRandom random, int sentences) {
+        StringBuilder paragraph = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            paragraph.append(i == 0 ? "" : "\n").append(words(random, 6, 12));
+        }
+        return paragraph.toString();
+    }
+    
+    private static String words(SplittableRandom random, int min, int max) {
+        int count = min + random.nextInt(max - min + 1);
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            words.append(i == 0 ? "" : " ").append(pick(random, WORDS));
+        }
+        return words.toString();
+    }
+    
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+    
+    /**
+     * Derives the seed of one element (SplitMix64 finalizer), so neighbouring ids and
+     * resources get unrelated random sequences.
+     */
+    private static long mix(long seed, int resource, int id) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) resource << 32) + id + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,121 @@
+package com.api.telemetry;
+
+import com.api.filters.RequestPhases;
+import com.api.filters.RequestPhases.Phase;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event for one HTTP request sent by the test framework.
+ * <p>
+ * The event duration covers the whole filter chain, from the first filter until the
+ * response is handed back to the test. The phase fields split that time into transport
+ * (sending the request and reading the raw response), body decoding, and the remaining
+ * filter overhead such as Allure report capture.
+ * </p>
+ * <p>
+ * The transport time is further split into the {@link RequestPhases} recorded by
+ * {@code PhaseTimingFilter}: DNS lookup, TCP connect and TLS handshake for new connections,
+ * then time to first byte and body transfer. Phases the transport could not observe are
+ * {@link #NOT_MEASURED}, which JFR tools show as N/A.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@Name("com.api.HttpRequest")
+@Label("HTTP Request")
+@Category({"API Tests", "HTTP"})
+@Description("HTTP request sent through the REST Assured filter chain")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+    
+    /**
+     * Value of a phase the transport could not observe.
+     */
+    public static final long NOT_MEASURED = Long.MIN_VALUE;
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("Path")
+    @Description("Request path with numeric segments replaced by {id}")
+    public String path;
+    
+    @Label("Status")
+    public int status;
+    
+    @Label("Content Encoding")
+    public String encoding;
+    
+    @Label("Wire Bytes")
+    @DataAmount
+    public long wireBytes;
+    
+    @Label("Decoded Bytes")
+    @DataAmount
+    public long decodedBytes;
+    
+    @Label("Transport Time")
+    @Timespan
+    public long transportNanos;
+    
+    @Label("New Connection")
+    @Description("Whether the request opened a connection instead of reusing one")
+    public boolean newConnection;
+    
+    @Label("DNS Lookup Time")
+    @Description("Time to resolve the host name")
+    @Timespan
+    public long dnsNanos;
+    
+    @Label("Connect Time")
+    @Description("Time to open the TCP connection")
+    @Timespan
+    public long connectNanos;
+    
+    @Label("TLS Handshake Time")
+    @Description("Time of the TLS handshake")
+    @Timespan
+    public long tlsNanos;
+    
+    @Label("Time To First Byte")
+    @Description("Time from sending the request until the response headers arrived")
+    @Timespan
+    public long firstByteNanos;
+    
+    @Label("Body Transfer Time")
+    @Description("Time to receive the response body")
+    @Timespan
+    public long bodyTransferNanos;
+    
+    @Label("Decode Time")
+    @Timespan
+    public long decodeNanos;
+    
+    @Label("Filter Overhead")
+    @Description("Time spent in other filters, e.g. report capture")
+    @Timespan
+    public long filterNanos;
+    
+    @Label("Error")
+    public String error;
+    
+    /**
+     * Converts the duration of a request phase to the value of its event field.
+     *
+     * @param phases the phases of the request, may be null
+     * @param phase the phase
+     * @return the duration in nanoseconds, or {@link #NOT_MEASURED}
+     */
+    public static long phaseNanos(RequestPhases phases, Phase phase) {
+        return phases == null || !phases.isMeasured(phase) ? NOT_MEASURED : phases.getNanos(phase);
+    }
+}
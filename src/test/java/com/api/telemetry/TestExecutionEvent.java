@@ -0,0 +1,40 @@
+package com.api.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for one executed test method.
+ * <p>
+ * The event spans the test method itself (excluding {@code @BeforeEach}/{@code @AfterEach}
+ * callbacks), so HTTP request events recorded on the same thread nest inside it.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@Name("com.api.TestExecution")
+@Label("Test Execution")
+@Category({"API Tests", "Tests"})
+@Description("Test method executed by JUnit")
+@StackTrace(false)
+public class TestExecutionEvent extends Event {
+    
+    @Label("Test Class")
+    public String testClass;
+    
+    @Label("Test Name")
+    public String testName;
+    
+    @Label("Result")
+    @Description("PASSED, FAILED, ABORTED or DISABLED")
+    public String result;
+    
+    @Label("Failure")
+    public String failure;
+}
@@ -0,0 +1,171 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.filters.CapturedBody;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Test class for spill-to-disk response capture.
+ * <p>
+ * A local stand-in server returns a large array of posts, gzip-encoded when the client
+ * accepts it. With a spill threshold of {@value #SPILL_THRESHOLD} bytes, the array is
+ * captured in a temporary file and validated by streaming over it, with either transport.
+ * </p>
+ * <p>
+ * The spill threshold and the transport are set as system properties for the whole JVM,
+ * so the class runs {@link Isolated}, without other classes in parallel.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Body Capture Tests")
+@Isolated
+public class BodyCaptureTest extends BaseTest {
+    
+    private static final int SPILL_THRESHOLD = 64 * 1024;
+    private static final int POSTS = 10_000;
+    private static final int INVALID_POST = 5000;
+    
+    private HttpServer standIn;
+    private String baseUrl;
+    private byte[] posts;
+    private byte[] invalidPosts;
+    
+    @BeforeAll
+    public void startStandIn() throws IOException {
+        posts = postsJson(-1);
+        invalidPosts = postsJson(INVALID_POST);
+        standIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        standIn.createContext("/posts", exchange -> respond(exchange,
+                exchange.getRequestURI().getPath().equals("/posts/1") ? postJson(1, 1) : posts));
+        standIn.createContext("/invalid-posts", exchange -> respond(exchange, invalidPosts));
+        standIn.start();
+        baseUrl = "http://127.0.0.1:" + standIn.getAddress().getPort();
+        System.setProperty("capture.spill.threshold.bytes", String.valueOf(SPILL_THRESHOLD));
+    }
+    
+    @AfterAll
+    public void stopStandIn() {
+        System.clearProperty("capture.spill.threshold.bytes");
+        standIn.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Bodies above the threshold are spilled to a file with their digest")
+    public void testSpill() throws Exception {
+        Response large = RequestBuilder.buildGetRequest("/posts").baseUri(baseUrl).get("/posts");
+        Response small = RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl).get("/posts/1");
+        ResponseValidator.validateStatusCode(large, 200);
+        ResponseValidator.validateCompressed(large, 0.5);
+        
+        CapturedBody body = CapturedBody.of(large);
+        Assertions.assertNotNull(body, "The body should be captured");
+        Assertions.assertTrue(body.isSpilled(), "A " + posts.length + " byte body should be spilled");
+        Assertions.assertEquals(posts.length, body.getSize());
+        Assertions.assertEquals(posts.length, Files.size(body.getFile()));
+        Assertions.assertEquals(sha256(posts), body.getSha256());
+        Assertions.assertFalse(CapturedBody.of(small).isSpilled(), "Small bodies stay on the heap");
+        Assertions.assertEquals(sha256(postJson(1, 1)), CapturedBody.of(small).getSha256());
+        
+        // Tests can still read a spilled body, which then loads it from the file
+        Assertions.assertEquals(POSTS, large.jsonPath().getList("id").size());
+        Assertions.assertEquals("Stand-in", small.jsonPath().getString("title"));
+    }
+    
+    @Test
+    @DisplayName("Validators stream over spilled bodies")
+    public void testStreamingValidators() {
+        Response response = RequestBuilder.buildGetRequest("/posts").baseUri(baseUrl).get("/posts");
+        Assertions.assertTrue(CapturedBody.of(response).isSpilled());
+        
+        ResponseValidator.validateResponseBodySize(response, POSTS);
+        ResponseValidator.validateEachValueEquals(response, "userId", 1);
+        ResponseValidator.validateJsonSchemaForEachElement(response, "post-schema.json");
+        ResponseValidator.validateResponseBodyContains(response, "[-1].id", POSTS);
+        
+        Response invalid = RequestBuilder.buildGetRequest("/invalid-posts").baseUri(baseUrl).get("/invalid-posts");
+        AssertionError error = Assertions.assertThrows(AssertionError.class,
+                () -> ResponseValidator.validateJsonSchemaForEachElement(invalid, "post-schema.json"));
+        Assertions.assertTrue(error.getMessage().contains("1 schema violation(s) in " + POSTS + " elements"),
+                error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("[" + INVALID_POST + "]"), error.getMessage());
+    }
+    
+    @Test
+    @DisplayName("The HTTP/2 transport spills bodies as they arrive")
+    public void testHttp2Spill() throws Exception {
+        System.setProperty("http.transport", "http2");
+        try {
+            Response response = RequestBuilder.buildGetRequest("/posts").baseUri(baseUrl).get("/posts");
+            ResponseValidator.validateStatusCode(response, 200);
+            CapturedBody body = CapturedBody.of(response);
+            Assertions.assertTrue(body.isSpilled());
+            Assertions.assertEquals(sha256(posts), body.getSha256());
+            ResponseValidator.validateResponseBodySize(response, POSTS);
+        } finally {
+            System.clearProperty("http.transport");
+        }
+    }
+    
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                out.write(body);
+            }
+        } else {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    /**
+     * Builds the posts array, with a string id for one post if {@code invalid} is not negative.
+     */
+    private static byte[] postsJson(int invalid) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < POSTS; i++) {
+            json.append(i == 0 ? "" : ",").append(new String(postJson(1, i + 1), StandardCharsets.UTF_8));
+            if (i == invalid) {
+                json.replace(json.lastIndexOf("\"id\": "), json.lastIndexOf(", \"title\""), "\"id\": \"x\"");
+            }
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] postJson(int userId, int id) {
+        return ("{\"userId\": " + userId + ", \"id\": " + id + ", \"title\": \"Stand-in\", "
+                + "\"body\": \"Body of a stand-in post used to fill the response\"}").getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
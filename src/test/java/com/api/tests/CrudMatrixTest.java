@@ -0,0 +1,138 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.utilities.ApiResource;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.HostPermits;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * CRUD and schema test matrix generated from the {@link ApiResource} catalog.
+ * <p>
+ * Every resource of the catalog gets the same checks: list with expected size, content type
+ * and response time, get by id, schema validation, create and update with the payload echoed
+ * back, and delete. Each check is a dynamic test sending its own requests, so its extensions,
+ * logs and Allure attachments belong to it.
+ * </p>
+ * <p>
+ * The dynamic tests run concurrently on JUnit's pool of {@code matrix.threads} threads (see
+ * {@code MatrixParallelism}), and at most {@code matrix.host.concurrency} of them send
+ * requests to the same host at once, the host being taken from the effective
+ * {@code RestAssured.baseURI} (e.g. the fault injection proxy or the synthetic API). The
+ * matrix thus takes about as long as its slowest requests.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("CRUD Matrix Tests")
+public class CrudMatrixTest extends BaseTest {
+    
+    /**
+     * Checks run against every resource of the catalog.
+     */
+    private enum CrudCheck {
+        
+        LIST(resource -> "GET " + resource.getPath() + " returns 200 and " + resource.getExpectedSize() + " elements",
+                resource -> {
+                    Response response = RequestBuilder.buildGetRequest(resource.getPath()).get(resource.getPath());
+                    ResponseValidator.validateStatusCode(response, 200);
+                    ResponseValidator.validateHeader(response, "Content-Type", "application/json");
+                    ResponseValidator.validateResponseTime(response, 5000);
+                    ResponseValidator.validateResponseBodySize(response, resource.getExpectedSize());
+                }),
+        GET_BY_ID(resource -> "GET " + resource.getPath() + "/{id} returns the requested element",
+                resource -> {
+                    Response response = RequestBuilder.buildGetRequest(resource.getPath() + "/1")
+                            .get(resource.getPath() + "/1");
+                    ResponseValidator.validateStatusCode(response, 200);
+                    ResponseValidator.validateResponseBodyContains(response, "id", 1);
+                }),
+        SCHEMA(resource -> "GET " + resource.getPath() + "/{id} validates " + resource.getSchema(),
+                resource -> {
+                    Response response = RequestBuilder.buildGetRequest(resource.getPath() + "/1")
+                            .get(resource.getPath() + "/1");
+                    ResponseValidator.validateStatusCode(response, 200);
+                    ResponseValidator.validateJsonSchema(response, resource.getSchema());
+                }),
+        CREATE(resource -> "POST " + resource.getPath() + " creates a new element",
+                resource -> {
+                    Map<String, Object> payload = resource.newPayload();
+                    Response response = RequestBuilder.buildPostRequest(resource.getPath(), payload)
+                            .post(resource.getPath());
+                    ResponseValidator.validateStatusCode(response, 201);
+                    Assertions.assertNotNull(response.jsonPath().get("id"), "Response should contain an id");
+                    validateEcho(response, payload);
+                }),
+        UPDATE(resource -> "PUT " + resource.getPath() + "/{id} updates an existing element",
+                resource -> {
+                    Map<String, Object> payload = resource.newPayload();
+                    payload.put("id", 1);
+                    Response response = RequestBuilder.buildPutRequest(resource.getPath() + "/1", payload)
+                            .put(resource.getPath() + "/1");
+                    ResponseValidator.validateStatusCode(response, 200);
+                    ResponseValidator.validateResponseBodyContains(response, "id", 1);
+                    validateEcho(response, payload);
+                }),
+        DELETE(resource -> "DELETE " + resource.getPath() + "/{id} deletes an element",
+                resource -> {
+                    Response response = RequestBuilder.buildDeleteRequest(resource.getPath() + "/1")
+                            .delete(resource.getPath() + "/1");
+                    ResponseValidator.validateStatusCode(response, 200);
+                });
+        
+        private final Function<ApiResource, String> displayName;
+        private final Consumer<ApiResource> check;
+        
+        CrudCheck(Function<ApiResource, String> displayName, Consumer<ApiResource> check) {
+            this.displayName = displayName;
+            this.check = check;
+        }
+        
+        /**
+         * Validates that the text fields of a payload are returned unchanged.
+         */
+        private static void validateEcho(Response response, Map<String, Object> payload) {
+            payload.forEach((key, value) -> {
+                if (value instanceof String) {
+                    ResponseValidator.validateResponseBodyContains(response, key, value);
+                }
+            });
+        }
+    }
+    
+    @TestFactory
+    @Execution(ExecutionMode.CONCURRENT)
+    @DisplayName("Every catalog resource passes the CRUD and schema checks")
+    public Stream<DynamicContainer> testCrudMatrix() {
+        HostPermits hostPermits = new HostPermits(ConfigManager.getMatrixHostConcurrency());
+        List<DynamicContainer> containers = new ArrayList<>();
+        for (ApiResource resource : ApiResource.values()) {
+            List<DynamicTest> tests = new ArrayList<>();
+            for (CrudCheck check : CrudCheck.values()) {
+                tests.add(DynamicTest.dynamicTest(check.displayName.apply(resource),
+                        () -> hostPermits.run(RestAssured.baseURI, () -> check.check.accept(resource))));
+            }
+            containers.add(DynamicContainer.dynamicContainer(resource.getPath(), tests));
+        }
+        return containers.stream();
+    }
+}
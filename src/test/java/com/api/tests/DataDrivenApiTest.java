@@ -0,0 +1,53 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.data.RequestCase;
+import com.api.data.RequestCaseSource;
+import com.api.utilities.ResponseValidator;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+
+/**
+ * Data-driven tests running request cases from files.
+ * <p>
+ * Each line of a case file is one test invocation that sends a request and validates the
+ * response status. Case files are streamed from memory-mapped files, so they can grow to
+ * millions of lines; use {@code data.sample} and {@code data.shard} to run a subset.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Data-Driven API Tests")
+public class DataDrivenApiTest extends BaseTest {
+    
+    /**
+     * Runs every request case of the JSONL case file.
+     *
+     * @param requestCase the request case
+     */
+    @ParameterizedTest(name = "{0}")
+    @RequestCaseSource("data/request-cases.jsonl")
+    @DisplayName("JSONL request cases return their expected status")
+    public void testJsonlRequestCases(RequestCase requestCase) {
+        Response response = requestCase.send();
+        
+        ResponseValidator.validateStatusCode(response, requestCase.getExpectedStatus());
+    }
+    
+    /**
+     * Runs a random sample of the request cases of the CSV case file.
+     *
+     * @param requestCase the request case
+     */
+    @ParameterizedTest(name = "{0}")
+    @RequestCaseSource(value = "data/request-cases.csv", numLinesToSkip = 1, sample = 5)
+    @DisplayName("Sampled CSV request cases return their expected status")
+    public void testSampledCsvRequestCases(RequestCase requestCase) {
+        Response response = requestCase.send();
+        
+        ResponseValidator.validateStatusCode(response, requestCase.getExpectedStatus());
+    }
+}
@@ -0,0 +1,74 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.utilities.ReferentialIntegrityChecker;
+import com.api.utilities.ReferentialIntegrityChecker.IntegrityReport;
+import com.api.utilities.ReferentialIntegrityChecker.Relation;
+import com.api.utilities.ReferentialIntegrityChecker.RelationReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for cross-resource referential integrity.
+ * <p>
+ * This class pulls all six collections once and verifies that every foreign key
+ * (comments.postId, photos.albumId, albums.userId, posts.userId, todos.userId)
+ * references an existing parent, that primary keys are unique and that every parent
+ * owns at least one child.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Data Integrity Tests")
+public class DataIntegrityApiTest extends BaseTest {
+    
+    /**
+     * Integrity report computed once for all tests in this class.
+     */
+    private IntegrityReport report;
+    
+    /**
+     * Fetches all collections and computes the integrity report.
+     */
+    @BeforeAll
+    public void checkIntegrity() {
+        report = ReferentialIntegrityChecker.check();
+        logger.info("{}", report);
+    }
+    
+    /**
+     * Tests that no child row references a missing parent.
+     */
+    @Test
+    @DisplayName("All foreign keys reference existing parents")
+    public void testNoOrphans() {
+        Assertions.assertEquals(0, report.getTotalOrphans(), "Orphan rows found:\n" + report);
+    }
+    
+    /**
+     * Tests that no resource contains the same id twice.
+     */
+    @Test
+    @DisplayName("Primary keys are unique in every resource")
+    public void testNoDuplicateIds() {
+        Assertions.assertEquals(0, report.getTotalDuplicateIds(), "Duplicate ids found:\n" + report);
+    }
+    
+    /**
+     * Tests that every user owns posts, albums and todos, every post has comments
+     * and every album has photos.
+     */
+    @Test
+    @DisplayName("Every parent has at least one child")
+    public void testEveryParentHasChildren() {
+        for (Relation relation : Relation.values()) {
+            RelationReport relationReport = report.getRelation(relation);
+            Assertions.assertEquals(0, relationReport.getParentsWithoutChildren(),
+                    "Parents without children for " + relationReport);
+        }
+    }
+}
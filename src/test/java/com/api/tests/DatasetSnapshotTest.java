@@ -0,0 +1,76 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.snapshot.DatasetSnapshot;
+import com.api.snapshot.DatasetSnapshotWriter;
+import com.api.snapshot.SnapshotDiff;
+import com.api.utilities.ApiResource;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.IntColumns;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Test class for dataset snapshots.
+ * <p>
+ * This class captures all six resources into a columnar snapshot file under
+ * {@code snapshot.dir}, reopens it through the memory-mapped reader and verifies that
+ * it round-trips the downloaded data. When {@code snapshot.baseline} points to a snapshot
+ * from a previous run, the two snapshots are diffed and the report is attached to Allure.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Dataset Snapshot Tests")
+public class DatasetSnapshotTest extends BaseTest {
+    
+    /**
+     * Tests that a captured snapshot reloads with the same rows and ids as the API.
+     * <p>
+     * Validates that:
+     * <ul>
+     *   <li>Every resource is present in the snapshot</li>
+     *   <li>Row counts match the collection sizes returned by the API</li>
+     *   <li>The id column round-trips for every row</li>
+     * </ul>
+     * </p>
+     *
+     * @throws IOException if the snapshot cannot be written or read
+     */
+    @Test
+    @DisplayName("Snapshot of all resources round-trips through the mapped reader")
+    public void testSnapshotRoundTrip() throws IOException {
+        Path file = Paths.get(ConfigManager.getSnapshotDir(), "snapshot-" + System.currentTimeMillis() + ".snap");
+        DatasetSnapshotWriter.capture(file);
+        logger.info("Wrote dataset snapshot {} ({} bytes)", file, Files.size(file));
+        
+        DatasetSnapshot snapshot = DatasetSnapshot.open(file);
+        for (ApiResource resource : ApiResource.values()) {
+            String name = resource.getPath().substring(1);
+            int[] ids = IntColumns.read(resource.fetchCollection(), "id")[0];
+            DatasetSnapshot.Table table = snapshot.table(name);
+            
+            Assertions.assertEquals(ids.length, table.getRowCount(), "Row count of " + name);
+            DatasetSnapshot.Column idColumn = table.column("id");
+            for (int row = 0; row < ids.length; row++) {
+                Assertions.assertEquals(ids[row], idColumn.getInt(row), "id of row " + row + " in " + name);
+            }
+        }
+        
+        String baseline = ConfigManager.getSnapshotBaseline();
+        if (!baseline.isEmpty()) {
+            SnapshotDiff.DiffReport report = SnapshotDiff.compare(DatasetSnapshot.open(Paths.get(baseline)), snapshot);
+            logger.info("{}", report);
+            Allure.addAttachment("Snapshot diff", "text/plain", report.toString());
+        }
+    }
+}
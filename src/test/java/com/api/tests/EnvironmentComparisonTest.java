@@ -0,0 +1,142 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.comparison.EnvironmentComparison;
+import com.api.comparison.EnvironmentComparison.ComparisonReport;
+import com.api.comparison.EnvironmentComparison.EndpointComparison;
+import com.api.comparison.EnvironmentComparison.Environment;
+import com.api.comparison.JsonStructureDiff;
+import com.api.listeners.CoalesceRequests;
+import com.api.synthetic.SyntheticApiServer;
+import com.api.synthetic.SyntheticDataset;
+import com.api.utilities.ApiResource;
+import com.api.utilities.ConfigManager;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for concurrent comparisons of environments.
+ * <p>
+ * Three synthetic APIs stand in for a reference environment, an identical copy and a
+ * canary with another seed and more posts. A fourth stand-in serves posts whose structure
+ * changed. When {@code compare.environments} is set, the configured environments are
+ * compared as well, e.g.
+ * {@code mvn test -Dtest=EnvironmentComparisonTest -Dcompare.environments=production=https://...,canary=https://...}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Environment Comparison Tests")
+@CoalesceRequests(false)
+public class EnvironmentComparisonTest extends BaseTest {
+    
+    private static final int SAMPLES = 10;
+    private static final int CANARY_POSTS = 150;
+    private static final List<String> PATHS = List.of("/posts", "/posts/1", "/users/1");
+    
+    private SyntheticApiServer reference;
+    private SyntheticApiServer copy;
+    private SyntheticApiServer canary;
+    private HttpServer changed;
+    
+    @BeforeAll
+    public void startEnvironments() throws IOException {
+        reference = SyntheticApiServer.start(SyntheticDataset.scaled(7, 1));
+        copy = SyntheticApiServer.start(SyntheticDataset.scaled(7, 1));
+        canary = SyntheticApiServer.start(SyntheticDataset.scaled(8, 1).withCount(ApiResource.POSTS, CANARY_POSTS));
+        byte[] posts = ("[{\"userId\": 1, \"id\": \"1\", \"title\": \"a\", \"content\": \"b\"},"
+                + " {\"userId\": 1, \"id\": \"2\", \"title\": \"c\", \"content\": \"d\"}]").getBytes(StandardCharsets.UTF_8);
+        changed = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        changed.createContext("/posts", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, posts.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(posts);
+            }
+        });
+        changed.start();
+    }
+    
+    @AfterAll
+    public void stopEnvironments() {
+        reference.close();
+        copy.close();
+        canary.close();
+        changed.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Every environment gets the same requests and is diffed against the reference")
+    public void testCompareEnvironments() {
+        List<Environment> environments = Environment.parseAll("reference=" + reference.getBaseUrl()
+                + ", copy=" + copy.getBaseUrl() + ",canary=" + canary.getBaseUrl());
+        Assertions.assertEquals(List.of("reference", "copy", "canary"),
+                environments.stream().map(Environment::getName).collect(Collectors.toList()));
+        long copyRequests = copy.getRequests();
+        long canaryRequests = canary.getRequests();
+        
+        ComparisonReport report = new EnvironmentComparison(environments, SAMPLES, 4).run(PATHS);
+        logger.info("{}", report);
+        
+        Assertions.assertEquals(SAMPLES * PATHS.size(), copy.getRequests() - copyRequests);
+        Assertions.assertEquals(SAMPLES * PATHS.size(), canary.getRequests() - canaryRequests);
+        for (EndpointComparison endpoint : report.getEndpoints()) {
+            endpoint.getStats().forEach((environment, stats) -> {
+                Assertions.assertEquals(Map.of(200, SAMPLES), stats.getStatuses(), environment + " " + endpoint.getPath());
+                Assertions.assertEquals(SAMPLES, stats.getMillis().length);
+            });
+            Assertions.assertTrue(endpoint.getDiffs().get("copy").isEmpty(), endpoint.getPath() + " of the copy");
+            Assertions.assertFalse(endpoint.getDiffs().get("canary").isEmpty(), endpoint.getPath() + " of the canary");
+        }
+        JsonStructureDiff posts = report.getEndpoints().get(0).getDiffs().get("canary");
+        JsonStructureDiff.Difference size = posts.getDifferences().get(0);
+        Assertions.assertEquals(JsonStructureDiff.Kind.SIZE, size.getKind());
+        Assertions.assertEquals("$: 100 -> " + CANARY_POSTS, size.getSamples().get(0));
+        Assertions.assertFalse(report.hasStructuralDifferences(), "Another seed only changes values");
+    }
+    
+    @Test
+    @DisplayName("Structural changes are reported once per normalized path")
+    public void testStructuralDifferences() {
+        ComparisonReport report = new EnvironmentComparison(List.of(new Environment("reference", reference.getBaseUrl()),
+                new Environment("changed", "http://127.0.0.1:" + changed.getAddress().getPort())), 2, 2)
+                .run(List.of("/posts"));
+        logger.info("{}", report);
+        
+        Assertions.assertTrue(report.hasStructuralDifferences());
+        Map<String, Integer> counts = report.getEndpoints().get(0).getDiffs().get("changed").getDifferences().stream()
+                .filter(difference -> difference.getKind().isStructural())
+                .collect(Collectors.toMap(difference -> difference.getKind() + " " + difference.getPath(),
+                        JsonStructureDiff.Difference::getCount));
+        Assertions.assertEquals(Map.of("TYPE $[].id", 2, "MISSING $[].body", 2, "EXTRA $[].content", 2), counts);
+    }
+    
+    @Test
+    @DisplayName("Configured environments return responses of the same structure")
+    public void testConfiguredEnvironments() throws IOException {
+        Assumptions.assumeFalse(ConfigManager.getCompareEnvironments().isBlank(),
+                "No environments to compare; set compare.environments to name=baseUrl pairs");
+        ComparisonReport report = EnvironmentComparison.fromConfig().run(ConfigManager.getComparePaths());
+        report.write(Paths.get(ConfigManager.getCompareReportFile()));
+        logger.info("{}", report);
+        Assertions.assertFalse(report.hasStructuralDifferences(),
+                "Responses differ in structure, see " + ConfigManager.getCompareReportFile());
+    }
+}
@@ -0,0 +1,139 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.faults.FaultInjectionProxy;
+import com.api.faults.FaultRule;
+import com.api.faults.LatencyDistribution;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline tests of the fault injection proxy.
+ * <p>
+ * A local stand-in server plays the API, so these tests run without network access.
+ * Each route of the proxy injects a different fault.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Fault Injection Tests")
+public class FaultInjectionTest extends BaseTest {
+    
+    private static final int PHOTOS_BODY_BYTES = 20_000;
+    
+    private HttpServer standIn;
+    private FaultInjectionProxy proxy;
+    
+    @BeforeAll
+    public void startProxy() throws IOException {
+        standIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        standIn.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = path.equals("/photos")
+                    ? ("[\"" + "x".repeat(PHOTOS_BODY_BYTES - 4) + "\"]").getBytes(StandardCharsets.UTF_8)
+                    : "{\"id\": 1, \"title\": \"Stand-in\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        standIn.start();
+        proxy = FaultInjectionProxy.start("http://127.0.0.1:" + standIn.getAddress().getPort(), 7,
+                FaultRule.route("GET", "/albums/\\d+").latency(LatencyDistribution.fixed(300)),
+                FaultRule.route("GET", "/todos").errorBursts(429, 1.0, 3),
+                FaultRule.route("GET", "/comments").resets(1.0),
+                FaultRule.route("GET", "/photos").throttle(PHOTOS_BODY_BYTES));
+    }
+    
+    @AfterAll
+    public void stopProxy() throws IOException {
+        proxy.close();
+        standIn.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Requests without a matching rule are forwarded unchanged")
+    public void testPassThrough() {
+        Response response = RequestBuilder.buildGetRequest("/posts/1").baseUri(proxy.getBaseUrl()).get("/posts/1");
+        
+        ResponseValidator.validateStatusCode(response, 200);
+        ResponseValidator.validateResponseBodyContains(response, "id", 1);
+    }
+    
+    @Test
+    @DisplayName("Latency rule delays responses")
+    public void testInjectedLatency() {
+        Response response = RequestBuilder.buildGetRequest("/albums/1").baseUri(proxy.getBaseUrl()).get("/albums/1");
+        
+        ResponseValidator.validateStatusCode(response, 200);
+        Assertions.assertTrue(response.getTimeIn(TimeUnit.MILLISECONDS) >= 300,
+                "Response should be delayed by at least 300ms but took " + response.getTimeIn(TimeUnit.MILLISECONDS) + "ms");
+    }
+    
+    @Test
+    @DisplayName("Error burst rule answers 429 with Retry-After")
+    public void testInjectedErrorBurst() {
+        for (int i = 0; i < 3; i++) {
+            Response response = RequestBuilder.buildGetRequest("/todos").baseUri(proxy.getBaseUrl()).get("/todos");
+            
+            ResponseValidator.validateStatusCode(response, 429);
+            ResponseValidator.validateHeader(response, "Retry-After", "1");
+        }
+    }
+    
+    @Test
+    @DisplayName("Reset rule breaks the connection")
+    public void testInjectedReset() {
+        Assertions.assertThrows(IOException.class,
+                () -> RequestBuilder.buildGetRequest("/comments").baseUri(proxy.getBaseUrl()).get("/comments"));
+        Assertions.assertTrue(proxy.getResets() > 0, "Proxy should have reset the connection");
+    }
+    
+    @Test
+    @DisplayName("Throttle rule limits the body bandwidth")
+    public void testThrottledBody() {
+        long start = System.nanoTime();
+        Response response = RequestBuilder.buildGetRequest("/photos").baseUri(proxy.getBaseUrl()).get("/photos");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        ResponseValidator.validateStatusCode(response, 200);
+        Assertions.assertEquals(PHOTOS_BODY_BYTES, response.asByteArray().length);
+        Assertions.assertTrue(elapsedMillis >= 900,
+                "A body of one second of bandwidth should take about a second but took " + elapsedMillis + "ms");
+    }
+    
+    @Test
+    @DisplayName("Malformed requests are answered with 400")
+    public void testMalformedRequests() throws IOException {
+        for (String request : new String[] {"GARBAGE\r\n\r\n", "GET /posts/1 HTTP/1.1\r\nNo colon\r\n\r\n",
+                "GET /posts/1 HTTP/1.1\r\nContent-Length: many\r\n\r\n"}) {
+            URI uri = URI.create(proxy.getBaseUrl());
+            try (Socket socket = new Socket(uri.getHost(), uri.getPort())) {
+                socket.getOutputStream().write(request.getBytes(StandardCharsets.ISO_8859_1));
+                String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.ISO_8859_1);
+                
+                Assertions.assertTrue(response.startsWith("HTTP/1.1 400 Bad Request\r\n"),
+                        "Proxy should reject " + request.trim() + " but answered " + response);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.utilities.IntColumns;
+import com.api.utilities.JsonPathExpression;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test class for compiled JSON path expressions.
+ * <p>
+ * Checks that {@link JsonPathExpression} returns the same values as REST Assured's GPath
+ * evaluation, both on a fixed document and on the photos collection, and compares the
+ * cost of extracting a column from the 5000 photos.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("JSON Path Assertion Tests")
+public class JsonPathAssertionTest extends BaseTest {
+    
+    private static final String USERS = """
+            [
+              {"id": 1, "name": "Leanne Graham", "active": true,
+               "address": {"city": "Gwenborough", "geo": {"lat": "-37.3159", "lng": "81.1496"}},
+               "scores": [3, 5], "rating": 4.5, "views": 3000000000},
+              {"id": 2, "name": "Ervin Howell", "active": false,
+               "address": {"city": "Wisokyburgh", "geo": {"lat": "-43.9509", "lng": "-34.4618"}},
+               "scores": [], "rating": null},
+              {"id": 3, "name": "Clementine Bauch",
+               "address": {"city": "McKenziehaven"}, "scores": [4]}
+            ]
+            """;
+    
+    @Test
+    @DisplayName("Compiled expressions return the same values as GPath")
+    public void testMatchesGPath() throws Exception {
+        JsonNode root = new ObjectMapper().readTree(USERS);
+        JsonPath gpath = JsonPath.from(USERS);
+        
+        for (String expression : List.of("$", "id", "name", "[0].name", "[-1].id", "name[1]", "address.city",
+                "address.geo.lat", "[1].address", "scores", "[0].scores[1]", "active", "rating", "[0].rating",
+                "[0].views", "[2].address.geo", "missing")) {
+            Object expected = gpath.get(expression);
+            Assertions.assertEquals(expected, JsonPathExpression.compile(expression).evaluate(root),
+                    "Compiled " + expression + " should match GPath");
+        }
+    }
+    
+    @Test
+    @DisplayName("Integer extraction from the token stream matches the tree")
+    public void testIntExtraction() throws Exception {
+        JsonNode root = new ObjectMapper().readTree(USERS);
+        byte[] json = USERS.getBytes(StandardCharsets.UTF_8);
+        
+        Assertions.assertArrayEquals(new int[] {1, 2, 3}, JsonPathExpression.compile("id").ints(json));
+        Assertions.assertArrayEquals(new int[] {3, 5, 4}, JsonPathExpression.compile("scores").ints(json));
+        Assertions.assertArrayEquals(new int[] {IntColumns.MISSING, IntColumns.MISSING, IntColumns.MISSING},
+                JsonPathExpression.compile("address.city").ints(json));
+        for (String expression : List.of("id", "scores", "address.geo.lat", "views", "[1].id", "missing")) {
+            JsonPathExpression path = JsonPathExpression.compile(expression);
+            Assertions.assertArrayEquals(path.ints(root), path.ints(json),
+                    "Streaming and tree extraction of " + expression + " should agree");
+        }
+    }
+    
+    @Test
+    @DisplayName("Expressions beyond plain paths are left to GPath")
+    public void testUnsupportedExpressions() {
+        for (String expression : List.of("findAll { it.id > 1 }.name", "size()", "address..city", ".id", "id[x]",
+                "name[0]title")) {
+            Assertions.assertTrue(JsonPathExpression.tryCompile(expression).isEmpty(),
+                    expression + " should not compile");
+        }
+        Assertions.assertSame(JsonPathExpression.compile("address.city"), JsonPathExpression.compile("address.city"),
+                "Compiled expressions should be cached");
+    }
+    
+    @Test
+    @DisplayName("GET /photos column extraction matches GPath and is cheaper")
+    public void testPhotosColumn() {
+        Response response = RequestBuilder.buildGetRequest("/photos").get("/photos");
+        ResponseValidator.validateStatusCode(response, 200);
+        byte[] body = response.asByteArray();
+        
+        long start = System.nanoTime();
+        List<Integer> expected = JsonPath.from(new String(body, StandardCharsets.UTF_8)).getList("albumId", Integer.class);
+        long gpathNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        int[] albumIds = JsonPathExpression.compile("albumId").ints(body);
+        long compiledNanos = System.nanoTime() - start;
+        
+        Assertions.assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), albumIds);
+        logger.info("albumId of {} photos: GPath {}ms, compiled {}ms", albumIds.length, gpathNanos / 1_000_000,
+                compiledNanos / 1_000_000);
+        ResponseValidator.validateResponseBodyContains(response, "[4999].id", 5000);
+        ResponseValidator.validateResponseBodyContains(response, "findAll { it.albumId == 1 }.size()", 50);
+    }
+}
@@ -0,0 +1,103 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.listeners.CoalesceRequests;
+import com.api.performance.LatencyRegressionGate;
+import com.api.performance.LatencySamples;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Latency regression gate for the main collection endpoints.
+ * <p>
+ * The gate test only runs when {@code perf.gate.samples} is set. It then sends that many
+ * requests to each endpoint in {@code perf.gate.endpoints} and records their latencies, so
+ * the run saves enough samples to {@code perf.samples.file} to serve as a later baseline.
+ * Only these requests are recorded, so runs compare the same measurements whichever other
+ * tests ran. When {@code perf.baseline}
+ * points to a previous run's samples, it fails on a statistically significant p50/p95
+ * regression, e.g.
+ * {@code mvn test -Dperf.gate.samples=30 -Dperf.baseline=baselines/latency-samples.json}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Latency Regression Tests")
+@CoalesceRequests(false)
+public class LatencyRegressionTest extends BaseTest {
+    
+    @Test
+    @DisplayName("Gated endpoints show no significant latency regression against the baseline")
+    public void testNoLatencyRegression() throws Exception {
+        int samples = ConfigManager.getPerfGateSamples();
+        Assumptions.assumeTrue(samples > 0, "Latency gate disabled; set perf.gate.samples to enable");
+        List<String> endpoints = ConfigManager.getPerfGateEndpoints();
+        for (String endpoint : endpoints) {
+            String path = endpoint.substring(endpoint.indexOf(' ') + 1);
+            for (int i = 0; i < samples; i++) {
+                long start = System.nanoTime();
+                Response response = RequestBuilder.buildGetRequest(path).get(path);
+                double millis = (System.nanoTime() - start) / 1e6;
+                ResponseValidator.validateStatusCode(response, 200);
+                LatencySamples.record(endpoint, millis);
+            }
+        }
+        
+        String baselineFile = ConfigManager.getPerfBaseline();
+        Assumptions.assumeFalse(baselineFile.isEmpty(), "No latency baseline; set perf.baseline to compare runs");
+        Map<String, double[]> baseline = LatencySamples.read(Paths.get(baselineFile));
+        Map<String, double[]> current = LatencySamples.currentRun();
+        LatencyRegressionGate gate = LatencyRegressionGate.fromConfig();
+        List<LatencyRegressionGate.Verdict> regressions = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            LatencyRegressionGate.Verdict verdict = gate.compare(endpoint,
+                    baseline.getOrDefault(endpoint, new double[0]), current.getOrDefault(endpoint, new double[0]));
+            logger.info("{}", verdict);
+            if (verdict.getOutcome() == LatencyRegressionGate.Outcome.REGRESSION) {
+                regressions.add(verdict);
+            }
+        }
+        Assertions.assertTrue(regressions.isEmpty(), "Latency regressed against " + baselineFile + ": " + regressions);
+    }
+    
+    @Test
+    @DisplayName("Gate flags a 20% slowdown but not run-to-run noise")
+    public void testGateSeparatesSlowdownFromNoise() {
+        Random random = new Random(42);
+        double[] baseline = latencies(random, 60, 100);
+        double[] rerun = latencies(random, 60, 100);
+        double[] slowdown = latencies(random, 60, 120);
+        LatencyRegressionGate gate = new LatencyRegressionGate(0.01, 0.2, 0.33);
+        
+        Assertions.assertEquals(LatencyRegressionGate.Outcome.PASS, gate.compare("GET /posts", baseline, rerun).getOutcome());
+        Assertions.assertEquals(LatencyRegressionGate.Outcome.REGRESSION,
+                gate.compare("GET /posts", baseline, slowdown).getOutcome());
+        Assertions.assertEquals(LatencyRegressionGate.Outcome.INCONCLUSIVE,
+                gate.compare("GET /posts", baseline, new double[] {500, 600}).getOutcome());
+    }
+    
+    /**
+     * Generates log-normally distributed latencies with the given median.
+     */
+    private static double[] latencies(Random random, int count, double medianMillis) {
+        double[] samples = new double[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = medianMillis * Math.exp(0.1 * random.nextGaussian());
+        }
+        return samples;
+    }
+}
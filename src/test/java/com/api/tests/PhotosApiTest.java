@@ -1,75 +1,67 @@
 package com.api.tests;
 
 import com.api.base.BaseTest;
+import com.api.utilities.ApiResource;
+import com.api.utilities.Paginator;
 import com.api.utilities.RequestBuilder;
 import com.api.utilities.ResponseValidator;
-import com.api.utilities.TestDataProvider;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.Stream;
+
 @DisplayName("Photos API Tests")
 public class PhotosApiTest extends BaseTest {
     
+    /**
+     * Tests JSON schema validation for every photo in the collection response.
+     */
     @Test
-    @DisplayName("GET /photos returns 200 and 5000 photos")
-    public void testGetAllPhotos() {
+    @DisplayName("GET /photos validates JSON schema of every element")
+    public void testPhotosCollectionJsonSchema() {
         Response response = RequestBuilder.buildGetRequest("/photos")
                 .get("/photos");
         
         ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateResponseBodySize(response, 5000);
-    }
-    
-    @Test
-    @DisplayName("GET /photos/{id} returns specific photo")
-    public void testGetPhotoById() {
-        int photoId = 1;
-        Response response = RequestBuilder.buildGetRequest("/photos/" + photoId)
-                .get("/photos/" + photoId);
-        
-        ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateResponseBodyContains(response, "id", photoId);
-    }
-    
-    @Test
-    @DisplayName("POST /photos creates new photo")
-    public void testCreatePhoto() {
-        Response response = RequestBuilder.buildPostRequest("/photos", TestDataProvider.getPhotoData())
-                .post("/photos");
-        
-        ResponseValidator.validateStatusCode(response, 201);
-    }
-    
-    @Test
-    @DisplayName("PUT /photos/{id} updates existing photo")
-    public void testUpdatePhoto() {
-        int photoId = 1;
-        
-        Response response = RequestBuilder.buildPutRequest("/photos/" + photoId, TestDataProvider.getPhotoData())
-                .put("/photos/" + photoId);
-        
-        ResponseValidator.validateStatusCode(response, 200);
+        ResponseValidator.validateJsonSchemaForEachElement(response, "photo-schema.json");
     }
     
+    /**
+     * Tests walking the photos collection page by page with prefetching.
+     * <p>
+     * The paginator fails the test on overlapping or missing pages, so the count
+     * only has to match the collection size.
+     * </p>
+     */
     @Test
-    @DisplayName("DELETE /photos/{id} deletes photo")
-    public void testDeletePhoto() {
-        int photoId = 1;
-        
-        Response response = RequestBuilder.buildDeleteRequest("/photos/" + photoId)
-                .delete("/photos/" + photoId);
+    @DisplayName("GET /photos paginated stream returns every photo")
+    public void testPaginatedPhotos() {
+        long count;
+        try (Stream<JsonNode> photos = Paginator.stream("/photos")) {
+            count = photos.count();
+        }
         
-        ResponseValidator.validateStatusCode(response, 200);
+        Assertions.assertEquals(ApiResource.PHOTOS.getExpectedSize(), count, "Paginated walk should return all photos");
     }
     
+    /**
+     * Tests that the photos collection is sent compressed.
+     * <p>
+     * The wire size has to be at most 30% of the decoded size, which gzip easily reaches
+     * for the repetitive JSON of this collection.
+     * </p>
+     */
     @Test
-    @DisplayName("GET /photos/{id} validates JSON schema")
-    public void testPhotoJsonSchema() {
-        Response response = RequestBuilder.buildGetRequest("/photos/1")
-                .get("/photos/1");
+    @DisplayName("GET /photos is transferred compressed")
+    public void testPhotosCompressed() {
+        Response response = RequestBuilder.buildGetRequest("/photos")
+                .get("/photos");
         
         ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateJsonSchema(response, "photo-schema.json");
+        ResponseValidator.validateResponseBodySize(response, ApiResource.PHOTOS.getExpectedSize());
+        ResponseValidator.validateCompressed(response, 0.3);
     }
 }
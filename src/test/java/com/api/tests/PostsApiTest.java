@@ -1,33 +1,42 @@
 package com.api.tests;
 
 import com.api.base.BaseTest;
+import com.api.utilities.Paginator;
 import com.api.utilities.RequestBuilder;
 import com.api.utilities.ResponseValidator;
-import com.api.utilities.TestDataProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
 import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 
 /**
  * Test class for Posts API endpoints.
  * <p>
- * This class contains comprehensive tests for all CRUD operations on the /posts
- * resource of the JSONPlaceholder API. It validates:
+ * This class contains the tests specific to the /posts resource of the
+ * JSONPlaceholder API. It validates:
  * <ul>
- *   <li>GET requests for retrieving posts</li>
- *   <li>POST requests for creating posts</li>
- *   <li>PUT requests for updating posts</li>
- *   <li>DELETE requests for deleting posts</li>
  *   <li>Query parameter filtering</li>
+ *   <li>Paginated access</li>
  *   <li>Nested resource access (comments)</li>
- *   <li>JSON schema validation</li>
- *   <li>Response time performance</li>
  * </ul>
+ * The CRUD, schema and response time checks shared by all resources are generated by
+ * {@link CrudMatrixTest}.
  * </p>
  *
  * @author API Test Automation Team
@@ -37,128 +46,6 @@ import static io.restassured.RestAssured.given;
 @DisplayName("Posts API Tests")
 public class PostsApiTest extends BaseTest {
     
-    /**
-     * Tests GET /posts endpoint to retrieve all posts.
-     * <p>
-     * Validates that:
-     * <ul>
-     *   <li>Response status code is 200 OK</li>
-     *   <li>Content-Type header is application/json</li>
-     * </ul>
-     * </p>
-     */
-    @Test
-    @DisplayName("GET /posts returns 200 and list of posts")
-    public void testGetAllPosts() {
-        Response response = RequestBuilder.buildGetRequest("/posts")
-                .get("/posts");
-        
-        ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateHeader(response, "Content-Type", "application/json");
-    }
-    
-    /**
-     * Tests GET /posts/{id} endpoint to retrieve a specific post by ID.
-     * <p>
-     * Validates that:
-     * <ul>
-     *   <li>Response status code is 200 OK</li>
-     *   <li>Returned post ID matches the requested ID</li>
-     * </ul>
-     * </p>
-     */
-    @Test
-    @DisplayName("GET /posts/{id} returns specific post")
-    public void testGetPostById() {
-        int postId = 1;
-        Response response = RequestBuilder.buildGetRequest("/posts/" + postId)
-                .get("/posts/" + postId);
-        
-        ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateResponseBodyContains(response, "id", postId);
-    }
-    
-    /**
-     * Tests POST /posts endpoint to create a new post.
-     * <p>
-     * Validates that:
-     * <ul>
-     *   <li>Response status code is 201 Created</li>
-     *   <li>Response contains an assigned ID for the new post</li>
-     * </ul>
-     * </p>
-     * <p>
-     * Note: JSONPlaceholder is a fake API, so the post is not actually created
-     * but the API simulates the creation and returns ID 101.
-     * </p>
-     */
-    @Test
-    @DisplayName("POST /posts creates new post")
-    public void testCreatePost() {
-        Map<String, Object> postData = TestDataProvider.getPostData();
-        
-        Response response = RequestBuilder.buildPostRequest("/posts", postData)
-                .post("/posts");
-        
-        ResponseValidator.validateStatusCode(response, 201);
-        
-        // Verify response contains an ID (JSONPlaceholder returns id: 101 for new posts)
-        Integer id = response.jsonPath().get("id");
-        org.junit.jupiter.api.Assertions.assertNotNull(id, "Response should contain an id");
-    }
-    
-    /**
-     * Tests PUT /posts/{id} endpoint to update an existing post.
-     * <p>
-     * Validates that:
-     * <ul>
-     *   <li>Response status code is 200 OK</li>
-     *   <li>Response contains the updated post with correct ID</li>
-     * </ul>
-     * </p>
-     * <p>
-     * Note: JSONPlaceholder is a fake API, so the post is not actually updated
-     * but the API simulates the update and returns the modified data.
-     * </p>
-     */
-    @Test
-    @DisplayName("PUT /posts/{id} updates existing post")
-    public void testUpdatePost() {
-        int postId = 1;
-        Map<String, Object> postData = TestDataProvider.getPostData();
-        postData.put("id", postId);
-        
-        Response response = RequestBuilder.buildPutRequest("/posts/" + postId, postData)
-                .put("/posts/" + postId);
-        
-        ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateResponseBodyContains(response, "id", postId);
-    }
-    
-    /**
-     * Tests DELETE /posts/{id} endpoint to delete a post.
-     * <p>
-     * Validates that:
-     * <ul>
-     *   <li>Response status code is 200 OK</li>
-     * </ul>
-     * </p>
-     * <p>
-     * Note: JSONPlaceholder is a fake API, so the post is not actually deleted
-     * but the API simulates the deletion.
-     * </p>
-     */
-    @Test
-    @DisplayName("DELETE /posts/{id} deletes post")
-    public void testDeletePost() {
-        int postId = 1;
-        
-        Response response = RequestBuilder.buildDeleteRequest("/posts/" + postId)
-                .delete("/posts/" + postId);
-        
-        ResponseValidator.validateStatusCode(response, 200);
-    }
-    
     /**
      * Tests GET /posts with query parameters to filter posts by userId.
      * <p>
@@ -181,10 +68,7 @@ public class PostsApiTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 200);
         
         // Verify all returned posts have userId = 1
-        response.jsonPath().getList("userId", Integer.class).forEach(userId -> {
-            org.junit.jupiter.api.Assertions.assertEquals(1, userId, 
-                    "All posts should have userId = 1");
-        });
+        ResponseValidator.validateEachValueEquals(response, "userId", 1);
     }
     
     /**
@@ -208,50 +92,80 @@ public class PostsApiTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 200);
         
         // Verify all comments belong to the specified post
-        response.jsonPath().getList("postId", Integer.class).forEach(returnedPostId -> {
-            org.junit.jupiter.api.Assertions.assertEquals(postId, returnedPostId,
-                    "All comments should belong to post " + postId);
-        });
+        ResponseValidator.validateEachValueEquals(response, "postId", postId);
     }
     
     /**
-     * Tests JSON schema validation for a post response.
+     * Tests walking /posts with both pagination styles.
      * <p>
      * Validates that:
      * <ul>
-     *   <li>Response status code is 200 OK</li>
-     *   <li>Response structure matches the defined post-schema.json</li>
-     *   <li>All required fields are present with correct data types</li>
+     *   <li>Pages fetched with {@code _page}/{@code _limit} and {@code _start}/{@code _end}
+     *       have no gaps, duplicates or overlapping boundaries</li>
+     *   <li>The paginated walk returns exactly the ids of the unpaginated collection</li>
      * </ul>
      * </p>
      */
     @Test
-    @DisplayName("GET /posts/{id} validates JSON schema")
-    public void testPostJsonSchema() {
-        Response response = RequestBuilder.buildGetRequest("/posts/1")
-                .get("/posts/1");
-        
-        ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateJsonSchema(response, "post-schema.json");
+    @DisplayName("GET /posts paginated walk returns every post exactly once")
+    public void testPaginatedPosts() {
+        List<Integer> expectedIds = RequestBuilder.buildGetRequest("/posts")
+                .get("/posts")
+                .jsonPath().getList("id", Integer.class);
+        
+        for (Paginator.PageMode mode : Paginator.PageMode.values()) {
+            try (Stream<JsonNode> posts = Paginator.stream("/posts", mode, 7, 4)) {
+                List<Integer> ids = posts.map(post -> post.get("id").intValue()).collect(Collectors.toList());
+                Assertions.assertEquals(expectedIds, ids,
+                        "Paginated walk with " + mode + " should return every post exactly once");
+            }
+        }
     }
     
     /**
-     * Tests response time performance for the posts endpoint.
+     * Tests paginated walks of a stand-in server that sends no {@code X-Total-Count} header.
      * <p>
-     * Validates that:
-     * <ul>
-     *   <li>Response status code is 200 OK</li>
-     *   <li>Response time is under 5000ms (5 seconds)</li>
-     * </ul>
+     * Validates that the walk ends at the first short page, including an empty page after
+     * a collection that fills its last page, without reporting a gap.
      * </p>
      */
     @Test
-    @DisplayName("GET /posts validates response time")
-    public void testResponseTime() {
-        Response response = RequestBuilder.buildGetRequest("/posts")
-                .get("/posts");
-        
-        ResponseValidator.validateStatusCode(response, 200);
-        ResponseValidator.validateResponseTime(response, 5000);
+    @DisplayName("Paginated walk without X-Total-Count ends at the first short page")
+    public void testPaginatedWithoutTotalCount() throws IOException {
+        HttpServer standIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        standIn.createContext("/", exchange -> {
+            int size = Integer.parseInt(exchange.getRequestURI().getPath().substring(1));
+            Map<String, String> query = new HashMap<>();
+            for (String parameter : exchange.getRequestURI().getQuery().split("&")) {
+                query.put(parameter.substring(0, parameter.indexOf('=')),
+                        parameter.substring(parameter.indexOf('=') + 1));
+            }
+            int start = query.containsKey("_page")
+                    ? (Integer.parseInt(query.get("_page")) - 1) * Integer.parseInt(query.get("_limit"))
+                    : Integer.parseInt(query.get("_start"));
+            int end = query.containsKey("_page") ? start + Integer.parseInt(query.get("_limit"))
+                    : Integer.parseInt(query.get("_end"));
+            byte[] body = IntStream.rangeClosed(start + 1, Math.min(end, size)).mapToObj(id -> "{\"id\": " + id + "}")
+                    .collect(Collectors.joining(",", "[", "]")).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        standIn.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + standIn.getAddress().getPort();
+            for (int size : new int[] {23, 21, 0}) {
+                for (Paginator.PageMode mode : Paginator.PageMode.values()) {
+                    try (Stream<JsonNode> elements = Paginator.stream(baseUrl + "/" + size, mode, 7, 4)) {
+                        Assertions.assertEquals(size, elements.count(),
+                                "Paginated walk of " + size + " elements with " + mode + " should return all of them");
+                    }
+                }
+            }
+        } finally {
+            standIn.stop(0);
+        }
     }
 }
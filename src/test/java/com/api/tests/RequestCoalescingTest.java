@@ -0,0 +1,191 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.filters.CoalescingFilter;
+import com.api.filters.RequestPhases;
+import com.api.filters.RequestTimeoutException;
+import com.api.listeners.CoalesceRequests;
+import com.api.metrics.RunMetrics;
+import com.api.utilities.Deadline;
+import com.api.utilities.RequestBuilder;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Test class for the coalescing of identical GET requests in flight.
+ * <p>
+ * A local stand-in counts the requests it receives and waits {@value #SERVER_MILLIS}ms before
+ * it answers, so that requests sent at the same time are all in flight together.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Request Coalescing Tests")
+@CoalesceRequests
+public class RequestCoalescingTest extends BaseTest {
+    
+    private static final long SERVER_MILLIS = 500;
+    private static final int CALLERS = 4;
+    
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+    
+    @BeforeAll
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/posts", exchange -> {
+            int number = requests.incrementAndGet();
+            try {
+                Thread.sleep(SERVER_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"id\": 1, \"response\": " + number + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    @AfterAll
+    public void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+    
+    @BeforeEach
+    public void resetCount() {
+        requests.set(0);
+    }
+    
+    @Test
+    @DisplayName("Identical GETs in flight share one call and each get their own response")
+    public void testCoalesced() throws Exception {
+        double coalescedBefore = RunMetrics.COALESCED_REQUESTS.get("GET", "/posts/{id}");
+        List<Response> responses = sendConcurrently(caller -> RequestBuilder.buildGetRequest("/posts/1")
+                .baseUri(baseUrl).get("/posts/1"));
+        
+        Assertions.assertEquals(1, requests.get(), "Requests received by the server");
+        Assertions.assertEquals(CALLERS - 1, RunMetrics.COALESCED_REQUESTS.get("GET", "/posts/{id}") - coalescedBefore);
+        for (Response response : responses) {
+            Assertions.assertEquals(200, response.getStatusCode());
+            Assertions.assertEquals(1, response.jsonPath().getInt("response"));
+            Assertions.assertEquals("application/json", response.getHeader("Content-Type"));
+        }
+        Assertions.assertNotSame(responses.get(0).asByteArray(), responses.get(1).asByteArray());
+        for (Response response : responses) {
+            if (CoalescingFilter.isCoalesced(response)) {
+                Assertions.assertNull(RequestPhases.of(response), "Waiting requests have no phases of their own");
+                Assertions.assertTrue(response.getTime() >= 0, "Waiting requests report the time they waited");
+            } else {
+                Assertions.assertNotNull(RequestPhases.of(response), "The leader keeps its phases");
+            }
+        }
+        Assertions.assertEquals(CALLERS - 1, responses.stream().filter(CoalescingFilter::isCoalesced).count());
+    }
+    
+    @Test
+    @DisplayName("Requests waiting for a leader that runs out of time send their own")
+    public void testLeaderTimeout() throws Exception {
+        List<Response> responses = sendConcurrently(caller -> {
+            if (caller == 0) {
+                Deadline.setCurrent(Deadline.after(Duration.ofMillis(SERVER_MILLIS / 2), "leader budget"));
+                try {
+                    Assertions.assertThrows(RequestTimeoutException.class,
+                            () -> RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl).get("/posts/1"));
+                } finally {
+                    Deadline.setCurrent(null);
+                }
+                return null;
+            }
+            try {
+                // The leader goes first
+                Thread.sleep(SERVER_MILLIS / 5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl).get("/posts/1");
+        });
+        
+        Assertions.assertEquals(CALLERS, requests.get(), "Requests received by the server");
+        for (Response response : responses.subList(1, CALLERS)) {
+            Assertions.assertEquals(200, response.getStatusCode());
+            Assertions.assertFalse(CoalescingFilter.isCoalesced(response));
+        }
+    }
+    
+    @Test
+    @DisplayName("Requests with different headers are sent separately")
+    public void testDifferentHeaders() throws Exception {
+        sendConcurrently(caller -> RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl)
+                .header("X-Caller", String.valueOf(caller % 2)).get("/posts/1"));
+        
+        Assertions.assertEquals(2, requests.get(), "Requests received by the server");
+    }
+    
+    @Test
+    @CoalesceRequests(false)
+    @DisplayName("Tests can turn coalescing off")
+    public void testDisabled() throws Exception {
+        sendConcurrently(caller -> RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl).get("/posts/1"));
+        
+        Assertions.assertEquals(CALLERS, requests.get(), "Requests received by the server");
+    }
+    
+    /**
+     * Sends a request from each caller thread at the same time.
+     */
+    private List<Response> sendConcurrently(IntFunction<Response> request) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                int caller = i;
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return request.apply(caller);
+                }));
+            }
+            start.countDown();
+            List<Response> responses = new ArrayList<>();
+            for (Future<Response> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
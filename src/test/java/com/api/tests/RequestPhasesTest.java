@@ -0,0 +1,148 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.base.WarmUp;
+import com.api.filters.Http2TransportFilter;
+import com.api.filters.RequestPhases;
+import com.api.filters.RequestPhases.Phase;
+import com.api.listeners.CoalesceRequests;
+import com.api.metrics.RunMetrics;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the per-phase request timings and the warm-up.
+ * <p>
+ * A local stand-in waits {@value #SERVER_MILLIS}ms before it sends the response headers and
+ * another {@value #TRANSFER_MILLIS}ms between the two halves of the body, so the server time
+ * has to show up as time to first byte and the pause as body transfer. The transfer is
+ * timed from when the client saw the headers, which may be a little after they were sent.
+ * </p>
+ * <p>
+ * The warm-up test sets {@code warmup.*} system properties read by the set-up of every
+ * class, so the class is {@link Isolated}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Request Phase Tests")
+@Isolated
+@CoalesceRequests(false)
+public class RequestPhasesTest extends BaseTest {
+    
+    private static final long SERVER_MILLIS = 300;
+    private static final long TRANSFER_MILLIS = 200;
+    
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+    
+    @BeforeAll
+    public void startServer() throws IOException {
+        byte[] half = "{\"id\": 1, \"title\": \"slow\"}".getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/slow", exchange -> {
+            requests.incrementAndGet();
+            sleep(SERVER_MILLIS);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, half.length * 2L);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(half);
+                out.flush();
+                sleep(TRANSFER_MILLIS);
+                out.write(half);
+            }
+        });
+        server.start();
+        // The host name is resolved, unlike the loopback address the server listens on
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+    
+    @AfterAll
+    public void stopServer() {
+        server.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Server time and body transfer are told apart from connection setup")
+    public void testPhases() {
+        long observationsBefore = RunMetrics.REQUEST_PHASE_DURATION.count("GET", "/slow", "first_byte");
+        Response response = RequestBuilder.buildGetRequest("/slow").baseUri(baseUrl).get("/slow");
+        
+        RequestPhases phases = RequestPhases.of(response);
+        logger.info("Phases of GET /slow: {}", phases);
+        Assertions.assertNotNull(phases);
+        Assertions.assertTrue(phases.isNewConnection(), "REST Assured opens a connection per request");
+        Assertions.assertTrue(phases.isMeasured(Phase.DNS) && phases.isMeasured(Phase.CONNECT), phases.toString());
+        Assertions.assertEquals(0, phases.getNanos(Phase.TLS), "Plain HTTP has no handshake");
+        Assertions.assertTrue(phases.getMillis(Phase.FIRST_BYTE) >= SERVER_MILLIS, phases.toString());
+        Assertions.assertTrue(phases.getMillis(Phase.TRANSFER) >= TRANSFER_MILLIS * 0.9, phases.toString());
+        Assertions.assertTrue(phases.getMillis(Phase.CONNECT) < SERVER_MILLIS, phases.toString());
+        Assertions.assertTrue(phases.getTotalNanos() >= phases.getNanos(Phase.FIRST_BYTE)
+                + phases.getNanos(Phase.TRANSFER));
+        Assertions.assertEquals(observationsBefore + 1,
+                RunMetrics.REQUEST_PHASE_DURATION.count("GET", "/slow", "first_byte"));
+        
+        ResponseValidator.validatePhaseTime(response, Phase.FIRST_BYTE, 10_000);
+        AssertionError slow = Assertions.assertThrows(AssertionError.class,
+                () -> ResponseValidator.validatePhaseTime(response, Phase.FIRST_BYTE, SERVER_MILLIS / 2));
+        Assertions.assertTrue(slow.getMessage().contains("first byte"), slow.getMessage());
+    }
+    
+    @Test
+    @DisplayName("The HTTP/2 transport reports time to first byte without connection setup")
+    public void testHttp2Phases() {
+        Response response = RequestBuilder.buildGetRequest("/slow").baseUri(baseUrl)
+                .filter(new Http2TransportFilter(Http2TransportFilter.newClient())).get("/slow");
+        
+        RequestPhases phases = RequestPhases.of(response);
+        logger.info("Phases of GET /slow over the HTTP/2 transport: {}", phases);
+        Assertions.assertFalse(phases.isMeasured(Phase.DNS));
+        Assertions.assertFalse(phases.isMeasured(Phase.TLS));
+        Assertions.assertTrue(phases.getMillis(Phase.FIRST_BYTE) >= SERVER_MILLIS, phases.toString());
+        Assertions.assertTrue(phases.getMillis(Phase.TRANSFER) >= TRANSFER_MILLIS * 0.9, phases.toString());
+        Assertions.assertThrows(AssertionError.class,
+                () -> ResponseValidator.validatePhaseTime(response, Phase.CONNECT, 10_000));
+    }
+    
+    @Test
+    @DisplayName("Warm-up requests are sent once per base URL")
+    public void testWarmUp() {
+        System.setProperty("warmup.requests", "2");
+        System.setProperty("warmup.paths", "/slow");
+        try {
+            int before = requests.get();
+            Assertions.assertEquals(2, WarmUp.ensureWarm(baseUrl));
+            Assertions.assertEquals(0, WarmUp.ensureWarm(baseUrl), "A base URL is warmed up once");
+            Assertions.assertEquals(before + 2, requests.get());
+        } finally {
+            System.clearProperty("warmup.requests");
+            System.clearProperty("warmup.paths");
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
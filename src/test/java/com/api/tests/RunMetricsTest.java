@@ -0,0 +1,79 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.metrics.MetricsRegistry;
+import com.api.metrics.RunMetrics;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the run metrics recorded by the framework.
+ * <p>
+ * The checks read a {@link MetricsRegistry.Scope} opened by the test, so requests sent at
+ * the same time by other tests, e.g. in the test runner daemon or by the CRUD matrix, do
+ * not change the counts.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Run Metrics Tests")
+public class RunMetricsTest extends BaseTest {
+    
+    /**
+     * Tests that a request is counted under its normalized endpoint and status, adds a
+     * latency observation and shows up in the scrape.
+     */
+    @Test
+    @DisplayName("GET /posts/{id} is recorded in run metrics")
+    public void testRequestMetrics() {
+        Response response;
+        try (MetricsRegistry.Scope scope = MetricsRegistry.openScope()) {
+            response = RequestBuilder.buildGetRequest("/posts/1")
+                    .get("/posts/1");
+            
+            Assertions.assertEquals(1, scope.counter(RunMetrics.REQUESTS).get("GET", "/posts/{id}", "200"),
+                    "Request should be counted under its normalized endpoint");
+            Assertions.assertEquals(1, scope.histogram(RunMetrics.REQUEST_DURATION).count("GET", "/posts/{id}"),
+                    "Request latency should be observed");
+            Assertions.assertTrue(scope.scrape()
+                            .contains("api_requests_total{method=\"GET\",endpoint=\"/posts/{id}\",status=\"200\"} 1\n"),
+                    "Scope scrape should expose the request counter");
+        }
+        ResponseValidator.validateStatusCode(response, 200);
+        Assertions.assertTrue(MetricsRegistry.scrape()
+                        .contains("api_requests_total{method=\"GET\",endpoint=\"/posts/{id}\",status=\"200\"}"),
+                "Scrape should expose the request counter");
+    }
+    
+    /**
+     * Tests that a scope only receives the recordings of its own thread, while the
+     * registry receives all of them.
+     */
+    @Test
+    @DisplayName("Scopes keep out recordings of other threads")
+    public void testScopeIsolation() throws InterruptedException {
+        MetricsRegistry.Counter counter = MetricsRegistry.counter("api_test_scope_recordings",
+                "Recordings of the run metrics test", "thread");
+        double before = counter.get("other");
+        try (MetricsRegistry.Scope outer = MetricsRegistry.openScope()) {
+            try (MetricsRegistry.Scope inner = MetricsRegistry.openScope()) {
+                counter.inc("test");
+                Thread other = new Thread(() -> counter.inc("other"));
+                other.start();
+                other.join();
+                
+                Assertions.assertEquals(1, inner.counter(counter).get("test"));
+                Assertions.assertEquals(0, inner.counter(counter).get("other"));
+            }
+            counter.inc("test");
+            Assertions.assertEquals(2, outer.counter(counter).get("test"), "Outer scope sees nested recordings");
+        }
+        Assertions.assertEquals(before + 1, counter.get("other"));
+    }
+}
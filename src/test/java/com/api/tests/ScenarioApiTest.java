@@ -0,0 +1,98 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.scenario.Scenario;
+import com.api.scenario.ScenarioRunner;
+import com.api.scenario.Step;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.api.utilities.TestDataProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Test class for multi-step user journeys.
+ * <p>
+ * Journeys chain requests across resources and pass data between them, running many
+ * journeys concurrently. Journey size is configured with {@code scenario.journeys},
+ * {@code scenario.concurrency} and {@code scenario.think.time.millis}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Scenario API Tests")
+public class ScenarioApiTest extends BaseTest {
+    
+    /**
+     * Tests the journey of commenting on a new post.
+     * <p>
+     * Each journey creates a post, then adds a comment referencing the new post's id while
+     * fetching the post's comments, and finally deletes the post. Validates that no journey
+     * fails and that every step ran in every journey.
+     * </p>
+     */
+    @Test
+    @DisplayName("Concurrent create post, comment, fetch comments and delete journeys succeed")
+    public void testCommentOnNewPostJourney() {
+        Duration thinkTime = Duration.ofMillis(ConfigManager.getScenarioThinkTimeMillis());
+        Scenario scenario = Scenario.named("Comment on a new post")
+                .step(Step.request("createPost", ctx -> RequestBuilder
+                                .buildPostRequest("/posts", TestDataProvider.getPostData()).post("/posts"))
+                        .then((ctx, response) -> {
+                            ResponseValidator.validateStatusCode(response, 201);
+                            ctx.put("postId", response.jsonPath().getInt("id"));
+                        }))
+                .step(Step.request("addComment", ctx -> {
+                            Map<String, Object> comment = TestDataProvider.getCommentData();
+                            comment.put("postId", ctx.getInt("postId"));
+                            return RequestBuilder.buildPostRequest("/comments", comment).post("/comments");
+                        })
+                        .after("createPost")
+                        .thinkTime(thinkTime)
+                        .then((ctx, response) -> {
+                            ResponseValidator.validateStatusCode(response, 201);
+                            ResponseValidator.validateResponseBodyContains(response, "postId", ctx.getInt("postId"));
+                        }))
+                .step(Step.request("fetchComments", ctx -> {
+                            String path = "/posts/" + ctx.getInt("postId") + "/comments";
+                            return RequestBuilder.buildGetRequest(path).get(path);
+                        })
+                        .after("createPost")
+                        .thinkTime(thinkTime)
+                        .then((ctx, response) -> ResponseValidator.validateStatusCode(response, 200)))
+                .step(Step.request("deletePost", ctx -> {
+                            String path = "/posts/" + ctx.getInt("postId");
+                            return RequestBuilder.buildDeleteRequest(path).delete(path);
+                        })
+                        .after("addComment", "fetchComments")
+                        .then((ctx, response) -> ResponseValidator.validateStatusCode(response, 200)));
+        
+        int journeys = ConfigManager.getScenarioJourneys();
+        ScenarioRunner.ScenarioReport report = new ScenarioRunner(ConfigManager.getScenarioConcurrency())
+                .run(scenario, journeys);
+        logger.info("{}", report);
+        
+        Assertions.assertEquals(0, report.getFailedJourneys(), "Journeys failed: " + report.getFailures());
+        report.getSteps().forEach((step, stats) -> Assertions.assertEquals(journeys, stats.getExecuted(),
+                "Step " + step + " should run once per journey"));
+    }
+    
+    /**
+     * Tests that a scenario rejects steps depending on undeclared steps.
+     */
+    @Test
+    @DisplayName("Scenario rejects a step depending on an undeclared step")
+    public void testScenarioRejectsUndeclaredDependency() {
+        Scenario scenario = Scenario.named("Invalid");
+        Step step = Step.request("addComment", ctx -> null).after("createPost");
+        
+        Assertions.assertThrows(IllegalArgumentException.class, () -> scenario.step(step));
+    }
+}
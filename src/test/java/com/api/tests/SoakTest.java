@@ -0,0 +1,56 @@
+package com.api.tests;
+
+import com.api.filters.TransferStats;
+import com.api.monitoring.JvmHealthMonitor;
+import com.api.monitoring.SoakRunner;
+import com.api.utilities.ConfigManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Endurance test repeating the resource test classes while monitoring JVM health.
+ * <p>
+ * This test only runs when {@code soak.duration.minutes} is set, e.g. with
+ * {@code mvn test -Psoak} or {@code mvn test -Dtest=SoakTest -Dsoak.duration.minutes=240}.
+ * It does not extend {@code BaseTest}: each iteration launches the resource test classes,
+ * which set up REST Assured themselves. Health samples are written to
+ * {@code <soak.dir>/jvm-health.csv}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Soak Test")
+public class SoakTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SoakTest.class);
+    
+    @Test
+    @DisplayName("Resource tests run repeatedly without failures or resource growth")
+    public void testSoak() throws Exception {
+        long minutes = ConfigManager.getSoakDurationMinutes();
+        Assumptions.assumeTrue(minutes > 0, "Soak run disabled; set soak.duration.minutes to enable");
+        
+        JvmHealthMonitor monitor = new JvmHealthMonitor(
+                Duration.ofSeconds(ConfigManager.getHealthSampleIntervalSeconds()),
+                ConfigManager.getHealthTrendWindow(), ConfigManager.getHealthGrowthThreshold())
+                .registerGauge("responses.tracked", TransferStats::trackedResponses);
+        monitor.start(Paths.get(ConfigManager.getSoakDir(), "jvm-health.csv"));
+        
+        SoakRunner.SoakReport report = new SoakRunner(ConfigManager.getSoakTests(), Duration.ofMinutes(minutes),
+                ConfigManager.getSoakRunsPerMinute(), monitor).run();
+        logger.info("{}", report);
+        
+        Assertions.assertEquals(0, report.getTestsFailed(), "Soak run had failures: " + report.getFailures());
+        Assertions.assertTrue(report.getGrowthTrends().isEmpty(),
+                "Soak run shows resource growth: " + report.getGrowthTrends());
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.monitoring.StartupTimer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Test class for the startup time history of class data sharing runs.
+ * <p>
+ * The runs are recorded into a temporary CDS directory; whether the archive was mapped is
+ * read from a {@code cds.log} written by the test.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Startup Timer Tests")
+public class StartupTimerTest extends BaseTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    @DisplayName("Runs that did not map the archive form the baseline")
+    public void testHistory() throws IOException {
+        Assertions.assertEquals(0, StartupTimer.baselineMillis(directory.resolve("startup-times.csv")).length);
+        
+        Assertions.assertEquals("default", StartupTimer.record(directory, "default", Duration.ofMillis(2400)));
+        Assertions.assertEquals("dump", StartupTimer.record(directory, "dump", Duration.ofMillis(2600)));
+        Files.writeString(directory.resolve("cds.log"), "[info][cds] Opened archive api-tests.jsa.\n");
+        Assertions.assertEquals("archive", StartupTimer.record(directory, "archive", Duration.ofMillis(1100)));
+        Files.writeString(directory.resolve("cds.log"),
+                "[warning][cds,dynamic] Unable to use shared archive. The top archive failed to load\n");
+        Assertions.assertEquals("rejected", StartupTimer.record(directory, "archive", Duration.ofMillis(2500)));
+        
+        Path history = directory.resolve("startup-times.csv");
+        List<String> lines = Files.readAllLines(history, StandardCharsets.UTF_8);
+        Assertions.assertEquals("timestamp,mode,startup_ms", lines.get(0));
+        Assertions.assertEquals(5, lines.size());
+        Assertions.assertTrue(lines.get(3).endsWith(",archive,1100"), lines.get(3));
+        Assertions.assertArrayEquals(new double[] {2400, 2600, 2500}, StartupTimer.baselineMillis(history));
+    }
+    
+    @Test
+    @DisplayName("The startup time covers JVM initialization")
+    public void testSinceProcessStart() {
+        Duration startup = StartupTimer.sinceProcessStart();
+        Assertions.assertTrue(startup.toNanos() > 0, startup.toString());
+    }
+}
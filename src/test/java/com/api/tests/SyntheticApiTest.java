@@ -0,0 +1,185 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.synthetic.SyntheticApiServer;
+import com.api.synthetic.SyntheticDataset;
+import com.api.utilities.ApiResource;
+import com.api.utilities.ReferentialIntegrityChecker.Relation;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for the synthetic dataset generator and server.
+ * <p>
+ * The server runs in-process on a dataset twice the size of the real API, with an
+ * uneven number of comments so that posts have different numbers of children.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Synthetic API Tests")
+public class SyntheticApiTest extends BaseTest {
+    
+    private static final int COMMENTS = 1234;
+    private static final int LARGE_PHOTOS = 200_000;
+    
+    private SyntheticApiServer server;
+    private String baseUrl;
+    
+    @BeforeAll
+    public void startServer() throws IOException {
+        server = SyntheticApiServer.start(SyntheticDataset.scaled(7, 2).withCount(ApiResource.COMMENTS, COMMENTS));
+        baseUrl = server.getBaseUrl();
+    }
+    
+    @AfterAll
+    public void stopServer() {
+        server.close();
+    }
+    
+    @Test
+    @DisplayName("The same seed always generates the same elements")
+    public void testDeterministic() {
+        SyntheticDataset dataset = SyntheticDataset.scaled(7, 10);
+        for (ApiResource resource : ApiResource.values()) {
+            Assertions.assertEquals(resource.getBaseSize() * 10, dataset.getCount(resource));
+            int id = dataset.getCount(resource) / 2;
+            Assertions.assertEquals(dataset.element(resource, id), SyntheticDataset.scaled(7, 10).element(resource, id));
+            Assertions.assertNotEquals(dataset.element(resource, id), dataset.element(resource, id + 1));
+        }
+        Assertions.assertNotEquals(dataset.element(ApiResource.USERS, 1),
+                SyntheticDataset.scaled(8, 10).element(ApiResource.USERS, 1));
+        
+        // At the real API's cardinalities, foreign keys follow JSONPlaceholder's layout
+        SyntheticDataset real = SyntheticDataset.scaled(1, 1);
+        Assertions.assertEquals(1, real.element(ApiResource.POSTS, 10).get("userId").asInt());
+        Assertions.assertEquals(2, real.element(ApiResource.POSTS, 11).get("userId").asInt());
+        Assertions.assertEquals(100, real.element(ApiResource.PHOTOS, 5000).get("albumId").asInt());
+        Assertions.assertEquals(20, real.element(ApiResource.COMMENTS, 100).get("postId").asInt());
+    }
+    
+    @Test
+    @DisplayName("Every collection matches its schema")
+    public void testSchemas() {
+        for (ApiResource resource : ApiResource.values()) {
+            Response response = RequestBuilder.buildGetRequest(resource.getPath()).baseUri(baseUrl)
+                    .get(resource.getPath());
+            ResponseValidator.validateStatusCode(response, 200);
+            ResponseValidator.validateResponseBodySize(response, server.getDataset().getCount(resource));
+            ResponseValidator.validateJsonSchemaForEachElement(response, resource.getSchema());
+        }
+        Response user = RequestBuilder.buildGetRequest("/users/17").baseUri(baseUrl).get("/users/17");
+        ResponseValidator.validateJsonSchema(user, "user-schema.json");
+        ResponseValidator.validateResponseBodyContains(user, "id", 17);
+    }
+    
+    @Test
+    @DisplayName("Nested routes and foreign key filters return the children of a parent")
+    public void testRelations() {
+        SyntheticDataset dataset = server.getDataset();
+        long children = 0;
+        for (int postId = 1; postId <= dataset.getCount(ApiResource.POSTS); postId++) {
+            int from = dataset.firstChildId(Relation.COMMENT_POST, postId);
+            int to = dataset.firstChildId(Relation.COMMENT_POST, postId + 1);
+            for (int commentId = from; commentId < to; commentId++) {
+                Assertions.assertEquals(postId, dataset.parentId(Relation.COMMENT_POST, commentId));
+            }
+            children += to - from;
+        }
+        Assertions.assertEquals(COMMENTS, children, "Every comment should belong to exactly one post");
+        
+        Response nested = RequestBuilder.buildGetRequest("/posts/3/comments").baseUri(baseUrl).get("/posts/3/comments");
+        Response filtered = RequestBuilder.buildRequestWithQueryParams("/comments", Map.of("postId", "3"))
+                .baseUri(baseUrl).get("/comments");
+        ResponseValidator.validateStatusCode(nested, 200);
+        ResponseValidator.validateEachValueEquals(nested, "postId", 3);
+        Assertions.assertEquals(nested.jsonPath().getList("id"), filtered.jsonPath().getList("id"));
+        Assertions.assertFalse(nested.jsonPath().getList("id").isEmpty());
+        
+        Response done = RequestBuilder.buildRequestWithQueryParams("/todos", Map.of("userId", "4", "completed", "true"))
+                .baseUri(baseUrl).get("/todos");
+        ResponseValidator.validateEachValueEquals(done, "userId", 4);
+        Assertions.assertTrue(done.jsonPath().getList("completed", Boolean.class).stream().allMatch(value -> value));
+        
+        Response missing = RequestBuilder.buildGetRequest("/posts/0").baseUri(baseUrl).get("/posts/0");
+        ResponseValidator.validateStatusCode(missing, 404);
+        
+        // A created post is not in the dataset, but its comments are empty and it can be deleted
+        String created = "/posts/" + (dataset.getCount(ApiResource.POSTS) + 1);
+        Response noComments = RequestBuilder.buildGetRequest(created + "/comments").baseUri(baseUrl)
+                .get(created + "/comments");
+        ResponseValidator.validateStatusCode(noComments, 200);
+        ResponseValidator.validateResponseBodySize(noComments, 0);
+        Response deleted = RequestBuilder.buildDeleteRequest(created).baseUri(baseUrl).delete(created);
+        ResponseValidator.validateStatusCode(deleted, 200);
+    }
+    
+    @Test
+    @DisplayName("Pagination slices collections and reports the total count")
+    public void testPagination() {
+        Response page = RequestBuilder.buildRequestWithQueryParams("/photos", Map.of("_page", "3", "_limit", "25"))
+                .baseUri(baseUrl).get("/photos");
+        ResponseValidator.validateResponseBodySize(page, 25);
+        ResponseValidator.validateResponseBodyContains(page, "[0].id", 51);
+        Assertions.assertEquals(String.valueOf(server.getDataset().getCount(ApiResource.PHOTOS)),
+                page.getHeader("X-Total-Count"));
+        
+        Response range = RequestBuilder.buildRequestWithQueryParams("/albums",
+                Map.of("userId", "2", "_start", "5", "_end", "8")).baseUri(baseUrl).get("/albums");
+        Assertions.assertEquals(List.of(16, 17, 18), range.jsonPath().getList("id", Integer.class));
+        Assertions.assertEquals("10", range.getHeader("X-Total-Count"));
+    }
+    
+    @Test
+    @DisplayName("Large collections are generated while they are streamed")
+    public void testLargeCollection() throws Exception {
+        try (SyntheticApiServer large = SyntheticApiServer.start(
+                SyntheticDataset.scaled(7, 1).withCount(ApiResource.PHOTOS, LARGE_PHOTOS))) {
+            HttpResponse<InputStream> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(large.getBaseUrl() + "/photos")).build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            Assertions.assertEquals(200, response.statusCode());
+            Assertions.assertTrue(response.headers().firstValue("Content-Length").isEmpty(),
+                    "The body should be chunked, not buffered to compute its length");
+            int photos = 0;
+            int lastId = 0;
+            try (JsonParser parser = new ObjectMapper().createParser(response.body())) {
+                Assertions.assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() != JsonToken.END_OBJECT) {
+                        if ("id".equals(parser.currentName())) {
+                            parser.nextToken();
+                            lastId = parser.getIntValue();
+                        } else {
+                            parser.nextToken();
+                        }
+                    }
+                    photos++;
+                }
+            }
+            Assertions.assertEquals(LARGE_PHOTOS, photos);
+            Assertions.assertEquals(LARGE_PHOTOS, lastId);
+            Assertions.assertEquals(LARGE_PHOTOS, large.getElementsServed());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.impact.InputHashes;
+import com.api.impact.TestImpactStore;
+import com.api.impact.TestInputs;
+import com.api.utilities.ConfigManager;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.api.utilities.TestDataProvider;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Test class for test impact analysis.
+ * <p>
+ * Checks that the inputs a test uses are recorded as it runs, and that a recorded result
+ * is only reused while the test passed offline and its inputs hash to the recorded values.
+ * A local stand-in server plays the API.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Test Impact Analysis Tests")
+public class TestImpactTest extends BaseTest {
+    
+    private HttpServer standIn;
+    private String baseUrl;
+    
+    @BeforeAll
+    public void startStandIn() throws IOException {
+        standIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        standIn.createContext("/", exchange -> {
+            byte[] body = "{\"userId\": 1, \"id\": 1, \"title\": \"Stand-in\", \"body\": \"Body\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        standIn.start();
+        baseUrl = "http://127.0.0.1:" + standIn.getAddress().getPort();
+    }
+    
+    @AfterAll
+    public void stopStandIn() {
+        standIn.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Schemas, data methods, configuration keys and hosts used by a test are recorded")
+    public void testInputsRecorded() {
+        Assumptions.assumeTrue(ConfigManager.isImpactAnalysisEnabled(), "Test impact analysis is disabled");
+        Response response = RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl).get("/posts/1");
+        ResponseValidator.validateJsonSchema(response, "post-schema.json");
+        TestDataProvider.getPostData();
+        ConfigManager.isImpactFullRun();
+        
+        TestInputs inputs = TestInputs.getCurrent();
+        Assertions.assertNotNull(inputs, "The inputs of the running test should be recorded");
+        Set<String> recorded = inputs.getInputs();
+        Assertions.assertTrue(recorded.contains("schema:post-schema.json"), recorded.toString());
+        Assertions.assertTrue(recorded.contains("data:getPostData"), recorded.toString());
+        Assertions.assertTrue(recorded.contains("config:http.transport"), recorded.toString());
+        Assertions.assertFalse(recorded.contains("config:impact.full.run"),
+                "Impact analysis settings should not count as inputs");
+        Assertions.assertEquals(Set.of("127.0.0.1"), inputs.getHosts());
+        Assertions.assertTrue(inputs.isOffline(), "Requests to the stand-in are offline");
+    }
+    
+    @Test
+    @DisplayName("Requests to other hosts make a test online")
+    public void testOnlineHosts() {
+        TestInputs running = TestInputs.getCurrent();
+        TestInputs inputs = new TestInputs();
+        TestInputs.setCurrent(inputs);
+        try {
+            TestInputs.host("localhost");
+            TestInputs.host("[::1]");
+            Assertions.assertTrue(inputs.isOffline(), "Loopback requests are offline");
+            TestInputs.host("jsonplaceholder.typicode.com");
+        } finally {
+            TestInputs.setCurrent(running);
+        }
+        Assertions.assertFalse(inputs.isOffline(), "Requests to the real API are not offline");
+    }
+    
+    @Test
+    @DisplayName("Tests running at the same time record into their own inputs")
+    public void testRecordingPerThread() throws InterruptedException {
+        TestInputs running = TestInputs.getCurrent();
+        TestInputs inputs = new TestInputs();
+        TestInputs other = new TestInputs();
+        TestInputs.setCurrent(inputs);
+        try {
+            Thread otherTest = new Thread(() -> {
+                TestInputs.setCurrent(other);
+                TestInputs.schema("other-schema.json");
+            });
+            Thread worker = new Thread(() -> TestInputs.schema("worker-schema.json"));
+            otherTest.start();
+            worker.start();
+            otherTest.join();
+            worker.join();
+            
+            TestInputs.forwarding("127.0.0.1:1", "jsonplaceholder.typicode.com");
+            try {
+                TestInputs.request(URI.create("http://127.0.0.1:1/posts"));
+            } finally {
+                TestInputs.forwarding("127.0.0.1:1", null);
+            }
+        } finally {
+            TestInputs.setCurrent(running);
+        }
+        Assertions.assertEquals(Set.of("schema:worker-schema.json"), inputs.getInputs(),
+                "Threads started by a test record into its inputs, other tests do not");
+        Assertions.assertEquals(Set.of("schema:other-schema.json"), other.getInputs());
+        Assertions.assertEquals(Set.of("127.0.0.1", "jsonplaceholder.typicode.com"), inputs.getHosts(),
+                "Requests through a forwarder count for its upstream host");
+    }
+    
+    @Test
+    @DisplayName("Recorded results are reused only for offline passes with unchanged inputs")
+    public void testReuse() {
+        Map<String, String> hashes = new TreeMap<>();
+        for (String input : new String[] {TestInputs.FRAMEWORK, TestInputs.CLASS + getClass().getName(),
+                "schema:post-schema.json", "data:getPostData", "config:test.impact.key", "schema:missing.json"}) {
+            hashes.put(input, InputHashes.hash(input));
+        }
+        Assertions.assertEquals(InputHashes.ABSENT, hashes.get("schema:missing.json"));
+        
+        Assertions.assertTrue(new TestImpactStore.Record("PASSED", true, hashes).isReusable());
+        Assertions.assertFalse(new TestImpactStore.Record("FAILED", true, hashes).isReusable());
+        Assertions.assertFalse(new TestImpactStore.Record("PASSED", false, hashes).isReusable());
+        
+        TestImpactStore.Record record = new TestImpactStore.Record("PASSED", true, hashes);
+        System.setProperty("test.impact.key", "changed");
+        try {
+            Assertions.assertEquals(Optional.of("config:test.impact.key"), record.findChangedInput());
+            Assertions.assertFalse(record.isReusable(), "A changed configuration value should force a run");
+        } finally {
+            System.clearProperty("test.impact.key");
+        }
+        
+        Map<String, String> edited = new TreeMap<>(hashes);
+        edited.put("schema:post-schema.json", "0");
+        Assertions.assertEquals(Optional.of("schema:post-schema.json"),
+                new TestImpactStore.Record("PASSED", true, edited).findChangedInput());
+    }
+    
+    @Test
+    @DisplayName("Records survive a save and load of the results file")
+    public void testStoreRoundTrip(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("impact/results.json");
+        TestImpactStore store = TestImpactStore.load(file);
+        Assertions.assertTrue(store.get("[engine:junit-jupiter]/[class:A]/[method:a()]").isEmpty());
+        store.put("[engine:junit-jupiter]/[class:A]/[method:a()]",
+                new TestImpactStore.Record("PASSED", true, Map.of("data:getPostData", "abc")));
+        store.put("[engine:junit-jupiter]/[class:A]/[method:b()]",
+                new TestImpactStore.Record("FAILED", false, Map.of()));
+        store.save();
+        
+        TestImpactStore loaded = TestImpactStore.load(file);
+        TestImpactStore.Record passed = loaded.get("[engine:junit-jupiter]/[class:A]/[method:a()]").orElseThrow();
+        Assertions.assertEquals("PASSED", passed.getResult());
+        Assertions.assertTrue(passed.isOffline());
+        Assertions.assertEquals(Map.of("data:getPostData", "abc"), passed.getInputs());
+        Assertions.assertEquals("FAILED",
+                loaded.get("[engine:junit-jupiter]/[class:A]/[method:b()]").orElseThrow().getResult());
+    }
+}
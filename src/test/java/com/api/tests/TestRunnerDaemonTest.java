@@ -0,0 +1,136 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import org.example.RunRequest;
+import org.example.TestRunnerClient;
+import org.example.TestRunnerDaemon;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test class for the test runner daemon.
+ * <p>
+ * The daemon runs the tests of {@link Sample}, which Surefire skips as a nested class, in
+ * the same JVM; the client sends the requests over the loopback port like {@code Main run}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Test Runner Daemon Tests")
+public class TestRunnerDaemonTest extends BaseTest {
+    
+    private TestRunnerDaemon daemon;
+    private Thread serving;
+    
+    @BeforeAll
+    public void startDaemon() throws IOException {
+        daemon = new TestRunnerDaemon(0, TestRunnerDaemonTest.class.getPackageName());
+        serving = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                logger.warn("Test runner daemon stopped: {}", e.toString());
+            }
+        }, "test-runner-daemon");
+        serving.setDaemon(true);
+        serving.start();
+    }
+    
+    @AfterAll
+    public void stopDaemon() throws IOException {
+        daemon.close();
+    }
+    
+    @Test
+    @DisplayName("Results of the selected tests are streamed back with the exit code")
+    public void testRun() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int exitCode = send(output, "--class", "TestRunnerDaemonTest$Sample", "--parallelism", "2");
+        String results = output.toString(StandardCharsets.UTF_8);
+        logger.info("Test runner output:\n{}", results);
+        
+        Assertions.assertEquals(1, exitCode, results);
+        Assertions.assertTrue(results.contains("PASSED"), results);
+        Assertions.assertTrue(results.contains("Sample > passes"), results);
+        Assertions.assertTrue(results.contains("FAILED") && results.contains("expected failure"), results);
+        Assertions.assertTrue(results.contains("ABORTED") && results.contains("Sample > aborts"), results);
+        Assertions.assertTrue(results.contains("SUMMARY 3 tests, 1 passed, 1 failed, 1 aborted"), results);
+    }
+    
+    @Test
+    @DisplayName("Methods and tags narrow the run")
+    public void testFilters() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Assertions.assertEquals(0, send(output, "--method", "TestRunnerDaemonTest$Sample#passes"));
+        Assertions.assertTrue(output.toString(StandardCharsets.UTF_8).contains("SUMMARY 1 tests, 1 passed"));
+        
+        output.reset();
+        Assertions.assertEquals(0, send(output, "--class", "TestRunnerDaemonTest$Sample", "--tag", "stable"));
+        Assertions.assertTrue(output.toString(StandardCharsets.UTF_8).contains("SUMMARY 1 tests, 1 passed"));
+        
+        output.reset();
+        Assertions.assertEquals(1, send(output, "--class", "TestRunnerDaemonTest$Sample", "--exclude-tag", "stable"));
+        Assertions.assertTrue(output.toString(StandardCharsets.UTF_8).contains("SUMMARY 2 tests, 0 passed"));
+    }
+    
+    @Test
+    @DisplayName("Invalid requests are answered with exit code 2")
+    public void testInvalidRequest() throws IOException {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> RunRequest.fromArguments(List.of("--parallelism", "0")));
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("colour=blue\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Assertions.assertEquals("ERROR Unknown setting: colour", reader.readLine());
+            Assertions.assertEquals("EXIT 2", reader.readLine());
+        }
+    }
+    
+    private int send(ByteArrayOutputStream output, String... args) {
+        return TestRunnerClient.send(daemon.getPort(), RunRequest.fromArguments(List.of(args)),
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Tests run by the daemon under test.
+     */
+    public static class Sample {
+        
+        @Test
+        @Tag("stable")
+        public void passes() {
+            Assertions.assertTrue(true);
+        }
+        
+        @Test
+        public void fails() {
+            Assertions.fail("expected failure");
+        }
+        
+        @Test
+        public void aborts() {
+            Assumptions.assumeTrue(false, "not applicable");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.faults.FaultInjectionProxy;
+import com.api.faults.FaultRule;
+import com.api.faults.LatencyDistribution;
+import com.api.filters.RequestTimeoutException;
+import com.api.listeners.TimeBudget;
+import com.api.utilities.Deadline;
+import com.api.utilities.Paginator;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Offline tests of request timeouts and deadline budgets.
+ * <p>
+ * A local stand-in server plays the API behind the fault injection proxy, which delays
+ * responses or drips their bodies, so these tests run without network access.
+ * </p>
+ * <p>
+ * The read timeout test lowers {@code default.timeout} through a system property, which every
+ * request in the JVM reads, so the class is {@link Isolated} from classes running in
+ * parallel.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Timeout Tests")
+@Isolated
+public class TimeoutTest extends BaseTest {
+    
+    private HttpServer standIn;
+    private FaultInjectionProxy proxy;
+    
+    @BeforeAll
+    public void startProxy() throws IOException {
+        standIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        standIn.createContext("/", exchange -> {
+            // Collections are paginated endlessly, one element per page
+            Matcher page = Pattern.compile("_page=(\\d+)")
+                    .matcher(String.valueOf(exchange.getRequestURI().getQuery()));
+            byte[] body = (page.find() ? "[{\"id\": " + page.group(1) + "}]"
+                    : "{\"id\": 1, \"title\": \"" + "x".repeat(200) + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        standIn.start();
+        proxy = FaultInjectionProxy.start("http://127.0.0.1:" + standIn.getAddress().getPort(), 11,
+                FaultRule.route("GET", "/albums/\\d+").latency(LatencyDistribution.fixed(2000)),
+                FaultRule.route("GET", "/photos/\\d+").slowDrip(8, 100),
+                FaultRule.route("GET", "/todos").latency(LatencyDistribution.fixed(2000)));
+        // The first request loads REST Assured, which would eat into the short deadlines below
+        RequestBuilder.buildGetRequest("/posts/1").baseUri(proxy.getBaseUrl()).get("/posts/1");
+    }
+    
+    @AfterAll
+    public void stopProxy() throws IOException {
+        proxy.close();
+        standIn.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Responses slower than the read timeout fail with a read timeout")
+    public void testReadTimeout() {
+        System.setProperty("default.timeout", "300");
+        try {
+            RequestTimeoutException exception = Assertions.assertThrows(RequestTimeoutException.class,
+                    () -> RequestBuilder.buildGetRequest("/albums/1").baseUri(proxy.getBaseUrl()).get("/albums/1"));
+            Assertions.assertTrue(exception.getMessage().contains("read timeout of 300ms"), exception.getMessage());
+        } finally {
+            System.clearProperty("default.timeout");
+        }
+    }
+    
+    @Test
+    @DisplayName("Bodies trickling in below the read timeout are cut off at the deadline")
+    public void testDeadlineCancelsSlowBody() {
+        Deadline testDeadline = Deadline.current();
+        Deadline.setCurrent(Deadline.after(Duration.ofMillis(1000), "deadline of 1000ms"));
+        long start = System.nanoTime();
+        try {
+            RequestTimeoutException exception = Assertions.assertThrows(RequestTimeoutException.class,
+                    () -> RequestBuilder.buildGetRequest("/photos/1").baseUri(proxy.getBaseUrl()).get("/photos/1"));
+            Assertions.assertTrue(exception.getMessage().contains("exceeded deadline of 1000ms"), exception.getMessage());
+        } finally {
+            Deadline.setCurrent(testDeadline);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsedMillis < 2000, "Request should be cancelled at the deadline but took "
+                + elapsedMillis + "ms");
+    }
+    
+    @Test
+    @DisplayName("Pages fetched ahead by the paginator are cut off at the deadline of the test")
+    public void testDeadlineCancelsPaginatedWalk() {
+        Deadline testDeadline = Deadline.current();
+        Deadline.setCurrent(Deadline.after(Duration.ofMillis(1000), "deadline of 1000ms"));
+        long start = System.nanoTime();
+        try (Stream<JsonNode> todos = Paginator.stream(proxy.getBaseUrl() + "/todos", Paginator.PageMode.PAGE, 1, 2)) {
+            RequestTimeoutException exception = Assertions.assertThrows(RequestTimeoutException.class,
+                    () -> todos.limit(3).count());
+            Assertions.assertTrue(exception.getMessage().contains("exceeded deadline of 1000ms"), exception.getMessage());
+        } finally {
+            Deadline.setCurrent(testDeadline);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsedMillis < 2000, "Page requests should be cancelled at the deadline but took "
+                + elapsedMillis + "ms");
+    }
+    
+    @Test
+    @DisplayName("Requests are not sent once the deadline has passed")
+    public void testExpiredDeadline() {
+        Deadline testDeadline = Deadline.current();
+        Deadline.setCurrent(Deadline.after(Duration.ZERO, "expired deadline"));
+        try {
+            RequestTimeoutException exception = Assertions.assertThrows(RequestTimeoutException.class,
+                    () -> RequestBuilder.buildGetRequest("/posts/1").baseUri(proxy.getBaseUrl()).get("/posts/1"));
+            Assertions.assertTrue(exception.getMessage().contains("not sent"), exception.getMessage());
+        } finally {
+            Deadline.setCurrent(testDeadline);
+        }
+    }
+    
+    @Test
+    @TimeBudget(seconds = 5)
+    @DisplayName("Tests run under the deadline of their time budget")
+    public void testTimeBudget() {
+        Deadline deadline = Deadline.current();
+        
+        Assertions.assertNotNull(deadline, "Test should run under a deadline");
+        Assertions.assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(5)) <= 0,
+                "Deadline should be capped by the 5s budget: " + deadline);
+        Response response = RequestBuilder.buildGetRequest("/posts/1").baseUri(proxy.getBaseUrl()).get("/posts/1");
+        ResponseValidator.validateStatusCode(response, 200);
+    }
+}
@@ -0,0 +1,167 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.filters.Http2TransportFilter;
+import com.api.listeners.CoalesceRequests;
+import com.api.utilities.RequestBuilder;
+import com.api.utilities.ResponseValidator;
+import com.api.utilities.TestDataProvider;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline comparison of the HTTP/1.1 and HTTP/2 request transports.
+ * <p>
+ * A local stand-in server plays the API and records the client address of every request,
+ * so the number of connections each transport opens can be counted. The stand-in only
+ * speaks HTTP/1.1, so the HTTP/2 transport falls back to pooled keep-alive connections;
+ * against an HTTP/2 server its requests share a single multiplexed connection.
+ * </p>
+ * <p>
+ * Switching {@code http.transport} changes the transport of every request in the JVM, so
+ * the class is {@link Isolated} when the test runner daemon runs classes in parallel.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Transport Comparison Tests")
+@Isolated
+@CoalesceRequests(false)
+public class TransportComparisonTest extends BaseTest {
+    
+    private static final int REQUESTS = 200;
+    private static final int CONCURRENCY = 16;
+    
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private HttpServer standIn;
+    private String baseUrl;
+    
+    @BeforeAll
+    public void startStandIn() throws IOException {
+        standIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        standIn.createContext("/", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            byte[] body = exchange.getRequestMethod().equals("POST")
+                    ? exchange.getRequestBody().readAllBytes()
+                    : "{\"id\": 1, \"title\": \"Stand-in\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(exchange.getRequestMethod().equals("POST") ? 201 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        standIn.setExecutor(Executors.newFixedThreadPool(CONCURRENCY));
+        standIn.start();
+        baseUrl = "http://127.0.0.1:" + standIn.getAddress().getPort();
+    }
+    
+    @AfterAll
+    public void stopStandIn() {
+        standIn.stop(0);
+    }
+    
+    @Test
+    @DisplayName("HTTP/2 transport returns responses that validate like HTTP/1.1 responses")
+    public void testHttp2Responses() {
+        System.setProperty("http.transport", "http2");
+        try {
+            long sentBefore = Http2TransportFilter.getRequestsSent();
+            Response get = RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl).get("/posts/1");
+            Response post = RequestBuilder.buildPostRequest("/posts", TestDataProvider.getPostData())
+                    .baseUri(baseUrl).post("/posts");
+            
+            ResponseValidator.validateStatusCode(get, 200);
+            Assertions.assertTrue(get.getContentType().startsWith("application/json"), get.getContentType());
+            ResponseValidator.validateResponseBodyContains(get, "title", "Stand-in");
+            ResponseValidator.validateStatusCode(post, 201);
+            ResponseValidator.validateResponseBodyContains(post, "title", TestDataProvider.getPostData().get("title"));
+            Assertions.assertTrue(get.getTimeIn(TimeUnit.MILLISECONDS) >= 0, "Response time should be recorded");
+            Assertions.assertEquals(2, Http2TransportFilter.getRequestsSent() - sentBefore,
+                    "Both requests should go through the HTTP/2 transport");
+        } finally {
+            System.clearProperty("http.transport");
+        }
+    }
+    
+    @Test
+    @DisplayName("HTTP/2 transport serves concurrent requests over fewer connections")
+    public void testConnectionCounts() throws Exception {
+        // HTTP/1.1 connections are never closed by the client, and once the stand-in holds many
+        // idle connections it stops keeping new ones alive, so the HTTP/2 run goes first
+        TransportRun http2 = run("http2");
+        TransportRun http1 = run("http1");
+        logger.info("{}", http1);
+        logger.info("{}", http2);
+        
+        Assertions.assertEquals(REQUESTS, http1.connections, "HTTP/1.1 transport opens a connection per request");
+        Assertions.assertTrue(http2.connections <= CONCURRENCY,
+                "HTTP/2 transport should reuse connections but opened " + http2.connections);
+    }
+    
+    /**
+     * Sends {@link #REQUESTS} concurrent GET requests over a transport.
+     */
+    private TransportRun run(String transport) throws Exception {
+        connections.clear();
+        System.setProperty("http.transport", transport);
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            long start = System.nanoTime();
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(workers.submit(
+                        () -> RequestBuilder.buildGetRequest("/posts/1").baseUri(baseUrl).get("/posts/1")));
+            }
+            for (Future<Response> response : responses) {
+                ResponseValidator.validateStatusCode(response.get(), 200);
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            return new TransportRun(transport, connections.size(), REQUESTS * 1e9 / elapsedNanos);
+        } finally {
+            workers.shutdownNow();
+            System.clearProperty("http.transport");
+        }
+    }
+    
+    private static final class TransportRun {
+        
+        private final String transport;
+        private final int connections;
+        private final double requestsPerSecond;
+        
+        TransportRun(String transport, int connections, double requestsPerSecond) {
+            this.transport = transport;
+            this.connections = connections;
+            this.requestsPerSecond = requestsPerSecond;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %d requests over %d connections, %.0f requests/s",
+                    transport, REQUESTS, connections, requestsPerSecond);
+        }
+    }
+}
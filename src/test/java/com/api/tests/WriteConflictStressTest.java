@@ -0,0 +1,219 @@
+package com.api.tests;
+
+import com.api.base.BaseTest;
+import com.api.consistency.LinearizabilityChecker;
+import com.api.consistency.LinearizabilityChecker.AnomalyType;
+import com.api.consistency.LinearizabilityChecker.Result;
+import com.api.consistency.LinearizabilityChecker.Verdict;
+import com.api.consistency.Operation;
+import com.api.consistency.Operation.Type;
+import com.api.consistency.WriteStressRunner;
+import com.api.consistency.WriteStressRunner.StressReport;
+import com.api.listeners.CoalesceRequests;
+import com.api.utilities.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for the concurrent write stress mode and its consistency checker.
+ * <p>
+ * A local stand-in stores posts in memory. Without replication lag it applies every
+ * request atomically, so its histories are linearizable. With lag it answers reads from a
+ * replica that applies writes later, which shows up as lost updates and resurrected
+ * deletes once clients contend for the same ids. When {@code stress.operations} is set,
+ * the stress mode also runs against {@code base.url}, e.g.
+ * {@code mvn test -Dtest=WriteConflictStressTest -Dstress.operations=2000 -Dbase.url=http://localhost:3000}.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+@DisplayName("Write Conflict Stress Tests")
+@CoalesceRequests(false)
+public class WriteConflictStressTest extends BaseTest {
+    
+    private static final List<Integer> IDS = List.of(1, 2, 3, 4);
+    private static final int CLIENTS = 8;
+    private static final int OPERATIONS = 400;
+    
+    @Test
+    @DisplayName("Concurrent writes to an atomic store are linearizable")
+    public void testAtomicStore() throws IOException {
+        try (PostStore store = new PostStore(0)) {
+            StressReport report = new WriteStressRunner(store.baseUrl, "/posts", IDS, CLIENTS, OPERATIONS, 1).run();
+            logger.info("{}", report);
+            
+            Assertions.assertEquals(OPERATIONS, report.getHistory().size());
+            Assertions.assertEquals(Set.of(Type.values()), report.getHistory().stream().map(Operation::getType)
+                    .collect(Collectors.toSet()), "Every operation type should be sent");
+            Assertions.assertTrue(report.getHistory().stream().noneMatch(Operation::isIndeterminate));
+            Assertions.assertEquals(IDS, report.getResults().stream().map(Result::getId).collect(Collectors.toList()));
+            Assertions.assertTrue(report.isLinearizable(), report.toString());
+            Assertions.assertTrue(report.getAnomalies().isEmpty());
+            Assertions.assertTrue(report.getOperationsPerSecond() > 0);
+        }
+    }
+    
+    @Test
+    @DisplayName("Replication lag shows up as lost updates and resurrected deletes under contention")
+    public void testLaggingReplica() throws IOException {
+        try (PostStore store = new PostStore(500)) {
+            StressReport report = new WriteStressRunner(store.baseUrl, "/posts", IDS, CLIENTS, OPERATIONS, 1).run();
+            logger.info("{}", report);
+            
+            Assertions.assertFalse(report.isLinearizable());
+            Set<AnomalyType> anomalies = report.getAnomalies().stream().map(LinearizabilityChecker.Anomaly::getType)
+                    .collect(Collectors.toSet());
+            Assertions.assertTrue(anomalies.contains(AnomalyType.LOST_UPDATE), anomalies.toString());
+            Assertions.assertTrue(anomalies.contains(AnomalyType.RESURRECTED_DELETE), anomalies.toString());
+        }
+    }
+    
+    @Test
+    @DisplayName("Overlapping operations may take effect in any order, completed ones may not")
+    public void testCheckerOrdering() {
+        LinearizabilityChecker checker = new LinearizabilityChecker();
+        // The read overlaps both writes, so it may observe either title
+        List<Operation> overlapping = List.of(
+                new Operation(0, Type.UPDATE, 1, "a", 200, 0, 10),
+                new Operation(1, Type.UPDATE, 1, "b", 200, 5, 20),
+                new Operation(2, Type.READ, 1, "a", 200, 8, 30));
+        Assertions.assertEquals(Verdict.LINEARIZABLE, checker.check(1, "initial", overlapping).getVerdict());
+        
+        // Once "b" completed before the read was sent, reading "a" is a lost update
+        List<Operation> sequential = List.of(
+                new Operation(0, Type.UPDATE, 1, "a", 200, 0, 10),
+                new Operation(1, Type.UPDATE, 1, "b", 200, 11, 20),
+                new Operation(2, Type.READ, 1, "a", 200, 21, 30));
+        Result lost = checker.check(1, "initial", sequential);
+        Assertions.assertEquals(Verdict.NOT_LINEARIZABLE, lost.getVerdict());
+        Assertions.assertEquals(AnomalyType.LOST_UPDATE, lost.getAnomalies().get(0).getType());
+        
+        // A delete without a response may or may not have happened
+        List<Operation> indeterminate = List.of(
+                new Operation(0, Type.DELETE, 1, null, Operation.INDETERMINATE, 0, 10),
+                new Operation(1, Type.READ, 1, "initial", 200, 20, 30),
+                new Operation(1, Type.READ, 1, null, 404, 40, 50));
+        Assertions.assertEquals(Verdict.LINEARIZABLE, checker.check(1, "initial", indeterminate).getVerdict());
+        
+        // But a deleted element must not come back without a write
+        List<Operation> resurrected = List.of(
+                new Operation(0, Type.DELETE, 1, null, 200, 0, 10),
+                new Operation(1, Type.READ, 1, "initial", 200, 20, 30));
+        Assertions.assertEquals(AnomalyType.RESURRECTED_DELETE,
+                checker.check(1, "initial", resurrected).getAnomalies().get(0).getType());
+    }
+    
+    @Test
+    @DisplayName("Concurrent writes to the configured API are linearizable")
+    public void testConfiguredApi() {
+        Assumptions.assumeTrue(ConfigManager.getStressOperations() > 0,
+                "Write stress run disabled; set stress.operations to enable");
+        StressReport report = WriteStressRunner.fromConfig().run();
+        logger.info("{}", report);
+        Assertions.assertTrue(report.isLinearizable(), "Anomalies under contention: " + report.getAnomalies());
+    }
+    
+    /**
+     * In-memory post store, optionally answering reads from a replica that applies writes
+     * after a lag.
+     */
+    private static final class PostStore implements AutoCloseable {
+        
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+        
+        private final Map<Integer, String> primary = new ConcurrentHashMap<>();
+        private final Map<Integer, String> replica = new ConcurrentHashMap<>();
+        private final long lagMillis;
+        private final ScheduledExecutorService replication = Executors.newSingleThreadScheduledExecutor();
+        private final ExecutorService handlers = Executors.newFixedThreadPool(CLIENTS);
+        private final HttpServer server;
+        private final String baseUrl;
+        
+        PostStore(long lagMillis) throws IOException {
+            this.lagMillis = lagMillis;
+            for (int id : IDS) {
+                primary.put(id, "post " + id);
+                replica.put(id, "post " + id);
+            }
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/posts", this::handle);
+            server.setExecutor(handlers);
+            server.start();
+            baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+        
+        private void handle(HttpExchange exchange) throws IOException {
+            String[] segments = exchange.getRequestURI().getPath().split("/");
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            JsonNode body = request.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(request);
+            String method = exchange.getRequestMethod();
+            int id = segments.length > 2 ? Integer.parseInt(segments[2]) : body.path("id").asInt();
+            String title = body.path("title").asText(null);
+            int[] status = {200};
+            if (method.equals("GET")) {
+                title = (lagMillis > 0 ? replica : primary).get(id);
+                status[0] = title == null ? 404 : 200;
+            } else {
+                String written = title;
+                String replicated = primary.compute(id, (key, current) -> {
+                    switch (method) {
+                        case "POST":
+                            status[0] = current == null ? 201 : 409;
+                            return current == null ? written : current;
+                        case "PATCH":
+                            status[0] = current == null ? 404 : 200;
+                            return current == null ? null : written;
+                        case "DELETE":
+                            return null;
+                        default:
+                            return written;
+                    }
+                });
+                replication.schedule(() -> {
+                    if (replicated == null) {
+                        replica.remove(id);
+                    } else {
+                        replica.put(id, replicated);
+                    }
+                }, lagMillis, TimeUnit.MILLISECONDS);
+            }
+            byte[] response = (status[0] >= 300 ? "{}" : MAPPER.createObjectNode().put("id", id).put("title", title)
+                    .toString()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status[0], response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        }
+        
+        @Override
+        public void close() {
+            server.stop(0);
+            replication.shutdownNow();
+            handlers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.api.utilities;
+
+import com.api.synthetic.SyntheticDataset;
+import io.restassured.response.Response;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Catalog of the top-level resources exposed by the API under test.
+ * <p>
+ * Each constant carries the collection path of the resource, so utilities that need to
+ * walk every resource (integrity checks, snapshots, bulk validation) can iterate over
+ * {@link #values()} instead of repeating endpoint strings.
+ * </p>
+ * <p>
+ * Constants also declare the resource's JSON schema, expected collection size and a payload
+ * template for create and update requests. The generated CRUD matrix covers every constant,
+ * so adding a resource here gives it the full set of CRUD and schema tests.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public enum ApiResource {
+    
+    POSTS("/posts", "post-schema.json", 100, TestDataProvider::getPostData),
+    COMMENTS("/comments", "comment-schema.json", 500, TestDataProvider::getCommentData),
+    ALBUMS("/albums", "album-schema.json", 100, TestDataProvider::getAlbumData),
+    PHOTOS("/photos", "photo-schema.json", 5000, TestDataProvider::getPhotoData),
+    TODOS("/todos", "todo-schema.json", 200, TestDataProvider::getTodoData),
+    USERS("/users", "user-schema.json", 10, TestDataProvider::getUserData);
+    
+    /**
+     * Collection path of the resource, relative to the base URL.
+     */
+    private final String path;
+    
+    /**
+     * Schema file of a single element, relative to the schemas resource directory.
+     */
+    private final String schema;
+    
+    /**
+     * Number of elements in the full collection.
+     */
+    private final int expectedSize;
+    
+    /**
+     * Template of the request body for create and update requests.
+     */
+    private final Supplier<Map<String, Object>> payload;
+    
+    ApiResource(String path, String schema, int expectedSize, Supplier<Map<String, Object>> payload) {
+        this.path = path;
+        this.schema = schema;
+        this.expectedSize = expectedSize;
+        this.payload = payload;
+    }
+    
+    /**
+     * Retrieves the collection path of the resource.
+     *
+     * @return the path relative to the base URL (e.g., "/posts")
+     */
+    public String getPath() {
+        return path;
+    }
+    
+    public String getSchema() {
+        return schema;
+    }
+    
+    /**
+     * Retrieves the number of elements the full collection is expected to have.
+     *
+     * @return the size of the collection on the real API, or in the synthetic dataset when
+     *         {@code synthetic.api} is enabled
+     */
+    public int getExpectedSize() {
+        return ConfigManager.isSyntheticApiEnabled() ? SyntheticDataset.fromConfig().getCount(this) : expectedSize;
+    }
+    
+    /**
+     * Retrieves the number of elements of the collection on the real API.
+     *
+     * @return the size of the collection, independent of the synthetic dataset
+     */
+    public int getBaseSize() {
+        return expectedSize;
+    }
+    
+    /**
+     * Creates a request body for create and update requests of this resource.
+     *
+     * @return a new, modifiable payload map
+     */
+    public Map<String, Object> newPayload() {
+        return payload.get();
+    }
+    
+    /**
+     * Fetches the full collection of this resource and returns the raw response body.
+     *
+     * @return the response body bytes of {@code GET <path>}
+     * @throws AssertionError if the API does not answer with 200 OK
+     */
+    public byte[] fetchCollection() {
+        Response response = RequestBuilder.buildGetRequest(path).get(path);
+        ResponseValidator.validateStatusCode(response, 200);
+        return response.asByteArray();
+    }
+}
@@ -1,8 +1,14 @@
 package com.api.utilities;
 
+import com.api.impact.TestInputs;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 /**
  * Configuration Manager for API Test Automation Framework.
@@ -55,19 +61,60 @@ public class ConfigManager {
      * @return the base URL from properties"
      */
     public static String getBaseUrl() {
-        return properties.getProperty("base.url", " ");
+        return getProperty("base.url", " ");
     }
     
     /**
      * Retrieves the default timeout value for API requests.
      * <p>
-     * This timeout is applied to all HTTP requests to prevent indefinite waiting.
+     * This timeout is applied to all HTTP requests to prevent indefinite waiting. It limits
+     * how long a request waits for the next bytes of the response (the read timeout).
      * </p>
      *
      * @return the timeout in milliseconds, default is 5000ms (5 seconds)
      */
     public static int getDefaultTimeout() {
-        return Integer.parseInt(properties.getProperty("default.timeout", "5000"));
+        return Integer.parseInt(getProperty("default.timeout", "5000"));
+    }
+    
+    /**
+     * Retrieves how long a request waits for the connection to the API to be established.
+     *
+     * @return the connect timeout in milliseconds, default is 5000ms
+     */
+    public static int getConnectTimeout() {
+        return Integer.parseInt(getProperty("http.connect.timeout", "5000"));
+    }
+    
+    /**
+     * Retrieves how long a whole request may take, from connecting to the last body byte.
+     *
+     * @return the total request timeout in milliseconds, default is 30000ms
+     */
+    public static long getRequestTimeout() {
+        return Long.parseLong(getProperty("http.request.timeout", "30000"));
+    }
+    
+    /**
+     * Retrieves the time budget of a single test.
+     * <p>
+     * Tests that exceed their budget are cancelled, and their requests time out when the
+     * budget runs out. Individual tests can override it with {@code @TimeBudget}.
+     * </p>
+     *
+     * @return the test budget in seconds, default is 120
+     */
+    public static long getTestTimeBudgetSeconds() {
+        return Long.parseLong(getProperty("test.time.budget.seconds", "120"));
+    }
+    
+    /**
+     * Retrieves the time budget of the whole test run.
+     *
+     * @return the suite budget in minutes, default is 0 (unlimited)
+     */
+    public static long getSuiteTimeBudgetMinutes() {
+        return Long.parseLong(getProperty("suite.time.budget.minutes", "0"));
     }
     
     /**
@@ -95,6 +142,657 @@ public class ConfigManager {
         return Boolean.parseBoolean(properties.getProperty("log.requests", "true"));
     }
     
+    /**
+     * Retrieves the directory where dataset snapshots are written.
+     * <p>
+     * Snapshots are compact columnar copies of all API resources that can be reloaded
+     * and compared without downloading the data again.
+     * </p>
+     *
+     * @return the snapshot directory, default is "target/snapshots"
+     */
+    public static String getSnapshotDir() {
+        return getProperty("snapshot.dir", "target/snapshots");
+    }
+    
+    /**
+     * Retrieves the path of a previous snapshot to compare the current run against.
+     *
+     * @return the baseline snapshot path, or an empty string when no comparison is requested
+     */
+    public static String getSnapshotBaseline() {
+        return getProperty("snapshot.baseline", "");
+    }
+    
+    /**
+     * Retrieves the default number of elements requested per page by the paginator.
+     *
+     * @return the page size, default is 50
+     */
+    public static int getPageSize() {
+        return Integer.parseInt(getProperty("pagination.page.size", "50"));
+    }
+    
+    /**
+     * Retrieves how many pages the paginator requests ahead of the consumer.
+     * <p>
+     * Larger windows overlap more network round trips at the cost of holding more
+     * pages in memory.
+     * </p>
+     *
+     * @return the prefetch window in pages, default is 4
+     */
+    public static int getPagePrefetch() {
+        return Integer.parseInt(getProperty("pagination.prefetch", "4"));
+    }
+    
+    /**
+     * Retrieves the content codings advertised in the {@code Accept-Encoding} request header.
+     * <p>
+     * Compressed responses are decoded by the framework, which records both wire and decoded
+     * body sizes. An empty value disables compression negotiation.
+     * </p>
+     *
+     * @return the accepted codings, default is "gzip, deflate"
+     */
+    public static String getAcceptEncoding() {
+        return getProperty("http.accept.encoding", "gzip, deflate");
+    }
+    
+    /**
+     * Retrieves how long a soak run keeps repeating the resource tests.
+     * <p>
+     * Soak runs are disabled unless this is set, typically through the {@code soak} Maven
+     * profile or {@code -Dsoak.duration.minutes=240}.
+     * </p>
+     *
+     * @return the soak duration in minutes, default is 0 (disabled)
+     */
+    public static long getSoakDurationMinutes() {
+        return Long.parseLong(getProperty("soak.duration.minutes", "0"));
+    }
+    
+    /**
+     * Retrieves how many soak iterations are started per minute.
+     *
+     * @return the iteration rate, default is 2
+     */
+    public static double getSoakRunsPerMinute() {
+        return Double.parseDouble(getProperty("soak.runs.per.minute", "2"));
+    }
+    
+    /**
+     * Retrieves the test classes repeated by a soak run.
+     *
+     * @return the fully qualified class names, default is the CRUD matrix and the resource test classes
+     */
+    public static List<String> getSoakTests() {
+        String classes = getProperty("soak.tests", "com.api.tests.CrudMatrixTest,com.api.tests.PostsApiTest,"
+                + "com.api.tests.CommentsApiTest,com.api.tests.PhotosApiTest");
+        return Arrays.stream(classes.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Retrieves the interval between JVM health samples.
+     *
+     * @return the sampling interval in seconds, default is 10
+     */
+    public static long getHealthSampleIntervalSeconds() {
+        return Long.parseLong(getProperty("health.sample.interval.seconds", "10"));
+    }
+    
+    /**
+     * Retrieves the number of health samples in a growth trend window.
+     *
+     * @return the window size in samples, default is 30
+     */
+    public static int getHealthTrendWindow() {
+        return Integer.parseInt(getProperty("health.trend.window", "30"));
+    }
+    
+    /**
+     * Retrieves the relative growth within one trend window that is reported as a leak.
+     *
+     * @return the growth threshold, default is 0.2 (20%)
+     */
+    public static double getHealthGrowthThreshold() {
+        return Double.parseDouble(getProperty("health.growth.threshold", "0.2"));
+    }
+    
+    /**
+     * Retrieves the directory where soak run output (health samples) is written.
+     *
+     * @return the soak output directory, default is "target/soak"
+     */
+    public static String getSoakDir() {
+        return getProperty("soak.dir", "target/soak");
+    }
+    
+    /**
+     * Retrieves the port of the embedded OpenMetrics endpoint.
+     * <p>
+     * When set, run metrics can be scraped from {@code http://localhost:<port>/metrics}
+     * while tests are running.
+     * </p>
+     *
+     * @return the port, default is 0 (endpoint disabled)
+     */
+    public static int getMetricsPort() {
+        return Integer.parseInt(getProperty("metrics.port", "0"));
+    }
+    
+    /**
+     * Retrieves the file run metrics are written to when the test run ends.
+     *
+     * @return the OpenMetrics textfile path, default is "target/metrics/api-tests.prom"
+     */
+    public static String getMetricsTextfile() {
+        return getProperty("metrics.textfile", "target/metrics/api-tests.prom");
+    }
+    
+    /**
+     * Retrieves the file the latency samples of each run are written to when the run ends.
+     * <p>
+     * A copy of this file from a known-good run can be used as {@code perf.baseline} for later runs.
+     * </p>
+     *
+     * @return the latency samples path, default is "target/perf/latency-samples.json"
+     */
+    public static String getPerfSamplesFile() {
+        return getProperty("perf.samples.file", "target/perf/latency-samples.json");
+    }
+    
+    /**
+     * Retrieves the path of a previous run's latency samples to compare the current run against.
+     *
+     * @return the baseline samples path, or an empty string when no comparison is requested
+     */
+    public static String getPerfBaseline() {
+        return getProperty("perf.baseline", "");
+    }
+    
+    /**
+     * Retrieves the endpoints checked by the latency regression gate.
+     *
+     * @return the endpoint keys, default is "GET /posts", "GET /photos" and "GET /users"
+     */
+    public static List<String> getPerfGateEndpoints() {
+        String endpoints = getProperty("perf.gate.endpoints", "GET /posts,GET /photos,GET /users");
+        return Arrays.stream(endpoints.split(",")).map(String::trim).filter(key -> !key.isEmpty())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Retrieves how many requests the latency gate sends to each gated endpoint.
+     * <p>
+     * The gate is off unless this is set, e.g. {@code -Dperf.gate.samples=30}, so the
+     * default suite does not pay for its requests.
+     * </p>
+     *
+     * @return the samples per endpoint, default is 0 (disabled)
+     */
+    public static int getPerfGateSamples() {
+        return Integer.parseInt(getProperty("perf.gate.samples", "0"));
+    }
+    
+    /**
+     * Retrieves the significance level of the latency regression test.
+     *
+     * @return the one-sided significance level, default is 0.01
+     */
+    public static double getPerfAlpha() {
+        return Double.parseDouble(getProperty("perf.alpha", "0.01"));
+    }
+    
+    /**
+     * Retrieves the relative p50 or p95 slowdown that counts as a latency regression.
+     *
+     * @return the slowdown threshold, default is 0.2 (20%)
+     */
+    public static double getPerfRegressionThreshold() {
+        return Double.parseDouble(getProperty("perf.regression.threshold", "0.2"));
+    }
+    
+    /**
+     * Retrieves the minimum effect size (Cliff's delta) of a latency regression.
+     * <p>
+     * Shifts below this size are ignored even when they are statistically significant, so
+     * large samples do not turn negligible slowdowns into build failures.
+     * </p>
+     *
+     * @return the minimum effect size, default is 0.33 (medium)
+     */
+    public static double getPerfMinEffectSize() {
+        return Double.parseDouble(getProperty("perf.min.effect.size", "0.33"));
+    }
+    
+    /**
+     * Retrieves the number of journeys started by scenario tests.
+     *
+     * @return the journeys per scenario, default is 20
+     */
+    public static int getScenarioJourneys() {
+        return Integer.parseInt(getProperty("scenario.journeys", "20"));
+    }
+    
+    /**
+     * Retrieves the maximum number of scenario requests in flight.
+     *
+     * @return the request concurrency, default is 8
+     */
+    public static int getScenarioConcurrency() {
+        return Integer.parseInt(getProperty("scenario.concurrency", "8"));
+    }
+    
+    /**
+     * Retrieves the think time between the steps of a scenario journey.
+     *
+     * @return the think time in milliseconds, default is 100
+     */
+    public static long getScenarioThinkTimeMillis() {
+        return Long.parseLong(getProperty("scenario.think.time.millis", "100"));
+    }
+    
+    /**
+     * Retrieves the shard of data files run by data-driven tests.
+     * <p>
+     * With {@code -Ddata.shard=1/4}, each data file is split into four contiguous line ranges
+     * and only the second one runs, so large case files can be spread over several machines.
+     * </p>
+     *
+     * @return the shard as "index/count" with a zero-based index, or an empty string for all lines
+     */
+    public static String getDataShard() {
+        return getProperty("data.shard", "");
+    }
+    
+    /**
+     * Retrieves the number of cases sampled from each data file by data-driven tests.
+     *
+     * @return the sample size, default is 0 (use the sample size of the test, if any)
+     */
+    public static int getDataSample() {
+        return Integer.parseInt(getProperty("data.sample", "0"));
+    }
+    
+    /**
+     * Retrieves the number of threads running the dynamic tests of the generated CRUD matrix.
+     *
+     * @return the thread count, default is 16
+     */
+    public static int getMatrixThreads() {
+        return Integer.parseInt(getProperty("matrix.threads", "16"));
+    }
+    
+    /**
+     * Retrieves the maximum number of concurrent requests the CRUD matrix sends to one host.
+     *
+     * @return the per-host concurrency, default is 8
+     */
+    public static int getMatrixHostConcurrency() {
+        return Integer.parseInt(getProperty("matrix.host.concurrency", "8"));
+    }
+    
+    /**
+     * Determines whether the suite sends its requests through the fault injection proxy.
+     * <p>
+     * When enabled, requests go to a local proxy in front of {@code base.url} that injects
+     * the faults configured by the other {@code fault.*} settings into every request.
+     * </p>
+     *
+     * @return true if the proxy is enabled, default is false
+     */
+    public static boolean isFaultProxyEnabled() {
+        return Boolean.parseBoolean(getProperty("fault.proxy", "false"));
+    }
+    
+    /**
+     * Retrieves the seed of the fault injection proxy, so fault patterns can be reproduced.
+     *
+     * @return the seed, default is 1
+     */
+    public static long getFaultSeed() {
+        return Long.parseLong(getProperty("fault.seed", "1"));
+    }
+    
+    /**
+     * Retrieves the median of the log-normal latency injected by the fault proxy.
+     *
+     * @return the median latency in milliseconds, default is 0 (no latency)
+     */
+    public static double getFaultLatencyMedianMillis() {
+        return Double.parseDouble(getProperty("fault.latency.median.millis", "0"));
+    }
+    
+    /**
+     * Retrieves the spread (sigma of the logarithm) of the latency injected by the fault proxy.
+     *
+     * @return the latency sigma, default is 0.5
+     */
+    public static double getFaultLatencySigma() {
+        return Double.parseDouble(getProperty("fault.latency.sigma", "0.5"));
+    }
+    
+    /**
+     * Retrieves the response body bandwidth of the fault proxy.
+     *
+     * @return the bandwidth in bytes per second, default is 0 (unlimited)
+     */
+    public static long getFaultBandwidthBytesPerSecond() {
+        return Long.parseLong(getProperty("fault.bandwidth.bytes.per.second", "0"));
+    }
+    
+    /**
+     * Retrieves the probability of the fault proxy resetting a connection.
+     *
+     * @return the reset probability per request, default is 0
+     */
+    public static double getFaultResetProbability() {
+        return Double.parseDouble(getProperty("fault.reset.probability", "0"));
+    }
+    
+    /**
+     * Retrieves the status of error bursts injected by the fault proxy.
+     *
+     * @return the error status, default is 503
+     */
+    public static int getFaultErrorStatus() {
+        return Integer.parseInt(getProperty("fault.error.status", "503"));
+    }
+    
+    /**
+     * Retrieves the probability of a request starting an error burst in the fault proxy.
+     *
+     * @return the burst probability per request, default is 0
+     */
+    public static double getFaultErrorProbability() {
+        return Double.parseDouble(getProperty("fault.error.probability", "0"));
+    }
+    
+    /**
+     * Retrieves the number of consecutive requests answered with an error in a burst.
+     *
+     * @return the burst length, default is 3
+     */
+    public static int getFaultErrorBurstLength() {
+        return Integer.parseInt(getProperty("fault.error.burst.length", "3"));
+    }
+    
+    /**
+     * Retrieves the transport used to send requests built by {@code RequestBuilder}.
+     * <p>
+     * {@code http1} uses REST Assured's HTTP/1.1 client with a new connection per request;
+     * {@code http2} uses a shared JDK HTTP client that multiplexes requests over HTTP/2.
+     * </p>
+     *
+     * @return the transport name, default is "http1"
+     */
+    public static String getHttpTransport() {
+        return getProperty("http.transport", "http1").trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Determines whether tests with unchanged inputs reuse their last result.
+     * <p>
+     * When enabled, the inputs and result of every test are recorded in
+     * {@code impact.results.file}, and a test is skipped when its inputs are unchanged and
+     * its last run passed against offline stand-ins only.
+     * </p>
+     *
+     * @return true if test impact analysis is enabled, default is true
+     */
+    public static boolean isImpactAnalysisEnabled() {
+        return Boolean.parseBoolean(getProperty("impact.analysis.enabled", "true"));
+    }
+    
+    /**
+     * Determines whether every test runs regardless of recorded results.
+     * <p>
+     * Inputs and results are still recorded, so later runs can reuse them.
+     * </p>
+     *
+     * @return true if a full run is forced, default is false
+     */
+    public static boolean isImpactFullRun() {
+        return Boolean.parseBoolean(getProperty("impact.full.run", "false"));
+    }
+    
+    /**
+     * Retrieves the file the inputs and results of each test are recorded in.
+     *
+     * @return the test impact results path, default is "target/test-impact/results.json"
+     */
+    public static String getImpactResultsFile() {
+        return getProperty("impact.results.file", "target/test-impact/results.json");
+    }
+    
+    /**
+     * Retrieves the size above which response bodies are spilled to temporary files.
+     * <p>
+     * Bodies up to this size stay on the heap; larger ones are streamed to a file while
+     * their SHA-256 digest is computed, and validators read them through a memory-mapped
+     * view. 0 keeps every body on the heap.
+     * </p>
+     *
+     * @return the spill threshold in bytes, default is 0 (disabled)
+     */
+    public static long getSpillThresholdBytes() {
+        return Long.parseLong(getProperty("capture.spill.threshold.bytes", "0"));
+    }
+    
+    /**
+     * Retrieves the directory spilled response bodies are written to.
+     *
+     * @return the spill directory, default is "" (a new directory under the system temp directory)
+     */
+    public static String getSpillDirectory() {
+        return getProperty("capture.spill.directory", "");
+    }
+    
+    /**
+     * Determines whether the suite runs against the in-process synthetic API.
+     * <p>
+     * When enabled, {@code BaseTest} starts a {@code SyntheticApiServer} serving the dataset
+     * of the other {@code synthetic.*} settings and sends every request to it instead of
+     * {@code base.url}.
+     * </p>
+     *
+     * @return true if the synthetic API is enabled, default is false
+     */
+    public static boolean isSyntheticApiEnabled() {
+        return Boolean.parseBoolean(getProperty("synthetic.api", "false"));
+    }
+    
+    /**
+     * Retrieves the seed of the synthetic dataset.
+     *
+     * @return the seed, default is 42
+     */
+    public static long getSyntheticSeed() {
+        return Long.parseLong(getProperty("synthetic.seed", "42"));
+    }
+    
+    /**
+     * Retrieves the factor applied to the size of every resource of the synthetic dataset.
+     *
+     * @return the scale relative to the real API, default is 1
+     */
+    public static double getSyntheticScale() {
+        return Double.parseDouble(getProperty("synthetic.scale", "1"));
+    }
+    
+    /**
+     * Retrieves the number of elements of one resource of the synthetic dataset.
+     *
+     * @param resource the resource
+     * @return the value of {@code synthetic.count.<resource>} (e.g., {@code synthetic.count.photos}),
+     *         default is 0 (the scaled size of the real API)
+     */
+    public static int getSyntheticCount(ApiResource resource) {
+        return Integer.parseInt(getProperty("synthetic.count" + resource.getPath().replace('/', '.'), "0"));
+    }
+    
+    /**
+     * Retrieves the local port of the synthetic API.
+     *
+     * @return the port, default is 0 (any free port)
+     */
+    public static int getSyntheticPort() {
+        return Integer.parseInt(getProperty("synthetic.port", "0"));
+    }
+    
+    /**
+     * Retrieves the environments compared by {@code EnvironmentComparison}.
+     *
+     * @return comma separated {@code name=baseUrl} pairs, the reference first; default is empty
+     */
+    public static String getCompareEnvironments() {
+        return getProperty("compare.environments", "");
+    }
+    
+    /**
+     * Retrieves the request paths compared between environments.
+     *
+     * @return the paths, optionally with a query string; default is a GET of every resource,
+     *         one element and one nested route
+     */
+    public static List<String> getComparePaths() {
+        String paths = getProperty("compare.paths", "/posts,/posts/1,/posts/1/comments,/comments,/albums,/photos,"
+                + "/todos,/users,/users/1");
+        return Arrays.stream(paths.split(",")).map(String::trim).filter(path -> !path.isEmpty())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Retrieves the number of requests per path and environment of a comparison.
+     *
+     * @return the number of samples, default is 20
+     */
+    public static int getCompareSamples() {
+        return Integer.parseInt(getProperty("compare.samples", "20"));
+    }
+    
+    /**
+     * Retrieves the maximum number of requests in flight per environment of a comparison.
+     *
+     * @return the concurrency, default is 4
+     */
+    public static int getCompareConcurrency() {
+        return Integer.parseInt(getProperty("compare.concurrency", "4"));
+    }
+    
+    /**
+     * Retrieves the file the comparison report is written to.
+     *
+     * @return the report path, default is target/compare/report.txt
+     */
+    public static String getCompareReportFile() {
+        return getProperty("compare.report.file", "target/compare/report.txt");
+    }
+    
+    /**
+     * Retrieves the number of operations of a write stress run against {@code base.url}.
+     *
+     * @return the operation count, default is 0 (no stress run)
+     */
+    public static int getStressOperations() {
+        return Integer.parseInt(getProperty("stress.operations", "0"));
+    }
+    
+    /**
+     * Retrieves the collection path targeted by a write stress run.
+     *
+     * @return the collection path, default is /posts
+     */
+    public static String getStressResource() {
+        return getProperty("stress.resource", "/posts");
+    }
+    
+    /**
+     * Retrieves the resource ids targeted by a write stress run.
+     *
+     * @return the ids, default is 1, 2, 3 and 4
+     */
+    public static List<Integer> getStressIds() {
+        String ids = getProperty("stress.ids", "1,2,3,4");
+        return Arrays.stream(ids.split(",")).map(String::trim).filter(id -> !id.isEmpty())
+                .map(Integer::valueOf).collect(Collectors.toList());
+    }
+    
+    /**
+     * Retrieves the number of concurrent clients of a write stress run.
+     *
+     * @return the client count, default is 8
+     */
+    public static int getStressClients() {
+        return Integer.parseInt(getProperty("stress.clients", "8"));
+    }
+    
+    /**
+     * Retrieves the seed choosing the operations of a write stress run.
+     *
+     * @return the seed, default is 1
+     */
+    public static long getStressSeed() {
+        return Long.parseLong(getProperty("stress.seed", "1"));
+    }
+    
+    /**
+     * Retrieves the number of warm-up requests sent to every warm-up path.
+     * <p>
+     * Warm-up requests are sent once per JVM and base URL before the first test class runs,
+     * so that DNS lookups, TLS sessions, class loading and server-side caches do not show
+     * up in the latency of the first measured requests.
+     * </p>
+     *
+     * @return the requests per path, 0 to skip the warm-up; default is 3
+     */
+    public static int getWarmupRequests() {
+        return Integer.parseInt(getProperty("warmup.requests", "3"));
+    }
+    
+    /**
+     * Retrieves the paths requested during the warm-up.
+     *
+     * @return the paths, default is /posts/1
+     */
+    public static List<String> getWarmupPaths() {
+        String paths = getProperty("warmup.paths", "/posts/1");
+        return Arrays.stream(paths.split(",")).map(String::trim).filter(path -> !path.isEmpty())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Determines whether identical GET requests in flight at the same time share one call.
+     * <p>
+     * Tests can override the setting with {@code @CoalesceRequests}.
+     * </p>
+     *
+     * @return true if requests are coalesced, default is false
+     */
+    public static boolean isRequestCoalescingEnabled() {
+        return Boolean.parseBoolean(getProperty("request.coalescing", "false"));
+    }
+    
+    /**
+     * Retrieves a configuration value, giving JVM system properties precedence.
+     * <p>
+     * This allows any key from config.properties to be overridden on the command line,
+     * e.g. {@code mvn test -Dsnapshot.baseline=target/snapshots/previous.snap}. Every key read
+     * while a test runs is recorded as one of its inputs.
+     * </p>
+     *
+     * @param key the property key
+     * @param defaultValue the value returned when the key is not configured
+     * @return the configured value or the default
+     */
+    public static String getProperty(String key, String defaultValue) {
+        TestInputs.config(key);
+        String override = System.getProperty(key);
+        return override != null ? override : properties.getProperty(key, defaultValue);
+    }
+    
     /**
      * Determines whether HTTP responses should be logged.
      * <p>
@@ -0,0 +1,132 @@
+package com.api.utilities;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Point in time by which work has to be finished, with a per-thread current deadline.
+ * <p>
+ * The deadline extension sets the current deadline of the test thread from the test and
+ * suite time budgets; the deadline filter reads it, so the remaining budget caps the
+ * timeout of every request the test sends. Pool threads do not inherit the deadline, so
+ * tasks that send requests are wrapped with {@link #bind(Supplier)} or {@link #bind(Runnable)}
+ * where they are submitted.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class Deadline {
+    
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    
+    private final long expiresAtNanos;
+    private final String description;
+    
+    private Deadline(long expiresAtNanos, String description) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.description = description;
+    }
+    
+    /**
+     * Creates a deadline a budget from now.
+     *
+     * @param budget the time budget
+     * @param description what the budget belongs to, used in timeout messages (e.g., "suite budget of 30m")
+     * @return the deadline
+     */
+    public static Deadline after(Duration budget, String description) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), description);
+    }
+    
+    /**
+     * Retrieves the deadline of the current thread.
+     *
+     * @return the current deadline, or null if the thread has none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Sets or clears the deadline of the current thread.
+     *
+     * @param deadline the deadline, or null to clear it
+     */
+    public static void setCurrent(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+    
+    /**
+     * Wraps a task so that it runs under the deadline of the calling thread, on whichever
+     * thread it is executed.
+     *
+     * @param task the task to hand to another thread
+     * @param <T> the result type
+     * @return the wrapped task
+     */
+    public static <T> Supplier<T> bind(Supplier<T> task) {
+        Deadline deadline = CURRENT.get();
+        return () -> {
+            Deadline previous = CURRENT.get();
+            setCurrent(deadline);
+            try {
+                return task.get();
+            } finally {
+                setCurrent(previous);
+            }
+        };
+    }
+    
+    /**
+     * Wraps a task so that it runs under the deadline of the calling thread, on whichever
+     * thread it is executed.
+     *
+     * @param task the task to hand to another thread
+     * @return the wrapped task
+     */
+    public static Runnable bind(Runnable task) {
+        Supplier<Void> bound = bind(() -> {
+            task.run();
+            return null;
+        });
+        return bound::get;
+    }
+    
+    /**
+     * Retrieves the time left until the deadline.
+     *
+     * @return the remaining time, negative once the deadline has passed
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+    
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+    
+    /**
+     * Returns whichever of two deadlines expires first.
+     *
+     * @param other the other deadline, may be null
+     * @return the earlier deadline
+     */
+    public Deadline earliest(Deadline other) {
+        return other == null || expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    @Override
+    public String toString() {
+        return description + " (" + remaining().toMillis() + "ms left)";
+    }
+}
@@ -0,0 +1,50 @@
+package com.api.utilities;
+
+import java.util.regex.Pattern;
+
+/**
+ * Endpoint name normalization for per-endpoint reporting.
+ * <p>
+ * Requests to {@code /posts/1} and {@code /posts/2} are reported under the same endpoint
+ * {@code /posts/{id}}, so statistics aggregate per route instead of per resource instance
+ * and the number of distinct endpoints stays bounded.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class EndpointNames {
+    
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    
+    private EndpointNames() {
+    }
+    
+    /**
+     * Normalizes a request path: the query string is dropped and numeric segments are
+     * replaced with {@code {id}}.
+     *
+     * @param path the request path, optionally followed by a query string
+     * @return the normalized path (e.g., "/posts/{id}/comments")
+     */
+    public static String normalizePath(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int query = path.indexOf('?');
+        String plainPath = query < 0 ? path : path.substring(0, query);
+        return NUMERIC_SEGMENT.matcher(plainPath).replaceAll("/{id}");
+    }
+    
+    /**
+     * Builds the endpoint key of a request.
+     *
+     * @param method the HTTP method
+     * @param path the request path, optionally followed by a query string
+     * @return the endpoint key (e.g., "GET /posts/{id}/comments")
+     */
+    public static String key(String method, String path) {
+        return method + " " + normalizePath(path);
+    }
+}
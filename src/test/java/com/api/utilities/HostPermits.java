@@ -0,0 +1,60 @@
+package com.api.utilities;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of tasks sending requests to the same host at once.
+ * <p>
+ * Each host gets a semaphore with {@code perHostConcurrency} permits. A task takes a permit
+ * of its host on the calling thread before it runs, so the limit holds however many threads
+ * run tasks, and the task keeps the context of the thread it runs on (e.g. the dynamic test
+ * it belongs to).
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class HostPermits {
+    
+    private final int perHostConcurrency;
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    
+    /**
+     * Creates the permits.
+     *
+     * @param perHostConcurrency the maximum number of tasks running against one host
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public HostPermits(int perHostConcurrency) {
+        if (perHostConcurrency <= 0) {
+            throw new IllegalArgumentException("Per-host concurrency must be positive");
+        }
+        this.perHostConcurrency = perHostConcurrency;
+    }
+    
+    /**
+     * Runs a task against a host once a permit of the host is available.
+     *
+     * @param baseUri a URI of the host the task sends requests to (e.g., the base URI)
+     * @param task the task
+     * @throws InterruptedException if the thread is interrupted while waiting for a permit
+     */
+    public void run(String baseUri, Runnable task) throws InterruptedException {
+        Semaphore permits = hostPermits.computeIfAbsent(hostOf(baseUri), host -> new Semaphore(perHostConcurrency));
+        permits.acquire();
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private static String hostOf(String baseUri) {
+        URI uri = URI.create(baseUri.trim());
+        return uri.getHost() == null ? baseUri : uri.getHost() + ":" + uri.getPort();
+    }
+}
@@ -0,0 +1,98 @@
+package com.api.utilities;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streaming extractor of integer columns from JSON array responses.
+ * <p>
+ * Reads a top-level JSON array of objects with a Jackson token stream and copies selected
+ * integer fields of every element into primitive {@code int[]} columns. No object tree and
+ * no boxed values are created, so memory use is proportional to the number of rows times
+ * the number of requested fields.
+ * </p>
+ * <p>
+ * Only fields directly on each element are read; nested objects and arrays are skipped.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class IntColumns {
+    
+    /**
+     * Sentinel stored in a column when an element does not contain the field as an integer.
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+    
+    /**
+     * Shared Jackson factory used to create token stream parsers.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    private IntColumns() {
+    }
+    
+    /**
+     * Extracts integer columns from a JSON array body.
+     *
+     * @param json the response body containing a JSON array of objects
+     * @param fields the names of the fields to extract
+     * @return one column per field, in the order of {@code fields}, each with one entry per element
+     * @throws IllegalArgumentException if the body is not a JSON array
+     * @throws IllegalStateException if the body cannot be parsed
+     */
+    public static int[][] read(byte[] json, String... fields) {
+        int[][] columns = new int[fields.length][16];
+        int rows = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array but got " + parser.currentToken());
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                if (fields.length > 0 && rows == columns[0].length) {
+                    for (int f = 0; f < fields.length; f++) {
+                        columns[f] = Arrays.copyOf(columns[f], rows * 2);
+                    }
+                }
+                for (int f = 0; f < fields.length; f++) {
+                    columns[f][rows] = MISSING;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int f = indexOf(fields, parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (f >= 0 && value == JsonToken.VALUE_NUMBER_INT) {
+                        columns[f][rows] = parser.getIntValue();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                rows++;
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Expected array elements to be objects but got " + token);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to parse JSON array: " + e.getMessage(), e);
+        }
+        for (int f = 0; f < fields.length; f++) {
+            columns[f] = Arrays.copyOf(columns[f], rows);
+        }
+        return columns;
+    }
+    
+    private static int indexOf(String[] fields, String name) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
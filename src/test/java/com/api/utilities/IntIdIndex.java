@@ -0,0 +1,179 @@
+package com.api.utilities;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Primitive index over a set of integer identifiers.
+ * <p>
+ * The index maps each distinct id to a dense slot number without boxing, which makes it
+ * suitable for joins over collections with millions of rows. Dense id ranges (the common
+ * case for auto-incremented ids) are indexed with a {@link BitSet} and direct addressing;
+ * sparse ranges fall back to a sorted {@code int[]} searched with binary search.
+ * </p>
+ * <p>
+ * Slots can be used as indexes into caller-owned {@code int[]} arrays, for example to count
+ * how many child rows reference each parent.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class IntIdIndex {
+    
+    /**
+     * Maximum ratio between the id range and the number of ids for which direct addressing is used.
+     */
+    private static final int DENSE_RANGE_FACTOR = 8;
+    
+    /**
+     * Present ids in dense mode, offset by {@link #minId}; {@code null} in sparse mode.
+     */
+    private final BitSet present;
+    
+    /**
+     * Distinct ids in ascending order in sparse mode; {@code null} in dense mode.
+     */
+    private final int[] sortedIds;
+    
+    private final int minId;
+    private final int slotCount;
+    private final int size;
+    private final int duplicateCount;
+    
+    private IntIdIndex(BitSet present, int[] sortedIds, int minId, int slotCount, int size, int duplicateCount) {
+        this.present = present;
+        this.sortedIds = sortedIds;
+        this.minId = minId;
+        this.slotCount = slotCount;
+        this.size = size;
+        this.duplicateCount = duplicateCount;
+    }
+    
+    /**
+     * Builds an index over the given ids.
+     * <p>
+     * Ids equal to {@link IntColumns#MISSING} are ignored. Repeated ids are indexed once and
+     * reported through {@link #duplicateCount()}.
+     * </p>
+     *
+     * @param ids the ids to index (the array is not modified)
+     * @return the index
+     */
+    public static IntIdIndex of(int[] ids) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int valid = 0;
+        for (int id : ids) {
+            if (id != IntColumns.MISSING) {
+                min = Math.min(min, id);
+                max = Math.max(max, id);
+                valid++;
+            }
+        }
+        if (valid == 0) {
+            return new IntIdIndex(null, new int[0], 0, 0, 0, 0);
+        }
+        
+        long range = (long) max - min + 1;
+        if (range <= (long) valid * DENSE_RANGE_FACTOR) {
+            BitSet present = new BitSet((int) range);
+            int duplicates = 0;
+            for (int id : ids) {
+                if (id == IntColumns.MISSING) {
+                    continue;
+                }
+                int bit = id - min;
+                if (present.get(bit)) {
+                    duplicates++;
+                } else {
+                    present.set(bit);
+                }
+            }
+            return new IntIdIndex(present, null, min, (int) range, valid - duplicates, duplicates);
+        }
+        
+        int[] sorted = new int[valid];
+        int count = 0;
+        for (int id : ids) {
+            if (id != IntColumns.MISSING) {
+                sorted[count++] = id;
+            }
+        }
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return new IntIdIndex(null, Arrays.copyOf(sorted, distinct), min, distinct, distinct, valid - distinct);
+    }
+    
+    /**
+     * Checks whether an id is present in the index.
+     *
+     * @param id the id to look up
+     * @return true if the id was indexed
+     */
+    public boolean contains(int id) {
+        return slotOf(id) >= 0;
+    }
+    
+    /**
+     * Resolves the slot of an id.
+     *
+     * @param id the id to look up
+     * @return the slot in {@code [0, slotCount())}, or -1 if the id is not indexed
+     */
+    public int slotOf(int id) {
+        if (present != null) {
+            long bit = (long) id - minId;
+            return bit >= 0 && bit < slotCount && present.get((int) bit) ? (int) bit : -1;
+        }
+        int slot = Arrays.binarySearch(sortedIds, id);
+        return slot >= 0 ? slot : -1;
+    }
+    
+    /**
+     * Checks whether a slot belongs to an indexed id.
+     * <p>
+     * In dense mode some slots in the id range may be unused; callers iterating over
+     * per-slot arrays should skip those.
+     * </p>
+     *
+     * @param slot the slot to check
+     * @return true if an indexed id maps to the slot
+     */
+    public boolean isUsedSlot(int slot) {
+        return present == null ? slot >= 0 && slot < slotCount : present.get(slot);
+    }
+    
+    /**
+     * Retrieves the number of slots, i.e. the length required for per-slot arrays.
+     *
+     * @return the slot count
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+    
+    /**
+     * Retrieves the number of distinct indexed ids.
+     *
+     * @return the distinct id count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Retrieves how many input ids were repeats of an already indexed id.
+     *
+     * @return the number of duplicate ids
+     */
+    public int duplicateCount() {
+        return duplicateCount;
+    }
+}
@@ -0,0 +1,352 @@
+package com.api.utilities;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled JSON path expression evaluated directly over Jackson trees and token streams.
+ * <p>
+ * Supports the subset of REST Assured's GPath syntax used in assertions: field names
+ * separated by dots and array indexes, e.g. {@code id}, {@code address.geo.lat},
+ * {@code [0].title} or {@code comments[-1].email}. As in GPath, a field step applied to an
+ * array selects the field of every element, so {@code userId} on an array of posts yields
+ * all user ids. Expressions are parsed once and cached by expression string.
+ * </p>
+ * <p>
+ * {@link #evaluate(JsonNode)} returns the same Java values as
+ * {@code response.jsonPath().get(expression)}: {@code Integer}, {@code Long}, {@code Float}
+ * or {@code Double} numbers, strings, booleans, {@code List}s and {@code Map}s.
+ * {@link #ints(byte[])} extracts all selected integers into an {@code int[]} from a token
+ * stream, without building a tree or boxing values.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public final class JsonPathExpression {
+    
+    private static final Pattern STEP = Pattern.compile("\\G(?:\\.?([A-Za-z_][A-Za-z0-9_-]*)|\\[(-?\\d+)])");
+    
+    private static final ConcurrentMap<String, Optional<JsonPathExpression>> COMPILED = new ConcurrentHashMap<>();
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final String expression;
+    
+    /**
+     * Field name of each step, or null for an index step.
+     */
+    private final String[] fields;
+    
+    /**
+     * Array index of each index step.
+     */
+    private final int[] indexes;
+    
+    private final boolean fieldsOnly;
+    
+    private JsonPathExpression(String expression, String[] fields, int[] indexes) {
+        this.expression = expression;
+        this.fields = fields;
+        this.indexes = indexes;
+        this.fieldsOnly = Arrays.stream(fields).allMatch(field -> field != null);
+    }
+    
+    /**
+     * Compiles an expression, or retrieves it from the cache.
+     *
+     * @param expression the path expression (e.g., "id", "address.geo.lat", "[0].title")
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression uses unsupported GPath syntax
+     */
+    public static JsonPathExpression compile(String expression) {
+        return tryCompile(expression).orElseThrow(() ->
+                new IllegalArgumentException("Unsupported JSON path expression: " + expression));
+    }
+    
+    /**
+     * Compiles an expression if it only uses the supported syntax, caching the outcome.
+     *
+     * @param expression the path expression
+     * @return the compiled expression, or empty if the expression needs full GPath evaluation
+     *         (e.g., closures such as {@code findAll { it.id > 1 }} or method calls)
+     */
+    public static Optional<JsonPathExpression> tryCompile(String expression) {
+        return COMPILED.computeIfAbsent(expression, JsonPathExpression::parse);
+    }
+    
+    private static Optional<JsonPathExpression> parse(String expression) {
+        String path = expression.trim();
+        if (path.equals("$") || path.equals("$.")) {
+            path = "";
+        } else if (path.startsWith("$.") || path.startsWith("$[")) {
+            path = path.substring(path.charAt(1) == '.' ? 2 : 1);
+        }
+        List<String> fields = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        Matcher matcher = STEP.matcher(path);
+        int end = 0;
+        while (end < path.length() && matcher.find()) {
+            boolean dotted = path.charAt(matcher.start()) == '.';
+            if (matcher.group(1) != null && dotted == (end == 0)) {
+                return Optional.empty();
+            }
+            fields.add(matcher.group(1));
+            indexes.add(matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2)));
+            end = matcher.end();
+        }
+        if (end != path.length()) {
+            return Optional.empty();
+        }
+        return Optional.of(new JsonPathExpression(expression, fields.toArray(new String[0]),
+                indexes.stream().mapToInt(Integer::intValue).toArray()));
+    }
+    
+    /**
+     * Selects the node addressed by this expression.
+     *
+     * @param root the root of the JSON document
+     * @return the selected node; field steps over arrays yield an array of the selected
+     *         values, and missing fields yield a null node
+     */
+    public JsonNode select(JsonNode root) {
+        JsonNode current = root;
+        for (int step = 0; step < fields.length; step++) {
+            current = fields[step] != null ? field(current, fields[step]) : index(current, indexes[step]);
+        }
+        return current;
+    }
+    
+    /**
+     * Evaluates this expression to the Java value REST Assured's JSON path would return.
+     *
+     * @param root the root of the JSON document
+     * @return the selected value, or null if it is missing
+     */
+    public Object evaluate(JsonNode root) {
+        return toJava(select(root));
+    }
+    
+    /**
+     * Extracts every integer selected by this expression from a parsed document.
+     * <p>
+     * Selected arrays are flattened. Selected values that are missing or not integers are
+     * returned as {@link IntColumns#MISSING}.
+     * </p>
+     *
+     * @param root the root of the JSON document
+     * @return the selected integers in document order
+     */
+    public int[] ints(JsonNode root) {
+        IntList values = new IntList();
+        collectInts(select(root), values);
+        return values.toArray();
+    }
+    
+    /**
+     * Extracts every integer selected by this expression from a JSON body.
+     * <p>
+     * Expressions made of field steps only are evaluated on a token stream, so no tree is
+     * built; expressions with index steps fall back to parsing the body into a tree.
+     * </p>
+     *
+     * @param json the JSON document
+     * @return the selected integers in document order, as for {@link #ints(JsonNode)}
+     * @throws IllegalStateException if the body cannot be parsed
+     */
+    public int[] ints(byte[] json) {
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            return ints(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to parse JSON for " + expression + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Extracts every integer selected by this expression from a JSON stream, e.g. a spilled
+     * response body, as for {@link #ints(byte[])}.
+     *
+     * @param json the JSON document; the stream is closed once it has been read
+     * @return the selected integers in document order
+     * @throws IllegalStateException if the body cannot be read or parsed
+     */
+    public int[] ints(InputStream json) {
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            return ints(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to parse JSON for " + expression + ": " + e.getMessage(), e);
+        }
+    }
+    
+    private int[] ints(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            return new int[0];
+        }
+        if (!fieldsOnly) {
+            return ints((JsonNode) MAPPER.readTree(parser));
+        }
+        IntList values = new IntList();
+        streamInts(parser, 0, false, values);
+        return values.toArray();
+    }
+    
+    @Override
+    public String toString() {
+        return expression;
+    }
+    
+    private static JsonNode field(JsonNode node, String name) {
+        if (node.isArray()) {
+            ArrayNode selected = JsonNodeFactory.instance.arrayNode(node.size());
+            for (JsonNode element : node) {
+                // GPath skips null elements when selecting a field over a list
+                if (!element.isNull()) {
+                    selected.add(field(element, name));
+                }
+            }
+            return selected;
+        }
+        JsonNode value = node.get(name);
+        return value == null ? NullNode.getInstance() : value;
+    }
+    
+    private static JsonNode index(JsonNode node, int index) {
+        if (!node.isArray()) {
+            return NullNode.getInstance();
+        }
+        JsonNode value = node.get(index < 0 ? node.size() + index : index);
+        return value == null ? NullNode.getInstance() : value;
+    }
+    
+    private static void collectInts(JsonNode node, IntList values) {
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                collectInts(element, values);
+            }
+        } else {
+            values.add(node.isIntegralNumber() && node.canConvertToInt() ? node.intValue() : IntColumns.MISSING);
+        }
+    }
+    
+    /**
+     * Collects the integers selected from the value at the parser's current token, following
+     * the same rules as {@link #select(JsonNode)}.
+     *
+     * @param step the index of the next step to apply
+     * @param mapped whether the value is an element of an array the steps are mapped over
+     */
+    private void streamInts(JsonParser parser, int step, boolean mapped, IntList values) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_ARRAY) {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                streamInts(parser, step, true, values);
+            }
+        } else if (step == fields.length) {
+            values.add(token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT
+                    ? parser.getIntValue() : IntColumns.MISSING);
+            parser.skipChildren();
+        } else if (token == JsonToken.START_OBJECT) {
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean matches = !found && fields[step].equals(parser.currentName());
+                parser.nextToken();
+                if (matches) {
+                    found = true;
+                    streamInts(parser, step + 1, mapped, values);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!found) {
+                addNull(step + 1, mapped, values);
+            }
+        } else {
+            addNull(step, mapped, values);
+        }
+    }
+    
+    /**
+     * Adds a null value reached before the remaining steps; mapped nulls are dropped by the
+     * next field step, like in {@link #field(JsonNode, String)}.
+     */
+    private void addNull(int step, boolean mapped, IntList values) {
+        if (step == fields.length || !mapped) {
+            values.add(IntColumns.MISSING);
+        }
+    }
+    
+    private static Object toJava(JsonNode node) {
+        if (node == null || node.isNull() || node instanceof MissingNode) {
+            return null;
+        }
+        if (node.isArray()) {
+            List<Object> list = new ArrayList<>(node.size());
+            for (JsonNode element : node) {
+                list.add(toJava(element));
+            }
+            return list;
+        }
+        if (node.isObject()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                map.put(field.getKey(), toJava(field.getValue()));
+            }
+            return map;
+        }
+        if (node.isIntegralNumber()) {
+            return node.canConvertToInt() ? (Object) node.intValue()
+                    : node.canConvertToLong() ? (Object) node.longValue() : node.bigIntegerValue();
+        }
+        if (node.isNumber()) {
+            // REST Assured returns floats unless the value only fits in a double
+            float value = node.floatValue();
+            return Float.isInfinite(value) ? (Object) node.doubleValue() : (Object) value;
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        return node.asText();
+    }
+    
+    /**
+     * Growable list of primitive ints.
+     */
+    private static final class IntList {
+        
+        private int[] values = new int[16];
+        private int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
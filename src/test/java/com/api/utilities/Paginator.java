@@ -0,0 +1,311 @@
+package com.api.utilities;
+
+import com.api.impact.TestInputs;
+import com.api.metrics.MetricsRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Prefetching paginator for json-server style collection endpoints.
+ * <p>
+ * This utility walks a collection page by page using either {@code _page}/{@code _limit}
+ * or {@code _start}/{@code _end} query parameters and exposes the elements lazily as a
+ * {@link Stream}. Up to {@code prefetch} pages are requested concurrently ahead of the
+ * consumer, so network round trips overlap with processing while memory stays bounded by
+ * the prefetch window.
+ * </p>
+ * <p>
+ * Page boundaries are verified while the stream is consumed:
+ * <ul>
+ *   <li>Element ids must be strictly increasing across pages (no duplicates or overlaps)</li>
+ *   <li>Only the last page may be shorter than the page size (no gaps), when the
+ *       {@code X-Total-Count} header tells which page is the last one</li>
+ *   <li>The number of streamed elements must match the {@code X-Total-Count} header, when sent</li>
+ * </ul>
+ * Without the header, the walk ends at the first page shorter than the page size, which may
+ * be an empty page after a full one.
+ * Violations fail the consuming test with an {@link AssertionError}.
+ * </p>
+ * <p>
+ * Streams hold in-flight requests and should be closed (e.g., with try-with-resources)
+ * when not fully consumed.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class Paginator {
+    
+    /**
+     * Pagination query parameter style.
+     */
+    public enum PageMode {
+        /**
+         * {@code ?_page=N&_limit=SIZE} with 1-based page numbers.
+         */
+        PAGE,
+        /**
+         * {@code ?_start=OFFSET&_end=OFFSET+SIZE} with 0-based offsets.
+         */
+        RANGE
+    }
+    
+    /**
+     * Response header carrying the total collection size.
+     */
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    
+    /**
+     * Shared Jackson mapper used to parse page bodies.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    /**
+     * Daemon threads fetching pages ahead of consumers.
+     */
+    private static final ThreadPoolExecutor PAGE_FETCHERS = (ThreadPoolExecutor) Executors.newCachedThreadPool(
+            runnable -> {
+                // Fetches record into the recording and run under the deadline of the test they run for
+                Thread thread = new Thread(null, runnable, "paginator-fetch", 0, false);
+                thread.setDaemon(true);
+                return thread;
+            });
+    
+    static {
+        MetricsRegistry.gauge("api_paginator_active_fetches", "Page requests currently in flight",
+                PAGE_FETCHERS::getActiveCount);
+        MetricsRegistry.gauge("api_paginator_pool_threads", "Threads of the page fetch pool",
+                PAGE_FETCHERS::getPoolSize);
+    }
+    
+    /**
+     * Streams a collection using the configured page size and prefetch window.
+     *
+     * @param path the collection path (e.g., "/photos")
+     * @return a lazy stream of the collection elements
+     */
+    public static Stream<JsonNode> stream(String path) {
+        return stream(path, PageMode.PAGE, ConfigManager.getPageSize(), ConfigManager.getPagePrefetch());
+    }
+    
+    /**
+     * Streams a collection page by page.
+     *
+     * @param path the collection path (e.g., "/photos")
+     * @param mode the pagination query parameter style
+     * @param pageSize the number of elements requested per page
+     * @param prefetch the maximum number of pages requested ahead of the consumer
+     * @return a lazy stream of the collection elements
+     * @throws IllegalArgumentException if pageSize or prefetch is not positive
+     */
+    public static Stream<JsonNode> stream(String path, PageMode mode, int pageSize, int prefetch) {
+        if (pageSize < 1 || prefetch < 1) {
+            throw new IllegalArgumentException("pageSize and prefetch must be positive");
+        }
+        PageSpliterator spliterator = new PageSpliterator(path, mode, pageSize, prefetch);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+    }
+    
+    /**
+     * Builds the query parameters of a page.
+     */
+    private static Map<String, String> pageParams(PageMode mode, int pageIndex, int pageSize) {
+        Map<String, String> params = new HashMap<>();
+        if (mode == PageMode.PAGE) {
+            params.put("_page", String.valueOf(pageIndex + 1));
+            params.put("_limit", String.valueOf(pageSize));
+        } else {
+            long start = (long) pageIndex * pageSize;
+            params.put("_start", String.valueOf(start));
+            params.put("_end", String.valueOf(start + pageSize));
+        }
+        return params;
+    }
+    
+    /**
+     * Fetches and parses a single page.
+     */
+    private static Page fetchPage(String path, PageMode mode, int pageIndex, int pageSize) {
+        Response response = RequestBuilder.buildRequestWithQueryParams(path, pageParams(mode, pageIndex, pageSize))
+                .get(path);
+        ResponseValidator.validateStatusCode(response, 200);
+        String totalHeader = response.getHeader(TOTAL_COUNT_HEADER);
+        try {
+            JsonNode body = MAPPER.readTree(response.asByteArray());
+            Assertions.assertTrue(body.isArray(), "Page " + pageIndex + " of " + path + " is not a JSON array");
+            return new Page(pageIndex, body, totalHeader == null ? -1 : Long.parseLong(totalHeader.trim()));
+        } catch (IOException e) {
+            throw new AssertionError("Page " + pageIndex + " of " + path + " is not valid JSON", e);
+        }
+    }
+    
+    /**
+     * A fetched page of elements.
+     */
+    private static final class Page {
+        
+        private final int index;
+        private final JsonNode elements;
+        private final long totalCount;
+        
+        Page(int index, JsonNode elements, long totalCount) {
+            this.index = index;
+            this.elements = elements;
+            this.totalCount = totalCount;
+        }
+    }
+    
+    /**
+     * Spliterator pulling pages from a sliding window of in-flight requests.
+     */
+    private static final class PageSpliterator extends Spliterators.AbstractSpliterator<JsonNode> {
+        
+        private final String path;
+        private final PageMode mode;
+        private final int pageSize;
+        private final int prefetch;
+        private final Deque<CompletableFuture<Page>> inFlight = new ArrayDeque<>();
+        
+        private Iterator<JsonNode> current = Collections.emptyIterator();
+        private int nextPageToRequest;
+        private long lastPageIndex = Long.MAX_VALUE;
+        private boolean lastPageLoaded;
+        private boolean totalVerified;
+        private long streamed;
+        private long totalCount = -1;
+        private boolean hasPreviousId;
+        private long previousId;
+        
+        PageSpliterator(String path, PageMode mode, int pageSize, int prefetch) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.path = path;
+            this.mode = mode;
+            this.pageSize = pageSize;
+            this.prefetch = prefetch;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super JsonNode> action) {
+            while (!current.hasNext()) {
+                if (lastPageLoaded) {
+                    verifyTotal();
+                    return false;
+                }
+                loadNextPage();
+            }
+            JsonNode element = current.next();
+            verifyOrdering(element);
+            streamed++;
+            action.accept(element);
+            return true;
+        }
+        
+        /**
+         * Takes the next page from the window, checks its boundary and refills the window.
+         */
+        private void loadNextPage() {
+            fillWindow();
+            CompletableFuture<Page> next = inFlight.pollFirst();
+            if (next == null) {
+                lastPageLoaded = true;
+                return;
+            }
+            Page page;
+            try {
+                page = next.join();
+            } catch (CompletionException e) {
+                cancel();
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            
+            if (totalCount < 0 && page.totalCount >= 0) {
+                totalCount = page.totalCount;
+                lastPageIndex = totalCount == 0 ? -1 : (totalCount - 1) / pageSize;
+            }
+            // Without a total, the first short page is the last one and gaps can't be told apart from it
+            int size = page.elements.size();
+            if (size < pageSize && totalCount >= 0 && page.index < lastPageIndex) {
+                cancel();
+                Assertions.fail("Page " + page.index + " of " + path + " returned " + size + " of " + pageSize
+                        + " elements before the last page " + lastPageIndex + " (gap in pagination)");
+            }
+            if (size < pageSize || page.index >= lastPageIndex) {
+                lastPageLoaded = true;
+                cancel();
+            } else {
+                fillWindow();
+            }
+            current = page.elements.elements();
+        }
+        
+        private void fillWindow() {
+            while (!lastPageLoaded && inFlight.size() < prefetch && nextPageToRequest <= lastPageIndex) {
+                int pageIndex = nextPageToRequest++;
+                inFlight.addLast(CompletableFuture.supplyAsync(
+                        TestInputs.bind(Deadline.bind(() -> fetchPage(path, mode, pageIndex, pageSize))),
+                        PAGE_FETCHERS));
+            }
+        }
+        
+        /**
+         * Checks the number of streamed elements against the total announced by the server.
+         */
+        private void verifyTotal() {
+            if (totalVerified) {
+                return;
+            }
+            totalVerified = true;
+            if (totalCount >= 0) {
+                Assertions.assertEquals(totalCount, streamed, "Paginated walk of " + path
+                        + " returned a different number of elements than " + TOTAL_COUNT_HEADER);
+            }
+        }
+        
+        private void verifyOrdering(JsonNode element) {
+            JsonNode id = element.get("id");
+            if (id == null || !id.isIntegralNumber()) {
+                return;
+            }
+            long value = id.longValue();
+            if (hasPreviousId) {
+                Assertions.assertTrue(value > previousId, "Paginated walk of " + path + " returned id " + value
+                        + " after id " + previousId + " (duplicate or overlapping page boundary)");
+            }
+            hasPreviousId = true;
+            previousId = value;
+        }
+        
+        void cancel() {
+            CompletableFuture<Page> pending;
+            while ((pending = inFlight.pollFirst()) != null) {
+                pending.cancel(true);
+            }
+        }
+    }
+}
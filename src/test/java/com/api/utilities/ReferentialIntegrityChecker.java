@@ -0,0 +1,374 @@
+package com.api.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cross-resource referential integrity checker.
+ * <p>
+ * This utility pulls every collection listed in {@link ApiResource} once, extracts the
+ * primary key and foreign key columns as primitive {@code int[]} arrays with
+ * {@link IntColumns}, indexes parent ids with {@link IntIdIndex} and verifies that each
+ * foreign key points to an existing parent:
+ * <ul>
+ *   <li>{@code comments.postId} &rarr; {@code posts.id}</li>
+ *   <li>{@code photos.albumId} &rarr; {@code albums.id}</li>
+ *   <li>{@code albums.userId} &rarr; {@code users.id}</li>
+ *   <li>{@code posts.userId} &rarr; {@code users.id}</li>
+ *   <li>{@code todos.userId} &rarr; {@code users.id}</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Besides orphans, the report contains cardinality statistics for every relation
+ * (e.g., minimum, maximum and mean number of posts per user) and duplicate primary keys.
+ * No boxed {@code Integer} collections are built, so the check stays allocation-light
+ * for datasets with millions of rows.
+ * </p>
+ *
+ * @author API Test Automation Team
+ * @version 2.1
+ * @since 2.1
+ */
+public class ReferentialIntegrityChecker {
+    
+    /**
+     * Maximum number of orphan rows kept per relation for reporting.
+     */
+    private static final int MAX_ORPHAN_SAMPLES = 10;
+    
+    /**
+     * Foreign key relations verified by the checker.
+     */
+    public enum Relation {
+        COMMENT_POST(ApiResource.COMMENTS, "postId", ApiResource.POSTS),
+        PHOTO_ALBUM(ApiResource.PHOTOS, "albumId", ApiResource.ALBUMS),
+        ALBUM_USER(ApiResource.ALBUMS, "userId", ApiResource.USERS),
+        POST_USER(ApiResource.POSTS, "userId", ApiResource.USERS),
+        TODO_USER(ApiResource.TODOS, "userId", ApiResource.USERS);
+        
+        private final ApiResource child;
+        private final String foreignKey;
+        private final ApiResource parent;
+        
+        Relation(ApiResource child, String foreignKey, ApiResource parent) {
+            this.child = child;
+            this.foreignKey = foreignKey;
+            this.parent = parent;
+        }
+        
+        public ApiResource getChild() {
+            return child;
+        }
+        
+        public String getForeignKey() {
+            return foreignKey;
+        }
+        
+        public ApiResource getParent() {
+            return parent;
+        }
+        
+        @Override
+        public String toString() {
+            return child.getPath().substring(1) + "." + foreignKey + " -> " + parent.getPath().substring(1) + ".id";
+        }
+    }
+    
+    /**
+     * Fetches all resources from the API under test and checks every relation.
+     *
+     * @return the integrity report
+     * @throws AssertionError if any collection cannot be fetched
+     */
+    public static IntegrityReport check() {
+        Map<ApiResource, byte[]> bodies = new EnumMap<>(ApiResource.class);
+        for (ApiResource resource : ApiResource.values()) {
+            bodies.put(resource, resource.fetchCollection());
+        }
+        return check(bodies);
+    }
+    
+    /**
+     * Checks every relation over already fetched collection bodies.
+     *
+     * @param bodies the JSON array body of each resource
+     * @return the integrity report
+     * @throws IllegalArgumentException if a resource body is missing or is not a JSON array
+     */
+    public static IntegrityReport check(Map<ApiResource, byte[]> bodies) {
+        Map<ApiResource, int[][]> columns = new EnumMap<>(ApiResource.class);
+        Map<ApiResource, IntIdIndex> indexes = new EnumMap<>(ApiResource.class);
+        for (ApiResource resource : ApiResource.values()) {
+            byte[] body = bodies.get(resource);
+            if (body == null) {
+                throw new IllegalArgumentException("No body provided for " + resource.getPath());
+            }
+            int[][] resourceColumns = IntColumns.read(body, columnNames(resource));
+            columns.put(resource, resourceColumns);
+            indexes.put(resource, IntIdIndex.of(resourceColumns[0]));
+        }
+        
+        List<RelationReport> relations = new ArrayList<>();
+        for (Relation relation : Relation.values()) {
+            int[][] childColumns = columns.get(relation.child);
+            int foreignKeyColumn = foreignKeyColumn(relation);
+            relations.add(checkRelation(relation, childColumns[0], childColumns[foreignKeyColumn],
+                    indexes.get(relation.parent)));
+        }
+        
+        Map<ApiResource, Integer> rowCounts = new EnumMap<>(ApiResource.class);
+        Map<ApiResource, Integer> duplicateIds = new EnumMap<>(ApiResource.class);
+        for (ApiResource resource : ApiResource.values()) {
+            rowCounts.put(resource, columns.get(resource)[0].length);
+            duplicateIds.put(resource, indexes.get(resource).duplicateCount());
+        }
+        return new IntegrityReport(relations, rowCounts, duplicateIds);
+    }
+    
+    /**
+     * Verifies one relation and computes its cardinality statistics.
+     */
+    private static RelationReport checkRelation(Relation relation, int[] childIds, int[] foreignKeys,
+                                                IntIdIndex parents) {
+        int[] childrenPerParent = new int[parents.slotCount()];
+        int[] orphanRows = new int[MAX_ORPHAN_SAMPLES];
+        int[] orphanKeys = new int[MAX_ORPHAN_SAMPLES];
+        int orphans = 0;
+        
+        for (int row = 0; row < foreignKeys.length; row++) {
+            int slot = foreignKeys[row] == IntColumns.MISSING ? -1 : parents.slotOf(foreignKeys[row]);
+            if (slot >= 0) {
+                childrenPerParent[slot]++;
+            } else {
+                if (orphans < MAX_ORPHAN_SAMPLES) {
+                    orphanRows[orphans] = childIds[row];
+                    orphanKeys[orphans] = foreignKeys[row];
+                }
+                orphans++;
+            }
+        }
+        
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        long total = 0;
+        int childless = 0;
+        for (int slot = 0; slot < childrenPerParent.length; slot++) {
+            if (!parents.isUsedSlot(slot)) {
+                continue;
+            }
+            int count = childrenPerParent[slot];
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+            total += count;
+            if (count == 0) {
+                childless++;
+            }
+        }
+        int sampled = Math.min(orphans, MAX_ORPHAN_SAMPLES);
+        return new RelationReport(relation, foreignKeys.length, orphans,
+                Arrays.copyOf(orphanRows, sampled), Arrays.copyOf(orphanKeys, sampled),
+                parents.size(), childless, parents.size() == 0 ? 0 : min, max,
+                parents.size() == 0 ? 0.0 : (double) total / parents.size());
+    }
+    
+    /**
+     * Lists the columns to extract for a resource: its id followed by its foreign keys.
+     */
+    private static String[] columnNames(ApiResource resource) {
+        List<String> names = new ArrayList<>();
+        names.add("id");
+        for (Relation relation : Relation.values()) {
+            if (relation.child == resource) {
+                names.add(relation.foreignKey);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+    
+    private static int foreignKeyColumn(Relation relation) {
+        return Arrays.asList(columnNames(relation.child)).indexOf(relation.foreignKey);
+    }
+    
+    /**
+     * Result of checking a single foreign key relation.
+     */
+    public static final class RelationReport {
+        
+        private final Relation relation;
+        private final int childRows;
+        private final int orphanCount;
+        private final int[] orphanChildIds;
+        private final int[] orphanForeignKeys;
+        private final int parentCount;
+        private final int parentsWithoutChildren;
+        private final int minChildren;
+        private final int maxChildren;
+        private final double meanChildren;
+        
+        RelationReport(Relation relation, int childRows, int orphanCount, int[] orphanChildIds,
+                       int[] orphanForeignKeys, int parentCount, int parentsWithoutChildren,
+                       int minChildren, int maxChildren, double meanChildren) {
+            this.relation = relation;
+            this.childRows = childRows;
+            this.orphanCount = orphanCount;
+            this.orphanChildIds = orphanChildIds;
+            this.orphanForeignKeys = orphanForeignKeys;
+            this.parentCount = parentCount;
+            this.parentsWithoutChildren = parentsWithoutChildren;
+            this.minChildren = minChildren;
+            this.maxChildren = maxChildren;
+            this.meanChildren = meanChildren;
+        }
+        
+        public Relation getRelation() {
+            return relation;
+        }
+        
+        public int getChildRows() {
+            return childRows;
+        }
+        
+        /**
+         * Retrieves the number of child rows whose foreign key is missing or has no parent.
+         *
+         * @return the orphan count
+         */
+        public int getOrphanCount() {
+            return orphanCount;
+        }
+        
+        /**
+         * Retrieves the ids of the first orphan child rows (at most {@value ReferentialIntegrityChecker#MAX_ORPHAN_SAMPLES}).
+         *
+         * @return a copy of the sampled orphan child ids
+         */
+        public int[] getOrphanChildIds() {
+            return orphanChildIds.clone();
+        }
+        
+        /**
+         * Retrieves the dangling foreign key values of the sampled orphan rows.
+         *
+         * @return a copy of the sampled foreign keys, aligned with {@link #getOrphanChildIds()}
+         */
+        public int[] getOrphanForeignKeys() {
+            return orphanForeignKeys.clone();
+        }
+        
+        public int getParentCount() {
+            return parentCount;
+        }
+        
+        public int getParentsWithoutChildren() {
+            return parentsWithoutChildren;
+        }
+        
+        public int getMinChildren() {
+            return minChildren;
+        }
+        
+        public int getMaxChildren() {
+            return maxChildren;
+        }
+        
+        public double getMeanChildren() {
+            return meanChildren;
+        }
+        
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format(
+                    "%-32s rows=%d orphans=%d parents=%d childless=%d children/parent min=%d max=%d mean=%.2f",
+                    relation, childRows, orphanCount, parentCount, parentsWithoutChildren,
+                    minChildren, maxChildren, meanChildren));
+            for (int i = 0; i < orphanChildIds.length; i++) {
+                text.append(System.lineSeparator()).append("    orphan id=").append(orphanChildIds[i])
+                        .append(' ').append(relation.foreignKey).append('=')
+                        .append(orphanForeignKeys[i] == IntColumns.MISSING ? "<missing>" : orphanForeignKeys[i]);
+            }
+            return text.toString();
+        }
+    }
+    
+    /**
+     * Result of checking all relations.
+     */
+    public static final class IntegrityReport {
+        
+        private final List<RelationReport> relations;
+        private final Map<ApiResource, Integer> rowCounts;
+        private final Map<ApiResource, Integer> duplicateIds;
+        
+        IntegrityReport(List<RelationReport> relations, Map<ApiResource, Integer> rowCounts,
+                        Map<ApiResource, Integer> duplicateIds) {
+            this.relations = Collections.unmodifiableList(relations);
+            this.rowCounts = Collections.unmodifiableMap(rowCounts);
+            this.duplicateIds = Collections.unmodifiableMap(duplicateIds);
+        }
+        
+        public List<RelationReport> getRelations() {
+            return relations;
+        }
+        
+        /**
+         * Retrieves the report of a single relation.
+         *
+         * @param relation the relation
+         * @return the relation report
+         */
+        public RelationReport getRelation(Relation relation) {
+            return relations.get(relation.ordinal());
+        }
+        
+        public Map<ApiResource, Integer> getRowCounts() {
+            return rowCounts;
+        }
+        
+        public Map<ApiResource, Integer> getDuplicateIds() {
+            return duplicateIds;
+        }
+        
+        /**
+         * Retrieves the total number of orphan rows over all relations.
+         *
+         * @return the orphan count
+         */
+        public int getTotalOrphans() {
+            int total = 0;
+            for (RelationReport relation : relations) {
+                total += relation.getOrphanCount();
+            }
+            return total;
+        }
+        
+        /**
+         * Retrieves the total number of repeated primary keys over all resources.
+         *
+         * @return the duplicate id count
+         */
+        public int getTotalDuplicateIds() {
+            int total = 0;
+            for (int duplicates : duplicateIds.values()) {
+                total += duplicates;
+            }
+            return total;
+        }
+        
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("Referential integrity report");
+            for (ApiResource resource : ApiResource.values()) {
+                text.append(System.lineSeparator()).append(String.format("  %-10s rows=%d duplicateIds=%d",
+                        resource.getPath(), rowCounts.get(resource), duplicateIds.get(resource)));
+            }
+            for (RelationReport relation : relations) {
+                text.append(System.lineSeparator()).append("  ").append(relation);
+            }
+            return text.toString();
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.api.utilities;
 
+import com.api.filters.DeadlineFilter;
+import com.api.filters.Http2TransportFilter;
+import io.restassured.RestAssured;
+import io.restassured.config.LogConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.specification.RequestSpecification;
 import java.util.Map;
 
@@ -14,12 +19,23 @@ import static io.restassured.RestAssured.given;
  * </p>
  * <p>
  * All methods return a {@link RequestSpecification} that can be further customized
- * before execution.
+ * before execution. Every request gets connect, read and total timeouts through the
+ * {@link DeadlineFilter}, capped by the remaining time budget of the running test.
+ * With {@code http.transport=http2} requests are sent by the {@link Http2TransportFilter},
+ * which multiplexes them over shared HTTP/2 connections and returns the same
+ * {@code Response} type.
  * </p>
  *
  */
 public class RequestBuilder {
     
+    /**
+     * Filter applying request timeouts and deadline budgets; it holds no per-request state.
+     */
+    private static final DeadlineFilter DEADLINE_FILTER = new DeadlineFilter();
+    
+    private static final Http2TransportFilter HTTP2_TRANSPORT = new Http2TransportFilter();
+    
     /**
      * Builds a GET request specification.
      * <p>
@@ -31,11 +47,29 @@ public class RequestBuilder {
      * @return a configured RequestSpecification for GET requests
      */
     public static RequestSpecification buildGetRequest(String endpoint) {
-        return given()
+        return newRequest()
                 .contentType("application/json")     // Set Content-Type header to application/json for all requests
                 .when();
     }
     
+    /**
+     * Builds a GET request specification sent over a given HTTP/2 transport.
+     * <p>
+     * Like {@link #buildGetRequest(String)}, but when {@code http.transport=http2} the request
+     * goes through {@code transport} instead of the shared transport, so it uses the
+     * connections of that transport's client.
+     * </p>
+     *
+     * @param endpoint the API endpoint path (not used in current implementation but kept for future extensibility)
+     * @param transport the HTTP/2 transport to use
+     * @return a configured RequestSpecification for GET requests
+     */
+    public static RequestSpecification buildGetRequest(String endpoint, Http2TransportFilter transport) {
+        return newRequest(transport)
+                .contentType("application/json")
+                .when();
+    }
+    
     /**
      * Builds a POST request specification with a request body.
      * <p>
@@ -49,7 +83,7 @@ public class RequestBuilder {
      * @return a configured RequestSpecification for POST requests
      */
     public static RequestSpecification buildPostRequest(String endpoint, Object body) {
-        return given()
+        return newRequest()
                 .contentType("application/json")
                 .body(body)
                 .when();
@@ -68,7 +102,26 @@ public class RequestBuilder {
      * @return a configured RequestSpecification for PUT requests
      */
     public static RequestSpecification buildPutRequest(String endpoint, Object body) {
-        return given()
+        return newRequest()
+                .contentType("application/json")
+                .body(body)
+                .when();
+    }
+    
+    /**
+     * Builds a PATCH request specification with a request body.
+     * <p>
+     * Creates a request with Content-Type set to application/json and includes
+     * the provided body object which will be serialized to JSON.
+     * This is typically used for updating some fields of an existing resource.
+     * </p>
+     *
+     * @param endpoint the API endpoint path (not used in current implementation but kept for future extensibility)
+     * @param body the request body object to be serialized to JSON
+     * @return a configured RequestSpecification for PATCH requests
+     */
+    public static RequestSpecification buildPatchRequest(String endpoint, Object body) {
+        return newRequest()
                 .contentType("application/json")
                 .body(body)
                 .when();
@@ -85,7 +138,7 @@ public class RequestBuilder {
      * @return a configured RequestSpecification for DELETE requests
      */
     public static RequestSpecification buildDeleteRequest(String endpoint) {
-        return given()
+        return newRequest()
                 .contentType("application/json")
                 .when();
     }
@@ -103,9 +156,32 @@ public class RequestBuilder {
      * @return a configured RequestSpecification with query parameters
      */
     public static RequestSpecification buildRequestWithQueryParams(String endpoint, Map<String, String> params) {
-        return given()
+        return newRequest()
                 .contentType("application/json")
                 .queryParams(params)
                 .when();
     }
+    
+    /**
+     * Starts a request specification with the timeouts of the {@link DeadlineFilter}, sent
+     * over the transport selected by {@code http.transport}. When response bodies may be
+     * spilled to disk, logging on validation failure is turned off, as it copies every body
+     * onto the heap as a string.
+     *
+     * @return a new RequestSpecification
+     */
+    private static RequestSpecification newRequest() {
+        return newRequest(HTTP2_TRANSPORT);
+    }
+    
+    private static RequestSpecification newRequest(Http2TransportFilter http2Transport) {
+        RestAssuredConfig config = DeadlineFilter.configure(RestAssured.config());
+        if (ConfigManager.getSpillThresholdBytes() > 0) {
+            config = config.logConfig(LogConfig.logConfig());
+        }
+        RequestSpecification request = given()
+                .config(config)
+                .filter(DEADLINE_FILTER);
+        return "http2".equals(ConfigManager.getHttpTransport()) ? request.filter(http2Transport) : request;
+    }
 }
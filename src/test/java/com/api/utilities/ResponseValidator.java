@@ -1,11 +1,39 @@
 package com.api.utilities;
 
+import com.api.filters.CapturedBody;
+import com.api.filters.RequestPhases;
+import com.api.filters.TransferStats;
+import com.api.impact.TestInputs;
+import com.api.metrics.MetricsRegistry;
+import com.api.metrics.RunMetrics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import io.restassured.module.jsv.JsonSchemaValidator;
+import io.restassured.module.jsv.JsonSchemaValidatorSettings;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.Assertions;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 /**
  * Response Validator utility for validating API responses.
@@ -14,9 +42,11 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  *   <li>HTTP status code validation</li>
  *   <li>Response time validation</li>
+ *   <li>Response compression validation</li>
  *   <li>HTTP header validation</li>
  *   <li>JSON schema validation</li>
- *   <li>Response body content validation</li>
+ *   <li>Per-element JSON schema validation of array responses</li>
+ *   <li>Response body content validation, including every value of an array field</li>
  *   <li>Response array size validation</li>
  * </ul>
  * </p>
@@ -24,6 +54,11 @@ import java.util.concurrent.TimeUnit;
  * All validation methods use JUnit 5 assertions and provide detailed error messages
  * to help identify the cause of test failures.
  * </p>
+ * <p>
+ * Bodies spilled to disk (see {@link CapturedBody}) are read through a memory-mapped view.
+ * Array size, per-element schema and array field validations stream over them, so they
+ * never hold more than a chunk of elements on the heap.
+ * </p>
  *
  * @author API Test Automation Team
  * @version 2.0
@@ -31,6 +66,49 @@ import java.util.concurrent.TimeUnit;
  */
 public class ResponseValidator {
     
+    /**
+     * Maximum number of array elements validated sequentially by a single fork/join task.
+     */
+    private static final int ELEMENT_BATCH_SIZE = 64;
+    
+    /**
+     * Number of array elements of a spilled body parsed and validated at a time.
+     */
+    private static final int STREAMED_CHUNK_SIZE = 4096;
+    
+    /**
+     * Maximum number of element errors included in an assertion message.
+     */
+    private static final int MAX_REPORTED_ERRORS = 20;
+    
+    /**
+     * Shared Jackson mapper used to parse response bodies into trees.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    /**
+     * Parsed bodies of responses still in use, so several validations of one response parse
+     * its body once. Parsed trees are not modified.
+     */
+    private static final Map<Response, JsonNode> PARSED_BODIES = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /**
+     * Compiled schemas keyed by schema path, so each schema file is loaded and compiled once.
+     */
+    private static final ConcurrentMap<String, JsonSchema> COMPILED_SCHEMAS = new ConcurrentHashMap<>();
+    
+    /**
+     * Fork/join pool used for per-element validation, sized to all available cores.
+     */
+    private static final ForkJoinPool VALIDATION_POOL =
+            new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    
+    static {
+        MetricsRegistry.gauge("api_validation_pool_active_threads",
+                "Threads of the schema validation pool currently running tasks",
+                VALIDATION_POOL::getActiveThreadCount);
+    }
+    
     /**
      * Validates that the response status code matches the expected value.
      * <p>
@@ -64,6 +142,53 @@ public class ResponseValidator {
                 "Response time " + responseTime + "ms exceeded maximum " + maxTimeMs + "ms");
     }
     
+    /**
+     * Validates that one phase of the request stayed within acceptable limits.
+     * <p>
+     * Unlike {@link #validateResponseTime(Response, long)}, this tells the network from the
+     * server: {@link RequestPhases.Phase#FIRST_BYTE} is mostly server time, while DNS,
+     * connect and TLS depend on the network and on whether a connection was reused. The
+     * failure message shows the whole breakdown.
+     * </p>
+     *
+     * @param response the HTTP response to validate (sent through the framework's phase timing filter)
+     * @param phase the phase to check
+     * @param maxTimeMs the maximum acceptable duration of the phase in milliseconds
+     * @throws AssertionError if no phases were recorded, the phase was not measured or it
+     *                        exceeded the maximum
+     */
+    public static void validatePhaseTime(Response response, RequestPhases.Phase phase, long maxTimeMs) {
+        RequestPhases phases = RequestPhases.of(response);
+        Assertions.assertNotNull(phases, "No request phases recorded for response; is PhaseTimingFilter configured?");
+        Assertions.assertTrue(phases.isMeasured(phase), "Phase " + phase.label() + " was not measured: " + phases);
+        Assertions.assertTrue(phases.getMillis(phase) <= maxTimeMs,
+                "Phase " + phase.label() + " exceeded maximum " + maxTimeMs + "ms: " + phases);
+    }
+    
+    /**
+     * Validates that the response body was transferred compressed.
+     * <p>
+     * This catches regressions where a server or proxy stops compressing large bodies.
+     * The ratio is the number of bytes transferred divided by the decoded body size, so
+     * {@code 0.3} requires the body to have shrunk to at most 30% on the wire.
+     * </p>
+     *
+     * @param response the HTTP response to validate (sent through the framework's compression filter)
+     * @param maxRatio the maximum acceptable wire-to-decoded size ratio
+     * @throws AssertionError if no transfer sizes were recorded, the body was not content-encoded
+     *                        or the ratio exceeds the maximum
+     */
+    public static void validateCompressed(Response response, double maxRatio) {
+        TransferStats stats = TransferStats.of(response);
+        Assertions.assertNotNull(stats, "No transfer sizes recorded for response; is CompressionFilter configured?");
+        Assertions.assertTrue(stats.isCompressed(),
+                "Expected compressed response for " + stats.getEndpoint() + " but got " + stats.getWireBytes()
+                        + " uncompressed bytes");
+        Assertions.assertTrue(stats.getRatio() <= maxRatio,
+                "Compression ratio " + String.format("%.3f", stats.getRatio()) + " of " + stats
+                        + " exceeded maximum " + maxRatio);
+    }
+    
     /**
      * Validates that a specific HTTP header exists and contains the expected value.
      * <p>
@@ -96,18 +221,65 @@ public class ResponseValidator {
      * @throws AssertionError if the schema file is not found or the response does not match the schema
      */
     public static void validateJsonSchema(Response response, String schemaPath) {
+        TestInputs.schema(schemaPath);
         InputStream schemaStream = ResponseValidator.class.getClassLoader()
                 .getResourceAsStream("schemas/" + schemaPath);
         Assertions.assertNotNull(schemaStream, "Schema file not found: " + schemaPath);
         response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchema(schemaStream));
     }
     
+    /**
+     * Validates every element of a JSON array response against an element schema.
+     * <p>
+     * The schema is compiled once and cached, and the array is split into batches that are
+     * validated in parallel on a dedicated fork/join pool. All violations are collected
+     * together with the index of the offending element, so a single failure reports every
+     * invalid element (up to {@value #MAX_REPORTED_ERRORS}) instead of only the first one.
+     * </p>
+     *
+     * @param response the HTTP response to validate (must contain a JSON array at root level)
+     * @param schemaPath the path to the element JSON schema file (relative to schemas/ directory)
+     * @throws AssertionError if the schema file is not found, the body is not an array,
+     *                        or any element does not match the schema
+     */
+    public static void validateJsonSchemaForEachElement(Response response, String schemaPath) {
+        TestInputs.schema(schemaPath);
+        JsonSchema schema = getCompiledSchema(schemaPath);
+        List<String> errors = new ArrayList<>();
+        int elements;
+        CapturedBody spilled = spilledBody(response);
+        if (spilled == null) {
+            JsonNode root = readTree(response);
+            Assertions.assertTrue(root.isArray(),
+                    "Expected a JSON array response but got " + root.getNodeType());
+            errors.addAll(VALIDATION_POOL.invoke(new ElementValidationTask(schema, root, 0, 0, root.size())));
+            elements = root.size();
+        } else {
+            elements = forEachElementChunk(spilled, (chunk, offset) -> errors.addAll(
+                    VALIDATION_POOL.invoke(new ElementValidationTask(schema, chunk, offset, 0, chunk.size()))));
+        }
+        
+        if (!errors.isEmpty()) {
+            StringBuilder message = new StringBuilder()
+                    .append(errors.size()).append(" schema violation(s) in ").append(elements)
+                    .append(" elements checked against ").append(schemaPath).append(':');
+            errors.stream().limit(MAX_REPORTED_ERRORS)
+                    .forEach(error -> message.append(System.lineSeparator()).append("  ").append(error));
+            if (errors.size() > MAX_REPORTED_ERRORS) {
+                message.append(System.lineSeparator()).append("  ...");
+            }
+            Assertions.fail(message.toString());
+        }
+    }
+    
     /**
      * Validates that a specific field in the response body contains the expected value.
      * <p>
      * This method uses JsonPath to extract a value from the response and compares it
      * to the expected value. It's useful for validating specific fields without
-     * checking the entire response structure.
+     * checking the entire response structure. Plain paths are evaluated by a cached
+     * {@link JsonPathExpression} over the parsed body; other GPath expressions go through
+     * REST Assured's JsonPath.
      * </p>
      *
      * @param response the HTTP response to validate
@@ -116,11 +288,38 @@ public class ResponseValidator {
      * @throws AssertionError if the actual value does not match the expected value
      */
     public static void validateResponseBodyContains(Response response, String key, Object expectedValue) {
-        Object actualValue = response.jsonPath().get(key);
+        Object actualValue = JsonPathExpression.tryCompile(key)
+                .map(path -> path.evaluate(readTree(response)))
+                .orElseGet(() -> response.jsonPath().get(key));
         Assertions.assertEquals(expectedValue, actualValue,
                 "Expected " + key + " to be " + expectedValue + " but was " + actualValue);
     }
     
+    /**
+     * Validates that every integer selected by a path equals the expected value.
+     * <p>
+     * Typically used on array responses, e.g. {@code validateEachValueEquals(response,
+     * "userId", 1)} checks the {@code userId} of every element. The values are read from
+     * the body's token stream into an {@code int[]}, without boxing.
+     * </p>
+     *
+     * @param response the HTTP response to validate
+     * @param path the path selecting the values (see {@link JsonPathExpression})
+     * @param expectedValue the value every selected integer must have
+     * @throws AssertionError if a selected value differs, is missing or is not an integer
+     */
+    public static void validateEachValueEquals(Response response, String path, int expectedValue) {
+        CapturedBody spilled = spilledBody(response);
+        int[] values = spilled == null ? JsonPathExpression.compile(path).ints(response.asByteArray())
+                : JsonPathExpression.compile(path).ints(spilled.openStream());
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != expectedValue) {
+                Assertions.fail("Expected every " + path + " to be " + expectedValue + " but value " + index
+                        + " was " + (values[index] == IntColumns.MISSING ? "missing" : values[index]));
+            }
+        }
+    }
+    
     /**
      * Validates that a JSON array in the response has the expected number of elements.
      * <p>
@@ -133,8 +332,178 @@ public class ResponseValidator {
      * @throws AssertionError if the actual array size does not match the expected size
      */
     public static void validateResponseBodySize(Response response, int expectedSize) {
-        int actualSize = response.jsonPath().getList("$").size();
+        CapturedBody spilled = spilledBody(response);
+        int actualSize;
+        if (spilled == null) {
+            JsonNode root = readTree(response);
+            Assertions.assertTrue(root.isArray(), "Expected a JSON array but got " + root.getNodeType());
+            actualSize = root.size();
+        } else {
+            actualSize = forEachElementChunk(spilled, null);
+        }
         Assertions.assertEquals(expectedSize, actualSize,
                 "Expected response array size " + expectedSize + " but got " + actualSize);
     }
+    
+    /**
+     * Loads and compiles a JSON schema from the schemas/ directory, caching the result.
+     *
+     * @param schemaPath the path to the JSON schema file (relative to schemas/ directory)
+     * @return the compiled schema
+     * @throws AssertionError if the schema file is not found or cannot be compiled
+     */
+    private static JsonSchema getCompiledSchema(String schemaPath) {
+        JsonSchema cached = COMPILED_SCHEMAS.get(schemaPath);
+        if (cached != null) {
+            RunMetrics.SCHEMA_CACHE.inc("hit");
+            return cached;
+        }
+        RunMetrics.SCHEMA_CACHE.inc("miss");
+        return COMPILED_SCHEMAS.computeIfAbsent(schemaPath, path -> {
+            try (InputStream schemaStream = ResponseValidator.class.getClassLoader()
+                    .getResourceAsStream("schemas/" + path)) {
+                Assertions.assertNotNull(schemaStream, "Schema file not found: " + path);
+                return JsonSchemaValidatorSettings.settings().jsonSchemaFactory()
+                        .getJsonSchema(MAPPER.readTree(schemaStream));
+            } catch (IOException | ProcessingException e) {
+                throw new AssertionError("Unable to compile schema " + path + ": " + e.getMessage(), e);
+            }
+        });
+    }
+    
+    /**
+     * Retrieves the body of a response if it was spilled to disk.
+     *
+     * @return the spilled body, or {@code null} if the body is on the heap
+     */
+    private static CapturedBody spilledBody(Response response) {
+        CapturedBody body = CapturedBody.of(response);
+        return body != null && body.isSpilled() ? body : null;
+    }
+    
+    /**
+     * Streams over the elements of a spilled JSON array, parsing them a chunk at a time.
+     *
+     * @param body the spilled body
+     * @param consumer receives each chunk of parsed elements with the index of its first
+     *                 element, or null to only count the elements without parsing them
+     * @return the number of elements
+     * @throws AssertionError if the body is not a JSON array
+     */
+    private static int forEachElementChunk(CapturedBody body, BiConsumer<ArrayNode, Integer> consumer) {
+        try (JsonParser parser = MAPPER.createParser(body.openStream())) {
+            JsonToken first = parser.nextToken();
+            Assertions.assertEquals(JsonToken.START_ARRAY, first, "Expected a JSON array but got " + first);
+            int count = 0;
+            ArrayNode chunk = MAPPER.createArrayNode();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                count++;
+                if (consumer == null) {
+                    parser.skipChildren();
+                } else {
+                    chunk.add((JsonNode) MAPPER.readTree(parser));
+                    if (chunk.size() == STREAMED_CHUNK_SIZE) {
+                        consumer.accept(chunk, count - chunk.size());
+                        chunk = MAPPER.createArrayNode();
+                    }
+                }
+            }
+            if (consumer != null && chunk.size() > 0) {
+                consumer.accept(chunk, count - chunk.size());
+            }
+            return count;
+        } catch (IOException e) {
+            throw new AssertionError("Response body is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Parses the response body into a Jackson tree, once per response. Spilled bodies are
+     * parsed from their file on every call rather than kept in memory.
+     *
+     * @param response the HTTP response to parse
+     * @return the root node of the response body
+     * @throws AssertionError if the body is not valid JSON
+     */
+    private static JsonNode readTree(Response response) {
+        JsonNode cached = PARSED_BODIES.get(response);
+        if (cached != null) {
+            return cached;
+        }
+        CapturedBody spilled = spilledBody(response);
+        try {
+            if (spilled != null) {
+                return MAPPER.readTree(spilled.openStream());
+            }
+            JsonNode root = MAPPER.readTree(response.asByteArray());
+            PARSED_BODIES.put(response, root);
+            return root;
+        } catch (IOException e) {
+            throw new AssertionError("Response body is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Fork/join task validating a range of array elements against a compiled schema.
+     * <p>
+     * Ranges larger than {@value #ELEMENT_BATCH_SIZE} elements are split in half. Results are
+     * merged left to right, so the returned errors are ordered by element index.
+     * </p>
+     */
+    private static final class ElementValidationTask extends RecursiveTask<List<String>> {
+        
+        private final JsonSchema schema;
+        private final JsonNode array;
+        private final int offset;
+        private final int from;
+        private final int to;
+        
+        /**
+         * @param offset the index of the array's first element in the response body, for
+         *               arrays holding one chunk of a streamed body
+         */
+        ElementValidationTask(JsonSchema schema, JsonNode array, int offset, int from, int to) {
+            this.schema = schema;
+            this.array = array;
+            this.offset = offset;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected List<String> compute() {
+            if (to - from <= ELEMENT_BATCH_SIZE) {
+                return validateRange();
+            }
+            int middle = (from + to) >>> 1;
+            ElementValidationTask left = new ElementValidationTask(schema, array, offset, from, middle);
+            left.fork();
+            List<String> rightErrors = new ElementValidationTask(schema, array, offset, middle, to).compute();
+            List<String> errors = left.join();
+            errors.addAll(rightErrors);
+            return errors;
+        }
+        
+        private List<String> validateRange() {
+            List<String> errors = new ArrayList<>();
+            for (int index = from; index < to; index++) {
+                try {
+                    ProcessingReport report = schema.validate(array.get(index));
+                    for (ProcessingMessage message : report) {
+                        if (message.getLogLevel().compareTo(LogLevel.ERROR) >= 0) {
+                            errors.add("[" + (offset + index) + "] " + describe(message));
+                        }
+                    }
+                } catch (ProcessingException e) {
+                    errors.add("[" + (offset + index) + "] " + e.getMessage());
+                }
+            }
+            return errors;
+        }
+        
+        private static String describe(ProcessingMessage message) {
+            String pointer = message.asJson().path("instance").path("pointer").asText();
+            return (pointer.isEmpty() ? "" : pointer + ": ") + message.getMessage();
+        }
+    }
 }
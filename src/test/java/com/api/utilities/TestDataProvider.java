@@ -1,5 +1,7 @@
 package com.api.utilities;
 
+import com.api.impact.TestInputs;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,6 +33,7 @@ public class TestDataProvider {
      * @return a Map containing post test data
      */
     public static Map<String, Object> getPostData() {
+        TestInputs.data("getPostData");
         Map<String, Object> postData = new HashMap<>();
         postData.put("userId", 1);
         postData.put("title", "Test Post Title");
@@ -48,6 +51,7 @@ public class TestDataProvider {
      * @return a Map containing comment test data
      */
     public static Map<String, Object> getCommentData() {
+        TestInputs.data("getCommentData");
         Map<String, Object> commentData = new HashMap<>();
         commentData.put("postId", 1);
         commentData.put("name", "Test Comment");
@@ -66,6 +70,7 @@ public class TestDataProvider {
      * @return a Map containing album test data
      */
     public static Map<String, Object> getAlbumData() {
+        TestInputs.data("getAlbumData");
         Map<String, Object> albumData = new HashMap<>();
         albumData.put("userId", 1);
         albumData.put("title", "Test Album Title");
@@ -82,6 +87,7 @@ public class TestDataProvider {
      * @return a Map containing photo test data
      */
     public static Map<String, Object> getPhotoData() {
+        TestInputs.data("getPhotoData");
         Map<String, Object> photoData = new HashMap<>();
         photoData.put("albumId", 1);
         photoData.put("title", "Test Photo Title");
@@ -100,6 +106,7 @@ public class TestDataProvider {
      * @return a Map containing todo test data
      */
     public static Map<String, Object> getTodoData() {
+        TestInputs.data("getTodoData");
         Map<String, Object> todoData = new HashMap<>();
         todoData.put("userId", 1);
         todoData.put("title", "Test Todo Title");
@@ -118,6 +125,7 @@ public class TestDataProvider {
      * @return a Map containing user test data with nested address and company objects
      */
     public static Map<String, Object> getUserData() {
+        TestInputs.data("getUserData");
         Map<String, Object> userData = new HashMap<>();
         userData.put("name", "Test User");
         userData.put("username", "testuser");